@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * The ways a query plan can find the candidate movies before the remaining predicates are applied.
+ *
+ * @author jkaib
+ */
+public enum AccessPath {
+
+  /** Reads a contiguous slice of the year-sorted index. */
+  YEAR_INDEX,
+
+  /** Combines the bitmaps of the genre index. */
+  GENRE_BITMAP,
+
+  /** Reads a posting list of the cast index. */
+  CAST_POSTINGS,
+
+  /** Intersects posting lists of the title index. */
+  TITLE_POSTINGS,
+
+  /** Unions the candidates found through several indexes. */
+  INDEX_UNION,
+
+  /** Inspects every movie in the repository. */
+  FULL_SCAN
+}
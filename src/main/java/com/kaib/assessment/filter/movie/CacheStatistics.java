@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * The counters of a result cache, read at one moment. The counters are cumulative from the time the
+ * cache was created.
+ *
+ * @author jkaib
+ */
+public final class CacheStatistics {
+
+  /** The number of results evicted to keep the cache within its maximum size. */
+  private final long evictionCount;
+
+  /** The number of lookups answered from the cache. */
+  private final long hitCount;
+
+  /** The number of lookups that had to be loaded. */
+  private final long missCount;
+
+  /** The number of results in the cache. */
+  private final int size;
+
+  /**
+   * Instantiates new cache statistics.
+   *
+   * @param theHitCount the number of lookups answered from the cache
+   * @param theMissCount the number of lookups that had to be loaded
+   * @param theEvictionCount the number of results evicted to keep the cache within its maximum size
+   * @param theSize the number of results in the cache
+   */
+  CacheStatistics(
+      final long theHitCount,
+      final long theMissCount,
+      final long theEvictionCount,
+      final int theSize) {
+
+    super();
+    this.hitCount = theHitCount;
+    this.missCount = theMissCount;
+    this.evictionCount = theEvictionCount;
+    this.size = theSize;
+  }
+
+  /**
+   * Gets the number of lookups answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Gets the number of lookups that had to be loaded, including those whose cached result came
+   * from an earlier version of the repository.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Gets the number of results evicted to keep the cache within its maximum size.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return this.evictionCount;
+  }
+
+  /**
+   * Gets the number of results in the cache.
+   *
+   * @return the size of the cache
+   */
+  public int getSize() {
+    return this.size;
+  }
+}
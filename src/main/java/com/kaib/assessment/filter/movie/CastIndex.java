@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Indexes movies by cast member. Each name maps to a posting list: the ascending ordinals of the
+ * movies the cast member appeared in. Names are indexed both exactly and folded to lower case, so
+ * either kind of lookup is a single hash probe.
+ *
+ * @author jkaib
+ */
+final class CastIndex {
+
+  /** The posting list returned for a name that isn't in the index. */
+  private static final int[] NO_ORDINALS = new int[0];
+
+  /** The cast members of each movie, whose dictionary ids index the posting lists. */
+  private final DictionaryColumn castColumn;
+
+  /** The ordinals of the movies each cast member appeared in, keyed by lower-case name. */
+  private final Map<String, int[]> ordinalsByFoldedName;
+
+  /** The ordinals of the movies each cast member appeared in, indexed by cast id. */
+  private final int[][] ordinalsById;
+
+  /**
+   * Instantiates a new index of the movies in the specified store. The posting lists are sized by
+   * counting the store's cast ids and then filled in ordinal order, so each is allocated once.
+   *
+   * @param theStore the store whose cast column is indexed
+   */
+  CastIndex(final MovieStore theStore) {
+
+    super();
+    this.castColumn = theStore.castColumn();
+    final int dictionarySize = this.castColumn.dictionarySize();
+
+    // A cast member listed twice for the same movie is posted once, which the last ordinal
+    // posted for each id detects.
+    final var counts = new int[dictionarySize];
+    final var lastOrdinals = new int[dictionarySize];
+    Arrays.fill(lastOrdinals, -1);
+    for (var ordinal = 0; ordinal < theStore.size(); ordinal++) {
+      final int end = this.castColumn.end(ordinal);
+      for (int position = this.castColumn.start(ordinal); position < end; position++) {
+        final int id = this.castColumn.idAt(position);
+        if (id != DictionaryColumn.NULL_ID && lastOrdinals[id] != ordinal) {
+          lastOrdinals[id] = ordinal;
+          counts[id]++;
+        }
+      }
+    }
+    this.ordinalsById = new int[dictionarySize][];
+    for (var id = 0; id < dictionarySize; id++) {
+      this.ordinalsById[id] = new int[counts[id]];
+    }
+    Arrays.fill(counts, 0);
+    for (var ordinal = 0; ordinal < theStore.size(); ordinal++) {
+      final int end = this.castColumn.end(ordinal);
+      for (int position = this.castColumn.start(ordinal); position < end; position++) {
+        final int id = this.castColumn.idAt(position);
+        if (id != DictionaryColumn.NULL_ID
+            && (counts[id] == 0 || this.ordinalsById[id][counts[id] - 1] != ordinal)) {
+          this.ordinalsById[id][counts[id]++] = ordinal;
+        }
+      }
+    }
+
+    final Map<String, List<int[]>> variantsByFoldedName = new HashMap<>();
+    for (var id = 0; id < dictionarySize; id++) {
+      variantsByFoldedName
+          .computeIfAbsent(fold(this.castColumn.value(id)), key -> new ArrayList<>(1))
+          .add(this.ordinalsById[id]);
+    }
+
+    // Most names are only ever spelled one way, so their posting list is shared by both lookups.
+    this.ordinalsByFoldedName = new HashMap<>(variantsByFoldedName.size() * 4 / 3 + 1);
+    variantsByFoldedName.forEach(
+        (foldedName, variants) ->
+            this.ordinalsByFoldedName.put(
+                foldedName,
+                variants.size() == 1
+                    ? variants.get(0)
+                    : variants.stream().flatMapToInt(IntStream::of).sorted().distinct().toArray()));
+  }
+
+  /**
+   * Folds the specified name to the form used for case-insensitive lookups.
+   *
+   * @param name the name to fold
+   * @return the name in lower case
+   */
+  static String fold(final String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Gets the ordinals of the movies the specified cast member appeared in. The array is shared by
+   * the index and must not be modified.
+   *
+   * @param name the name of the cast member
+   * @param match how the name is compared
+   * @return the ascending ordinals of the movies the cast member appeared in
+   */
+  int[] find(final String name, final NameMatch match) {
+
+    final int[] ordinals;
+    if (match == NameMatch.IGNORE_CASE) {
+      ordinals = this.ordinalsByFoldedName.get(fold(name));
+    } else {
+      final int id = this.castColumn.id(name);
+      ordinals = id == DictionaryColumn.NULL_ID ? null : this.ordinalsById[id];
+    }
+
+    return ordinals == null ? NO_ORDINALS : ordinals;
+  }
+}
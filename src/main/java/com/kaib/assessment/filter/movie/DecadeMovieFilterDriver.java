@@ -16,10 +16,23 @@
 package com.kaib.assessment.filter.movie;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -33,7 +46,6 @@ import org.apache.logging.log4j.Logger;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
-import com.google.gson.reflect.TypeToken;
 
 /**
  * Entry point into the decade-based movie filter. Performs command line validation before invoking
@@ -43,14 +55,18 @@ import com.google.gson.reflect.TypeToken;
  */
 public final class DecadeMovieFilterDriver {
 
-  /** The command-line option for the decade of interest. */
+  /** The decade argument that selects every decade from 1900 through the current one. */
+  private static final String ALL_DECADES = "all";
+
+  /** The command-line option for the decades of interest. */
   private static final Option DECADE_OPTION =
       Option.builder("d")
           .required(true)
           .longOpt("decade")
           .hasArg()
-          .type(Number.class)
-          .desc("The decade of interest in the format yyyy")
+          .desc(
+              "The decade of interest in the format yyyy; repeat the option for several decades or"
+                  + " pass all for every decade from 1900 through the current one")
           .build();
 
   /** The command-line option for the filtered movies file. */
@@ -62,8 +78,32 @@ public final class DecadeMovieFilterDriver {
           .desc("The path to the filtered movies output directory")
           .build();
 
-  /** The JSON serializer/deserializer. */
-  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+  /** The command-line option for the engine used to read the source movies file. */
+  private static final Option ENGINE_OPTION =
+      Option.builder("e")
+          .required(false)
+          .longOpt("engine")
+          .hasArg()
+          .desc("The engine used to read the input file: stream (default), mmap, or parallel")
+          .build();
+
+  /** The command-line option for the format of the filtered movies file. */
+  private static final Option FORMAT_OPTION =
+      Option.builder("f")
+          .required(false)
+          .longOpt("format")
+          .hasArg()
+          .desc(
+              "The format of the output file: json, ndjson, or snapshot (defaults to the format of"
+                  + " the input file, which is detected from its contents or extension)")
+          .build();
+
+  /** The JSON serializer/deserializer, which binds movies without reflection. */
+  private static final Gson GSON =
+      new GsonBuilder()
+          .registerTypeAdapter(Movie.class, new MovieTypeAdapter())
+          .setPrettyPrinting()
+          .create();
 
   /** The logger for this class. */
   private static final Logger LOG = LogManager.getLogger(DecadeMovieFilterDriver.class);
@@ -84,19 +124,31 @@ public final class DecadeMovieFilterDriver {
   }
 
   /**
-   * Binds the JSON structure in the specified source file to the set of {@link Movies} supported by
-   * the application.
+   * Binds the movies in the specified source file to the set of {@link Movies} released in the
+   * specified decades. The file is streamed one movie at a time rather than read into memory whole,
+   * or memory-mapped when it's a snapshot, and movies released in other decades are skipped without
+   * being bound. The file is read once no matter how many decades are of interest.
    *
-   * @param sourceFilePath the file that contains the supported movies in JSON format
-   * @return the movies supported by the application
+   * @param sourceFilePath the file that contains the supported movies
+   * @param decades the decades of interest
+   * @param inputFormat the format of the file
+   * @param inputEngine the engine used to read the file, if its format supports more than one
+   * @return the movies supported by the application that were released in the specified decades
    * @throws IOException if the file can't be read
    */
-  private static Set<Movie> bindSourceFile(final Path sourceFilePath) throws IOException {
+  private static Set<Movie> bindSourceFile(
+      final Path sourceFilePath,
+      final SortedSet<Integer> decades,
+      final MovieFormat inputFormat,
+      final InputEngine inputEngine)
+      throws IOException {
 
-    final String json = readSourceFile(sourceFilePath);
-    final var serializedType = new TypeToken<Set<Movie>>() {}.getType();
+    final MovieLoader loader = inputFormat.createLoader(inputEngine, GSON);
+    final var selectedDecades = new BitSet();
+    decades.forEach(selectedDecades::set);
 
-    return GSON.fromJson(json, serializedType);
+    return loader.load(
+        sourceFilePath, year -> year >= 0 && selectedDecades.get(DecadeUtils.getDecade(year)));
   }
 
   /**
@@ -109,30 +161,35 @@ public final class DecadeMovieFilterDriver {
     final var options = new Options();
     options.addOption(DECADE_OPTION);
     options.addOption(DESTINATION_DIR_OPTION);
+    options.addOption(ENGINE_OPTION);
+    options.addOption(FORMAT_OPTION);
     options.addOption(SOURCE_FILE_OPTION);
 
     return options;
   }
 
   /**
-   * Builds the movie service using the specified movies.
+   * Routes each of the specified movies to the decade in which it was released. The movies were
+   * filtered by decade as they were bound, so each decade's movies are the movies routed to it.
+   * Every decade of interest has an entry, even when no movies were released in it.
    *
-   * @param allMovies the movies supported by the application
-   * @return a properly configured movie service
+   * @param boundMovies the movies bound from the source file for the specified decades
+   * @param decades the decades of interest
+   * @return the movies released in each decade, keyed by decade
    */
-  private static MovieService buildMovieService(final Set<Movie> allMovies) {
-    return new MovieService(new MovieRepository(allMovies));
-  }
+  private static SortedMap<Integer, Set<Movie>> filterMoviesByDecade(
+      final Set<Movie> boundMovies, final SortedSet<Integer> decades) {
+
+    // The output files have always listed each decade's movies in the iteration order of a hash
+    // set built in the order the movies were read, so each decade's movies are added to one the
+    // same way to keep the files stable.
+    final SortedMap<Integer, Set<Movie>> moviesByDecade = new TreeMap<>();
+    decades.forEach(decade -> moviesByDecade.put(decade, new HashSet<>()));
+    for (final Movie movie : boundMovies) {
+      moviesByDecade.get(DecadeUtils.getDecade(movie.getYear())).add(movie);
+    }
 
-  /**
-   * Returns the subset of movies released in the specified decade.
-   *
-   * @param movieService filters all movies to those in the specified decade
-   * @param decade the decade of interest
-   * @return the subset of movies released in the specified decade
-   */
-  private static Set<Movie> filterMovies(final MovieService movieService, final int decade) {
-    return movieService.filter(decade);
+    return moviesByDecade;
   }
 
   /**
@@ -152,18 +209,25 @@ public final class DecadeMovieFilterDriver {
       formatter.printHelp("DecadeMovieFilterDriver", buildClOptions());
       System.exit(-1);
     }
-    Set<Movie> allMovies = null;
+    applicationArgs.getDecades().forEach(DecadeValidator::validate);
+    Set<Movie> boundMovies = null;
     try {
-      allMovies = bindSourceFile(applicationArgs.getSourceFilePath());
+      boundMovies =
+          bindSourceFile(
+              applicationArgs.getSourceFilePath(),
+              applicationArgs.getDecades(),
+              applicationArgs.getInputFormat(),
+              applicationArgs.getInputEngine());
     } catch (final IOException | JsonSyntaxException e) {
       LOG.error(
           "Can't load the JSON structure containing the movies supported by the application", e);
       System.exit(-1);
     }
-    final var movieService = buildMovieService(allMovies);
-    final Set<Movie> filteredMovies = filterMovies(movieService, applicationArgs.getDecade());
+    final SortedMap<Integer, Set<Movie>> filteredMovies =
+        filterMoviesByDecade(boundMovies, applicationArgs.getDecades());
     try {
-      writeFilteredResults(filteredMovies, applicationArgs.getDestFilePath());
+      writeFilteredResults(
+          filteredMovies, applicationArgs.getDestDirPath(), applicationArgs.getOutputFormat());
     } catch (final IOException e) {
       LOG.error(
           "Can't write the JSON structure containing the filtered movies to the destination file",
@@ -185,50 +249,114 @@ public final class DecadeMovieFilterDriver {
     final CommandLineParser clParser = new DefaultParser();
     final var commandLine = clParser.parse(clOptions, appArgs);
 
-    final String decadeArg = commandLine.getOptionValue(DECADE_OPTION).trim();
-    final var decade = Integer.parseInt(decadeArg);
-    final var destFilePath =
-        Path.of(
-            commandLine.getOptionValue(DESTINATION_DIR_OPTION).trim(),
-            decadeArg + "s-movies.json");
+    final SortedSet<Integer> decades = parseDecades(commandLine.getOptionValues(DECADE_OPTION));
     final var sourceFilePath = Path.of(commandLine.getOptionValue(SOURCE_FILE_OPTION).trim());
+    final var inputFormat = MovieFormat.detect(sourceFilePath);
+    final InputEngine inputEngine;
+    final MovieFormat outputFormat;
+    try {
+      inputEngine =
+          InputEngine.fromName(
+              commandLine
+                  .getOptionValue(ENGINE_OPTION, InputEngine.STREAM.getEngineName())
+                  .trim());
+      outputFormat =
+          MovieFormat.fromName(
+              commandLine.getOptionValue(FORMAT_OPTION, inputFormat.getFormatName()).trim());
+    } catch (final IllegalArgumentException e) {
+      throw new ParseException(e.getMessage());
+    }
+    final var destDirPath = Path.of(commandLine.getOptionValue(DESTINATION_DIR_OPTION).trim());
 
-    return new ApplicationArgs(decade, destFilePath, sourceFilePath);
+    return new ApplicationArgs(
+        decades, destDirPath, sourceFilePath, inputFormat, inputEngine, outputFormat);
   }
 
   /**
-   * Reads the specified movie source file to a JSON string.
+   * Parses the decade arguments into the decades of interest.
    *
-   * @param sourceFilePath the file containing the movies supported by the application
-   * @return the specified movie source file as a JSON string
-   * @throws IOException if the file can't be read
+   * @param decadeArgs the decade arguments, each of which is a decade or {@value #ALL_DECADES}
+   * @return the decades of interest, in chronological order
+   * @throws NumberFormatException if a decade argument isn't a year
    */
-  private static String readSourceFile(final Path sourceFilePath) throws IOException {
-    return Files.readString(sourceFilePath);
+  private static SortedSet<Integer> parseDecades(final String[] decadeArgs) {
+
+    final SortedSet<Integer> decades = new TreeSet<>();
+    for (final String decadeArg : decadeArgs) {
+      if (ALL_DECADES.equalsIgnoreCase(decadeArg.trim())) {
+        decades.addAll(DecadeUtils.getDecadesThrough(Year.now().getValue()));
+      } else {
+        decades.add(Integer.parseInt(decadeArg.trim()));
+      }
+    }
+
+    return decades;
   }
 
   /**
-   * Writes the specified movies to the specified file as a JSON structure.
+   * Writes the movies of each decade to their own file in the specified directory in the specified
+   * format. The files are written concurrently by a pool no larger than the number of processors.
    *
-   * @param filteredMovies the movies to write as a JSON structure
-   * @param destFilePath the file to which the JSON structure will be written
-   * @throws IOException if the file can't be written
+   * @param filteredMovies the movies to write, keyed by decade
+   * @param destDirPath the directory to which the files will be written
+   * @param outputFormat the format in which the movies will be written
+   * @throws IOException if a file can't be written
    */
-  private static void writeFilteredResults(final Set<Movie> filteredMovies, final Path destFilePath)
+  private static void writeFilteredResults(
+      final SortedMap<Integer, Set<Movie>> filteredMovies,
+      final Path destDirPath,
+      final MovieFormat outputFormat)
       throws IOException {
 
-    final String json = GSON.toJson(filteredMovies).replace("\n", "\r\n");
-    Files.writeString(destFilePath, json, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    final MovieWriter writer = outputFormat.createWriter(GSON);
+    final var writerCount =
+        Math.min(filteredMovies.size(), Runtime.getRuntime().availableProcessors());
+    final ExecutorService writerPool = Executors.newFixedThreadPool(writerCount);
+    try {
+      final List<Future<Void>> writes = new ArrayList<>();
+      for (final Map.Entry<Integer, Set<Movie>> decadeMovies : filteredMovies.entrySet()) {
+        final Path destFilePath =
+            destDirPath.resolve(decadeMovies.getKey() + "s-movies" + outputFormat.getExtension());
+        writes.add(
+            writerPool.submit(
+                () -> {
+                  writer.write(decadeMovies.getValue(), destFilePath);
+                  return null;
+                }));
+      }
+      for (final Future<Void> write : writes) {
+        write.get();
+      }
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing the filtered movies");
+    } finally {
+      writerPool.shutdownNow();
+    }
   }
 
   /** Simple container that holds the strongly-typed application arguments. */
   private static final class ApplicationArgs {
 
-    /** The desired decade by which the movies will be filtered. */
-    private final int decade;
+    /** The desired decades by which the movies will be filtered, in chronological order. */
+    private final SortedSet<Integer> decades;
 
-    /** The file to which the results will be written. */
-    private final Path destFilePath;
+    /** The directory to which the results will be written. */
+    private final Path destDirPath;
+
+    /** The engine used to read the file containing the movies supported by the application. */
+    private final InputEngine inputEngine;
+
+    /** The format of the file containing the movies supported by the application. */
+    private final MovieFormat inputFormat;
+
+    /** The format in which the results will be written. */
+    private final MovieFormat outputFormat;
 
     /**
      * The file containing the JSON structure representing the movies supported by the application.
@@ -238,35 +366,75 @@ public final class DecadeMovieFilterDriver {
     /**
      * Instantiates a new application arguments container.
      *
-     * @param theDecade the desired decade by which the movies will be filtered
-     * @param theDestFilePath the file to which the results will be written
+     * @param theDecades the desired decades by which the movies will be filtered
+     * @param theDestDirPath the directory to which the results will be written
      * @param theSourceFilePath the file containing the JSON structure representing the movies
      *     supported by the application
+     * @param theInputFormat the format of the file containing the movies supported by the
+     *     application
+     * @param theInputEngine the engine used to read the file containing the movies supported by
+     *     the application
+     * @param theOutputFormat the format in which the results will be written
      */
     public ApplicationArgs(
-        final int theDecade, final Path theDestFilePath, final Path theSourceFilePath) {
-
-      this.decade = theDecade;
-      this.destFilePath = theDestFilePath;
+        final SortedSet<Integer> theDecades,
+        final Path theDestDirPath,
+        final Path theSourceFilePath,
+        final MovieFormat theInputFormat,
+        final InputEngine theInputEngine,
+        final MovieFormat theOutputFormat) {
+
+      this.decades = theDecades;
+      this.destDirPath = theDestDirPath;
       this.sourceFilePath = theSourceFilePath;
+      this.inputFormat = theInputFormat;
+      this.inputEngine = theInputEngine;
+      this.outputFormat = theOutputFormat;
+    }
+
+    /**
+     * Gets the desired decades by which the movies will be filtered.
+     *
+     * @return the desired decades by which the movies will be filtered, in chronological order
+     */
+    public SortedSet<Integer> getDecades() {
+      return this.decades;
+    }
+
+    /**
+     * Gets the directory to which the results will be written.
+     *
+     * @return the directory to which the results will be written
+     */
+    public Path getDestDirPath() {
+      return this.destDirPath;
+    }
+
+    /**
+     * Gets the engine used to read the file containing the movies supported by the application.
+     *
+     * @return the engine used to read the file containing the movies supported by the application
+     */
+    public InputEngine getInputEngine() {
+      return this.inputEngine;
     }
 
     /**
-     * Gets the desired decade by which the movies will be filtered.
+     * Gets the format of the file containing the movies supported by the application.
      *
-     * @return the desired decade by which the movies will be filtered
+     * @return the format of the file containing the movies supported by the application
      */
-    public int getDecade() {
-      return this.decade;
+    public MovieFormat getInputFormat() {
+      return this.inputFormat;
     }
 
     /**
-     * Gets the file to which the results will be written.
+     * Gets the format in which the results will be written.
      *
-     * @return the file to which the results will be written
+     * @return the format in which the results will be written
      */
-    public Path getDestFilePath() {
-      return this.destFilePath;
+    public MovieFormat getOutputFormat() {
+      return this.outputFormat;
     }
 
     /**
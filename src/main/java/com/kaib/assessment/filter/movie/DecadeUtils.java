@@ -15,6 +15,9 @@
  */
 package com.kaib.assessment.filter.movie;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Utility class that provide
  *
@@ -80,4 +83,45 @@ public final class DecadeUtils {
 
     return result;
   }
+
+  /**
+   * Gets the year representing the decade in which the specified year falls. For example, 1984
+   * falls within the decade 1980.
+   *
+   * @param year the year to evaluate
+   * @return the beginning of the decade in which the specified year falls
+   */
+  public static int getDecade(final int year) {
+    return year - Math.floorMod(year, ONE_DECADE);
+  }
+
+  /**
+   * Gets every decade from the beginning of the 20th century through the decade in which the
+   * specified year falls, in chronological order.
+   *
+   * @param year the year whose decade is the last one returned
+   * @return the decades from 1900 through the decade in which the specified year falls
+   */
+  public static List<Integer> getDecadesThrough(final int year) {
+
+    final List<Integer> decades = new ArrayList<>();
+    for (var decade = START_20TH_CENTURY; decade <= year; decade += ONE_DECADE) {
+      decades.add(decade);
+    }
+
+    return decades;
+  }
+
+  /**
+   * Indicates whether the specified year falls within the specified decade. For example, 1984 falls
+   * within the decade 1980.
+   *
+   * @param year the year to evaluate
+   * @param decade the year representing the beginning of the decade
+   * @return {@code true} if the specified year falls within the specified decade, {@code false}
+   *     otherwise
+   */
+  public static boolean isInDecade(final int year, final int decade) {
+    return year >= decade && year < getNextDecade(decade);
+  }
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column of string arrays, one per movie, encoded against a dictionary. Each distinct string is
+ * stored once and assigned an id, and each movie's array is stored as a run of ids in one shared
+ * {@code int} buffer, so the column can be scanned without touching a string. The buffers are
+ * either heap or direct; the dictionary itself always stays on the heap.
+ *
+ * @author jkaib
+ */
+final class DictionaryColumn {
+
+  /** The id stored for a {@code null} element of an array. */
+  static final int NULL_ID = -1;
+
+  /** The id encoded for a string that isn't in the dictionary, which no stored array contains. */
+  static final int UNKNOWN_ID = -2;
+
+  /** The ids of every movie's array, concatenated in ordinal order. */
+  private final IntBuffer ids;
+
+  /** The id of each distinct string, keyed by string. */
+  private final Map<String, Integer> idsByValue;
+
+  /** The ordinals of the movies whose array is {@code null}. */
+  private final BitSet nulls;
+
+  /** The position in {@link #ids} at which each movie's run begins, followed by the end. */
+  private final IntBuffer offsets;
+
+  /** The distinct strings, indexed by id. */
+  private final String[] values;
+
+  /**
+   * Instantiates a new dictionary column.
+   *
+   * @param theValues the distinct strings, indexed by id
+   * @param theIdsByValue the id of each distinct string, keyed by string
+   * @param theOffsets the position at which each movie's run begins, followed by the end
+   * @param theIds the ids of every movie's array, concatenated in ordinal order
+   * @param theNulls the ordinals of the movies whose array is {@code null}
+   */
+  private DictionaryColumn(
+      final String[] theValues,
+      final Map<String, Integer> theIdsByValue,
+      final IntBuffer theOffsets,
+      final IntBuffer theIds,
+      final BitSet theNulls) {
+
+    super();
+    this.values = theValues;
+    this.idsByValue = theIdsByValue;
+    this.offsets = theOffsets;
+    this.ids = theIds;
+    this.nulls = theNulls;
+  }
+
+  /**
+   * Creates a column over already encoded arrays, such as those mapped from a snapshot. The
+   * buffers are used as they are.
+   *
+   * @param values the distinct strings, indexed by id
+   * @param offsets the position at which each movie's run begins, followed by the end
+   * @param ids the ids of every movie's array, concatenated in ordinal order
+   * @param nulls the ordinals of the movies whose array is {@code null}
+   * @return the column
+   */
+  static DictionaryColumn of(
+      final String[] values, final IntBuffer offsets, final IntBuffer ids, final BitSet nulls) {
+
+    final Map<String, Integer> idsByValue = new HashMap<>();
+    for (var id = 0; id < values.length; id++) {
+      idsByValue.put(values[id], id);
+    }
+
+    return new DictionaryColumn(values, idsByValue, offsets, ids, nulls);
+  }
+
+  /**
+   * Gets the id of the specified string.
+   *
+   * @param value the string to look up
+   * @return the id of the string, or {@link #NULL_ID} if it isn't in the dictionary
+   */
+  int id(final String value) {
+
+    final Integer id = this.idsByValue.get(value);
+
+    return id == null ? NULL_ID : id;
+  }
+
+  /**
+   * Gets the string with the specified id.
+   *
+   * @param id the id of the string
+   * @return the string, or {@code null} for {@link #NULL_ID}
+   */
+  String value(final int id) {
+    return id == NULL_ID ? null : this.values[id];
+  }
+
+  /**
+   * Gets the number of distinct strings in the dictionary.
+   *
+   * @return the number of distinct strings
+   */
+  int dictionarySize() {
+    return this.values.length;
+  }
+
+  /**
+   * Gets the position of the first id of the specified movie's run.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return the position of the first id of the run
+   */
+  int start(final int ordinal) {
+    return this.offsets.get(ordinal);
+  }
+
+  /**
+   * Gets the position just past the last id of the specified movie's run.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return the position just past the last id of the run
+   */
+  int end(final int ordinal) {
+    return this.offsets.get(ordinal + 1);
+  }
+
+  /**
+   * Gets the id at the specified position.
+   *
+   * @param position the position of the id
+   * @return the id at the position
+   */
+  int idAt(final int position) {
+    return this.ids.get(position);
+  }
+
+  /**
+   * Encodes the specified array against the dictionary, so it can be compared with the stored
+   * arrays without touching a string. A string that isn't in the dictionary is encoded as {@link
+   * #UNKNOWN_ID}.
+   *
+   * @param rowValues the array to encode, which may be {@code null}
+   * @return the id of each element of the array, or {@code null} if the array is {@code null}
+   */
+  int[] encode(final String[] rowValues) {
+
+    if (rowValues == null) {
+      return null;
+    }
+    final var rowIds = new int[rowValues.length];
+    for (var i = 0; i < rowIds.length; i++) {
+      rowIds[i] =
+          rowValues[i] == null ? NULL_ID : this.idsByValue.getOrDefault(rowValues[i], UNKNOWN_ID);
+    }
+
+    return rowIds;
+  }
+
+  /**
+   * Checks whether the specified movie's array equals an encoded array element by element, as
+   * {@link java.util.Arrays#equals(Object[], Object[])} would decide for the strings.
+   *
+   * @param ordinal the ordinal of the movie
+   * @param rowIds the encoded array, or {@code null}
+   * @return {@code true} if the arrays are equal
+   * @see #encode(String[])
+   */
+  boolean equalsAt(final int ordinal, final int[] rowIds) {
+
+    if (rowIds == null || this.nulls.get(ordinal)) {
+      return rowIds == null && this.nulls.get(ordinal);
+    }
+    final int start = start(ordinal);
+    if (end(ordinal) - start != rowIds.length) {
+      return false;
+    }
+    for (var i = 0; i < rowIds.length; i++) {
+      if (this.ids.get(start + i) != rowIds[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Checks whether the specified movie's array contains the string with the specified id.
+   *
+   * @param ordinal the ordinal of the movie
+   * @param id the id of the string
+   * @return {@code true} if the array contains the string
+   */
+  boolean contains(final int ordinal, final int id) {
+
+    if (id == NULL_ID) {
+      return false;
+    }
+    for (int position = start(ordinal), end = end(ordinal); position < end; position++) {
+      if (this.ids.get(position) == id) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Decodes the specified movie's array.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return a new array of the movie's strings, or {@code null} if the movie had none
+   */
+  String[] values(final int ordinal) {
+
+    if (this.nulls.get(ordinal)) {
+      return null;
+    }
+    final int start = start(ordinal);
+    final var rowValues = new String[end(ordinal) - start];
+    for (var i = 0; i < rowValues.length; i++) {
+      rowValues[i] = value(this.ids.get(start + i));
+    }
+
+    return rowValues;
+  }
+
+  /** Encodes a column one movie at a time, in ordinal order. */
+  static final class Builder {
+
+    /** The ids of the arrays added so far, followed by unused capacity. */
+    private int[] ids = new int[16];
+
+    /** The id of each distinct string added so far, keyed by string. */
+    private final Map<String, Integer> idsByValue = new HashMap<>();
+
+    /** The ordinals of the movies added so far whose array is {@code null}. */
+    private final BitSet nulls = new BitSet();
+
+    /** The position at which each movie's run begins, followed by the end. */
+    private final int[] offsets;
+
+    /** The number of movies added so far. */
+    private int rowCount;
+
+    /** The distinct strings added so far, indexed by id. */
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Instantiates a new builder for a column of the specified number of movies.
+     *
+     * @param theRowCount the number of movies in the column
+     */
+    Builder(final int theRowCount) {
+
+      super();
+      this.offsets = new int[theRowCount + 1];
+    }
+
+    /**
+     * Adds the next movie's array.
+     *
+     * @param rowValues the movie's strings, which may be {@code null}
+     */
+    void add(final String[] rowValues) {
+
+      final int start = this.offsets[this.rowCount];
+      if (rowValues == null) {
+        this.nulls.set(this.rowCount);
+      } else {
+        if (start + rowValues.length > this.ids.length) {
+          final int capacity = Math.max(start + rowValues.length, this.ids.length * 2);
+          this.ids = Arrays.copyOf(this.ids, capacity);
+        }
+        for (var i = 0; i < rowValues.length; i++) {
+          this.ids[start + i] = rowValues[i] == null ? NULL_ID : idOf(rowValues[i]);
+        }
+      }
+      this.offsets[++this.rowCount] = start + (rowValues == null ? 0 : rowValues.length);
+    }
+
+    /**
+     * Gets the id of the specified string, assigning the next id if it's new.
+     *
+     * @param value the string
+     * @return the id of the string
+     */
+    private int idOf(final String value) {
+
+      return this.idsByValue.computeIfAbsent(
+          value,
+          key -> {
+            this.values.add(key);
+            return this.values.size() - 1;
+          });
+    }
+
+    /**
+     * Builds the column from the arrays added so far.
+     *
+     * @param offHeap whether the offsets and ids are moved into direct buffers
+     * @return the encoded column
+     */
+    DictionaryColumn build(final boolean offHeap) {
+
+      return new DictionaryColumn(
+          this.values.toArray(new String[0]),
+          this.idsByValue,
+          MovieStore.intBuffer(this.offsets, offHeap),
+          MovieStore.intBuffer(Arrays.copyOf(this.ids, this.offsets[this.rowCount]), offHeap),
+          this.nulls);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Indexes movies by genre. Each genre maps to a bitmap of the ordinals of the movies classified
+ * under it, so queries that combine genres are answered with bitwise operations rather than by
+ * inspecting each movie.
+ *
+ * @author jkaib
+ */
+final class GenreIndex {
+
+  /** The genres of each movie, whose dictionary ids index the bitmaps. */
+  private final DictionaryColumn genreColumn;
+
+  /** The number of movies classified under each genre, indexed by genre id. */
+  private final int[] counts;
+
+  /** The ordinals of the movies classified under each genre, indexed by genre id. */
+  private final BitSet[] ordinalsById;
+
+  /**
+   * Instantiates a new index of the movies in the specified store. The bitmaps are filled from the
+   * store's genre ids, so no genre is hashed while the index is built.
+   *
+   * @param theStore the store whose genre column is indexed
+   */
+  GenreIndex(final MovieStore theStore) {
+
+    super();
+    this.genreColumn = theStore.genreColumn();
+    this.ordinalsById = new BitSet[this.genreColumn.dictionarySize()];
+    for (var id = 0; id < this.ordinalsById.length; id++) {
+      this.ordinalsById[id] = new BitSet();
+    }
+    for (var ordinal = 0; ordinal < theStore.size(); ordinal++) {
+      final int end = this.genreColumn.end(ordinal);
+      for (int position = this.genreColumn.start(ordinal); position < end; position++) {
+        final int id = this.genreColumn.idAt(position);
+        if (id != DictionaryColumn.NULL_ID) {
+          this.ordinalsById[id].set(ordinal);
+        }
+      }
+    }
+    this.counts = Arrays.stream(this.ordinalsById).mapToInt(BitSet::cardinality).toArray();
+  }
+
+  /**
+   * Gets the ordinals of the movies classified under the specified genre.
+   *
+   * @param genre the genre of interest
+   * @return the bitmap of the genre, which must not be modified, or {@code null} if no movie is
+   *     classified under it
+   */
+  private BitSet ordinalsOf(final String genre) {
+
+    final int id = this.genreColumn.id(genre);
+
+    return id == DictionaryColumn.NULL_ID ? null : this.ordinalsById[id];
+  }
+
+  /**
+   * Counts the movies classified under each genre among the specified movies, in one pass over
+   * their genre ids. A genre listed more than once for a movie is counted once.
+   *
+   * @param ordinals performs an action on the ordinal of each movie to count, once per movie
+   * @return the number of the movies classified under each genre, keyed by genre, omitting genres
+   *     with no movies
+   */
+  SortedMap<String, Integer> countAmong(final Consumer<IntConsumer> ordinals) {
+
+    final var counts = new int[this.counts.length];
+    final var lastCounted = new int[this.counts.length];
+    Arrays.fill(lastCounted, -1);
+    ordinals.accept(
+        ordinal -> {
+          final int end = this.genreColumn.end(ordinal);
+          for (int position = this.genreColumn.start(ordinal); position < end; position++) {
+            final int id = this.genreColumn.idAt(position);
+            if (id != DictionaryColumn.NULL_ID && lastCounted[id] != ordinal) {
+              lastCounted[id] = ordinal;
+              counts[id]++;
+            }
+          }
+        });
+
+    final SortedMap<String, Integer> countsByGenre = new TreeMap<>();
+    for (var id = 0; id < counts.length; id++) {
+      if (counts[id] > 0) {
+        countsByGenre.put(this.genreColumn.value(id), counts[id]);
+      }
+    }
+
+    return countsByGenre;
+  }
+
+  /**
+   * Estimates the number of movies that match the specified genres: the count of the rarest genre
+   * when every genre must match, or the sum of the counts when any may. The estimate is never less
+   * than the number of matches.
+   *
+   * @param genres the genres of interest
+   * @param match how the genres are combined
+   * @return the estimated number of matching movies
+   */
+  int estimate(final Collection<String> genres, final GenreMatch match) {
+
+    final IntStream counts =
+        genres
+            .stream()
+            .mapToInt(genre -> this.genreColumn.id(genre))
+            .map(id -> id == DictionaryColumn.NULL_ID ? 0 : this.counts[id]);
+
+    return match == GenreMatch.ALL ? counts.min().orElse(0) : counts.sum();
+  }
+
+  /**
+   * Gets the ordinals of the movies that match the specified genres. Genres are compared exactly,
+   * and a genre that isn't in the index matches no movies.
+   *
+   * @param genres the genres of interest, which can't be empty
+   * @param match how the genres are combined
+   * @return a new bitmap of the ordinals of the matching movies, which the caller may modify
+   */
+  BitSet match(final Collection<String> genres, final GenreMatch match) {
+
+    BitSet matches = null;
+    for (final String genre : genres) {
+      final BitSet genreOrdinals = ordinalsOf(genre);
+      if (matches == null) {
+        matches = genreOrdinals == null ? new BitSet() : (BitSet) genreOrdinals.clone();
+      } else if (genreOrdinals == null) {
+        match.combine(matches, new BitSet());
+      } else {
+        match.combine(matches, genreOrdinals);
+      }
+    }
+
+    return matches == null ? new BitSet() : matches;
+  }
+
+  /**
+   * Checks whether the movie with the specified ordinal matches the specified genres. This costs
+   * one bitmap probe per genre, so it suits filtering a short list of ordinals that were found
+   * through another index.
+   *
+   * @param ordinal the ordinal of the movie
+   * @param genres the genres of interest, which can't be empty
+   * @param match how the genres are combined
+   * @return {@code true} if the movie matches the genres
+   */
+  boolean matches(final int ordinal, final Collection<String> genres, final GenreMatch match) {
+
+    for (final String genre : genres) {
+      final BitSet genreOrdinals = ordinalsOf(genre);
+      final boolean classified = genreOrdinals != null && genreOrdinals.get(ordinal);
+      if (classified == (match == GenreMatch.ANY)) {
+        return classified;
+      }
+    }
+
+    return match == GenreMatch.ALL;
+  }
+}
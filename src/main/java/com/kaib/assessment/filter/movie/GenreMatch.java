@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.BitSet;
+
+/**
+ * How the genres of a query are combined when movies are looked up by genre.
+ *
+ * @author jkaib
+ */
+public enum GenreMatch {
+
+  /** Matches the movies classified under every one of the genres. */
+  ALL {
+    @Override
+    void combine(final BitSet matches, final BitSet genreOrdinals) {
+      matches.and(genreOrdinals);
+    }
+  },
+
+  /** Matches the movies classified under at least one of the genres. */
+  ANY {
+    @Override
+    void combine(final BitSet matches, final BitSet genreOrdinals) {
+      matches.or(genreOrdinals);
+    }
+  };
+
+  /**
+   * Combines the ordinals of the movies classified under one more genre with the matches so far.
+   *
+   * @param matches the ordinals of the movies matched so far, which are updated in place
+   * @param genreOrdinals the ordinals of the movies classified under the next genre
+   */
+  abstract void combine(BitSet matches, BitSet genreOrdinals);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+
+/**
+ * The engines the driver can use to read the movies source file.
+ *
+ * @author jkaib
+ */
+public enum InputEngine {
+
+  /** Streams the file one movie at a time through Gson's {@code JsonReader}. */
+  STREAM("stream") {
+    @Override
+    MovieLoader createLoader(final Gson gson) {
+      return new JsonMovieLoader(gson);
+    }
+  },
+
+  /** Memory-maps the file and tokenizes its UTF-8 bytes directly. */
+  MMAP("mmap") {
+    @Override
+    MovieLoader createLoader(final Gson gson) {
+      return new MappedMovieLoader();
+    }
+  },
+
+  /** Memory-maps the file and parses chunks of it on all the workers of the common pool. */
+  PARALLEL("parallel") {
+    @Override
+    MovieLoader createLoader(final Gson gson) {
+      return new ParallelMovieLoader();
+    }
+  };
+
+  /** The name used to select the engine on the command line. */
+  private final String engineName;
+
+  /**
+   * Instantiates a new input engine.
+   *
+   * @param theEngineName the name used to select the engine on the command line
+   */
+  InputEngine(final String theEngineName) {
+    this.engineName = theEngineName;
+  }
+
+  /**
+   * Gets the input engine selected by the specified command-line name.
+   *
+   * @param engineName the name used to select the engine on the command line
+   * @return the input engine with the specified name
+   * @throws IllegalArgumentException if no input engine has the specified name
+   */
+  public static InputEngine fromName(final String engineName) {
+
+    return Arrays.stream(values())
+        .filter(engine -> engine.engineName.equals(engineName))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "Unknown input engine '"
+                        + engineName
+                        + "', expected one of "
+                        + Arrays.stream(values())
+                            .map(InputEngine::getEngineName)
+                            .collect(Collectors.joining(", "))));
+  }
+
+  /**
+   * Creates a loader that reads the movies source file using this engine.
+   *
+   * @param gson the JSON deserializer used by engines that bind movies through Gson
+   * @return a loader that reads the movies source file using this engine
+   */
+  abstract MovieLoader createLoader(Gson gson);
+
+  /**
+   * Gets the name used to select the engine on the command line.
+   *
+   * @return the name used to select the engine on the command line
+   */
+  public String getEngineName() {
+    return this.engineName;
+  }
+}
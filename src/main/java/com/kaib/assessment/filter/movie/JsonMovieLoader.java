@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * Loads the movies supported by the application from a file containing a JSON array of movies. The
+ * array is streamed from a buffered file channel one movie at a time, so the file's contents are
+ * never held in memory as a whole. Only the movies themselves are retained.
+ *
+ * @author jkaib
+ */
+public final class JsonMovieLoader implements MovieLoader {
+
+  /** The size of the character buffer placed in front of the file channel. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** The JSON deserializer that binds each array element to a movie. */
+  private final Gson gson;
+
+  /**
+   * Instantiates a new JSON movie loader.
+   *
+   * @param theGson the JSON deserializer that binds each array element to a movie
+   */
+  public JsonMovieLoader(final Gson theGson) {
+
+    super();
+    Validate.notNull(theGson, "The JSON deserializer can't be null", (Object[]) null);
+    this.gson = theGson;
+  }
+
+  /**
+   * Loads the movies contained in the JSON array in the specified file.
+   *
+   * @param sourceFilePath the file that contains the movies in JSON format
+   * @return the movies contained in the file, in the order they were read
+   * @throws IOException if the file can't be read
+   * @throws JsonSyntaxException if the file doesn't contain a JSON array of movies
+   */
+  public Set<Movie> load(final Path sourceFilePath) throws IOException {
+
+    final TypeAdapter<Movie> movieAdapter = this.gson.getAdapter(Movie.class);
+    try (var channel = FileChannel.open(sourceFilePath, StandardOpenOption.READ);
+        var jsonReader = openJsonReader(channel)) {
+
+      final Set<Movie> movies = new LinkedHashSet<>();
+      jsonReader.beginArray();
+      while (jsonReader.hasNext()) {
+        movies.add(movieAdapter.read(jsonReader));
+      }
+      endDocument(jsonReader);
+
+      return movies;
+    } catch (final IllegalStateException | MalformedJsonException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Loads the movies contained in the JSON array in the specified file that were released in a year
+   * accepted by the specified filter. The filter is applied as soon as a movie's {@code year} field
+   * is read. The remaining fields of a rejected movie are skipped without being decoded, and no
+   * {@link Movie} is ever created for it.
+   *
+   * @param sourceFilePath the file that contains the movies in JSON format
+   * @param yearFilter accepts the release years of the movies to load
+   * @return the accepted movies contained in the file, in the order they were read
+   * @throws IOException if the file can't be read
+   * @throws JsonSyntaxException if the file doesn't contain a JSON array of movies
+   */
+  @Override
+  public Set<Movie> load(final Path sourceFilePath, final IntPredicate yearFilter)
+      throws IOException {
+
+    Validate.notNull(yearFilter, "The year filter can't be null", (Object[]) null);
+    try (var channel = FileChannel.open(sourceFilePath, StandardOpenOption.READ);
+        var jsonReader = openJsonReader(channel)) {
+
+      final Set<Movie> movies = new LinkedHashSet<>();
+      final var symbols = new SymbolTable();
+      jsonReader.beginArray();
+      while (jsonReader.hasNext()) {
+        final Movie movie = MovieTypeAdapter.readMovie(jsonReader, yearFilter, symbols);
+        if (movie != null) {
+          movies.add(movie);
+        }
+      }
+      endDocument(jsonReader);
+
+      return movies;
+    } catch (final IllegalStateException | MalformedJsonException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Closes the movies array and verifies nothing follows it, so trailing content is rejected just
+   * as it was when {@link Gson#fromJson(String, java.lang.reflect.Type)} bound the whole file.
+   *
+   * @param jsonReader the JSON reader positioned at the end of the movies array
+   * @throws IOException if the file can't be read
+   * @throws JsonSyntaxException if anything other than whitespace follows the movies array
+   */
+  private static void endDocument(final JsonReader jsonReader) throws IOException {
+
+    jsonReader.endArray();
+    if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+      throw new JsonSyntaxException("The movies array must be the only value in the file");
+    }
+  }
+
+  /**
+   * Opens a lenient JSON reader over the specified channel. Leniency matches the behavior of {@link
+   * Gson#fromJson(String, java.lang.reflect.Type)}, which previously bound the whole file.
+   *
+   * @param channel the channel from which the JSON structure is read
+   * @return a JSON reader that decodes the channel as UTF-8 through a buffer
+   */
+  private JsonReader openJsonReader(final FileChannel channel) {
+
+    final var reader =
+        new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    final JsonReader jsonReader = this.gson.newJsonReader(reader);
+    jsonReader.setLenient(true);
+
+    return jsonReader;
+  }
+}
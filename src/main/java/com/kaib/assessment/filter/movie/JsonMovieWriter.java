@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes filtered movies to a destination file as a single JSON array. The movies are serialized
+ * one at a time through a buffered file channel, so the document is never held in memory as a
+ * whole and memory use doesn't grow with the number of movies. Line endings are emitted as the
+ * document is written rather than converted afterward.
+ *
+ * @author jkaib
+ */
+public final class JsonMovieWriter implements MovieWriter {
+
+  /** The size of the character buffer placed in front of the file channel. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** The line separator used by default, which is the Windows line ending. */
+  public static final String WINDOWS_LINE_SEPARATOR = "\r\n";
+
+  /** The JSON serializer that formats the array. */
+  private final Gson gson;
+
+  /** The line separator written at the end of each line. */
+  private final String lineSeparator;
+
+  /**
+   * Instantiates a new JSON movie writer that uses Windows line endings.
+   *
+   * @param theGson the JSON serializer that formats the array
+   */
+  public JsonMovieWriter(final Gson theGson) {
+    this(theGson, WINDOWS_LINE_SEPARATOR);
+  }
+
+  /**
+   * Instantiates a new JSON movie writer that uses the specified line endings.
+   *
+   * @param theGson the JSON serializer that formats the array
+   * @param theLineSeparator the line separator written at the end of each line
+   */
+  public JsonMovieWriter(final Gson theGson, final String theLineSeparator) {
+
+    super();
+    Validate.notNull(theGson, "The JSON serializer can't be null", (Object[]) null);
+    Validate.notEmpty(theLineSeparator, "The line separator can't be empty", (Object[]) null);
+    this.gson = theGson;
+    this.lineSeparator = theLineSeparator;
+  }
+
+  @Override
+  public void write(final Collection<Movie> movies, final Path destFilePath) throws IOException {
+
+    final TypeAdapter<Movie> movieAdapter = this.gson.getAdapter(Movie.class);
+    try (var channel =
+            FileChannel.open(
+                destFilePath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        var writer =
+            new LineSeparatorWriter(
+                new BufferedWriter(
+                    Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE),
+                this.lineSeparator);
+        JsonWriter jsonWriter = this.gson.newJsonWriter(writer)) {
+
+      // Pretty printing only ever writes line feeds between tokens; line feeds inside strings are
+      // escaped, so translating every line feed changes only the line endings.
+      jsonWriter.beginArray();
+      for (final Movie movie : movies) {
+        movieAdapter.write(jsonWriter, movie);
+      }
+      jsonWriter.endArray();
+    }
+  }
+}
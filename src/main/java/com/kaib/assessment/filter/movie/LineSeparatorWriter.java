@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Translates each line feed written through it into a specified line separator. Characters are
+ * translated as they pass through, so no copy of the text being written is ever made.
+ *
+ * @author jkaib
+ */
+final class LineSeparatorWriter extends FilterWriter {
+
+  /** The line feed character that is translated. */
+  private static final char LINE_FEED = '\n';
+
+  /** The line separator written in place of each line feed. */
+  private final String lineSeparator;
+
+  /**
+   * Instantiates a new writer that translates line feeds into the specified line separator.
+   *
+   * @param theWriter the writer to which the translated characters are written
+   * @param theLineSeparator the line separator written in place of each line feed
+   */
+  LineSeparatorWriter(final Writer theWriter, final String theLineSeparator) {
+
+    super(theWriter);
+    this.lineSeparator = theLineSeparator;
+  }
+
+  @Override
+  public void write(final int c) throws IOException {
+
+    if (c == LINE_FEED) {
+      this.out.write(this.lineSeparator);
+    } else {
+      this.out.write(c);
+    }
+  }
+
+  @Override
+  public void write(final char[] cbuf, final int off, final int len) throws IOException {
+
+    var start = off;
+    final var end = off + len;
+    for (var i = off; i < end; i++) {
+      if (cbuf[i] == LINE_FEED) {
+        this.out.write(cbuf, start, i - start);
+        this.out.write(this.lineSeparator);
+        start = i + 1;
+      }
+    }
+    this.out.write(cbuf, start, end - start);
+  }
+
+  @Override
+  public void write(final String str, final int off, final int len) throws IOException {
+
+    var start = off;
+    final var end = off + len;
+    for (var i = off; i < end; i++) {
+      if (str.charAt(i) == LINE_FEED) {
+        this.out.write(str, start, i - start);
+        this.out.write(this.lineSeparator);
+        start = i + 1;
+      }
+    }
+    this.out.write(str, start, end - start);
+  }
+}
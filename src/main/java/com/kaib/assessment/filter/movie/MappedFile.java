@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A read-only, memory-mapped view of a file that may be larger than the 2 GB limit of a single
+ * {@link MappedByteBuffer}. The file is mapped as a series of fixed-size segments and addressed by
+ * a {@code long} byte offset.
+ *
+ * @author jkaib
+ */
+final class MappedFile {
+
+  /** The base two logarithm of the default segment size, which is 1 GB. */
+  static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+  /** The largest segment size supported, limited by the {@code int} index of a byte buffer. */
+  private static final int MAX_SEGMENT_SHIFT = 30;
+
+  /** The mask that extracts the offset within a segment from a file offset. */
+  private final long segmentMask;
+
+  /** The base two logarithm of the segment size. */
+  private final int segmentShift;
+
+  /** The mapped segments of the file, in file order. */
+  private final MappedByteBuffer[] segments;
+
+  /** The size of the file in bytes. */
+  private final long size;
+
+  /**
+   * Instantiates a new mapped file from the specified segments.
+   *
+   * @param theSegments the mapped segments of the file, in file order
+   * @param theSegmentShift the base two logarithm of the segment size
+   * @param theSize the size of the file in bytes
+   */
+  private MappedFile(
+      final MappedByteBuffer[] theSegments, final int theSegmentShift, final long theSize) {
+
+    super();
+    this.segments = theSegments;
+    this.segmentShift = theSegmentShift;
+    this.segmentMask = (1L << theSegmentShift) - 1;
+    this.size = theSize;
+  }
+
+  /**
+   * Maps the specified file using the default segment size.
+   *
+   * @param filePath the file to map
+   * @return a read-only view of the file
+   * @throws IOException if the file can't be mapped
+   */
+  static MappedFile map(final Path filePath) throws IOException {
+    return map(filePath, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  /**
+   * Maps the specified file using segments of the specified size. The mappings remain valid after
+   * the underlying channel is closed and are released when the view is garbage collected.
+   *
+   * @param filePath the file to map
+   * @param segmentShift the base two logarithm of the segment size
+   * @return a read-only view of the file
+   * @throws IOException if the file can't be mapped
+   */
+  static MappedFile map(final Path filePath, final int segmentShift) throws IOException {
+
+    Validate.inclusiveBetween(
+        1, MAX_SEGMENT_SHIFT, segmentShift, "The segment size is out of range", (Object[]) null);
+    try (var channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+      final long fileSize = channel.size();
+      final long segmentSize = 1L << segmentShift;
+      final var segmentCount = (int) ((fileSize + segmentSize - 1) >>> segmentShift);
+      final var mappedSegments = new MappedByteBuffer[segmentCount];
+      for (var i = 0; i < segmentCount; i++) {
+        final long position = (long) i << segmentShift;
+        mappedSegments[i] =
+            channel.map(MapMode.READ_ONLY, position, Math.min(segmentSize, fileSize - position));
+      }
+
+      return new MappedFile(mappedSegments, segmentShift, fileSize);
+    }
+  }
+
+  /**
+   * Gets the byte at the specified offset.
+   *
+   * @param offset the offset of the byte within the file
+   * @return the byte at the specified offset
+   * @throws IndexOutOfBoundsException if the offset isn't within the file
+   */
+  byte get(final long offset) {
+
+    final MappedByteBuffer segment = this.segments[(int) (offset >>> this.segmentShift)];
+
+    return segment.get((int) (offset & this.segmentMask));
+  }
+
+  /**
+   * Copies the specified range of bytes into a new array. The range may span segments; the part
+   * of the range in each segment is copied in bulk.
+   *
+   * @param offset the offset of the first byte to copy
+   * @param length the number of bytes to copy
+   * @return the bytes in the specified range
+   * @throws IndexOutOfBoundsException if the range isn't within the file
+   */
+  byte[] getBytes(final long offset, final int length) {
+
+    if (offset < 0 || length < 0 || offset + length > this.size) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + (offset + length) + ") out of bounds for " + this.size);
+    }
+    final var bytes = new byte[length];
+    var copied = 0;
+    while (copied < length) {
+      final long position = offset + copied;
+      final var start = (int) (position & this.segmentMask);
+      final MappedByteBuffer segment = this.segments[(int) (position >>> this.segmentShift)];
+      final int count = Math.min(length - copied, segment.limit() - start);
+
+      // Java 11 has no absolute bulk get, so a duplicate is positioned instead.
+      segment.duplicate().position(start).get(bytes, copied, count);
+      copied += count;
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Gets the size of the file in bytes.
+   *
+   * @return the size of the file in bytes
+   */
+  long size() {
+    return this.size;
+  }
+}
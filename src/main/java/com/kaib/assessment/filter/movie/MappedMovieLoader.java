@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Loads the movies supported by the application by memory-mapping a file containing a JSON array of
+ * movies and tokenizing its UTF-8 bytes directly. The file is never decoded into a Java string as a
+ * whole; only the fields of movies accepted by the year filter are decoded. Files larger than 2 GB
+ * are mapped in segments.
+ *
+ * <p>Unlike {@link JsonMovieLoader}, the file must contain strict JSON.
+ *
+ * @author jkaib
+ */
+public final class MappedMovieLoader implements MovieLoader {
+
+  /** Instantiates a new memory-mapped movie loader. */
+  public MappedMovieLoader() {
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The year of each movie is located before any of its strings are decoded, so rejected movies
+   * cost only a scan of their bytes regardless of the order of their fields.
+   *
+   * @throws JsonSyntaxException if the file doesn't contain a JSON array of movies
+   */
+  @Override
+  public Set<Movie> load(final Path sourceFilePath, final IntPredicate yearFilter)
+      throws IOException {
+
+    Validate.notNull(yearFilter, "The year filter can't be null", (Object[]) null);
+    final MappedFile mappedFile = MappedFile.map(sourceFilePath);
+    final Set<Movie> movies = new LinkedHashSet<>();
+    final var scanner = new MappedMovieScanner(mappedFile, 0, mappedFile.size(), new SymbolTable());
+    scanner.scanArray(yearFilter, movies::add);
+
+    return movies;
+  }
+}
@@ -0,0 +1,723 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Tokenizes a JSON array of movies directly from the UTF-8 bytes of a {@link MappedFile}. Each
+ * movie object is scanned once to find its {@code year} and the offsets of its other fields. Only
+ * the movies whose year is accepted by the filter have their strings decoded, so the fields of
+ * rejected movies are never turned into Java strings regardless of where {@code year} appears.
+ *
+ * <p>The scanner accepts strict JSON only. Values of fields that aren't bound to a movie are
+ * skipped by matching brackets and quotes rather than being validated.
+ *
+ * @author jkaib
+ */
+final class MappedMovieScanner {
+
+  /** The UTF-8 bytes of the cast field name. */
+  private static final byte[] CAST_NAME = "cast".getBytes(StandardCharsets.UTF_8);
+
+  /** The UTF-8 bytes of the genres field name. */
+  private static final byte[] GENRES_NAME = "genres".getBytes(StandardCharsets.UTF_8);
+
+  /** The UTF-8 bytes of the title field name. */
+  private static final byte[] TITLE_NAME = "title".getBytes(StandardCharsets.UTF_8);
+
+  /** The UTF-8 bytes of the year field name. */
+  private static final byte[] YEAR_NAME = "year".getBytes(StandardCharsets.UTF_8);
+
+  /** Marks a field whose value wasn't present in the object being scanned. */
+  private static final long ABSENT = -1L;
+
+  /** The file being scanned. */
+  private final MappedFile file;
+
+  /** The offset just past the last byte the scanner may read. */
+  private final long limit;
+
+  /** The offset of the next byte to read. */
+  private long position;
+
+  /** Canonicalizes the genre and cast names of the movies bound. */
+  private final SymbolTable symbols;
+
+  /**
+   * Instantiates a new scanner over the specified range of the specified file.
+   *
+   * @param theFile the file being scanned
+   * @param start the offset of the first byte to scan
+   * @param theLimit the offset just past the last byte to scan
+   * @param theSymbols canonicalizes the genre and cast names of the movies bound
+   */
+  MappedMovieScanner(
+      final MappedFile theFile,
+      final long start,
+      final long theLimit,
+      final SymbolTable theSymbols) {
+
+    super();
+    this.file = theFile;
+    this.position = start;
+    this.limit = theLimit;
+    this.symbols = theSymbols;
+  }
+
+  /**
+   * Scans the top-level JSON array and passes each movie accepted by the specified filter to the
+   * specified sink, in file order.
+   *
+   * @param yearFilter accepts the release years of the movies to bind
+   * @param sink receives the accepted movies
+   * @throws JsonSyntaxException if the range doesn't contain a JSON array of movies, or if anything
+   *     other than whitespace follows the array
+   */
+  void scanArray(final IntPredicate yearFilter, final Consumer<Movie> sink) {
+
+    skipWhitespace();
+    expect('[');
+    skipWhitespace();
+    if (peek() == ']') {
+      this.position++;
+      expectEnd();
+      return;
+    }
+    while (true) {
+      scanElement(yearFilter, sink);
+      skipWhitespace();
+      final byte separator = next();
+      if (separator == ']') {
+        expectEnd();
+        return;
+      }
+      if (separator != ',') {
+        throw syntaxError("Expected ',' or ']'", this.position - 1);
+      }
+    }
+  }
+
+  /**
+   * Consumes the opening bracket of the top-level JSON array.
+   *
+   * @return the offset of the opening bracket
+   * @throws JsonSyntaxException if the range doesn't start with a JSON array
+   */
+  long openArray() {
+
+    skipWhitespace();
+    expect('[');
+
+    return this.position - 1;
+  }
+
+  /**
+   * Scans the array elements that follow the separator at the current position, which is either
+   * the opening bracket or a comma between elements. Scanning stops at the first comma at or past
+   * the specified split offset, or at the closing bracket. A chunk of the top-level array is parsed
+   * this way, so a chunk ends at exactly the separator that starts the next one.
+   *
+   * @param yearFilter accepts the release years of the movies to bind
+   * @param sink receives the accepted movies
+   * @param splitOffset the offset at or past which the next comma ends the chunk
+   * @return the offset of the separator that ends the chunk, which is either a comma or the closing
+   *     bracket
+   * @throws JsonSyntaxException if the range doesn't contain comma-separated movie objects, or if
+   *     anything other than whitespace follows the array
+   */
+  long scanChunk(
+      final IntPredicate yearFilter, final Consumer<Movie> sink, final long splitOffset) {
+
+    final byte opening = next();
+    if (opening != '[' && opening != ',') {
+      throw syntaxError("Expected '[' or ','", this.position - 1);
+    }
+    if (opening == '[') {
+      skipWhitespace();
+      if (peek() == ']') {
+        final long closingOffset = this.position++;
+        expectEnd();
+        return closingOffset;
+      }
+    }
+    while (true) {
+      scanElement(yearFilter, sink);
+      skipWhitespace();
+      final long separatorOffset = this.position;
+      final byte separator = next();
+      if (separator == ']') {
+        expectEnd();
+        return separatorOffset;
+      }
+      if (separator != ',') {
+        throw syntaxError("Expected ',' or ']'", separatorOffset);
+      }
+      if (separatorOffset >= splitOffset) {
+        return separatorOffset;
+      }
+    }
+  }
+
+  /**
+   * Finds the first comma in the specified range that looks like a separator between two movies:
+   * the previous value ends with a brace or {@code null} and the next one starts with a brace or
+   * {@code null}. Only the bytes around each comma are inspected, so the result is a guess. A comma
+   * inside a string or a nested value may be mistaken for a separator, and callers must verify the
+   * guess against the separator at which the previous chunk actually ended.
+   *
+   * @param mappedFile the file being scanned
+   * @param from the offset at which the search starts
+   * @param to the offset at which the search ends, exclusive
+   * @return the offset of the first comma that looks like a separator, or {@code -1} if there is
+   *     none in the range
+   */
+  static long findSeparator(final MappedFile mappedFile, final long from, final long to) {
+
+    for (long offset = from; offset < to; offset++) {
+      if (mappedFile.get(offset) != ',') {
+        continue;
+      }
+      long before = offset - 1;
+      while (before >= 0 && isWhitespace(mappedFile.get(before))) {
+        before--;
+      }
+      long after = offset + 1;
+      while (after < mappedFile.size() && isWhitespace(mappedFile.get(after))) {
+        after++;
+      }
+      if (before >= 0
+          && after < mappedFile.size()
+          && (mappedFile.get(before) == '}' || mappedFile.get(before) == 'l')
+          && (mappedFile.get(after) == '{' || mappedFile.get(after) == 'n')) {
+        return offset;
+      }
+    }
+
+    return -1L;
+  }
+
+  /**
+   * Scans one array element, which is either a movie object or {@code null}.
+   *
+   * @param yearFilter accepts the release years of the movies to bind
+   * @param sink receives the movie if it's accepted
+   */
+  private void scanElement(final IntPredicate yearFilter, final Consumer<Movie> sink) {
+
+    skipWhitespace();
+    if (peek() == 'n') {
+      expectLiteral("null");
+      return;
+    }
+    final Movie movie = scanMovie(yearFilter);
+    if (movie != null) {
+      sink.accept(movie);
+    }
+  }
+
+  /**
+   * Scans a movie object. The fields are located in a single pass and only decoded once the year
+   * is known to be accepted. When a field is repeated, the last occurrence wins.
+   *
+   * @param yearFilter accepts the release years of the movies to bind
+   * @return the movie, or {@code null} if its year was rejected
+   */
+  private Movie scanMovie(final IntPredicate yearFilter) {
+
+    long castOffset = ABSENT;
+    long genresOffset = ABSENT;
+    long titleOffset = ABSENT;
+    var year = 0;
+    expect('{');
+    skipWhitespace();
+    if (peek() == '}') {
+      this.position++;
+    } else {
+      while (true) {
+        skipWhitespace();
+        expect('"');
+        final long nameStart = this.position;
+        final long nameEnd = skipStringBody();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        final long valueOffset = this.position;
+        if (nameEquals(nameStart, nameEnd, YEAR_NAME)) {
+          year = readYear();
+        } else {
+          skipValue();
+          if (nameEquals(nameStart, nameEnd, TITLE_NAME)) {
+            titleOffset = valueOffset;
+          } else if (nameEquals(nameStart, nameEnd, CAST_NAME)) {
+            castOffset = valueOffset;
+          } else if (nameEquals(nameStart, nameEnd, GENRES_NAME)) {
+            genresOffset = valueOffset;
+          }
+        }
+        skipWhitespace();
+        final byte separator = next();
+        if (separator == '}') {
+          break;
+        }
+        if (separator != ',') {
+          throw syntaxError("Expected ',' or '}'", this.position - 1);
+        }
+      }
+    }
+
+    if (!yearFilter.test(year)) {
+      return null;
+    }
+    final long resumeOffset = this.position;
+    final String[] cast = decodeStringsAt(castOffset);
+    final String[] genres = decodeStringsAt(genresOffset);
+    final var movie =
+        new Movie(
+            cast == null ? null : this.symbols.internNames(cast),
+            genres == null ? null : this.symbols.internArray(genres),
+            decodeStringAt(titleOffset),
+            year);
+    this.position = resumeOffset;
+
+    return movie;
+  }
+
+  /**
+   * Reads the year value at the current position. Like Gson, a {@code null} year is treated as zero
+   * and a quoted year is accepted.
+   *
+   * @return the year
+   */
+  private int readYear() {
+
+    final byte first = peek();
+    if (first == 'n') {
+      expectLiteral("null");
+      return 0;
+    }
+    final long start;
+    final long end;
+    if (first == '"') {
+      this.position++;
+      start = this.position;
+      end = skipStringBody();
+    } else {
+      start = this.position;
+      skipScalar();
+      end = this.position;
+    }
+
+    return parseInt(start, end);
+  }
+
+  /**
+   * Parses the ASCII integer in the specified range. Integral values written with a fraction or an
+   * exponent, such as {@code 1984.0}, are accepted as Gson accepts them.
+   *
+   * @param start the offset of the first digit
+   * @param end the offset just past the last digit
+   * @return the integer value
+   */
+  private int parseInt(final long start, final long end) {
+
+    var offset = start;
+    final boolean negative = offset < end && this.file.get(offset) == '-';
+    if (negative) {
+      offset++;
+    }
+    long value = 0;
+    var digits = 0;
+    while (offset < end && digits < 10) {
+      final int digit = this.file.get(offset) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      value = value * 10 + digit;
+      offset++;
+      digits++;
+    }
+    if (offset == end && digits > 0) {
+      final long signed = negative ? -value : value;
+      if (signed >= Integer.MIN_VALUE && signed <= Integer.MAX_VALUE) {
+        return (int) signed;
+      }
+    }
+
+    final var text =
+        new String(this.file.getBytes(start, (int) (end - start)), StandardCharsets.UTF_8);
+    try {
+      return new BigDecimal(text).intValueExact();
+    } catch (final NumberFormatException | ArithmeticException e) {
+      throw new JsonSyntaxException(
+          "Expected an int but was " + text + " at byte offset " + start, e);
+    }
+  }
+
+  /**
+   * Decodes the string or {@code null} at the specified offset.
+   *
+   * @param offset the offset of the value, or {@link #ABSENT} if the field wasn't present
+   * @return the decoded string, or {@code null} if the value was absent or {@code null}
+   */
+  private String decodeStringAt(final long offset) {
+
+    if (offset == ABSENT) {
+      return null;
+    }
+    this.position = offset;
+
+    return decodeValue();
+  }
+
+  /**
+   * Decodes the array of strings or {@code null} at the specified offset.
+   *
+   * @param offset the offset of the value, or {@link #ABSENT} if the field wasn't present
+   * @return the decoded strings, or {@code null} if the value was absent or {@code null}
+   */
+  private String[] decodeStringsAt(final long offset) {
+
+    if (offset == ABSENT) {
+      return null;
+    }
+    this.position = offset;
+    if (peek() == 'n') {
+      expectLiteral("null");
+      return null;
+    }
+    final List<String> values = new ArrayList<>();
+    expect('[');
+    skipWhitespace();
+    if (peek() == ']') {
+      return new String[0];
+    }
+    while (true) {
+      skipWhitespace();
+      values.add(decodeValue());
+      skipWhitespace();
+      final byte separator = next();
+      if (separator == ']') {
+        return values.toArray(new String[0]);
+      }
+      if (separator != ',') {
+        throw syntaxError("Expected ',' or ']'", this.position - 1);
+      }
+    }
+  }
+
+  /**
+   * Decodes the scalar value at the current position as a string. Numbers and booleans are returned
+   * as they're written, matching the way Gson binds them to a string.
+   *
+   * @return the decoded string, or {@code null} if the value was {@code null}
+   */
+  private String decodeValue() {
+
+    final byte first = peek();
+    if (first == 'n') {
+      expectLiteral("null");
+      return null;
+    }
+    if (first != '"') {
+      final long start = this.position;
+      skipScalar();
+      return new String(
+          this.file.getBytes(start, (int) (this.position - start)), StandardCharsets.UTF_8);
+    }
+
+    this.position++;
+    final long start = this.position;
+    var escaped = false;
+    byte current;
+    while ((current = next()) != '"') {
+      if (current == '\\') {
+        escaped = true;
+        next();
+      }
+    }
+    final long end = this.position - 1;
+    if (!escaped) {
+      return new String(this.file.getBytes(start, (int) (end - start)), StandardCharsets.UTF_8);
+    }
+
+    return unescape(start, end);
+  }
+
+  /**
+   * Decodes a string body that contains escape sequences. Runs of unescaped bytes are decoded as
+   * UTF-8 and the escape sequences are replaced by the characters they represent.
+   *
+   * @param start the offset of the first byte of the string body
+   * @param end the offset of the closing quote
+   * @return the decoded string
+   */
+  private String unescape(final long start, final long end) {
+
+    final var builder = new StringBuilder((int) (end - start));
+    long runStart = start;
+    var offset = start;
+    while (offset < end) {
+      if (this.file.get(offset) != '\\') {
+        offset++;
+        continue;
+      }
+      builder.append(
+          new String(
+              this.file.getBytes(runStart, (int) (offset - runStart)), StandardCharsets.UTF_8));
+      final byte escape = this.file.get(offset + 1);
+      offset += 2;
+      switch (escape) {
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          builder.append((char) parseHex(offset));
+          offset += 4;
+          break;
+        case '"':
+        case '\\':
+        case '/':
+          builder.append((char) escape);
+          break;
+        default:
+          throw syntaxError("Invalid escape sequence", offset - 2);
+      }
+      runStart = offset;
+    }
+    builder.append(
+        new String(this.file.getBytes(runStart, (int) (end - runStart)), StandardCharsets.UTF_8));
+
+    return builder.toString();
+  }
+
+  /**
+   * Parses the four hexadecimal digits of a unicode escape sequence.
+   *
+   * @param offset the offset of the first digit
+   * @return the UTF-16 code unit represented by the digits
+   */
+  private int parseHex(final long offset) {
+
+    if (offset + 4 > this.limit) {
+      throw syntaxError("Unterminated escape sequence", offset);
+    }
+    var value = 0;
+    for (var i = 0; i < 4; i++) {
+      final int digit = Character.digit(this.file.get(offset + i), 16);
+      if (digit < 0) {
+        throw syntaxError("Invalid unicode escape sequence", offset);
+      }
+      value = (value << 4) | digit;
+    }
+
+    return value;
+  }
+
+  /**
+   * Indicates whether the raw bytes of a field name match the specified name.
+   *
+   * @param start the offset of the first byte of the field name
+   * @param end the offset of the closing quote
+   * @param name the UTF-8 bytes of the name to compare against
+   * @return {@code true} if the field name matches, {@code false} otherwise
+   */
+  private boolean nameEquals(final long start, final long end, final byte[] name) {
+
+    if (end - start != name.length) {
+      return false;
+    }
+    for (var i = 0; i < name.length; i++) {
+      if (this.file.get(start + i) != name[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Skips the body of a string whose opening quote has already been consumed.
+   *
+   * @return the offset of the closing quote
+   */
+  private long skipStringBody() {
+
+    byte current;
+    while ((current = next()) != '"') {
+      if (current == '\\') {
+        next();
+      }
+    }
+
+    return this.position - 1;
+  }
+
+  /** Skips the value at the current position without decoding it. */
+  private void skipValue() {
+
+    final byte first = peek();
+    if (first == '"') {
+      this.position++;
+      skipStringBody();
+    } else if (first == '{' || first == '[') {
+      skipComposite();
+    } else {
+      skipScalar();
+    }
+  }
+
+  /** Skips the object or array at the current position, including any nested values. */
+  private void skipComposite() {
+
+    var depth = 0;
+    do {
+      final byte current = next();
+      if (current == '"') {
+        skipStringBody();
+      } else if (current == '{' || current == '[') {
+        depth++;
+      } else if (current == '}' || current == ']') {
+        depth--;
+      }
+    } while (depth > 0);
+  }
+
+  /** Skips the number or literal at the current position. */
+  private void skipScalar() {
+
+    final long start = this.position;
+    while (this.position < this.limit) {
+      final byte current = this.file.get(this.position);
+      if (current == ',' || current == '}' || current == ']' || isWhitespace(current)) {
+        break;
+      }
+      this.position++;
+    }
+    if (this.position == start) {
+      throw syntaxError("Expected a value", start);
+    }
+  }
+
+  /** Skips any whitespace at the current position. */
+  private void skipWhitespace() {
+    while (this.position < this.limit && isWhitespace(this.file.get(this.position))) {
+      this.position++;
+    }
+  }
+
+  /**
+   * Indicates whether the specified byte is JSON whitespace.
+   *
+   * @param value the byte to evaluate
+   * @return {@code true} if the byte is JSON whitespace, {@code false} otherwise
+   */
+  private static boolean isWhitespace(final byte value) {
+    return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+  }
+
+  /**
+   * Consumes the specified byte at the current position.
+   *
+   * @param expected the byte expected at the current position
+   */
+  private void expect(final char expected) {
+    if (next() != expected) {
+      throw syntaxError("Expected '" + expected + "'", this.position - 1);
+    }
+  }
+
+  /** Verifies that only whitespace remains between the current position and the limit. */
+  private void expectEnd() {
+
+    skipWhitespace();
+    if (this.position < this.limit) {
+      throw syntaxError("Expected end of input", this.position);
+    }
+  }
+
+  /**
+   * Consumes the specified literal at the current position.
+   *
+   * @param literal the literal expected at the current position
+   */
+  private void expectLiteral(final String literal) {
+
+    final long start = this.position;
+    for (var i = 0; i < literal.length(); i++) {
+      if (next() != literal.charAt(i)) {
+        throw syntaxError("Expected " + literal, start);
+      }
+    }
+  }
+
+  /**
+   * Gets the byte at the current position without consuming it.
+   *
+   * @return the byte at the current position
+   */
+  private byte peek() {
+
+    if (this.position >= this.limit) {
+      throw syntaxError("Unexpected end of input", this.position);
+    }
+
+    return this.file.get(this.position);
+  }
+
+  /**
+   * Consumes the byte at the current position.
+   *
+   * @return the byte at the current position
+   */
+  private byte next() {
+
+    final byte current = peek();
+    this.position++;
+
+    return current;
+  }
+
+  /**
+   * Creates an exception describing a syntax error at the specified offset.
+   *
+   * @param message describes what was expected
+   * @param offset the offset at which the error was detected
+   * @return an exception describing the syntax error
+   */
+  private static JsonSyntaxException syntaxError(final String message, final long offset) {
+    return new JsonSyntaxException(message + " at byte offset " + offset);
+  }
+}
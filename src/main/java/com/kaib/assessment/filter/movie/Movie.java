@@ -44,6 +44,25 @@ public final class Movie {
     super();
   }
 
+  /**
+   * Instantiate a new movie that takes ownership of the specified arrays rather than copying them.
+   * Reserved for the readers that bind movies, which never share the arrays they allocate.
+   *
+   * @param theCast the actors in the movie
+   * @param theGenres the movie categories
+   * @param theTitle the movie title
+   * @param theYear the year the movie was released
+   */
+  Movie(
+      final String[] theCast, final String[] theGenres, final String theTitle, final int theYear) {
+
+    super();
+    this.cast = theCast;
+    this.genres = theGenres;
+    this.title = theTitle;
+    this.year = theYear;
+  }
+
   @Override
   public boolean equals(final Object obj) {
 
@@ -73,7 +92,7 @@ public final class Movie {
    * @return the actors in the movie
    */
   public String[] getCast() {
-    return this.cast.clone();
+    return this.cast == null ? null : this.cast.clone();
   }
 
   /**
@@ -82,7 +101,7 @@ public final class Movie {
    * @return the movie categories
    */
   public String[] getGenres() {
-    return this.genres.clone();
+    return this.genres == null ? null : this.genres.clone();
   }
 
   /**
@@ -161,6 +180,26 @@ public final class Movie {
     this.year = year;
   }
 
+  /**
+   * Gets the actors in the movie without a defensive copy. Reserved for the writers that serialize
+   * movies, which never modify the array.
+   *
+   * @return the actors in the movie
+   */
+  String[] sharedCast() {
+    return this.cast;
+  }
+
+  /**
+   * Gets the movie categories without a defensive copy. Reserved for the writers that serialize
+   * movies, which never modify the array.
+   *
+   * @return the movie categories
+   */
+  String[] sharedGenres() {
+    return this.genres;
+  }
+
   @Override
   public String toString() {
 
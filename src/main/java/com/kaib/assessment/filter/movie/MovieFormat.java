@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+
+/**
+ * The file formats in which movies can be read and written.
+ *
+ * @author jkaib
+ */
+public enum MovieFormat {
+
+  /** A single JSON array of movie objects. */
+  JSON("json", ".json") {
+    @Override
+    MovieLoader createLoader(final InputEngine inputEngine, final Gson gson) {
+      return inputEngine.createLoader(gson);
+    }
+
+    @Override
+    MovieWriter createWriter(final Gson gson) {
+      return new JsonMovieWriter(gson);
+    }
+  },
+
+  /** Newline-delimited JSON, one movie object per line. */
+  NDJSON("ndjson", ".ndjson") {
+    @Override
+    MovieLoader createLoader(final InputEngine inputEngine, final Gson gson) {
+      return new NdjsonMovieLoader(gson);
+    }
+
+    @Override
+    MovieWriter createWriter(final Gson gson) {
+      return new NdjsonMovieWriter(gson);
+    }
+  },
+
+  /** A binary, columnar snapshot that is memory-mapped rather than parsed. */
+  SNAPSHOT("snapshot", MovieSnapshot.EXTENSION) {
+    @Override
+    MovieLoader createLoader(final InputEngine inputEngine, final Gson gson) {
+      return new SnapshotMovieLoader();
+    }
+
+    @Override
+    MovieWriter createWriter(final Gson gson) {
+      return new SnapshotMovieWriter();
+    }
+  };
+
+  /** The alternate file extension commonly used for newline-delimited JSON. */
+  private static final String JSON_LINES_EXTENSION = ".jsonl";
+
+  /** The name used to select the format on the command line. */
+  private final String formatName;
+
+  /** The file extension, including the leading period, used for files in this format. */
+  private final String extension;
+
+  /**
+   * Instantiates a new movie format.
+   *
+   * @param theFormatName the name used to select the format on the command line
+   * @param theExtension the file extension, including the leading period
+   */
+  MovieFormat(final String theFormatName, final String theExtension) {
+    this.formatName = theFormatName;
+    this.extension = theExtension;
+  }
+
+  /**
+   * Gets the movie format selected by the specified command-line name.
+   *
+   * @param formatName the name used to select the format on the command line
+   * @return the movie format with the specified name
+   * @throws IllegalArgumentException if no movie format has the specified name
+   */
+  public static MovieFormat fromName(final String formatName) {
+
+    return Arrays.stream(values())
+        .filter(format -> format.formatName.equals(formatName))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "Unknown movie format '"
+                        + formatName
+                        + "', expected one of "
+                        + Arrays.stream(values())
+                            .map(MovieFormat::getFormatName)
+                            .collect(Collectors.joining(", "))));
+  }
+
+  /**
+   * Gets the format of the specified file. Snapshots are recognized by their magic number whatever
+   * their name; the format of any other file is implied by its extension.
+   *
+   * @param filePath the file whose format is needed
+   * @return the format of the file
+   */
+  public static MovieFormat detect(final Path filePath) {
+
+    if (MovieSnapshot.isSnapshot(filePath)) {
+      return SNAPSHOT;
+    }
+
+    return fromPath(filePath);
+  }
+
+  /**
+   * Gets the movie format implied by the extension of the specified file. Files ending in {@code
+   * .ndjson} or {@code .jsonl} are newline-delimited and files ending in {@code .mfs} are
+   * snapshots; all others are treated as a JSON array.
+   *
+   * @param filePath the file whose format is needed
+   * @return the movie format implied by the file's extension
+   */
+  public static MovieFormat fromPath(final Path filePath) {
+
+    final Path fileName = filePath.getFileName();
+    final String name = fileName == null ? "" : fileName.toString().toLowerCase(Locale.ROOT);
+    if (name.endsWith(NDJSON.extension) || name.endsWith(JSON_LINES_EXTENSION)) {
+      return NDJSON;
+    }
+    if (name.endsWith(SNAPSHOT.extension)) {
+      return SNAPSHOT;
+    }
+
+    return JSON;
+  }
+
+  /**
+   * Creates a loader that reads files in this format.
+   *
+   * @param inputEngine the engine used to read formats that support more than one
+   * @param gson the JSON deserializer used by loaders that bind movies through Gson
+   * @return a loader that reads files in this format
+   */
+  abstract MovieLoader createLoader(InputEngine inputEngine, Gson gson);
+
+  /**
+   * Creates a writer that writes files in this format.
+   *
+   * @param gson the JSON serializer used to bind each movie
+   * @return a writer that writes files in this format
+   */
+  abstract MovieWriter createWriter(Gson gson);
+
+  /**
+   * Gets the file extension, including the leading period, used for files in this format.
+   *
+   * @return the file extension used for files in this format
+   */
+  public String getExtension() {
+    return this.extension;
+  }
+
+  /**
+   * Gets the name used to select the format on the command line.
+   *
+   * @return the name used to select the format on the command line
+   */
+  public String getFormatName() {
+    return this.formatName;
+  }
+}
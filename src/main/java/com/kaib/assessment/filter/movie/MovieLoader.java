@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Loads the movies supported by the application from a source file. Implementations differ in how
+ * the file is read and parsed, but all of them bind the same movies from the same file.
+ *
+ * @author jkaib
+ */
+public interface MovieLoader {
+
+  /**
+   * Loads the movies contained in the specified file that were released in a year accepted by the
+   * specified filter. Implementations apply the filter as early as they can so rejected movies cost
+   * as little as possible.
+   *
+   * @param sourceFilePath the file that contains the movies
+   * @param yearFilter accepts the release years of the movies to load
+   * @return the accepted movies contained in the file
+   * @throws IOException if the file can't be read
+   * @throws JsonSyntaxException if the file doesn't contain a valid movie structure
+   */
+  Set<Movie> load(Path sourceFilePath, IntPredicate yearFilter) throws IOException;
+}
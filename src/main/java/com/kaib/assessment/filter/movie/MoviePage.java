@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+
+/**
+ * One page of the movies matched by a paged lookup. Pages are cut from a stable order, so the next
+ * page is requested by passing {@link #getNextOffset()} back as the offset, together with {@link
+ * #getVersion()} so a write between the pages is detected.
+ *
+ * @author jkaib
+ */
+public final class MoviePage {
+
+  /** The movies on the page, in the order of the lookup. */
+  private final List<Movie> movies;
+
+  /** The position in the whole result of the first movie on the page. */
+  private final int offset;
+
+  /** The number of movies in the whole result. */
+  private final int totalCount;
+
+  /** The version of the movies the page was cut from. */
+  private final long version;
+
+  /**
+   * Instantiates a new page of movies.
+   *
+   * @param theMovies the movies on the page, in the order of the lookup
+   * @param theOffset the position in the whole result of the first movie on the page
+   * @param theTotalCount the number of movies in the whole result
+   * @param theVersion the version of the movies the page was cut from
+   */
+  MoviePage(
+      final List<Movie> theMovies,
+      final int theOffset,
+      final int theTotalCount,
+      final long theVersion) {
+
+    super();
+    this.movies = theMovies;
+    this.offset = theOffset;
+    this.totalCount = theTotalCount;
+    this.version = theVersion;
+  }
+
+  /**
+   * Gets the movies on the page.
+   *
+   * @return an unmodifiable list of the movies on the page, in the order of the lookup
+   */
+  public List<Movie> getMovies() {
+    return this.movies;
+  }
+
+  /**
+   * Gets the position in the whole result of the first movie on the page.
+   *
+   * @return the offset of the page
+   */
+  public int getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * Gets the number of movies in the whole result, on every page.
+   *
+   * @return the total number of movies
+   */
+  public int getTotalCount() {
+    return this.totalCount;
+  }
+
+  /**
+   * Gets the version of the movies the page was cut from. Passing it back with the next offset
+   * makes sure the next page is cut from the same version.
+   *
+   * @return the version of the movies
+   * @see MovieRepository#getVersion()
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Indicates whether any movies follow this page.
+   *
+   * @return {@code true} if there's a next page, {@code false} otherwise
+   */
+  public boolean hasNextPage() {
+    return getNextOffset() < this.totalCount;
+  }
+
+  /**
+   * Gets the offset of the page that follows this one.
+   *
+   * @return the offset of the next page
+   */
+  public int getNextOffset() {
+    return this.offset + this.movies.size();
+  }
+}
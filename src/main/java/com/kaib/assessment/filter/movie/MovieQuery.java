@@ -0,0 +1,519 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A predicate on movies that can be answered by a {@link MovieRepository}. Queries are built from
+ * year, genre, cast, and title predicates combined with {@link #and(MovieQuery...)}, {@link
+ * #or(MovieQuery...)}, and {@link #not(MovieQuery)}, and are immutable.
+ *
+ * @author jkaib
+ */
+public abstract class MovieQuery {
+
+  /** Instantiates a new movie query. */
+  MovieQuery() {
+    super();
+  }
+
+  /**
+   * Creates a query that matches the movies released in the specified range of years.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the query
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   */
+  public static MovieQuery yearRange(final int fromYear, final int toYear) {
+
+    Validate.isTrue(
+        fromYear <= toYear,
+        "The first year of the range can't follow the last year",
+        (Object[]) null);
+
+    return new YearRangeQuery(fromYear, toYear);
+  }
+
+  /**
+   * Creates a query that matches the movies released during the specified decade.
+   *
+   * @param decade the decade of interest
+   * @return the query
+   * @throws IllegalArgumentException if the value isn't a decade supported by the application
+   */
+  public static MovieQuery decade(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return new YearRangeQuery(decade, DecadeUtils.getNextDecade(decade) - 1);
+  }
+
+  /**
+   * Creates a query that matches the movies classified under the specified genres.
+   *
+   * @param match how the genres are combined
+   * @param genres the genres of interest, which are compared exactly
+   * @return the query
+   * @throws IllegalArgumentException if no genres are specified
+   */
+  public static MovieQuery genres(final GenreMatch match, final String... genres) {
+
+    Validate.notNull(match, "The genre match can't be null", (Object[]) null);
+    Validate.notEmpty(genres, "At least one genre is required", (Object[]) null);
+    Validate.noNullElements(genres, "A genre can't be null", (Object[]) null);
+
+    return new GenreQuery(match, List.of(genres));
+  }
+
+  /**
+   * Creates a query that matches the movies the specified cast member appeared in.
+   *
+   * @param name the name of the cast member
+   * @param match how the name is compared
+   * @return the query
+   */
+  public static MovieQuery castMember(final String name, final NameMatch match) {
+
+    Validate.notNull(name, "The name of the cast member can't be null", (Object[]) null);
+    Validate.notNull(match, "The name match can't be null", (Object[]) null);
+
+    return new CastQuery(name, match);
+  }
+
+  /**
+   * Creates a query that matches the movies whose titles contain the words of the specified text.
+   * Case, accents, and punctuation are ignored, and text without any words matches no movies.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @return the query
+   */
+  public static MovieQuery title(final String text, final TitleMatch match) {
+
+    Validate.notNull(text, "The search text can't be null", (Object[]) null);
+    Validate.notNull(match, "The title match can't be null", (Object[]) null);
+
+    return new TitleQuery(text, match);
+  }
+
+  /**
+   * Creates a query that matches the movies matched by every one of the specified queries.
+   *
+   * @param operands the queries to combine
+   * @return the query
+   * @throws IllegalArgumentException if no queries are specified
+   */
+  public static MovieQuery and(final MovieQuery... operands) {
+    return new AndQuery(validateOperands(operands));
+  }
+
+  /**
+   * Creates a query that matches the movies matched by at least one of the specified queries.
+   *
+   * @param operands the queries to combine
+   * @return the query
+   * @throws IllegalArgumentException if no queries are specified
+   */
+  public static MovieQuery or(final MovieQuery... operands) {
+    return new OrQuery(validateOperands(operands));
+  }
+
+  /**
+   * Creates a query that matches the movies that aren't matched by the specified query.
+   *
+   * @param operand the query to negate
+   * @return the query
+   */
+  public static MovieQuery not(final MovieQuery operand) {
+
+    Validate.notNull(operand, "The query can't be null", (Object[]) null);
+
+    return new NotQuery(operand);
+  }
+
+  /**
+   * Validates the operands of a compound query.
+   *
+   * @param operands the operands to validate
+   * @return the operands as an immutable list
+   */
+  private static List<MovieQuery> validateOperands(final MovieQuery[] operands) {
+
+    Validate.notEmpty(operands, "At least one query is required", (Object[]) null);
+    Validate.noNullElements(operands, "A query can't be null", (Object[]) null);
+
+    return List.of(operands);
+  }
+
+  /**
+   * Checks whether the specified movie matches this query without the help of any index. The
+   * planner uses this to apply the predicates its access path didn't answer. The movie's columns
+   * are read in place, so only a title predicate allocates.
+   *
+   * @param store the store containing the movie
+   * @param ordinal the ordinal of the movie
+   * @return {@code true} if the movie matches this query
+   */
+  abstract boolean test(MovieStore store, int ordinal);
+
+  /**
+   * Finds an index scan that answers this query exactly.
+   *
+   * @param planner the planner that owns the indexes
+   * @return an index scan that finds exactly the matching movies, or {@code null} if no index can
+   */
+  abstract QueryPlanner.IndexScan indexScan(QueryPlanner planner);
+
+  /**
+   * Gets the queries that must all match for this query to match. A conjunction contributes its
+   * operands, so the planner can pick one of them as the access path and filter by the rest.
+   *
+   * @return the conjuncts of this query
+   */
+  List<MovieQuery> conjuncts() {
+    return List.of(this);
+  }
+
+  /** Matches the movies released in a range of years. */
+  private static final class YearRangeQuery extends MovieQuery {
+
+    /** The first year of the range, inclusive. */
+    private final int fromYear;
+
+    /** The last year of the range, inclusive. */
+    private final int toYear;
+
+    /**
+     * Instantiates a new year range query.
+     *
+     * @param theFromYear the first year of the range, inclusive
+     * @param theToYear the last year of the range, inclusive
+     */
+    YearRangeQuery(final int theFromYear, final int theToYear) {
+
+      super();
+      this.fromYear = theFromYear;
+      this.toYear = theToYear;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+
+      final int year = store.getYear(ordinal);
+
+      return year >= this.fromYear && year <= this.toYear;
+    }
+
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return planner.yearScan(this.fromYear, this.toYear, toString());
+    }
+
+    @Override
+    public String toString() {
+      return "year BETWEEN " + this.fromYear + " AND " + this.toYear;
+    }
+  }
+
+  /** Matches the movies classified under genres. */
+  private static final class GenreQuery extends MovieQuery {
+
+    /** The genres of interest. */
+    private final List<String> genres;
+
+    /** How the genres are combined. */
+    private final GenreMatch match;
+
+    /**
+     * Instantiates a new genre query.
+     *
+     * @param theMatch how the genres are combined
+     * @param theGenres the genres of interest
+     */
+    GenreQuery(final GenreMatch theMatch, final List<String> theGenres) {
+
+      super();
+      this.match = theMatch;
+      this.genres = theGenres;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+
+      final DictionaryColumn genreColumn = store.genreColumn();
+      for (final String genre : this.genres) {
+        final boolean classified = genreColumn.contains(ordinal, genreColumn.id(genre));
+        if (classified == (this.match == GenreMatch.ANY)) {
+          return classified;
+        }
+      }
+
+      return this.match == GenreMatch.ALL;
+    }
+
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return planner.genreScan(this.genres, this.match, toString());
+    }
+
+    @Override
+    public String toString() {
+      return "genres " + this.match + " " + this.genres;
+    }
+  }
+
+  /** Matches the movies a cast member appeared in. */
+  private static final class CastQuery extends MovieQuery {
+
+    /** How the name is compared. */
+    private final NameMatch match;
+
+    /** The name of the cast member, folded to lower case if case is ignored. */
+    private final String name;
+
+    /**
+     * Instantiates a new cast query.
+     *
+     * @param theName the name of the cast member
+     * @param theMatch how the name is compared
+     */
+    CastQuery(final String theName, final NameMatch theMatch) {
+
+      super();
+      this.match = theMatch;
+      this.name = theMatch == NameMatch.IGNORE_CASE ? CastIndex.fold(theName) : theName;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+
+      final DictionaryColumn castColumn = store.castColumn();
+      if (this.match == NameMatch.EXACT) {
+        return castColumn.contains(ordinal, castColumn.id(this.name));
+      }
+      final int end = castColumn.end(ordinal);
+      for (int position = castColumn.start(ordinal); position < end; position++) {
+        final String castMember = castColumn.value(castColumn.idAt(position));
+        if (castMember != null && this.name.equals(CastIndex.fold(castMember))) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return planner.castScan(this.name, this.match, toString());
+    }
+
+    @Override
+    public String toString() {
+      final String operator = this.match == NameMatch.IGNORE_CASE ? "ILIKE" : "=";
+
+      return "cast " + operator + " '" + this.name + "'";
+    }
+  }
+
+  /** Matches the movies whose titles contain words. */
+  private static final class TitleQuery extends MovieQuery {
+
+    /** How the words of the search are compared with the words of each title. */
+    private final TitleMatch match;
+
+    /** The text to search for. */
+    private final String text;
+
+    /** The normalized words of the text. */
+    private final String[] words;
+
+    /**
+     * Instantiates a new title query.
+     *
+     * @param theText the text to search for
+     * @param theMatch how the words of the search are compared with the words of each title
+     */
+    TitleQuery(final String theText, final TitleMatch theMatch) {
+
+      super();
+      this.text = theText;
+      this.match = theMatch;
+      this.words = TitleIndex.tokenize(theText);
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+
+      if (this.words.length == 0) {
+        return false;
+      }
+      final Set<String> titleWords = Set.of(TitleIndex.tokenize(store.getTitle(ordinal)));
+      final int wholeWordCount =
+          this.match == TitleMatch.PREFIX ? this.words.length - 1 : this.words.length;
+      for (var i = 0; i < wholeWordCount; i++) {
+        if (!titleWords.contains(this.words[i])) {
+          return false;
+        }
+      }
+      final String lastWord = this.words[this.words.length - 1];
+
+      return wholeWordCount == this.words.length
+          || titleWords.stream().anyMatch(titleWord -> titleWord.startsWith(lastWord));
+    }
+
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return planner.titleScan(this.text, this.match, toString());
+    }
+
+    @Override
+    public String toString() {
+      return "title " + this.match + " '" + this.text + "'";
+    }
+  }
+
+  /** Matches the movies matched by every operand. */
+  private static final class AndQuery extends MovieQuery {
+
+    /** The queries combined by this query. */
+    private final List<MovieQuery> operands;
+
+    /**
+     * Instantiates a new conjunction.
+     *
+     * @param theOperands the queries combined by this query
+     */
+    AndQuery(final List<MovieQuery> theOperands) {
+
+      super();
+      this.operands = theOperands;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+      return this.operands.stream().allMatch(operand -> operand.test(store, ordinal));
+    }
+
+    /** A conjunction nested in another query is answered by filtering instead. */
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return null;
+    }
+
+    @Override
+    List<MovieQuery> conjuncts() {
+
+      final List<MovieQuery> conjuncts = new ArrayList<>();
+      this.operands.forEach(operand -> conjuncts.addAll(operand.conjuncts()));
+
+      return conjuncts;
+    }
+
+    @Override
+    public String toString() {
+      return this.operands.stream()
+          .map(MovieQuery::toString)
+          .collect(Collectors.joining(" AND ", "(", ")"));
+    }
+  }
+
+  /** Matches the movies matched by at least one operand. */
+  private static final class OrQuery extends MovieQuery {
+
+    /** The queries combined by this query. */
+    private final List<MovieQuery> operands;
+
+    /**
+     * Instantiates a new disjunction.
+     *
+     * @param theOperands the queries combined by this query
+     */
+    OrQuery(final List<MovieQuery> theOperands) {
+
+      super();
+      this.operands = theOperands;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+      return this.operands.stream().anyMatch(operand -> operand.test(store, ordinal));
+    }
+
+    /** A disjunction can use the indexes only if every operand can. */
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+
+      final List<QueryPlanner.IndexScan> scans = new ArrayList<>(this.operands.size());
+      for (final MovieQuery operand : this.operands) {
+        final QueryPlanner.IndexScan scan = operand.indexScan(planner);
+        if (scan == null) {
+          return null;
+        }
+        scans.add(scan);
+      }
+
+      return planner.unionScan(scans, toString());
+    }
+
+    @Override
+    public String toString() {
+      return this.operands.stream()
+          .map(MovieQuery::toString)
+          .collect(Collectors.joining(" OR ", "(", ")"));
+    }
+  }
+
+  /** Matches the movies that aren't matched by its operand. */
+  private static final class NotQuery extends MovieQuery {
+
+    /** The query negated by this query. */
+    private final MovieQuery operand;
+
+    /**
+     * Instantiates a new negation.
+     *
+     * @param theOperand the query negated by this query
+     */
+    NotQuery(final MovieQuery theOperand) {
+
+      super();
+      this.operand = theOperand;
+    }
+
+    @Override
+    boolean test(final MovieStore store, final int ordinal) {
+      return !this.operand.test(store, ordinal);
+    }
+
+    /** A negation matches most of the repository, so it's answered by filtering. */
+    @Override
+    QueryPlanner.IndexScan indexScan(final QueryPlanner planner) {
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return "NOT " + this.operand;
+    }
+  }
+}
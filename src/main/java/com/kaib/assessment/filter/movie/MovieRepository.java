@@ -15,9 +15,27 @@
  */
 package com.kaib.assessment.filter.movie;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import org.apache.commons.lang3.Validate;
 
@@ -25,22 +43,158 @@ import org.apache.commons.lang3.Validate;
  * An instance of the {@code MovieRepository} class encapsulates search, and retrieval behavior for
  * the movies supported the by application.
  *
+ * <p>The movies and their indexes are held in an immutable snapshot. Movies can be inserted,
+ * updated, and deleted while the repository is being searched: each write builds the next snapshot
+ * on the side and publishes it with a single volatile write, so lookups never block, and each
+ * lookup reads the snapshot once and sees either every effect of a write or none of them. Writes
+ * are serialized with one another.
+ *
+ * <p>A snapshot is an indexed base of movies, a bitmap of the base movies deleted or replaced
+ * since, and a small indexed delta of the movies inserted or revised since. A write rebuilds only
+ * the delta, and lookups merge what they find in the base and the delta. Once enough changes are
+ * pending, the repository compacts them into a new base in the background, on the pool of its
+ * {@link ParallelScan} setting, while writes carry on.
+ *
  * @author jkaib
  */
 public class MovieRepository {
 
-  /** The movies supported by the application. */
-  private final Set<Movie> movies;
+  /** The most changes that are left pending before a snapshot is compacted. */
+  private static final int MAX_PENDING_CHANGES = 4_096;
+
+  /** The fewest changes that are left pending before a snapshot is compacted. */
+  private static final int MIN_PENDING_CHANGES = 64;
+
+  /** Whether a compaction has been scheduled and hasn't finished. */
+  private final AtomicBoolean compacting = new AtomicBoolean();
+
+  /** The current snapshot of the movies supported by the application and their indexes. */
+  private volatile Snapshot movies;
+
+  /** Decides when scans run in parallel, and on which pool. */
+  private final ParallelScan parallelScan;
+
+  /** Serializes the writes, which never block the lookups. */
+  private final Object writeLock = new Object();
 
   /**
-   * Instantiates a new movie repository using the movies supported by the application.
+   * Instantiates a new movie repository using the movies supported by the application. The movies
+   * are copied into a columnar store, so changing one of the instances afterward changes nothing in
+   * the repository; movies are changed with {@link #update(Movie, Movie)}. Each index is built the
+   * first time a lookup needs it, after which a lookup costs only the size of its result.
    *
    * @param theMovies the movies supported by the application
+   * @see ParallelScan#defaults()
    */
   public MovieRepository(final Set<Movie> theMovies) {
+    this(theMovies, ParallelScan.defaults());
+  }
+
+  /**
+   * Instantiates a new movie repository using the movies supported by the application, which scans
+   * them in parallel as decided by the specified setting.
+   *
+   * @param theMovies the movies supported by the application
+   * @param theParallelScan decides when scans run in parallel, and on which pool
+   */
+  public MovieRepository(final Set<Movie> theMovies, final ParallelScan theParallelScan) {
+    this(MovieStore.of(requireMovies(theMovies)), requireParallelScan(theParallelScan));
+  }
+
+  /**
+   * Instantiates a new movie repository over the specified store.
+   *
+   * @param theStore the columns of the movies supported by the application
+   * @param theParallelScan decides when scans run in parallel, and on which pool
+   */
+  private MovieRepository(final MovieStore theStore, final ParallelScan theParallelScan) {
+    this(
+        new Snapshot(new MovieSegment(theStore, theParallelScan), theParallelScan),
+        theParallelScan);
+  }
+
+  /**
+   * Instantiates a new movie repository starting from the specified snapshot.
+   *
+   * @param theSnapshot the movies supported by the application and their indexes
+   * @param theParallelScan decides when scans run in parallel, and on which pool
+   */
+  private MovieRepository(final Snapshot theSnapshot, final ParallelScan theParallelScan) {
+
     super();
+    this.movies = theSnapshot;
+    this.parallelScan = theParallelScan;
+  }
+
+  /**
+   * Instantiates a new movie repository that runs directly on the specified columnar store. Movies
+   * are materialized from the store only when they're returned, so the repository retains no
+   * {@link Movie} instances.
+   *
+   * @param store the columns of the movies supported by the application
+   * @return a repository over the store
+   * @see ParallelScan#defaults()
+   */
+  public static MovieRepository fromStore(final MovieStore store) {
+    return fromStore(store, ParallelScan.defaults());
+  }
+
+  /**
+   * Instantiates a new movie repository that runs directly on the specified columnar store and
+   * scans it in parallel as decided by the specified setting.
+   *
+   * @param store the columns of the movies supported by the application
+   * @param parallelScan decides when scans run in parallel, and on which pool
+   * @return a repository over the store
+   */
+  public static MovieRepository fromStore(
+      final MovieStore store, final ParallelScan parallelScan) {
+
+    Validate.notNull(store, "The movie store can't be null", (Object[]) null);
+    Validate.isTrue(
+        store.size() > 0, "The respository requires at least one movie", (Object[]) null);
+
+    return new MovieRepository(store, requireParallelScan(parallelScan));
+  }
+
+  /**
+   * Validates the movies supplied to the repository.
+   *
+   * @param theMovies the movies supported by the application
+   * @return the movies
+   */
+  private static Set<Movie> requireMovies(final Set<Movie> theMovies) {
+
     Validate.notEmpty(theMovies, "The respository requires at least one movie", (Object[]) null);
-    this.movies = Collections.unmodifiableSet(theMovies);
+
+    return theMovies;
+  }
+
+  /**
+   * Validates the parallel scan setting supplied to the repository.
+   *
+   * @param theParallelScan decides when scans run in parallel, and on which pool
+   * @return the setting
+   */
+  private static ParallelScan requireParallelScan(final ParallelScan theParallelScan) {
+
+    Validate.notNull(theParallelScan, "The parallel scan setting can't be null", (Object[]) null);
+
+    return theParallelScan;
+  }
+
+  /**
+   * Instantiates a new movie repository using the movies in the specified snapshot. The snapshot is
+   * memory-mapped and its columns back the repository's store directly, so the repository is ready
+   * without parsing the movies catalog or materializing a single movie.
+   *
+   * @param snapshotPath the snapshot containing the movies supported by the application
+   * @return a repository containing the movies in the snapshot
+   * @throws IOException if the snapshot can't be read or is corrupt
+   * @see SnapshotConverter
+   */
+  public static MovieRepository fromSnapshot(final Path snapshotPath) throws IOException {
+    return fromStore(SnapshotMovieLoader.mapStore(snapshotPath));
   }
 
   /**
@@ -50,18 +204,1350 @@ public class MovieRepository {
    * <p>Uses validation that checks whether the specified decade is valid because the user may pass
    * in an invalid value and receive only a partial result set.
    *
+   * <p>The decade is looked up as a range of years in the year indexes, and the result is backed by
+   * the ordinals found there rather than by a copy of the movies. Nothing is hashed to build it, so
+   * the cost depends only on the size of the result. The movies are hashed only if the result is
+   * asked whether it contains a movie; callers that make many such tests, or that need a
+   * modifiable set, should copy the result into a set of their own. Each movie is materialized
+   * from the repository's store as it's read, so changing one in place changes only that copy.
+   *
    * @param decade the decade of interest
-   * @return the movies released during the specified decade
+   * @return an unmodifiable view of the movies released during the specified decade, in the order
+   *     they were supplied
    */
   public Set<Movie> findByDecade(final int decade) {
 
     DecadeValidator.validate(decade);
+    final Snapshot snapshot = this.movies;
+
+    final int lastYear = DecadeUtils.getNextDecade(decade) - 1;
+
+    return new MovieResultSet(
+        snapshot.keys(
+            snapshot.base.yearIndex().ordinalsBetween(decade, lastYear),
+            snapshot.delta.yearIndex().ordinalsBetween(decade, lastYear)),
+        snapshot.moviesByKey);
+  }
+
+  /**
+   * Returns one page of the movies released during the specified decade. The pages are cut from the
+   * year index, which orders the decade by year and then by the order the movies were supplied, so
+   * the order is stable and a page costs only its own size, however large the decade. The page
+   * records the version it was cut from; a write between two pages shifts the offsets, so the
+   * following pages should be requested with {@link #findPageByDecade(int, int, int, long)}.
+   *
+   * @param decade the decade of interest
+   * @param offset the position in the decade of the first movie on the page
+   * @param limit the largest number of movies on the page
+   * @return the page, which is empty if the offset is past the last movie of the decade
+   * @throws IllegalArgumentException if the offset is negative or the limit isn't positive
+   */
+  public MoviePage findPageByDecade(final int decade, final int offset, final int limit) {
+
+    DecadeValidator.validate(decade);
+    Validate.isTrue(offset >= 0, "The offset can't be negative", (Object[]) null);
+    Validate.isTrue(limit > 0, "The limit must be positive", (Object[]) null);
+
+    return page(this.movies, decade, offset, limit);
+  }
+
+  /**
+   * Returns one page of the movies released during the specified decade, provided the movies are
+   * still the version an earlier page was cut from. The offsets of one version mean nothing in
+   * another, so a write since the earlier page is reported rather than skipping or repeating
+   * movies; the caller should start again from the first page.
+   *
+   * @param decade the decade of interest
+   * @param offset the position in the decade of the first movie on the page
+   * @param limit the largest number of movies on the page
+   * @param version the version of the earlier page, from {@link MoviePage#getVersion()}
+   * @return the page, which is empty if the offset is past the last movie of the decade
+   * @throws IllegalArgumentException if the offset is negative or the limit isn't positive
+   * @throws IllegalStateException if the movies have changed since the specified version
+   */
+  public MoviePage findPageByDecade(
+      final int decade, final int offset, final int limit, final long version) {
+
+    DecadeValidator.validate(decade);
+    Validate.isTrue(offset >= 0, "The offset can't be negative", (Object[]) null);
+    Validate.isTrue(limit > 0, "The limit must be positive", (Object[]) null);
+
+    final Snapshot snapshot = this.movies;
+    Validate.validState(
+        snapshot.version == version,
+        "The movies have changed since the page was requested",
+        (Object[]) null);
+
+    return page(snapshot, decade, offset, limit);
+  }
+
+  /**
+   * Cuts one page of the movies released during the specified decade from a snapshot.
+   *
+   * @param snapshot the snapshot to read
+   * @param decade the decade of interest
+   * @param offset the position in the decade of the first movie on the page
+   * @param limit the largest number of movies on the page
+   * @return the page, which records the version of the snapshot
+   */
+  private static MoviePage page(
+      final Snapshot snapshot, final int decade, final int offset, final int limit) {
+
+    final List<Movie> decadeMovies =
+        snapshot.yearRange(
+            decade,
+            DecadeUtils.getNextDecade(decade) - 1,
+            snapshot.base.moviesByOrdinal,
+            snapshot.delta.moviesByOrdinal);
+    final int totalCount = decadeMovies.size();
+    final int from = Math.min(offset, totalCount);
+    final int to = (int) Math.min((long) from + limit, totalCount);
+
+    return new MoviePage(
+        List.copyOf(decadeMovies.subList(from, to)), from, totalCount, snapshot.version);
+  }
+
+  /**
+   * Counts the movies released during the specified decade. The count is read from the year index
+   * in logarithmic time, without looking at any movie.
+   *
+   * @param decade the decade of interest
+   * @return the number of movies released during the decade
+   */
+  public int countByDecade(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movies.count(decade, DecadeUtils.getNextDecade(decade) - 1);
+  }
+
+  /**
+   * Counts the movies released in each year of the specified range. The counts are read from the
+   * year index, which is searched once per distinct year, so no movie is looked at.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in each year of the range in which any were released,
+   *     keyed by year
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   */
+  public SortedMap<Integer, Integer> histogramByYear(final int fromYear, final int toYear) {
+
+    validateYearRange(fromYear, toYear);
+
+    return this.movies.histogram(fromYear, toYear);
+  }
+
+  /**
+   * Counts the movies released during the specified decade under each genre. The decade's movies
+   * are read from the year index and their genre ids are counted in one pass over the genre column,
+   * so no movie is materialized and no genre is hashed.
+   *
+   * @param decade the decade of interest
+   * @return the number of movies released during the decade under each genre, keyed by genre,
+   *     omitting genres with no movies in the decade
+   */
+  public SortedMap<String, Integer> genreCountsByDecade(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movies.genreCounts(decade, DecadeUtils.getNextDecade(decade) - 1);
+  }
+
+  /**
+   * Returns the movies released in the specified year.
+   *
+   * @param year the year of interest
+   * @return an unmodifiable view of the movies released in the specified year, in the order they
+   *     were supplied
+   */
+  public List<Movie> findByYear(final int year) {
+    return findByYearRange(year, year);
+  }
+
+  /**
+   * Returns the movies released in the specified range of years. The bounds of the range are found
+   * by binary search and the result is a view of the indexes, so the lookup costs logarithmic time
+   * and the pending changes merged into it, however many movies are in the range.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return an unmodifiable view of the movies released in the range, ordered by year and then by
+   *     the order they were supplied
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   */
+  public List<Movie> findByYearRange(final int fromYear, final int toYear) {
+
+    validateYearRange(fromYear, toYear);
+
+    final Snapshot snapshot = this.movies;
+
+    return snapshot.yearRange(
+        fromYear, toYear, snapshot.base.moviesByOrdinal, snapshot.delta.moviesByOrdinal);
+  }
+
+  /**
+   * Returns flyweight views of the movies released in the specified range of years. Each view reads
+   * the repository's columns on demand instead of materializing a movie, which keeps large results
+   * cheap, particularly when the repository runs on an off-heap store.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return an unmodifiable view of the movies released in the range, ordered by year and then by
+   *     the order they were supplied
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   * @see MovieStore#offHeap(Collection)
+   */
+  public List<MovieView> findViewsByYearRange(final int fromYear, final int toYear) {
+
+    validateYearRange(fromYear, toYear);
+
+    final Snapshot snapshot = this.movies;
+
+    return snapshot.yearRange(
+        fromYear, toYear, snapshot.base.store::view, snapshot.delta.store::view);
+  }
+
+  /**
+   * Returns the movies released during the specified decade that match the specified genres.
+   *
+   * @param genres the genres of interest, which are compared exactly
+   * @param match how the genres are combined
+   * @param decade the decade of interest
+   * @return the matching movies, in the order they were supplied
+   * @see #findByGenresInYearRange(Collection, GenreMatch, int, int)
+   */
+  public List<Movie> findByGenresInDecade(
+      final Collection<String> genres, final GenreMatch match, final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return findByGenresInYearRange(genres, match, decade, DecadeUtils.getNextDecade(decade) - 1);
+  }
+
+  /**
+   * Returns the movies released in the specified range of years that match the specified genres.
+   * The genre bitmaps are combined and then intersected with a bitmap of the movies in the range,
+   * so no movie's genres are inspected.
+   *
+   * @param genres the genres of interest, which are compared exactly
+   * @param match how the genres are combined
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the matching movies, in the order they were supplied
+   * @throws IllegalArgumentException if no genres are specified or the first year of the range
+   *     follows the last year
+   */
+  public List<Movie> findByGenresInYearRange(
+      final Collection<String> genres,
+      final GenreMatch match,
+      final int fromYear,
+      final int toYear) {
+
+    Validate.notEmpty(genres, "At least one genre is required", (Object[]) null);
+    Validate.notNull(match, "The genre match can't be null", (Object[]) null);
+    validateYearRange(fromYear, toYear);
+
+    final Snapshot snapshot = this.movies;
+
+    return snapshot.movies(
+        snapshot.keys(
+            matchGenres(snapshot.base, genres, match, fromYear, toYear),
+            matchGenres(snapshot.delta, genres, match, fromYear, toYear)));
+  }
+
+  /**
+   * Returns the movies the specified cast member appeared in. The cast member's movies are read
+   * from the cast index, so the cost depends only on the size of the filmography.
+   *
+   * @param name the name of the cast member
+   * @param match how the name is compared
+   * @return the movies the cast member appeared in, in the order they were supplied
+   */
+  public List<Movie> findByCastMember(final String name, final NameMatch match) {
+    return findByCastMemberInYearRange(name, match, Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the movies the specified cast member appeared in that were released in the specified
+   * range of years.
+   *
+   * @param name the name of the cast member
+   * @param match how the name is compared
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the matching movies, in the order they were supplied
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   */
+  public List<Movie> findByCastMemberInYearRange(
+      final String name, final NameMatch match, final int fromYear, final int toYear) {
+
+    Validate.notNull(name, "The name of the cast member can't be null", (Object[]) null);
+    Validate.notNull(match, "The name match can't be null", (Object[]) null);
+    validateYearRange(fromYear, toYear);
+
+    final Snapshot snapshot = this.movies;
+
+    return snapshot.movies(
+        snapshot.keys(
+            matchCastMember(snapshot.base, name, match, null, null, fromYear, toYear),
+            matchCastMember(snapshot.delta, name, match, null, null, fromYear, toYear)));
+  }
+
+  /**
+   * Returns the movies the specified cast member appeared in that were released in the specified
+   * range of years and match the specified genres. Each movie in the cast member's filmography is
+   * checked against the genre bitmaps, which is cheaper than combining whole bitmaps when the
+   * filmography is short.
+   *
+   * @param name the name of the cast member
+   * @param nameMatch how the name is compared
+   * @param genres the genres of interest, which are compared exactly
+   * @param genreMatch how the genres are combined
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the matching movies, in the order they were supplied
+   * @throws IllegalArgumentException if no genres are specified or the first year of the range
+   *     follows the last year
+   */
+  public List<Movie> findByCastMemberAndGenresInYearRange(
+      final String name,
+      final NameMatch nameMatch,
+      final Collection<String> genres,
+      final GenreMatch genreMatch,
+      final int fromYear,
+      final int toYear) {
+
+    Validate.notNull(name, "The name of the cast member can't be null", (Object[]) null);
+    Validate.notNull(nameMatch, "The name match can't be null", (Object[]) null);
+    Validate.notEmpty(genres, "At least one genre is required", (Object[]) null);
+    Validate.notNull(genreMatch, "The genre match can't be null", (Object[]) null);
+    validateYearRange(fromYear, toYear);
+
+    final Snapshot snapshot = this.movies;
+
+    return snapshot.movies(
+        snapshot.keys(
+            matchCastMember(
+                snapshot.base, name, nameMatch, genres, genreMatch, fromYear, toYear),
+            matchCastMember(
+                snapshot.delta, name, nameMatch, genres, genreMatch, fromYear, toYear)));
+  }
+
+  /**
+   * Searches for the movies whose titles contain the words of the specified text. Case, accents,
+   * and punctuation are ignored. Titles that begin with the first word of the search rank first,
+   * then shorter titles, then the order the movies were supplied.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @param limit the largest number of movies to return
+   * @return the best matching movies, best first
+   * @throws IllegalArgumentException if the limit isn't positive
+   */
+  public List<Movie> findByTitle(final String text, final TitleMatch match, final int limit) {
+
+    Validate.notNull(text, "The search text can't be null", (Object[]) null);
+    Validate.notNull(match, "The title match can't be null", (Object[]) null);
+    Validate.isTrue(limit > 0, "The limit must be positive", (Object[]) null);
+
+    return this.movies.findByTitle(text, match, limit);
+  }
+
+  /**
+   * Returns the movies that match the specified query. The most selective predicate that an index
+   * can answer finds the candidate movies, and the remaining predicates filter them; a query that
+   * no index can answer scans every movie.
+   *
+   * @param query the query to run
+   * @return the matching movies, in the order they were supplied, and the plan that found them
+   */
+  public QueryResult query(final MovieQuery query) {
+
+    Validate.notNull(query, "The query can't be null", (Object[]) null);
+
+    return this.movies.query(query);
+  }
+
+  /**
+   * Gets the movies supported by the application as of now. The set is a snapshot that later
+   * writes don't change, so it can be iterated while the repository is being updated.
+   *
+   * @return an unmodifiable set of the movies, in the order they were supplied
+   */
+  public Set<Movie> snapshot() {
+    return Collections.unmodifiableSet(this.movies);
+  }
+
+  /**
+   * Gets the version of the movies supported by the application, which is the number of writes
+   * that have changed them. A result looked up after reading the version reflects that version or a
+   * later one, so the version can tell a caller when results it kept have gone stale.
+   *
+   * @return the version of the movies
+   */
+  public long getVersion() {
+    return this.movies.version;
+  }
+
+  /**
+   * Inserts the specified movie after the movies already supported by the application.
+   *
+   * @param movie the movie to insert
+   * @return {@code true} if the movie was inserted, or {@code false} if it was already present
+   */
+  public boolean insert(final Movie movie) {
+
+    Validate.notNull(movie, "The movie can't be null", (Object[]) null);
+
+    return insertAll(List.of(movie)) == 1;
+  }
+
+  /**
+   * Inserts the specified movies after the movies already supported by the application, in the
+   * order they're supplied. The movies are added to the snapshot's delta, which is rebuilt once for
+   * the whole batch.
+   *
+   * @param newMovies the movies to insert
+   * @return the number of movies inserted, which omits the movies already present
+   */
+  public int insertAll(final Collection<Movie> newMovies) {
+
+    Validate.notNull(newMovies, "The movies can't be null", (Object[]) null);
+    Validate.noNullElements(newMovies, "A movie can't be null", (Object[]) null);
+
+    synchronized (this.writeLock) {
+      final Snapshot current = this.movies;
+      final Set<Movie> inserted = new LinkedHashSet<>();
+      for (final Movie movie : newMovies) {
+        if (current.keyOf(movie) < 0) {
+          inserted.add(movie);
+        }
+      }
+      if (inserted.isEmpty()) {
+        return 0;
+      }
+
+      final int[] keys =
+          IntStream.range(current.nextKey, current.nextKey + inserted.size()).toArray();
+      publish(current.next(new BitSet(), keys, inserted.toArray(new Movie[0])));
+
+      return inserted.size();
+    }
+  }
+
+  /**
+   * Replaces the specified movie with a revised version, which takes its place in the order the
+   * movies were supplied.
+   *
+   * @param movie the movie to replace
+   * @param revision the revised version of the movie
+   * @return {@code true} if the movie was replaced, or {@code false} if it isn't present
+   * @throws IllegalArgumentException if the revised version is already present as another movie
+   */
+  public boolean update(final Movie movie, final Movie revision) {
+
+    Validate.notNull(movie, "The movie can't be null", (Object[]) null);
+    Validate.notNull(revision, "The revised movie can't be null", (Object[]) null);
+
+    synchronized (this.writeLock) {
+      final Snapshot current = this.movies;
+      final int key = current.keyOf(movie);
+      if (key < 0) {
+        return false;
+      }
+      final int revisionKey = current.keyOf(revision);
+      Validate.isTrue(
+          revisionKey < 0 || revisionKey == key,
+          "The revised movie is already in the repository",
+          (Object[]) null);
+
+      final var replaced = new BitSet();
+      replaced.set(key);
+      publish(current.next(replaced, new int[] {key}, new Movie[] {revision}));
+
+      return true;
+    }
+  }
+
+  /**
+   * Deletes the specified movie.
+   *
+   * @param movie the movie to delete
+   * @return {@code true} if the movie was deleted, or {@code false} if it isn't present
+   * @throws IllegalArgumentException if the movie is the only one in the repository
+   */
+  public boolean delete(final Movie movie) {
+
+    Validate.notNull(movie, "The movie can't be null", (Object[]) null);
+
+    return deleteAll(List.of(movie)) == 1;
+  }
+
+  /**
+   * Deletes the specified movies. Deleted movies are marked in the snapshot's bitmap of deleted
+   * movies or removed from its delta, which is rebuilt once for the whole batch. The repository
+   * always holds at least one movie, as it does when it's instantiated, so a batch that would
+   * delete every movie is rejected and nothing is deleted.
+   *
+   * @param oldMovies the movies to delete
+   * @return the number of movies deleted, which omits the movies that aren't present
+   * @throws IllegalArgumentException if the batch would delete every movie in the repository
+   */
+  public int deleteAll(final Collection<Movie> oldMovies) {
+
+    Validate.notNull(oldMovies, "The movies can't be null", (Object[]) null);
+    Validate.noNullElements(oldMovies, "A movie can't be null", (Object[]) null);
+
+    synchronized (this.writeLock) {
+      final Snapshot current = this.movies;
+      final var deleted = new BitSet();
+      for (final Movie movie : oldMovies) {
+        final int key = current.keyOf(movie);
+        if (key >= 0) {
+          deleted.set(key);
+        }
+      }
+      if (deleted.isEmpty()) {
+        return 0;
+      }
+      Validate.isTrue(
+          deleted.cardinality() < current.size(),
+          "The respository requires at least one movie",
+          (Object[]) null);
+
+      publish(current.next(deleted, new int[0], new Movie[0]));
+
+      return deleted.cardinality();
+    }
+  }
+
+  /**
+   * Compacts the pending changes of the current snapshot into a new base. The base is rebuilt
+   * without holding the write lock, so writes carry on meanwhile; when it's published, the changes
+   * written since are carried over onto it. The repository compacts itself in the background once
+   * enough changes are pending, so this is needed only to compact sooner.
+   */
+  void compact() {
+
+    final Snapshot source = this.movies;
+    if (source.pendingChanges() == 0) {
+      return;
+    }
+    final MovieSegment compacted = source.compactedBase();
+    synchronized (this.writeLock) {
+      this.movies = this.movies.rebase(source, compacted);
+    }
+  }
+
+  /**
+   * Gets the number of changes pending in the current snapshot: the base movies deleted or replaced
+   * and the movies in the delta.
+   *
+   * @return the number of pending changes
+   */
+  int pendingChanges() {
+    return this.movies.pendingChanges();
+  }
+
+  /**
+   * Publishes the specified snapshot, and schedules a compaction if it has too many pending
+   * changes. The caller must hold the write lock.
+   *
+   * @param next the snapshot to publish
+   */
+  private void publish(final Snapshot next) {
+
+    this.movies = next;
+    if (next.needsCompaction()) {
+      scheduleCompaction();
+    }
+  }
+
+  /**
+   * Schedules a compaction on the pool of the parallel scan setting, unless one is already
+   * scheduled. A compaction that leaves too many changes pending, because they were written while
+   * it ran, schedules another.
+   */
+  private void scheduleCompaction() {
+
+    if (this.compacting.compareAndSet(false, true)) {
+      this.parallelScan
+          .getPool()
+          .execute(
+              () -> {
+                try {
+                  compact();
+                } finally {
+                  this.compacting.set(false);
+                }
+                if (this.movies.needsCompaction()) {
+                  scheduleCompaction();
+                }
+              });
+    }
+  }
 
-    return movies
-        .stream()
+  /**
+   * Finds the movies in the specified segment that were released in the specified range of years
+   * and match the specified genres. The genre bitmaps are combined and then intersected with a
+   * bitmap of the movies in the range.
+   *
+   * @param segment the segment to search
+   * @param genres the genres of interest, which are compared exactly
+   * @param match how the genres are combined
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the ascending ordinals of the matching movies
+   */
+  private static int[] matchGenres(
+      final MovieSegment segment,
+      final Collection<String> genres,
+      final GenreMatch match,
+      final int fromYear,
+      final int toYear) {
+
+    final BitSet matches = segment.genreIndex().match(genres, match);
+    matches.and(segment.yearIndex().ordinalSetBetween(fromYear, toYear));
+
+    return matches.stream().toArray();
+  }
+
+  /**
+   * Finds the movies in the specified segment that the specified cast member appeared in and that
+   * were released in the specified range of years. Each movie in the cast member's filmography is
+   * checked against the genre bitmaps, if genres are specified.
+   *
+   * @param segment the segment to search
+   * @param name the name of the cast member
+   * @param nameMatch how the name is compared
+   * @param genres the genres of interest, which are compared exactly, or {@code null} for any
+   * @param genreMatch how the genres are combined, or {@code null} if no genres are specified
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the ascending ordinals of the matching movies
+   */
+  private static int[] matchCastMember(
+      final MovieSegment segment,
+      final String name,
+      final NameMatch nameMatch,
+      final Collection<String> genres,
+      final GenreMatch genreMatch,
+      final int fromYear,
+      final int toYear) {
+
+    return Arrays.stream(segment.castIndex().find(name, nameMatch))
         .filter(
-            movie ->
-                movie.getYear() >= decade && movie.getYear() < DecadeUtils.getNextDecade(decade))
-        .collect(Collectors.toSet());
+            ordinal -> genres == null || segment.genreIndex().matches(ordinal, genres, genreMatch))
+        .filter(ordinal -> isInYearRange(segment.store.getYear(ordinal), fromYear, toYear))
+        .toArray();
+  }
+
+  /**
+   * Checks whether the specified year falls in the specified range of years.
+   *
+   * @param year the year to check
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return {@code true} if the year is in the range
+   */
+  private static boolean isInYearRange(final int year, final int fromYear, final int toYear) {
+    return year >= fromYear && year <= toYear;
+  }
+
+  /**
+   * Validates the specified range of years.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @throws IllegalArgumentException if the first year of the range follows the last year
+   */
+  private static void validateYearRange(final int fromYear, final int toYear) {
+
+    Validate.isTrue(
+        fromYear <= toYear,
+        "The first year of the range can't follow the last year",
+        (Object[]) null);
+  }
+
+  /**
+   * An immutable version of the movies supported by the application, together with their indexes.
+   * A version is made of an indexed base segment, a bitmap of the base movies that have been
+   * deleted or replaced since the base was built, and a small indexed delta segment of the movies
+   * inserted or revised since. A write rebuilds only the delta, and lookups merge what they find in
+   * the base and the delta.
+   *
+   * <p>Each movie has a key that orders it among the movies as they were supplied. A base movie's
+   * key is its ordinal, the delta holds its movies in key order, and a revision takes the key of
+   * the movie it replaces. As a set, the snapshot contains the movies in key order.
+   */
+  private static final class Snapshot extends AbstractSet<Movie> {
+
+    /** The mask of the rank bits of a title search's rank key. */
+    private static final long RANK_MASK = -1L << Integer.SIZE;
+
+    /** The movies indexed when the base was built, including any deleted or replaced since. */
+    final MovieSegment base;
+
+    /** The movies inserted or revised since the base was built, in key order. */
+    final MovieSegment delta;
+
+    /** The key of each movie in the delta, in ascending order. */
+    private final int[] deltaKeys;
+
+    /** The movies in the delta, in key order, from which the next delta is built. */
+    private final Movie[] deltaMovies;
+
+    /** Gets the movie with a key. */
+    final IntFunction<Movie> moviesByKey;
+
+    /** The key of the next movie inserted. */
+    final int nextKey;
+
+    /** Decides when scans run in parallel, and on which pool. */
+    private final ParallelScan parallelScan;
+
+    /** The number of movies. */
+    private final int size;
+
+    /** The ordinals of the base movies that have been deleted or replaced, which never change. */
+    private final BitSet tombstones;
+
+    /** The number of writes that preceded the snapshot. */
+    final long version;
+
+    /**
+     * Instantiates the first snapshot, whose movies are all in its base.
+     *
+     * @param theBase the movies and their indexes
+     * @param theParallelScan decides when scans run in parallel, and on which pool
+     */
+    Snapshot(final MovieSegment theBase, final ParallelScan theParallelScan) {
+      this(theBase, new BitSet(), new int[0], new Movie[0], theBase.size(), 0, theParallelScan);
+    }
+
+    /**
+     * Instantiates a new snapshot, building the indexes of its delta.
+     *
+     * @param theBase the movies indexed when the base was built
+     * @param theTombstones the ordinals of the base movies that have been deleted or replaced
+     * @param theDeltaKeys the key of each movie in the delta, in ascending order
+     * @param theDeltaMovies the movies in the delta, in key order
+     * @param theNextKey the key of the next movie inserted
+     * @param theVersion the number of writes that preceded the snapshot
+     * @param theParallelScan decides when scans run in parallel, and on which pool
+     */
+    private Snapshot(
+        final MovieSegment theBase,
+        final BitSet theTombstones,
+        final int[] theDeltaKeys,
+        final Movie[] theDeltaMovies,
+        final int theNextKey,
+        final long theVersion,
+        final ParallelScan theParallelScan) {
+
+      super();
+      this.base = theBase;
+      this.tombstones = theTombstones;
+      this.deltaKeys = theDeltaKeys;
+      this.deltaMovies = theDeltaMovies;
+      this.nextKey = theNextKey;
+      this.version = theVersion;
+      this.parallelScan = theParallelScan;
+      this.delta = MovieSegment.of(Arrays.asList(theDeltaMovies), false, theParallelScan);
+      this.size = theBase.size() - theTombstones.cardinality() + theDeltaMovies.length;
+      this.moviesByKey = pendingChanges() == 0 ? theBase.moviesByOrdinal : this::movie;
+    }
+
+    /**
+     * Creates the snapshot that follows this one. Only the delta is rebuilt: removed base movies
+     * are marked in a copy of the bitmap of deleted movies, and removed delta movies are dropped.
+     *
+     * @param removedKeys the keys of the movies removed
+     * @param addedKeys the keys of the movies added, which aren't the keys of any movies remaining
+     * @param addedMovies the movies added, in the order of their keys in {@code addedKeys}
+     * @return the next snapshot
+     */
+    Snapshot next(final BitSet removedKeys, final int[] addedKeys, final Movie[] addedMovies) {
+
+      final var nextTombstones = (BitSet) this.tombstones.clone();
+      final var removedDeltaOrdinals = new BitSet(this.deltaKeys.length);
+      removedKeys
+          .stream()
+          .forEach(
+              key -> {
+                if (isInBase(key)) {
+                  nextTombstones.set(key);
+                } else {
+                  removedDeltaOrdinals.set(Arrays.binarySearch(this.deltaKeys, key));
+                }
+              });
+
+      // The added movies are sorted by key, as the key and position packed into one primitive,
+      // and merged with the remaining delta.
+      final long[] added =
+          IntStream.range(0, addedKeys.length)
+              .mapToLong(position -> (long) addedKeys[position] << Integer.SIZE | position)
+              .sorted()
+              .toArray();
+      final int nextDeltaSize =
+          this.deltaKeys.length - removedDeltaOrdinals.cardinality() + added.length;
+      final var nextDeltaKeys = new int[nextDeltaSize];
+      final var nextDeltaMovies = new Movie[nextDeltaSize];
+      var ordinal = removedDeltaOrdinals.nextClearBit(0);
+      var addedPosition = 0;
+      for (var nextOrdinal = 0; nextOrdinal < nextDeltaSize; nextOrdinal++) {
+        if (addedPosition == added.length
+            || ordinal < this.deltaKeys.length
+                && this.deltaKeys[ordinal] < (int) (added[addedPosition] >> Integer.SIZE)) {
+          nextDeltaKeys[nextOrdinal] = this.deltaKeys[ordinal];
+          nextDeltaMovies[nextOrdinal] = this.deltaMovies[ordinal];
+          ordinal = removedDeltaOrdinals.nextClearBit(ordinal + 1);
+        } else {
+          final int position = (int) added[addedPosition++];
+          nextDeltaKeys[nextOrdinal] = addedKeys[position];
+          nextDeltaMovies[nextOrdinal] = retain(addedMovies[position]);
+        }
+      }
+      final int nextNextKey =
+          Math.max(this.nextKey, added.length == 0 ? 0 : nextDeltaKeys[nextDeltaSize - 1] + 1);
+
+      return new Snapshot(
+          this.base,
+          nextTombstones,
+          nextDeltaKeys,
+          nextDeltaMovies,
+          nextNextKey,
+          this.version + 1,
+          this.parallelScan);
+    }
+
+    /**
+     * Copies the specified movie to keep in the delta, so the caller can't change it in place.
+     *
+     * @param movie the movie written to the repository
+     * @return the movie to keep in the delta
+     */
+    private static Movie retain(final Movie movie) {
+      return new Movie(movie.getCast(), movie.getGenres(), movie.getTitle(), movie.getYear());
+    }
+
+    /**
+     * Builds a new base of the movies in the snapshot, in key order, whose store is on or off the
+     * heap as the current base's is.
+     *
+     * @return the new base
+     */
+    MovieSegment compactedBase() {
+
+      final int[] keys = keys();
+      final List<Movie> keyedMovies =
+          new AbstractList<>() {
+
+            @Override
+            public Movie get(final int index) {
+              return Snapshot.this.moviesByKey.apply(keys[index]);
+            }
+
+            @Override
+            public int size() {
+              return keys.length;
+            }
+          };
+
+      return MovieSegment.of(keyedMovies, this.base.store.isOffHeap(), this.parallelScan);
+    }
+
+    /**
+     * Moves this snapshot onto a base compacted from an earlier snapshot. The movies of the earlier
+     * snapshot that this one has since deleted or replaced are marked in the new bitmap of deleted
+     * movies, and the movies this one has inserted or revised since are kept in the new delta. Keys
+     * are renumbered from the new base's ordinals without changing their order.
+     *
+     * @param source the snapshot the base was compacted from, which this one follows
+     * @param compacted the base compacted from the source
+     * @return the equivalent snapshot on the compacted base, or this snapshot if its base has
+     *     already been replaced by another compaction
+     */
+    Snapshot rebase(final Snapshot source, final MovieSegment compacted) {
+
+      if (this.base != source.base) {
+        return this;
+      }
+
+      final int[] sourceKeys = source.keys();
+      final var nextTombstones = new BitSet(sourceKeys.length);
+      for (var ordinal = 0; ordinal < sourceKeys.length; ordinal++) {
+        if (!isUnchangedSince(source, sourceKeys[ordinal])) {
+          nextTombstones.set(ordinal);
+        }
+      }
+
+      final var nextDeltaKeys = new int[this.deltaKeys.length];
+      final var nextDeltaMovies = new Movie[this.deltaKeys.length];
+      var nextDeltaSize = 0;
+      for (var ordinal = 0; ordinal < this.deltaKeys.length; ordinal++) {
+        final int key = this.deltaKeys[ordinal];
+        if (key >= source.nextKey) {
+          nextDeltaKeys[nextDeltaSize] = sourceKeys.length + key - source.nextKey;
+          nextDeltaMovies[nextDeltaSize++] = this.deltaMovies[ordinal];
+        } else if (!isUnchangedSince(source, key)) {
+          nextDeltaKeys[nextDeltaSize] = Arrays.binarySearch(sourceKeys, key);
+          nextDeltaMovies[nextDeltaSize++] = this.deltaMovies[ordinal];
+        }
+      }
+
+      return new Snapshot(
+          compacted,
+          nextTombstones,
+          Arrays.copyOf(nextDeltaKeys, nextDeltaSize),
+          Arrays.copyOf(nextDeltaMovies, nextDeltaSize),
+          sourceKeys.length + this.nextKey - source.nextKey,
+          this.version,
+          this.parallelScan);
+    }
+
+    /**
+     * Checks whether the movie with the specified key in an earlier snapshot is still in this one,
+     * unchanged. A base movie is unchanged until it's deleted or replaced, and a delta movie is
+     * unchanged while the same instance is in the delta under the same key.
+     *
+     * @param source the earlier snapshot, which has the same base as this one
+     * @param key the key of a movie in the earlier snapshot
+     * @return {@code true} if the movie is unchanged
+     */
+    private boolean isUnchangedSince(final Snapshot source, final int key) {
+
+      if (source.isInBase(key)) {
+        return isInBase(key);
+      }
+      final int sourceOrdinal = Arrays.binarySearch(source.deltaKeys, key);
+      final int ordinal = Arrays.binarySearch(this.deltaKeys, key);
+
+      return sourceOrdinal >= 0
+          && ordinal >= 0
+          && this.deltaMovies[ordinal] == source.deltaMovies[sourceOrdinal];
+    }
+
+    /**
+     * Gets the number of changes pending since the base was built: the base movies deleted or
+     * replaced and the movies in the delta.
+     *
+     * @return the number of pending changes
+     */
+    int pendingChanges() {
+      return this.tombstones.cardinality() + this.deltaKeys.length;
+    }
+
+    /**
+     * Indicates whether enough changes are pending for the snapshot to be compacted: an eighth of
+     * the base, but at least {@value MovieRepository#MIN_PENDING_CHANGES} and at most {@value
+     * MovieRepository#MAX_PENDING_CHANGES}, which bounds the cost of rebuilding the delta.
+     *
+     * @return {@code true} if the snapshot should be compacted
+     */
+    boolean needsCompaction() {
+
+      final int threshold =
+          Math.min(MAX_PENDING_CHANGES, Math.max(MIN_PENDING_CHANGES, this.base.size() / 8));
+
+      return pendingChanges() > threshold;
+    }
+
+    /**
+     * Checks whether the movie with the specified key is in the base rather than the delta.
+     *
+     * @param key the key of a movie in the snapshot
+     * @return {@code true} if the movie is in the base
+     */
+    private boolean isInBase(final int key) {
+      return key < this.base.size() && !this.tombstones.get(key);
+    }
+
+    /**
+     * Gets the movie with the specified key.
+     *
+     * @param key the key of a movie in the snapshot
+     * @return the movie
+     */
+    private Movie movie(final int key) {
+
+      if (isInBase(key)) {
+        return this.base.moviesByOrdinal.apply(key);
+      }
+      return this.delta.moviesByOrdinal.apply(Arrays.binarySearch(this.deltaKeys, key));
+    }
+
+    /**
+     * Finds the key of the specified movie.
+     *
+     * @param movie the movie to find
+     * @return the key of the movie, or {@code -1} if it isn't in the snapshot
+     */
+    int keyOf(final Movie movie) {
+
+      final int ordinal = this.base.ordinalOf(movie);
+      if (ordinal >= 0 && !this.tombstones.get(ordinal)) {
+        return ordinal;
+      }
+      final int deltaOrdinal = this.delta.ordinalOf(movie);
+
+      return deltaOrdinal < 0 ? -1 : this.deltaKeys[deltaOrdinal];
+    }
+
+    /**
+     * Gets the keys of every movie in the snapshot.
+     *
+     * @return the ascending keys of the movies
+     */
+    private int[] keys() {
+      return keys(
+          IntStream.range(0, this.base.size()).toArray(),
+          IntStream.range(0, this.delta.size()).toArray());
+    }
+
+    /**
+     * Merges movies found in the base with movies found in the delta into key order. The base
+     * movies that have been deleted or replaced are skipped.
+     *
+     * @param baseOrdinals the ascending ordinals of movies in the base
+     * @param deltaOrdinals the ascending ordinals of movies in the delta
+     * @return the ascending keys of the movies, which may be the base ordinals themselves if no
+     *     changes are pending
+     */
+    int[] keys(final int[] baseOrdinals, final int[] deltaOrdinals) {
+
+      if (pendingChanges() == 0) {
+        return baseOrdinals;
+      }
+      final var keys = new int[baseOrdinals.length + deltaOrdinals.length];
+      var size = 0;
+      var i = 0;
+      var j = 0;
+      while (i < baseOrdinals.length || j < deltaOrdinals.length) {
+        if (j == deltaOrdinals.length
+            || i < baseOrdinals.length && baseOrdinals[i] < this.deltaKeys[deltaOrdinals[j]]) {
+          final int ordinal = baseOrdinals[i++];
+          if (!this.tombstones.get(ordinal)) {
+            keys[size++] = ordinal;
+          }
+        } else {
+          keys[size++] = this.deltaKeys[deltaOrdinals[j++]];
+        }
+      }
+
+      return size == keys.length ? keys : Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Gets the movies with the specified keys.
+     *
+     * @param keys the keys of the movies
+     * @return an unmodifiable list of the movies, in the order of the keys
+     */
+    List<Movie> movies(final int[] keys) {
+      return Arrays.stream(keys)
+          .mapToObj(this.moviesByKey)
+          .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Counts the movies released in the specified range of years. The counts are read from the
+     * year indexes, and only the deleted base movies are looked at.
+     *
+     * @param fromYear the first year of the range, inclusive
+     * @param toYear the last year of the range, inclusive
+     * @return the number of movies released in the range
+     */
+    int count(final int fromYear, final int toYear) {
+
+      final long deletedCount =
+          this.tombstones
+              .stream()
+              .filter(ordinal -> isInYearRange(this.base.store.getYear(ordinal), fromYear, toYear))
+              .count();
+
+      return this.base.yearIndex().count(fromYear, toYear)
+          - (int) deletedCount
+          + this.delta.yearIndex().count(fromYear, toYear);
+    }
+
+    /**
+     * Counts the movies released in each year of the specified range.
+     *
+     * @param fromYear the first year of the range, inclusive
+     * @param toYear the last year of the range, inclusive
+     * @return the number of movies released in each year of the range in which any were released,
+     *     keyed by year
+     */
+    SortedMap<Integer, Integer> histogram(final int fromYear, final int toYear) {
+
+      final SortedMap<Integer, Integer> counts = this.base.yearIndex().histogram(fromYear, toYear);
+      if (pendingChanges() == 0) {
+        return counts;
+      }
+      this.tombstones
+          .stream()
+          .map(ordinal -> this.base.store.getYear(ordinal))
+          .filter(year -> isInYearRange(year, fromYear, toYear))
+          .forEach(year -> counts.merge(year, -1, Integer::sum));
+      this.delta
+          .yearIndex()
+          .histogram(fromYear, toYear)
+          .forEach((year, count) -> counts.merge(year, count, Integer::sum));
+      counts.values().removeIf(count -> count == 0);
+
+      return counts;
+    }
+
+    /**
+     * Counts the movies released in the specified range of years under each genre, in one pass
+     * over the genre column of each segment.
+     *
+     * @param fromYear the first year of the range, inclusive
+     * @param toYear the last year of the range, inclusive
+     * @return the number of movies released in the range under each genre, keyed by genre,
+     *     omitting genres with no movies in the range
+     */
+    SortedMap<String, Integer> genreCounts(final int fromYear, final int toYear) {
+
+      final SortedMap<String, Integer> counts =
+          this.base.genreIndex().countAmong(
+              action ->
+                  this.base.yearIndex().forEachBetween(
+                      fromYear,
+                      toYear,
+                      ordinal -> {
+                        if (!this.tombstones.get(ordinal)) {
+                          action.accept(ordinal);
+                        }
+                      }));
+      this.delta
+          .genreIndex()
+          .countAmong(action -> this.delta.yearIndex().forEachBetween(fromYear, toYear, action))
+          .forEach((genre, count) -> counts.merge(genre, count, Integer::sum));
+
+      return counts;
+    }
+
+    /**
+     * Gets the elements for the movies released in the specified range of years, ordered by year
+     * and then by key. The list is a view of the year indexes; while no changes are pending, it's
+     * a view of the base's index alone.
+     *
+     * @param <T> the type of the elements
+     * @param fromYear the first year of the range, inclusive
+     * @param toYear the last year of the range, inclusive
+     * @param baseElements gets the element for a base movie's ordinal
+     * @param deltaElements gets the element for a delta movie's ordinal
+     * @return an unmodifiable view of the elements for the movies released in the range
+     */
+    <T> List<T> yearRange(
+        final int fromYear,
+        final int toYear,
+        final IntFunction<T> baseElements,
+        final IntFunction<T> deltaElements) {
+
+      if (pendingChanges() == 0) {
+        return this.base.yearIndex().range(fromYear, toYear, baseElements);
+      }
+      return new YearRange<>(this, fromYear, toYear, baseElements, deltaElements);
+    }
+
+    /**
+     * Searches for the movies whose titles contain the words of the specified text. The best
+     * matches of each segment are ranked together, with equal ranks ordered by key.
+     *
+     * @param text the text to search for
+     * @param match how the words of the search are compared with the words of each title
+     * @param limit the largest number of movies to return
+     * @return the best matching movies, best first
+     */
+    List<Movie> findByTitle(final String text, final TitleMatch match, final int limit) {
+
+      final long[] baseRanks =
+          this.base.titleIndex().rankedSearch(
+              text, match, limit, ordinal -> !this.tombstones.get(ordinal));
+      final long[] deltaRanks =
+          this.delta.titleIndex().rankedSearch(text, match, limit, ordinal -> true);
+      for (var i = 0; i < deltaRanks.length; i++) {
+        deltaRanks[i] = deltaRanks[i] & RANK_MASK | this.deltaKeys[(int) deltaRanks[i]];
+      }
+
+      return LongStream.concat(Arrays.stream(baseRanks), Arrays.stream(deltaRanks))
+          .sorted()
+          .limit(limit)
+          .mapToObj(rank -> this.moviesByKey.apply((int) rank))
+          .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Runs the specified query against each segment and merges the matches. The plan is the base's
+     * plan, followed by a step that merges the delta's matches if the delta has any movies.
+     *
+     * @param query the query to run
+     * @return the matching movies, in key order, and the plan that found them
+     */
+    QueryResult query(final MovieQuery query) {
+
+      final QueryPlanner.Execution baseExecution =
+          this.base.queryPlanner.run(query, this.tombstones);
+      if (this.deltaKeys.length == 0) {
+        return new QueryResult(movies(baseExecution.ordinals), baseExecution.plan);
+      }
+
+      final QueryPlanner.Execution deltaExecution =
+          this.delta.queryPlanner.run(query, new BitSet());
+      final int[] keys = keys(baseExecution.ordinals, deltaExecution.ordinals);
+      final List<QueryPlan.Step> steps = new ArrayList<>(baseExecution.plan.getSteps());
+      steps.add(
+          new QueryPlan.Step(
+              "MERGE DELTA",
+              baseExecution.ordinals.length + deltaExecution.ordinals.length,
+              keys.length));
+
+      return new QueryResult(
+          movies(keys), new QueryPlan(baseExecution.plan.getAccessPath(), steps));
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+      return o instanceof Movie && keyOf((Movie) o) >= 0;
+    }
+
+    @Override
+    public Iterator<Movie> iterator() {
+
+      if (pendingChanges() == 0) {
+        return IntStream.range(0, this.size).mapToObj(this.base.moviesByOrdinal).iterator();
+      }
+      return Arrays.stream(keys()).mapToObj(this.moviesByKey).iterator();
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+  }
+
+  /**
+   * An unmodifiable view of the movies of a snapshot released in a range of years, ordered by year
+   * and then by key. The base's slice of its year index is read in place. The positions in the
+   * slice of the deleted base movies, and the positions in the view of the delta's movies, are
+   * found when the view is created, which costs only the pending changes; each element is then
+   * found by binary search.
+   *
+   * @param <T> the type of the elements
+   */
+  private static final class YearRange<T> extends AbstractList<T> implements RandomAccess {
+
+    /** Gets the element for a base movie's ordinal. */
+    private final IntFunction<T> baseElements;
+
+    /** The base's index of the movies by year. */
+    private final YearIndex baseIndex;
+
+    /** Gets the element for a delta movie's ordinal. */
+    private final IntFunction<T> deltaElements;
+
+    /** The position of the first entry of the range in the delta's year index. */
+    private final int deltaFrom;
+
+    /** The delta's index of the movies by year. */
+    private final YearIndex deltaIndex;
+
+    /** The position in the view of each of the delta's movies in the range, in ascending order. */
+    private final int[] deltaPositions;
+
+    /** The position of the first entry of the range in the base's year index. */
+    private final int from;
+
+    /** The number of elements in the view. */
+    private final int size;
+
+    /** The positions in the base's year index of the deleted movies in the range, ascending. */
+    private final int[] tombstonePositions;
+
+    /**
+     * Instantiates a new view of the specified range of the specified snapshot.
+     *
+     * @param snapshot the snapshot whose movies are viewed
+     * @param fromYear the first year of the range, inclusive
+     * @param toYear the last year of the range, inclusive
+     * @param theBaseElements gets the element for a base movie's ordinal
+     * @param theDeltaElements gets the element for a delta movie's ordinal
+     */
+    YearRange(
+        final Snapshot snapshot,
+        final int fromYear,
+        final int toYear,
+        final IntFunction<T> theBaseElements,
+        final IntFunction<T> theDeltaElements) {
+
+      super();
+      this.baseElements = theBaseElements;
+      this.deltaElements = theDeltaElements;
+      this.baseIndex = snapshot.base.yearIndex();
+      this.deltaIndex = snapshot.delta.yearIndex();
+      this.from = this.baseIndex.lowerBound(fromYear);
+      final int to = Math.max(this.from, this.baseIndex.upperBound(toYear));
+
+      final MovieStore baseStore = snapshot.base.store;
+      this.tombstonePositions =
+          snapshot
+              .tombstones
+              .stream()
+              .filter(ordinal -> isInYearRange(baseStore.getYear(ordinal), fromYear, toYear))
+              .map(ordinal -> this.baseIndex.positionOf(baseStore.getYear(ordinal), ordinal))
+              .sorted()
+              .toArray();
+
+      // A delta movie falls before the base entry that would follow its year and key.
+      this.deltaFrom = this.deltaIndex.lowerBound(fromYear);
+      final int deltaTo = Math.max(this.deltaFrom, this.deltaIndex.upperBound(toYear));
+      this.deltaPositions = new int[deltaTo - this.deltaFrom];
+      for (var i = 0; i < this.deltaPositions.length; i++) {
+        final int deltaOrdinal = this.deltaIndex.ordinalAt(this.deltaFrom + i);
+        final int basePosition =
+            this.baseIndex.positionOf(
+                snapshot.delta.store.getYear(deltaOrdinal), snapshot.deltaKeys[deltaOrdinal]);
+        final int found = Arrays.binarySearch(this.tombstonePositions, basePosition);
+        final int deletedBefore = found < 0 ? -found - 1 : found;
+        this.deltaPositions[i] = basePosition - this.from - deletedBefore + i;
+      }
+      this.size = to - this.from - this.tombstonePositions.length + this.deltaPositions.length;
+    }
+
+    @Override
+    public T get(final int index) {
+
+      Objects.checkIndex(index, this.size);
+      final int deltaPosition = Arrays.binarySearch(this.deltaPositions, index);
+      if (deltaPosition >= 0) {
+        return this.deltaElements.apply(this.deltaIndex.ordinalAt(this.deltaFrom + deltaPosition));
+      }
+
+      // The element is the base entry of the rank that's left once the delta movies before it are
+      // discounted. The deleted entries at or before its position push it along the index; the
+      // k-th deleted position less k never decreases, so they're counted by binary search.
+      final int target = this.from + index - (-deltaPosition - 1);
+      var low = 0;
+      var high = this.tombstonePositions.length;
+      while (low < high) {
+        final int middle = (low + high) >>> 1;
+        if (this.tombstonePositions[middle] - middle <= target) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      return this.baseElements.apply(this.baseIndex.ordinalAt(target + low));
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
   }
 }
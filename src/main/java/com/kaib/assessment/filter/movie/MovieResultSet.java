@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.IntFunction;
+
+/**
+ * An unmodifiable set of movies backed by an array of the ordinals of distinct movies, usually read
+ * from an index. Building the set hashes nothing, and it iterates in the order of the array. Each
+ * movie is looked up by ordinal as it's read. Membership tests are the only operations that need
+ * hashing, so the movies are hashed into a lookup set the first time one is made.
+ *
+ * @author jkaib
+ */
+final class MovieResultSet extends AbstractSet<Movie> {
+
+  /** The movies in the set hashed for membership tests, or {@code null} until the first test. */
+  private volatile Set<Movie> lookup;
+
+  /** Gets the movie with an ordinal. */
+  private final IntFunction<Movie> movies;
+
+  /** The ordinals of the distinct movies in the set, in iteration order. */
+  private final int[] ordinals;
+
+  /**
+   * Instantiates a new set of the specified movies.
+   *
+   * @param theOrdinals the ordinals of the distinct movies in the set, in iteration order; the
+   *     array must not change
+   * @param theMovies gets the movie with an ordinal
+   */
+  MovieResultSet(final int[] theOrdinals, final IntFunction<Movie> theMovies) {
+
+    super();
+    this.ordinals = theOrdinals;
+    this.movies = theMovies;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+
+    // Racing threads may each build the lookup set, but they build identical sets.
+    Set<Movie> hashed = this.lookup;
+    if (hashed == null) {
+      hashed = new HashSet<>(this);
+      this.lookup = hashed;
+    }
+
+    return hashed.contains(o);
+  }
+
+  @Override
+  public Iterator<Movie> iterator() {
+    return Arrays.stream(this.ordinals).mapToObj(this.movies).iterator();
+  }
+
+  @Override
+  public int size() {
+    return this.ordinals.length;
+  }
+
+  @Override
+  public Spliterator<Movie> spliterator() {
+    return Arrays.stream(this.ordinals).mapToObj(this.movies).spliterator();
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * An immutable run of movies held in a columnar store, together with their indexes by year, genre,
+ * cast member, and title, and a planner for the composite queries over them. A repository's movies
+ * are held in a large base segment and a small segment of the movies written since the base was
+ * built.
+ *
+ * <p>Each index is built the first time it's used rather than with the segment, so a segment costs
+ * only its store until it's searched, and an index that no lookup needs, such as the title index
+ * of a repository that's never searched by title, is never built.
+ *
+ * @author jkaib
+ */
+final class MovieSegment {
+
+  /** The index of the movies by cast member. */
+  private final LazyIndex<CastIndex> castIndex;
+
+  /** The index of the movies by genre. */
+  private final LazyIndex<GenreIndex> genreIndex;
+
+  /** Gets the movie with an ordinal, materialized from the store. */
+  final IntFunction<Movie> moviesByOrdinal;
+
+  /** Plans and runs composite queries against the indexes. */
+  final QueryPlanner queryPlanner;
+
+  /** The columns of the movies. */
+  final MovieStore store;
+
+  /** The index of the movies by the words of their titles. */
+  private final LazyIndex<TitleIndex> titleIndex;
+
+  /** The index of the movies by the year in which they were released. */
+  private final LazyIndex<YearIndex> yearIndex;
+
+  /**
+   * Instantiates a new segment over the specified store. No index is built until it's first used.
+   *
+   * @param theStore the columns of the movies
+   * @param theParallelScan decides when scans and index builds run in parallel, and on which pool
+   */
+  MovieSegment(final MovieStore theStore, final ParallelScan theParallelScan) {
+
+    super();
+    this.store = theStore;
+    this.moviesByOrdinal = theStore::getMovie;
+    this.yearIndex = new LazyIndex<>(() -> new YearIndex(theStore));
+    this.genreIndex = new LazyIndex<>(() -> new GenreIndex(theStore));
+    this.castIndex = new LazyIndex<>(() -> new CastIndex(theStore));
+    this.titleIndex = new LazyIndex<>(() -> new TitleIndex(theStore, theParallelScan));
+    this.queryPlanner =
+        new QueryPlanner(
+            theStore,
+            this.moviesByOrdinal,
+            this.yearIndex,
+            this.genreIndex,
+            this.castIndex,
+            this.titleIndex,
+            theParallelScan);
+  }
+
+  /**
+   * Creates a segment containing the specified movies, whose store is on or off the heap as
+   * specified.
+   *
+   * @param theMovies the movies, in ordinal order
+   * @param offHeap whether the store's columns are moved into direct buffers
+   * @param theParallelScan decides when scans and index builds run in parallel, and on which pool
+   * @return the segment
+   */
+  static MovieSegment of(
+      final List<Movie> theMovies, final boolean offHeap, final ParallelScan theParallelScan) {
+
+    final MovieStore store = offHeap ? MovieStore.offHeap(theMovies) : MovieStore.of(theMovies);
+
+    return new MovieSegment(store, theParallelScan);
+  }
+
+  /**
+   * Gets the index of the movies by cast member, building it if this is its first use.
+   *
+   * @return the index
+   */
+  CastIndex castIndex() {
+    return this.castIndex.get();
+  }
+
+  /**
+   * Gets the index of the movies by genre, building it if this is its first use.
+   *
+   * @return the index
+   */
+  GenreIndex genreIndex() {
+    return this.genreIndex.get();
+  }
+
+  /**
+   * Gets the index of the movies by the words of their titles, building it if this is its first
+   * use. The titles are tokenized on the pool of the segment's {@link ParallelScan} setting.
+   *
+   * @return the index
+   */
+  TitleIndex titleIndex() {
+    return this.titleIndex.get();
+  }
+
+  /**
+   * Gets the index of the movies by year, building it if this is its first use.
+   *
+   * @return the index
+   */
+  YearIndex yearIndex() {
+    return this.yearIndex.get();
+  }
+
+  /**
+   * Finds the ordinal of the specified movie. Only the movies released in the same year are
+   * compared with it, read in place from the year index, and each is compared with the columns of
+   * the store, so the lookup hashes, copies, and materializes nothing.
+   *
+   * @param movie the movie to find
+   * @return the ordinal of the movie, or {@code -1} if it isn't in the segment
+   */
+  int ordinalOf(final Movie movie) {
+
+    final int year = movie.getYear();
+    final IntPredicate equalTo = this.store.equalTo(movie);
+    final YearIndex index = yearIndex();
+    for (int position = index.lowerBound(year), end = index.upperBound(year);
+        position < end;
+        position++) {
+      final int ordinal = index.ordinalAt(position);
+      if (equalTo.test(ordinal)) {
+        return ordinal;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Gets the number of movies in the segment.
+   *
+   * @return the number of movies
+   */
+  int size() {
+    return this.store.size();
+  }
+
+  /**
+   * An index that's built the first time it's used. Concurrent first uses wait for one build
+   * rather than each building an identical index.
+   *
+   * @param <T> the type of the index
+   */
+  private static final class LazyIndex<T> implements Supplier<T> {
+
+    /** Builds the index, or {@code null} once it's been built. */
+    private Supplier<T> builder;
+
+    /** The index, or {@code null} until it's built. */
+    private volatile T index;
+
+    /**
+     * Instantiates a new index that's built by the specified builder when it's first used.
+     *
+     * @param theBuilder builds the index
+     */
+    LazyIndex(final Supplier<T> theBuilder) {
+
+      super();
+      this.builder = theBuilder;
+    }
+
+    @Override
+    public T get() {
+
+      T built = this.index;
+      if (built == null) {
+        synchronized (this) {
+          built = this.index;
+          if (built == null) {
+            built = this.builder.get();
+            this.index = built;
+            this.builder = null;
+          }
+        }
+      }
+
+      return built;
+    }
+  }
+}
@@ -15,7 +15,11 @@
  */
 package com.kaib.assessment.filter.movie;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.Validate;
 
@@ -28,6 +32,12 @@ import org.apache.commons.lang3.Validate;
  */
 public class MovieService {
 
+  /** The largest number of decades whose movies are cached by default. */
+  public static final int DEFAULT_CACHE_SIZE = 16;
+
+  /** The movies released during the most recently filtered decades, keyed by decade. */
+  private final ResultCache<Integer, Set<Movie>> decadeCache;
+
   /** The sourc of the movie information. */
   private final MovieRepository movieRepository;
 
@@ -35,12 +45,26 @@ public class MovieService {
    * Instantiate a new decade-based movie filter using the specified movie repository.
    *
    * @param theMovieRepository contains all the movies supported by the application.
+   * @see #DEFAULT_CACHE_SIZE
    */
   public MovieService(final MovieRepository theMovieRepository) {
+    this(theMovieRepository, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Instantiate a new decade-based movie filter using the specified movie repository, which caches
+   * the movies of up to the specified number of decades.
+   *
+   * @param theMovieRepository contains all the movies supported by the application.
+   * @param theCacheSize the largest number of decades whose movies are cached
+   * @throws IllegalArgumentException if the cache size isn't positive
+   */
+  public MovieService(final MovieRepository theMovieRepository, final int theCacheSize) {
 
     super();
     Validate.notNull(theMovieRepository, "The movie repository can't be null", (Object[]) null);
     this.movieRepository = theMovieRepository;
+    this.decadeCache = new ResultCache<>(theCacheSize);
   }
 
   /**
@@ -49,13 +73,165 @@ public class MovieService {
    * represent the beginning of a decade, e.g. "2010", can be no earlier than 1900 and no later than
    * the decade in which the current year falls.
    *
+   * <p>The movies of the most recently filtered decades are cached, and the least recently filtered
+   * decade is evicted when the cache is full. A cached decade is looked up again once the
+   * repository has been written to, so the movies returned are never older than the version of the
+   * repository at the time of the call.
+   *
    * @param decade the decade of interest
    * @return the movies released during the specified decade.
+   * @see #getCacheStatistics()
    */
   public Set<Movie> filter(final int decade) {
 
     DecadeValidator.validate(decade);
+    final long version = this.movieRepository.getVersion();
+
+    return this.decadeCache.get(decade, version, () -> this.movieRepository.findByDecade(decade));
+  }
+
+  /**
+   * Gets the hit, miss, and eviction counters of the cache of decades as of now.
+   *
+   * @return the counters of the cache
+   * @see #filter(int)
+   */
+  public CacheStatistics getCacheStatistics() {
+    return this.decadeCache.statistics();
+  }
+
+  /**
+   * Removes every decade from the cache, releasing the movies it holds. The cache stays consistent
+   * without this: writes to the repository are detected by its version, and the repository keeps
+   * its own copies of the movies, so changing a movie in place changes neither the repository nor
+   * the cached decades.
+   */
+  public void invalidateCache() {
+    this.decadeCache.invalidateAll();
+  }
+
+  /**
+   * Returns one page of the movies released during the specified decade. The decade is validated as
+   * it is by {@link #filter(int)}. Pages are ordered by year and then by the order the movies were
+   * supplied, so a caller pages through a decade by passing each page's {@link
+   * MoviePage#getNextOffset() next offset} back in. Each page costs only its own size.
+   *
+   * @param decade the decade of interest
+   * @param offset the position in the decade of the first movie on the page
+   * @param limit the largest number of movies on the page
+   * @return the page, which is empty if the offset is past the last movie of the decade
+   */
+  public MoviePage filter(final int decade, final int offset, final int limit) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository.findPageByDecade(decade, offset, limit);
+  }
+
+  /**
+   * Returns a following page of the movies released during the specified decade, provided the
+   * movies are still the version the earlier page was cut from. The decade is validated as it is
+   * by {@link #filter(int)}.
+   *
+   * @param decade the decade of interest
+   * @param offset the position in the decade of the first movie on the page
+   * @param limit the largest number of movies on the page
+   * @param version the version of the earlier page, from {@link MoviePage#getVersion()}
+   * @return the page, which is empty if the offset is past the last movie of the decade
+   * @throws IllegalStateException if the movies have changed since the specified version
+   */
+  public MoviePage filter(final int decade, final int offset, final int limit, final long version) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository.findPageByDecade(decade, offset, limit, version);
+  }
+
+  /**
+   * Streams the movies released during the specified decade, ordered by year and then by the order
+   * they were supplied. The decade is validated as it is by {@link #filter(int)}. Nothing is
+   * materialized up front: each movie is read from the year index as the stream reaches it, so a
+   * stream that's limited or short-circuited costs only the movies it consumes.
+   *
+   * @param decade the decade of interest
+   * @return a stream of the movies released during the specified decade
+   */
+  public Stream<Movie> stream(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository
+        .findByYearRange(decade, DecadeUtils.getNextDecade(decade) - 1)
+        .stream();
+  }
+
+  /**
+   * Counts the movies released during the specified decade without materializing them. The decade
+   * is validated as it is by {@link #filter(int)}.
+   *
+   * @param decade the decade of interest
+   * @return the number of movies released during the decade
+   */
+  public int countByDecade(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository.countByDecade(decade);
+  }
+
+  /**
+   * Counts the movies released in each year of the specified range without materializing them.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in each year of the range in which any were released,
+   *     keyed by year
+   */
+  public SortedMap<Integer, Integer> histogramByYear(final int fromYear, final int toYear) {
+    return this.movieRepository.histogramByYear(fromYear, toYear);
+  }
+
+  /**
+   * Counts the movies released during the specified decade under each genre without materializing
+   * them. The decade is validated as it is by {@link #filter(int)}.
+   *
+   * @param decade the decade of interest
+   * @return the number of movies released during the decade under each genre, keyed by genre
+   */
+  public SortedMap<String, Integer> genreCountsByDecade(final int decade) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository.genreCountsByDecade(decade);
+  }
+
+  /**
+   * Returns the movies released during the specified decade that match the specified genres. The
+   * decade is validated as it is by {@link #filter(int)}.
+   *
+   * @param decade the decade of interest
+   * @param genres the genres of interest, which are compared exactly
+   * @param match whether a movie must match all or any of the genres
+   * @return the matching movies, in the order they were supplied to the repository
+   */
+  public List<Movie> filter(
+      final int decade, final Collection<String> genres, final GenreMatch match) {
+
+    DecadeValidator.validate(decade);
+
+    return this.movieRepository.findByGenresInDecade(genres, match, decade);
+  }
+
+  /**
+   * Returns the movies that match the specified query, along with the plan that found them.
+   *
+   * @param query the query to run
+   * @return the matching movies and the plan that found them
+   */
+  public QueryResult query(final MovieQuery query) {
+
+    Validate.notNull(query, "The query can't be null", (Object[]) null);
 
-    return this.movieRepository.findByDecade(decade);
+    return this.movieRepository.query(query);
   }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Describes the layout of a binary, columnar movie snapshot. A snapshot stores each movie field in
+ * its own column so it can be memory-mapped and read without parsing. All integers are big-endian.
+ *
+ * <p>The file begins with a header of five integers: the magic number, the format version, the
+ * number of movies, the number of distinct genres, and the number of distinct cast members. The
+ * sections that follow are, in order:
+ *
+ * <ol>
+ *   <li>the release year of each movie, as one integer per movie
+ *   <li>the flags of each movie, as one byte per movie, recording which nullable fields are present
+ *   <li>the title offsets, as one integer per movie plus one, into the title heap
+ *   <li>the genre reference offsets, as one integer per movie plus one, into the genre references
+ *   <li>the genre references, as one integer per genre of each movie, indexing the genre dictionary
+ *   <li>the cast reference offsets, as one integer per movie plus one, into the cast references
+ *   <li>the cast references, as one integer per cast member of each movie, indexing the cast
+ *       dictionary
+ *   <li>the genre dictionary, as one offset per genre plus one, followed by its UTF-8 string heap
+ *   <li>the cast dictionary, as one offset per cast member plus one, followed by its UTF-8 string
+ *       heap
+ *   <li>the title heap, as the UTF-8 bytes of every title
+ * </ol>
+ *
+ * <p>A {@code null} element of a genre or cast array is stored as the reference {@link
+ * #NULL_REFERENCE}.
+ *
+ * @author jkaib
+ */
+final class MovieSnapshot {
+
+  /** The flag set when a movie's cast is present. */
+  static final byte CAST_PRESENT = 0x02;
+
+  /** The file extension, including the leading period, used for snapshot files. */
+  static final String EXTENSION = ".mfs";
+
+  /** The flag set when a movie's genres are present. */
+  static final byte GENRES_PRESENT = 0x04;
+
+  /** The size of the header in bytes. */
+  static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+  /** The magic number that begins every snapshot, which is {@code MOVS} in ASCII. */
+  static final int MAGIC = 0x4D4F5653;
+
+  /** The dictionary reference that stands for a {@code null} string. */
+  static final int NULL_REFERENCE = -1;
+
+  /** The flag set when a movie's title is present. */
+  static final byte TITLE_PRESENT = 0x01;
+
+  /** The version of the layout described here. */
+  static final int VERSION = 1;
+
+  /** Private constructor prevents instantiation. */
+  private MovieSnapshot() {
+
+    super();
+  }
+
+  /**
+   * Determines whether the specified file begins with the snapshot magic number. Files that can't
+   * be read aren't snapshots as far as this method is concerned; the loader chosen for them reports
+   * the actual error.
+   *
+   * @param filePath the file to inspect
+   * @return {@code true} if the file is a snapshot; {@code false} otherwise
+   */
+  static boolean isSnapshot(final Path filePath) {
+
+    if (!Files.isRegularFile(filePath)) {
+      return false;
+    }
+    try (var channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+      final var magic = ByteBuffer.allocate(Integer.BYTES);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {
+        // Keep reading until the magic number is complete or the file ends.
+      }
+
+      return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+}
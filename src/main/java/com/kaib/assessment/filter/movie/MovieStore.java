@@ -0,0 +1,451 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A columnar store of movies. Instead of one object per movie, the store keeps one array per
+ * field: the release years in an {@code int} array, the genres and cast members as dictionary ids,
+ * and the titles in a single character heap. A movie is identified by its ordinal, which is its
+ * position in every column.
+ *
+ * <p>Scans run as loops over primitive columns and allocate nothing until their results are
+ * materialized; on Java 17 and later, year scans of heap columns are vectorized when the Vector
+ * API is available. The columns are held on the heap or, for large catalogs, in direct buffers
+ * outside it. A store can also be mapped straight from a snapshot file. Instances are immutable.
+ *
+ * @author jkaib
+ */
+public final class MovieStore {
+
+  /** Scans the year column, vectorized where the runtime supports it. */
+  private static final YearScan YEAR_SCAN = YearScans.best();
+
+  /** The cast members of each movie, encoded against the cast dictionary. */
+  private final DictionaryColumn castColumn;
+
+  /** The genres of each movie, encoded against the genre dictionary. */
+  private final DictionaryColumn genreColumn;
+
+  /** The characters of every title, concatenated in ordinal order, or {@code null} if mapped. */
+  private final CharBuffer titleHeap;
+
+  /**
+   * The UTF-8 bytes of every title, concatenated in ordinal order, or {@code null} unless the store
+   * was mapped from a snapshot.
+   */
+  private final ByteBuffer titleBytes;
+
+  /** The ordinals of the movies without a title. */
+  private final BitSet titleNulls;
+
+  /** The position in the title heap at which each title begins, followed by the end. */
+  private final IntBuffer titleOffsets;
+
+  /** The release year of each movie. */
+  private final IntBuffer years;
+
+  /**
+   * Instantiates a new movie store from its columns.
+   *
+   * @param theYears the release year of each movie
+   * @param theTitleOffsets the position at which each title begins, followed by the end
+   * @param theTitleHeap the characters of every title, or {@code null} if they're UTF-8 bytes
+   * @param theTitleBytes the UTF-8 bytes of every title, or {@code null} if they're characters
+   * @param theTitleNulls the ordinals of the movies without a title
+   * @param theGenreColumn the genres of each movie
+   * @param theCastColumn the cast members of each movie
+   */
+  private MovieStore(
+      final IntBuffer theYears,
+      final IntBuffer theTitleOffsets,
+      final CharBuffer theTitleHeap,
+      final ByteBuffer theTitleBytes,
+      final BitSet theTitleNulls,
+      final DictionaryColumn theGenreColumn,
+      final DictionaryColumn theCastColumn) {
+
+    super();
+    this.years = theYears;
+    this.titleOffsets = theTitleOffsets;
+    this.titleHeap = theTitleHeap;
+    this.titleBytes = theTitleBytes;
+    this.titleNulls = theTitleNulls;
+    this.genreColumn = theGenreColumn;
+    this.castColumn = theCastColumn;
+  }
+
+  /**
+   * Creates a store containing the specified movies, with its columns on the heap. Each movie's
+   * ordinal is its position in the collection's iteration order.
+   *
+   * @param movies the movies to store
+   * @return a store containing the movies
+   */
+  public static MovieStore of(final Collection<Movie> movies) {
+    return build(movies, false);
+  }
+
+  /**
+   * Creates a store containing the specified movies, with its columns in direct buffers outside the
+   * heap. The garbage collector sees only a few buffer objects however large the catalog is; only
+   * the dictionaries of distinct genres and cast members stay on the heap. The memory is released
+   * when the store is garbage collected. Each movie's ordinal is its position in the collection's
+   * iteration order.
+   *
+   * @param movies the movies to store
+   * @return a store containing the movies
+   */
+  public static MovieStore offHeap(final Collection<Movie> movies) {
+    return build(movies, true);
+  }
+
+  /**
+   * Creates a store containing the specified movies.
+   *
+   * @param movies the movies to store
+   * @param offHeap whether the columns are moved into direct buffers
+   * @return a store containing the movies
+   */
+  private static MovieStore build(final Collection<Movie> movies, final boolean offHeap) {
+
+    Validate.notNull(movies, "The movies can't be null", (Object[]) null);
+    Validate.noNullElements(movies, "A movie can't be null", (Object[]) null);
+
+    final int size = movies.size();
+    final var years = new int[size];
+    final var titleOffsets = new int[size + 1];
+    final var titleHeap = new StringBuilder();
+    final var titleNulls = new BitSet();
+    final var genreBuilder = new DictionaryColumn.Builder(size);
+    final var castBuilder = new DictionaryColumn.Builder(size);
+    var ordinal = 0;
+    for (final Movie movie : movies) {
+      years[ordinal] = movie.getYear();
+      if (movie.getTitle() == null) {
+        titleNulls.set(ordinal);
+      } else {
+        titleHeap.append(movie.getTitle());
+      }
+      titleOffsets[++ordinal] = titleHeap.length();
+      genreBuilder.add(movie.sharedGenres());
+      castBuilder.add(movie.sharedCast());
+    }
+
+    final CharBuffer heap;
+    if (offHeap) {
+      // Titles are read relative to the buffer's position, so it's rewound once it's filled.
+      heap =
+          ByteBuffer.allocateDirect(titleHeap.length() * Character.BYTES)
+              .order(ByteOrder.nativeOrder())
+              .asCharBuffer();
+      heap.put(titleHeap.toString()).flip();
+    } else {
+      final var chars = new char[titleHeap.length()];
+      titleHeap.getChars(0, chars.length, chars, 0);
+      heap = CharBuffer.wrap(chars);
+    }
+
+    return new MovieStore(
+        intBuffer(years, offHeap),
+        intBuffer(titleOffsets, offHeap),
+        heap,
+        null,
+        titleNulls,
+        genreBuilder.build(offHeap),
+        castBuilder.build(offHeap));
+  }
+
+  /**
+   * Creates a store over columns mapped from a snapshot. The buffers are used as they are, and the
+   * titles are decoded from their UTF-8 bytes each time they're read.
+   *
+   * @param years the release year of each movie
+   * @param titleOffsets the position at which each title's bytes begin, followed by the end
+   * @param titleBytes the UTF-8 bytes of every title
+   * @param titleNulls the ordinals of the movies without a title
+   * @param genreColumn the genres of each movie
+   * @param castColumn the cast members of each movie
+   * @return a store over the columns
+   * @see SnapshotMovieLoader#mapStore(java.nio.file.Path)
+   */
+  static MovieStore mapped(
+      final IntBuffer years,
+      final IntBuffer titleOffsets,
+      final ByteBuffer titleBytes,
+      final BitSet titleNulls,
+      final DictionaryColumn genreColumn,
+      final DictionaryColumn castColumn) {
+
+    return new MovieStore(
+        years, titleOffsets, null, titleBytes, titleNulls, genreColumn, castColumn);
+  }
+
+  /**
+   * Wraps the specified values in a buffer, or copies them into a direct buffer. Buffers are read
+   * only by absolute index, so their positions never change.
+   *
+   * @param values the values
+   * @param offHeap whether the values are copied into a direct buffer
+   * @return a buffer containing the values
+   */
+  static IntBuffer intBuffer(final int[] values, final boolean offHeap) {
+
+    if (!offHeap) {
+      return IntBuffer.wrap(values);
+    }
+    final IntBuffer buffer =
+        ByteBuffer.allocateDirect(values.length * Integer.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asIntBuffer();
+    buffer.put(values);
+
+    return buffer;
+  }
+
+  /**
+   * Checks whether the columns of the store are held outside the heap.
+   *
+   * @return {@code true} if the columns are in direct buffers
+   */
+  public boolean isOffHeap() {
+    return this.years.isDirect();
+  }
+
+  /**
+   * Gets the number of movies in the store.
+   *
+   * @return the number of movies
+   */
+  public int size() {
+    return this.years.capacity();
+  }
+
+  /**
+   * Gets the release year of the specified movie.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return the year the movie was released
+   */
+  public int getYear(final int ordinal) {
+    return this.years.get(ordinal);
+  }
+
+  /**
+   * Gets the title of the specified movie.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return the title of the movie, or {@code null} if it has none
+   */
+  public String getTitle(final int ordinal) {
+
+    if (this.titleNulls.get(ordinal)) {
+      return null;
+    }
+    if (this.titleBytes != null) {
+      final int start = this.titleOffsets.get(ordinal);
+      final var bytes = new byte[this.titleOffsets.get(ordinal + 1) - start];
+      this.titleBytes.duplicate().position(start).get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+    return this.titleHeap
+        .subSequence(this.titleOffsets.get(ordinal), this.titleOffsets.get(ordinal + 1))
+        .toString();
+  }
+
+  /**
+   * Gets the genres of the specified movie.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return a new array of the movie's genres, or {@code null} if it has none
+   */
+  public String[] getGenres(final int ordinal) {
+    return this.genreColumn.values(ordinal);
+  }
+
+  /**
+   * Gets the cast members of the specified movie.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return a new array of the movie's cast members, or {@code null} if it has none
+   */
+  public String[] getCast(final int ordinal) {
+    return this.castColumn.values(ordinal);
+  }
+
+  /**
+   * Materializes the specified movie. Each call creates a new, independent instance.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return the movie
+   */
+  public Movie getMovie(final int ordinal) {
+    return new Movie(getCast(ordinal), getGenres(ordinal), getTitle(ordinal), getYear(ordinal));
+  }
+
+  /**
+   * Counts the movies released in the specified range of years by scanning the year column.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in the range
+   */
+  public int countByYearRange(final int fromYear, final int toYear) {
+    return YEAR_SCAN.count(this.years, fromYear, toYear);
+  }
+
+  /**
+   * Finds the movies released in the specified range of years by scanning the year column. The
+   * column is counted first so the result is the only allocation.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the ascending ordinals of the movies released in the range
+   */
+  public int[] findByYearRange(final int fromYear, final int toYear) {
+    return YEAR_SCAN.find(this.years, fromYear, toYear);
+  }
+
+  /**
+   * Gets a flyweight view of the specified movie. The view reads the store's columns on demand, so
+   * it's much lighter than a materialized movie.
+   *
+   * @param ordinal the ordinal of the movie
+   * @return a view of the movie
+   * @throws IndexOutOfBoundsException if no movie has the ordinal
+   */
+  public MovieView view(final int ordinal) {
+
+    return new MovieView(this, Objects.checkIndex(ordinal, size()));
+  }
+
+  /**
+   * Performs the specified action on every movie released in the specified range of years, in
+   * ordinal order. A single view is moved from movie to movie, so the scan allocates nothing per
+   * movie; the view must not be retained after the action returns.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @param action the action performed on a view of each movie
+   */
+  public void forEachInYearRange(
+      final int fromYear, final int toYear, final Consumer<MovieView> action) {
+
+    Validate.notNull(action, "The action can't be null", (Object[]) null);
+    final var view = new MovieView(this, 0);
+    for (int ordinal = 0, size = size(); ordinal < size; ordinal++) {
+      final int year = this.years.get(ordinal);
+      if (year >= fromYear && year <= toYear) {
+        action.accept(view.moveTo(ordinal));
+      }
+    }
+  }
+
+  /**
+   * Creates a test of whether a stored movie equals the specified movie, as {@link
+   * Movie#equals(Object)} would decide. The movie's genres and cast members are encoded against
+   * the dictionaries once, and its title once if the titles are stored as UTF-8, so each test
+   * compares the columns in place without materializing the stored movie.
+   *
+   * @param movie the movie to compare the stored movies with
+   * @return a test of whether the movie with an ordinal equals the specified movie
+   */
+  IntPredicate equalTo(final Movie movie) {
+
+    final int year = movie.getYear();
+    final String title = movie.getTitle();
+    final byte[] encodedTitle =
+        title == null || this.titleBytes == null ? null : title.getBytes(StandardCharsets.UTF_8);
+    final int[] genreIds = this.genreColumn.encode(movie.sharedGenres());
+    final int[] castIds = this.castColumn.encode(movie.sharedCast());
+
+    return ordinal ->
+        this.years.get(ordinal) == year
+            && titleEquals(ordinal, title, encodedTitle)
+            && this.genreColumn.equalsAt(ordinal, genreIds)
+            && this.castColumn.equalsAt(ordinal, castIds);
+  }
+
+  /**
+   * Checks whether the specified movie's title equals the specified title, reading the title heap
+   * in place.
+   *
+   * @param ordinal the ordinal of the movie
+   * @param title the title to compare with, which may be {@code null}
+   * @param encodedTitle the UTF-8 bytes of the title if the titles are stored as UTF-8, or {@code
+   *     null}
+   * @return {@code true} if the titles are equal
+   */
+  private boolean titleEquals(final int ordinal, final String title, final byte[] encodedTitle) {
+
+    if (title == null || this.titleNulls.get(ordinal)) {
+      return title == null && this.titleNulls.get(ordinal);
+    }
+    final int start = this.titleOffsets.get(ordinal);
+    final int length = this.titleOffsets.get(ordinal + 1) - start;
+    if (encodedTitle != null) {
+      if (length != encodedTitle.length) {
+        return false;
+      }
+      for (var i = 0; i < length; i++) {
+        if (this.titleBytes.get(start + i) != encodedTitle[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (length != title.length()) {
+      return false;
+    }
+    for (var i = 0; i < length; i++) {
+      if (this.titleHeap.get(start + i) != title.charAt(i)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets the genres of every movie as dictionary ids.
+   *
+   * @return the genre column
+   */
+  DictionaryColumn genreColumn() {
+    return this.genreColumn;
+  }
+
+  /**
+   * Gets the cast members of every movie as dictionary ids.
+   *
+   * @return the cast column
+   */
+  DictionaryColumn castColumn() {
+    return this.castColumn;
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Binds movies to and from JSON without reflection. Fields are read straight into the arrays the
+ * movie keeps and written straight from them, so neither direction makes a defensive copy. The JSON
+ * read and written is the same as Gson's reflective binding of {@link Movie}: unknown fields are
+ * ignored, a missing year is treated as zero, and fields are written in declaration order.
+ *
+ * <p>The loaders canonicalize genre and cast names through one {@link SymbolTable} per load as
+ * they read. The adapter itself doesn't: it's typically registered on a long-lived {@code Gson},
+ * and a table spanning every movie it ever read would retain every name for the life of the
+ * process.
+ *
+ * @author jkaib
+ */
+public final class MovieTypeAdapter extends TypeAdapter<Movie> {
+
+  /** The name of the field containing the actors in the movie. */
+  private static final String CAST_FIELD = "cast";
+
+  /** The name of the field containing the movie categories. */
+  private static final String GENRES_FIELD = "genres";
+
+  /** The name of the field containing the movie title. */
+  private static final String TITLE_FIELD = "title";
+
+  /** The name of the field containing the year the movie was released. */
+  private static final String YEAR_FIELD = "year";
+
+  /** Instantiates a new movie type adapter. */
+  public MovieTypeAdapter() {
+    super();
+  }
+
+  @Override
+  public Movie read(final JsonReader jsonReader) throws IOException {
+    return readMovie(jsonReader, year -> true, null);
+  }
+
+  /**
+   * Reads the next movie from the specified reader, provided it was released in a year accepted by
+   * the specified filter. Shared with the loaders that push their year filter down into binding.
+   *
+   * @param jsonReader the reader positioned at the next movie
+   * @param yearFilter accepts the release years of the movies to read
+   * @param symbols canonicalizes the genre and cast names of the movies read, or {@code null} to
+   *     keep the names as they're read
+   * @return the next movie, or {@code null} if the value was {@code null} or the movie was rejected
+   *     by the filter
+   * @throws IOException if the movie can't be read
+   */
+  static Movie readMovie(
+      final JsonReader jsonReader, final IntPredicate yearFilter, final SymbolTable symbols)
+      throws IOException {
+
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+
+    String[] cast = null;
+    String[] genres = null;
+    String title = null;
+    var year = 0;
+    var rejected = false;
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      final String name = jsonReader.nextName();
+      if (rejected || jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.skipValue();
+      } else if (YEAR_FIELD.equals(name)) {
+        year = jsonReader.nextInt();
+        rejected = !yearFilter.test(year);
+      } else if (TITLE_FIELD.equals(name)) {
+        title = readString(jsonReader);
+      } else if (CAST_FIELD.equals(name)) {
+        cast = readStrings(jsonReader);
+        if (symbols != null) {
+          symbols.internNames(cast);
+        }
+      } else if (GENRES_FIELD.equals(name)) {
+        genres = readStrings(jsonReader);
+        if (symbols != null) {
+          genres = symbols.internArray(genres);
+        }
+      } else {
+        jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+
+    if (rejected || !yearFilter.test(year)) {
+      return null;
+    }
+
+    return new Movie(cast, genres, title, year);
+  }
+
+  /**
+   * Reads the next string value from the specified reader.
+   *
+   * @param jsonReader the reader positioned at a string, number, boolean, or {@code null} value
+   * @return the string value, or {@code null} if the value was {@code null}
+   * @throws IOException if the value can't be read
+   */
+  private static String readString(final JsonReader jsonReader) throws IOException {
+
+    final JsonToken token = jsonReader.peek();
+    if (token == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(jsonReader.nextBoolean());
+    }
+
+    return jsonReader.nextString();
+  }
+
+  /**
+   * Reads the next array of strings from the specified reader.
+   *
+   * @param jsonReader the reader positioned at an array of strings
+   * @return the strings in the array
+   * @throws IOException if the array can't be read
+   */
+  private static String[] readStrings(final JsonReader jsonReader) throws IOException {
+
+    final List<String> values = new ArrayList<>();
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      values.add(readString(jsonReader));
+    }
+    jsonReader.endArray();
+
+    return values.toArray(new String[0]);
+  }
+
+  @Override
+  public void write(final JsonWriter jsonWriter, final Movie movie) throws IOException {
+
+    if (movie == null) {
+      jsonWriter.nullValue();
+      return;
+    }
+    jsonWriter.beginObject();
+    jsonWriter.name(CAST_FIELD);
+    writeStrings(jsonWriter, movie.sharedCast());
+    jsonWriter.name(GENRES_FIELD);
+    writeStrings(jsonWriter, movie.sharedGenres());
+    jsonWriter.name(TITLE_FIELD).value(movie.getTitle());
+    jsonWriter.name(YEAR_FIELD).value(movie.getYear());
+    jsonWriter.endObject();
+  }
+
+  /**
+   * Writes the specified array of strings to the specified writer.
+   *
+   * @param jsonWriter the writer positioned at a value
+   * @param values the strings to write, or {@code null}
+   * @throws IOException if the array can't be written
+   */
+  private static void writeStrings(final JsonWriter jsonWriter, final String[] values)
+      throws IOException {
+
+    if (values == null) {
+      jsonWriter.nullValue();
+      return;
+    }
+    jsonWriter.beginArray();
+    for (final String value : values) {
+      jsonWriter.value(value);
+    }
+    jsonWriter.endArray();
+  }
+}
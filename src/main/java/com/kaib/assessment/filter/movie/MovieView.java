@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * A flyweight view of one movie in a {@link MovieStore}. The view holds only the store and the
+ * movie's ordinal and reads each field from the store's columns when it's requested, so handing
+ * out views costs far less than materializing {@link Movie} instances. A view obtained from a
+ * store scan is moved from movie to movie and is only valid until the scan's action returns.
+ *
+ * @author jkaib
+ */
+public final class MovieView {
+
+  /** The ordinal of the movie currently viewed. */
+  private int ordinal;
+
+  /** The store containing the movie. */
+  private final MovieStore store;
+
+  /**
+   * Instantiates a new view of the specified movie.
+   *
+   * @param theStore the store containing the movie
+   * @param theOrdinal the ordinal of the movie
+   */
+  MovieView(final MovieStore theStore, final int theOrdinal) {
+
+    super();
+    this.store = theStore;
+    this.ordinal = theOrdinal;
+  }
+
+  /**
+   * Moves the view to the specified movie.
+   *
+   * @param newOrdinal the ordinal of the movie
+   * @return this view
+   */
+  MovieView moveTo(final int newOrdinal) {
+
+    this.ordinal = newOrdinal;
+
+    return this;
+  }
+
+  /**
+   * Gets the ordinal of the movie in its store.
+   *
+   * @return the ordinal of the movie
+   */
+  public int getOrdinal() {
+    return this.ordinal;
+  }
+
+  /**
+   * Gets the release year of the movie.
+   *
+   * @return the year the movie was released
+   */
+  public int getYear() {
+    return this.store.getYear(this.ordinal);
+  }
+
+  /**
+   * Gets the title of the movie.
+   *
+   * @return the title of the movie, or {@code null} if it has none
+   */
+  public String getTitle() {
+    return this.store.getTitle(this.ordinal);
+  }
+
+  /**
+   * Gets the genres of the movie.
+   *
+   * @return a new array of the movie's genres, or {@code null} if it has none
+   */
+  public String[] getGenres() {
+    return this.store.getGenres(this.ordinal);
+  }
+
+  /**
+   * Gets the cast members of the movie.
+   *
+   * @return a new array of the movie's cast members, or {@code null} if it has none
+   */
+  public String[] getCast() {
+    return this.store.getCast(this.ordinal);
+  }
+
+  /**
+   * Materializes the movie currently viewed.
+   *
+   * @return a new movie equal to the one viewed
+   */
+  public Movie toMovie() {
+    return this.store.getMovie(this.ordinal);
+  }
+
+  /**
+   * Renders the movie currently viewed.
+   *
+   * @return the movie as text
+   */
+  @Override
+  public String toString() {
+    return toMovie().toString();
+  }
+}
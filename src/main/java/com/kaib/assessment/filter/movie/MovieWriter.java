@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Writes filtered movies to a destination file in a particular format.
+ *
+ * @author jkaib
+ */
+public interface MovieWriter {
+
+  /**
+   * Writes the specified movies to the specified file, replacing any existing contents.
+   *
+   * @param movies the movies to write
+   * @param destFilePath the file to which the movies will be written
+   * @throws IOException if the file can't be written
+   */
+  void write(Collection<Movie> movies, Path destFilePath) throws IOException;
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * How a cast member's name is compared when movies are looked up by cast member.
+ *
+ * @author jkaib
+ */
+public enum NameMatch {
+
+  /** Matches names that are exactly equal. */
+  EXACT,
+
+  /** Matches names that are equal when case is ignored. */
+  IGNORE_CASE
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * Loads the movies supported by the application from a newline-delimited JSON (NDJSON) file, which
+ * holds one movie object per line. Lines are independent of one another, so they're parsed in
+ * parallel; the file is split on line boundaries by {@link Files#lines(Path)}. Blank lines are
+ * ignored.
+ *
+ * @author jkaib
+ */
+public final class NdjsonMovieLoader implements MovieLoader {
+
+  /** The JSON deserializer that creates the reader for each line. */
+  private final Gson gson;
+
+  /**
+   * Instantiates a new NDJSON movie loader.
+   *
+   * @param theGson the JSON deserializer that creates the reader for each line
+   */
+  public NdjsonMovieLoader(final Gson theGson) {
+
+    super();
+    Validate.notNull(theGson, "The JSON deserializer can't be null", (Object[]) null);
+    this.gson = theGson;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The movies are returned in file order even though the lines are parsed in parallel.
+   *
+   * @throws JsonSyntaxException if a line doesn't contain a movie object
+   */
+  @Override
+  public Set<Movie> load(final Path sourceFilePath, final IntPredicate yearFilter)
+      throws IOException {
+
+    Validate.notNull(yearFilter, "The year filter can't be null", (Object[]) null);
+    final var symbols = new SymbolTable();
+    try (Stream<String> lines = Files.lines(sourceFilePath, StandardCharsets.UTF_8)) {
+      return lines
+          .parallel()
+          .filter(line -> !line.isBlank())
+          .map(line -> readLine(line, yearFilter, symbols))
+          .filter(Objects::nonNull)
+          .collect(Collectors.toCollection(LinkedHashSet::new));
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Binds the movie on the specified line, provided it was released in a year accepted by the
+   * specified filter.
+   *
+   * @param line the line containing a movie object
+   * @param yearFilter accepts the release years of the movies to bind
+   * @param symbols canonicalizes the genre and cast names of the movies bound
+   * @return the movie, or {@code null} if it was rejected by the filter
+   * @throws JsonSyntaxException if the line doesn't contain exactly one movie object
+   */
+  private Movie readLine(
+      final String line, final IntPredicate yearFilter, final SymbolTable symbols) {
+
+    try (JsonReader jsonReader = this.gson.newJsonReader(new StringReader(line))) {
+      jsonReader.setLenient(true);
+      final Movie movie = MovieTypeAdapter.readMovie(jsonReader, yearFilter, symbols);
+      if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("Expected one movie per line but was: " + line);
+      }
+      return movie;
+    } catch (final IllegalStateException | MalformedJsonException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
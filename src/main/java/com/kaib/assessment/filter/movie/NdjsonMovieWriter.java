@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes filtered movies to a destination file as newline-delimited JSON (NDJSON), one compact
+ * movie object per line. The movies are serialized straight to the file in a single pass, so the
+ * output can be appended to or split on line boundaries.
+ *
+ * @author jkaib
+ */
+public final class NdjsonMovieWriter implements MovieWriter {
+
+  /** The separator written after each movie. */
+  private static final char LINE_SEPARATOR = '\n';
+
+  /** The JSON serializer that binds each movie. */
+  private final Gson gson;
+
+  /**
+   * Instantiates a new NDJSON movie writer.
+   *
+   * @param theGson the JSON serializer that binds each movie; pretty printing is never applied
+   */
+  public NdjsonMovieWriter(final Gson theGson) {
+
+    super();
+    Validate.notNull(theGson, "The JSON serializer can't be null", (Object[]) null);
+    this.gson = theGson;
+  }
+
+  @Override
+  public void write(final Collection<Movie> movies, final Path destFilePath) throws IOException {
+
+    final TypeAdapter<Movie> movieAdapter = this.gson.getAdapter(Movie.class);
+    try (var writer =
+            Files.newBufferedWriter(
+                destFilePath,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+      // Lenient writers accept one top-level value after another; the separators are written
+      // directly because a JSON writer doesn't buffer. The JSON writer itself is never closed
+      // because closing it rejects an empty document.
+      final var jsonWriter = new JsonWriter(writer);
+      jsonWriter.setLenient(true);
+      jsonWriter.setHtmlSafe(this.gson.htmlSafe());
+      jsonWriter.setSerializeNulls(this.gson.serializeNulls());
+      for (final Movie movie : movies) {
+        movieAdapter.write(jsonWriter, movie);
+        writer.write(LINE_SEPARATOR);
+      }
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.Validate;
+
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Loads the movies supported by the application by parsing a memory-mapped JSON array of movies on
+ * all the workers of a {@link ForkJoinPool}. The file is cut into byte ranges of equal size, each
+ * range is parsed by a {@link MappedMovieScanner}, and the partial results are concatenated in file
+ * order. The result is therefore identical to the one produced by {@link MappedMovieLoader},
+ * iteration order included.
+ *
+ * <p>No sequential pass precedes the workers. Each worker seeks from the start of its range to the
+ * first comma that looks like a separator between movies and parses whole movies from there until
+ * it passes the end of its range. Because the guess may land inside a string, the chunks are then
+ * stitched in file order: a chunk whose start doesn't match the separator at which the previous
+ * chunk ended is parsed again from the right place. Well-formed catalogs rarely need this.
+ *
+ * @author jkaib
+ */
+public final class ParallelMovieLoader implements MovieLoader {
+
+  /** The number of chunks created for each worker so that uneven chunks balance out. */
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  /** The smallest chunk worth handing to a worker, in bytes. */
+  private static final long MIN_CHUNK_SIZE = 256L * 1024;
+
+  /** The pool whose workers parse the chunks. */
+  private final ForkJoinPool pool;
+
+  /** Instantiates a new parallel movie loader that parses on the common fork-join pool. */
+  public ParallelMovieLoader() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Instantiates a new parallel movie loader that parses on the specified pool.
+   *
+   * @param thePool the pool whose workers parse the chunks
+   */
+  public ParallelMovieLoader(final ForkJoinPool thePool) {
+
+    super();
+    Validate.notNull(thePool, "The fork-join pool can't be null", (Object[]) null);
+    this.pool = thePool;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws JsonSyntaxException if the file doesn't contain a JSON array of movies
+   */
+  @Override
+  public Set<Movie> load(final Path sourceFilePath, final IntPredicate yearFilter)
+      throws IOException {
+
+    Validate.notNull(yearFilter, "The year filter can't be null", (Object[]) null);
+    final MappedFile mappedFile = MappedFile.map(sourceFilePath);
+    final var symbols = new SymbolTable();
+    final int chunkCount = chunkCount(mappedFile);
+
+    final Set<Movie> movies = new LinkedHashSet<>();
+    if (chunkCount == 1) {
+      // A single chunk doesn't benefit from the pool.
+      new MappedMovieScanner(mappedFile, 0, mappedFile.size(), symbols)
+          .scanArray(yearFilter, movies::add);
+      return movies;
+    }
+
+    final long arrayStart =
+        new MappedMovieScanner(mappedFile, 0, mappedFile.size(), symbols).openArray();
+    final var splits = new long[chunkCount + 1];
+    for (var i = 0; i < chunkCount; i++) {
+      splits[i] = arrayStart + (mappedFile.size() - arrayStart) * i / chunkCount;
+    }
+    splits[chunkCount] = mappedFile.size();
+    final var chunks = new Chunk[chunkCount];
+    this.pool.invoke(
+        new ChunkTask(mappedFile, splits, chunks, 0, chunkCount, yearFilter, symbols));
+
+    long separatorOffset = arrayStart;
+    for (var i = 0; i < chunkCount && mappedFile.get(separatorOffset) != ']'; i++) {
+      if (chunks[i].start == separatorOffset) {
+        movies.addAll(chunks[i].movies);
+        separatorOffset = chunks[i].end;
+      } else if (separatorOffset < splits[i + 1]) {
+        separatorOffset =
+            new MappedMovieScanner(mappedFile, separatorOffset, mappedFile.size(), symbols)
+                .scanChunk(yearFilter, movies::add, splits[i + 1]);
+      }
+      // Otherwise the previous chunk's last movie spans this whole chunk.
+    }
+
+    return movies;
+  }
+
+  /**
+   * Determines how many chunks the specified file should be split into.
+   *
+   * @param mappedFile the file to split
+   * @return the number of chunks the file should be split into
+   */
+  private int chunkCount(final MappedFile mappedFile) {
+
+    final long maxChunks = Math.max(1L, mappedFile.size() / MIN_CHUNK_SIZE);
+
+    return (int) Math.min(maxChunks, (long) this.pool.getParallelism() * CHUNKS_PER_WORKER);
+  }
+
+  /** The movies a worker parsed from one chunk, starting at the separator it guessed. */
+  private static final class Chunk {
+
+    /** Marks a chunk in which no separator was found or whose guessed start didn't parse. */
+    private static final long UNKNOWN = -1L;
+
+    /** The offset of the separator at which parsing started, or {@link #UNKNOWN}. */
+    private final long start;
+
+    /** The offset of the separator at which parsing stopped. */
+    private final long end;
+
+    /** The movies parsed, in file order. */
+    private final List<Movie> movies;
+
+    /**
+     * Instantiates a new chunk.
+     *
+     * @param theStart the offset of the separator at which parsing started, or {@link #UNKNOWN}
+     * @param theEnd the offset of the separator at which parsing stopped
+     * @param theMovies the movies parsed, in file order
+     */
+    Chunk(final long theStart, final long theEnd, final List<Movie> theMovies) {
+
+      super();
+      this.start = theStart;
+      this.end = theEnd;
+      this.movies = theMovies;
+    }
+  }
+
+  /** Parses a contiguous range of chunks, splitting the range in half until one chunk is left. */
+  private static final class ChunkTask extends RecursiveAction {
+
+    /** The serial version UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The file being parsed. */
+    private final transient MappedFile mappedFile;
+
+    /** The offsets at which each chunk nominally starts, followed by the size of the file. */
+    private final long[] splits;
+
+    /** Receives the chunk parsed by each worker, indexed by chunk. */
+    private final transient Chunk[] chunks;
+
+    /** The index of the first chunk in the range. */
+    private final int fromChunk;
+
+    /** The index just past the last chunk in the range. */
+    private final int toChunk;
+
+    /** Accepts the release years of the movies to bind. */
+    private final transient IntPredicate yearFilter;
+
+    /** Canonicalizes the genre and cast names of the movies bound by every chunk. */
+    private final transient SymbolTable symbols;
+
+    /**
+     * Instantiates a new task that parses the specified range of chunks.
+     *
+     * @param theMappedFile the file being parsed
+     * @param theSplits the offsets at which each chunk nominally starts, followed by the size of
+     *     the file
+     * @param theChunks receives the chunk parsed by each worker, indexed by chunk
+     * @param theFromChunk the index of the first chunk in the range
+     * @param theToChunk the index just past the last chunk in the range
+     * @param theYearFilter accepts the release years of the movies to bind
+     * @param theSymbols canonicalizes the genre and cast names of the movies bound by every chunk
+     */
+    ChunkTask(
+        final MappedFile theMappedFile,
+        final long[] theSplits,
+        final Chunk[] theChunks,
+        final int theFromChunk,
+        final int theToChunk,
+        final IntPredicate theYearFilter,
+        final SymbolTable theSymbols) {
+
+      super();
+      this.mappedFile = theMappedFile;
+      this.splits = theSplits;
+      this.chunks = theChunks;
+      this.fromChunk = theFromChunk;
+      this.toChunk = theToChunk;
+      this.yearFilter = theYearFilter;
+      this.symbols = theSymbols;
+    }
+
+    @Override
+    protected void compute() {
+
+      if (this.toChunk - this.fromChunk == 1) {
+        this.chunks[this.fromChunk] = parseChunk(this.fromChunk);
+        return;
+      }
+
+      final int middleChunk = (this.fromChunk + this.toChunk) >>> 1;
+      invokeAll(
+          new ChunkTask(
+              this.mappedFile,
+              this.splits,
+              this.chunks,
+              this.fromChunk,
+              middleChunk,
+              this.yearFilter,
+              this.symbols),
+          new ChunkTask(
+              this.mappedFile,
+              this.splits,
+              this.chunks,
+              middleChunk,
+              this.toChunk,
+              this.yearFilter,
+              this.symbols));
+    }
+
+    /**
+     * Parses the specified chunk from the separator found nearest its nominal start. The first
+     * chunk starts at the opening bracket, which is known. A syntax error only means the guess was
+     * wrong here, since the chunk is parsed again when it's stitched if the guess doesn't match.
+     *
+     * @param chunk the index of the chunk to parse
+     * @return the movies parsed and the separators at which parsing started and stopped
+     */
+    private Chunk parseChunk(final int chunk) {
+
+      final long start =
+          chunk == 0
+              ? this.splits[0]
+              : MappedMovieScanner.findSeparator(
+                  this.mappedFile, this.splits[chunk], this.splits[chunk + 1]);
+      final List<Movie> movies = new ArrayList<>();
+      if (start == Chunk.UNKNOWN) {
+        return new Chunk(Chunk.UNKNOWN, Chunk.UNKNOWN, movies);
+      }
+      try {
+        final long end =
+            new MappedMovieScanner(this.mappedFile, start, this.mappedFile.size(), this.symbols)
+                .scanChunk(this.yearFilter, movies::add, this.splits[chunk + 1]);
+        return new Chunk(start, end, movies);
+      } catch (final JsonSyntaxException e) {
+        return new Chunk(Chunk.UNKNOWN, Chunk.UNKNOWN, new ArrayList<>());
+      }
+    }
+  }
+}
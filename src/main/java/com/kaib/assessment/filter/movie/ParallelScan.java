@@ -0,0 +1,264 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Decides when a repository scans its movies in parallel, and on which pool. A scan of at least
+ * the threshold number of movies is split into contiguous chunks that are filtered on the workers
+ * of the pool. Each chunk collects its matching ordinals into its own buffer, and the buffers are
+ * concatenated in order, so the result is identical to that of a sequential scan and no movie is
+ * ever hashed.
+ *
+ * @author jkaib
+ */
+public final class ParallelScan {
+
+  /** The default number of movies a scan must cover before it runs in parallel. */
+  public static final int DEFAULT_THRESHOLD = 100_000;
+
+  /** The number of chunks created for each worker so that uneven chunks balance out. */
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  /** The smallest chunk worth handing to a worker, in movies. */
+  private static final int MIN_CHUNK_SIZE = 8 * 1024;
+
+  /** The pool whose workers filter the chunks. */
+  private final ForkJoinPool pool;
+
+  /** The number of movies a scan must cover before it runs in parallel. */
+  private final int threshold;
+
+  /**
+   * Instantiates a new parallel scan setting.
+   *
+   * @param thePool the pool whose workers filter the chunks
+   * @param theThreshold the number of movies a scan must cover before it runs in parallel
+   */
+  public ParallelScan(final ForkJoinPool thePool, final int theThreshold) {
+
+    super();
+    Validate.notNull(thePool, "The fork-join pool can't be null", (Object[]) null);
+    Validate.isTrue(theThreshold >= 0, "The parallel threshold can't be negative", (Object[]) null);
+    this.pool = thePool;
+    this.threshold = theThreshold;
+  }
+
+  /**
+   * Gets the default setting, which scans at least {@link #DEFAULT_THRESHOLD} movies in parallel on
+   * a pool shared by every repository. The pool has one worker per available processor and is
+   * separate from the common pool, so scans never compete with unrelated parallel streams.
+   *
+   * @return the default setting
+   */
+  public static ParallelScan defaults() {
+    return DefaultHolder.DEFAULTS;
+  }
+
+  /**
+   * Gets a setting that never scans in parallel.
+   *
+   * @return a sequential setting
+   */
+  public static ParallelScan sequential() {
+    return DefaultHolder.SEQUENTIAL;
+  }
+
+  /**
+   * Gets the pool whose workers filter the chunks.
+   *
+   * @return the pool
+   */
+  public ForkJoinPool getPool() {
+    return this.pool;
+  }
+
+  /**
+   * Gets the number of movies a scan must cover before it runs in parallel.
+   *
+   * @return the threshold
+   */
+  public int getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Determines whether a scan of the specified number of movies runs in parallel.
+   *
+   * @param scanSize the number of movies scanned
+   * @return {@code true} if the scan runs in parallel
+   */
+  boolean isParallel(final int scanSize) {
+    return scanSize >= this.threshold;
+  }
+
+  /**
+   * Runs the specified computation over the specified number of movies, in parallel if there are
+   * enough of them. A parallel computation runs on the pool, so the parallel streams and sorts it
+   * uses are split among the pool's workers rather than the common pool's.
+   *
+   * @param <T> the type of the result
+   * @param size the number of movies the computation covers
+   * @param computation computes the result, in parallel if it's passed {@code true}
+   * @return the result
+   */
+  <T> T compute(final int size, final Function<Boolean, T> computation) {
+
+    if (!isParallel(size)) {
+      return computation.apply(Boolean.FALSE);
+    }
+    return this.pool.submit(() -> computation.apply(Boolean.TRUE)).join();
+  }
+
+  /**
+   * Filters the specified candidates, in parallel if there are enough of them.
+   *
+   * @param candidateCount the number of candidates
+   * @param candidates gets the ordinal of the candidate at a position
+   * @param predicate accepts the ordinals of the matching movies; it must be safe to call from
+   *     several threads at once
+   * @return the ordinals of the matching candidates, in the order of their positions
+   */
+  int[] filter(
+      final int candidateCount, final IntUnaryOperator candidates, final IntPredicate predicate) {
+
+    if (!isParallel(candidateCount)) {
+      return filter(0, candidateCount, candidates, predicate);
+    }
+
+    final int chunkSize =
+        Math.max(
+            MIN_CHUNK_SIZE, candidateCount / (this.pool.getParallelism() * CHUNKS_PER_WORKER));
+
+    return this.pool.invoke(new FilterTask(0, candidateCount, chunkSize, candidates, predicate));
+  }
+
+  /**
+   * Filters a contiguous range of the specified candidates on the calling thread.
+   *
+   * @param from the position of the first candidate in the range
+   * @param to the position just past the last candidate in the range
+   * @param candidates gets the ordinal of the candidate at a position
+   * @param predicate accepts the ordinals of the matching movies
+   * @return the ordinals of the matching candidates, in the order of their positions
+   */
+  private static int[] filter(
+      final int from,
+      final int to,
+      final IntUnaryOperator candidates,
+      final IntPredicate predicate) {
+
+    final var matches = new int[to - from];
+    var count = 0;
+    for (var position = from; position < to; position++) {
+      final int ordinal = candidates.applyAsInt(position);
+      if (predicate.test(ordinal)) {
+        matches[count++] = ordinal;
+      }
+    }
+
+    return count == matches.length ? matches : Arrays.copyOf(matches, count);
+  }
+
+  /** Holds the shared settings, which are only created when they're first used. */
+  private static final class DefaultHolder {
+
+    /** The default setting. */
+    private static final ParallelScan DEFAULTS =
+        new ParallelScan(
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors()), DEFAULT_THRESHOLD);
+
+    /** The setting that never scans in parallel. */
+    private static final ParallelScan SEQUENTIAL =
+        new ParallelScan(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+  }
+
+  /** Filters a contiguous range of candidates, splitting it in half until one chunk is left. */
+  private static final class FilterTask extends RecursiveTask<int[]> {
+
+    /** The serial version UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The position of the first candidate in the range. */
+    private final int from;
+
+    /** The position just past the last candidate in the range. */
+    private final int to;
+
+    /** The largest range filtered without being split. */
+    private final int chunkSize;
+
+    /** Gets the ordinal of the candidate at a position. */
+    private final transient IntUnaryOperator candidates;
+
+    /** Accepts the ordinals of the matching movies. */
+    private final transient IntPredicate predicate;
+
+    /**
+     * Instantiates a new task that filters the specified range of candidates.
+     *
+     * @param theFrom the position of the first candidate in the range
+     * @param theTo the position just past the last candidate in the range
+     * @param theChunkSize the largest range filtered without being split
+     * @param theCandidates gets the ordinal of the candidate at a position
+     * @param thePredicate accepts the ordinals of the matching movies
+     */
+    FilterTask(
+        final int theFrom,
+        final int theTo,
+        final int theChunkSize,
+        final IntUnaryOperator theCandidates,
+        final IntPredicate thePredicate) {
+
+      super();
+      this.from = theFrom;
+      this.to = theTo;
+      this.chunkSize = theChunkSize;
+      this.candidates = theCandidates;
+      this.predicate = thePredicate;
+    }
+
+    @Override
+    protected int[] compute() {
+
+      if (this.to - this.from <= this.chunkSize) {
+        return filter(this.from, this.to, this.candidates, this.predicate);
+      }
+
+      final int middle = (this.from + this.to) >>> 1;
+      final var left =
+          new FilterTask(this.from, middle, this.chunkSize, this.candidates, this.predicate);
+      final var right =
+          new FilterTask(middle, this.to, this.chunkSize, this.candidates, this.predicate);
+      right.fork();
+      final int[] leftMatches = left.compute();
+      final int[] rightMatches = right.join();
+
+      final int[] matches = Arrays.copyOf(leftMatches, leftMatches.length + rightMatches.length);
+      System.arraycopy(rightMatches, 0, matches, leftMatches.length, rightMatches.length);
+
+      return matches;
+    }
+  }
+}
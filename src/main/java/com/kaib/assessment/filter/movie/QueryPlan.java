@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how a query was answered: the access path that found the candidate movies and the
+ * number of movies each step of the plan read and produced.
+ *
+ * @author jkaib
+ */
+public final class QueryPlan {
+
+  /** The access path that found the candidate movies. */
+  private final AccessPath accessPath;
+
+  /** The steps of the plan, in the order they ran. */
+  private final List<Step> steps;
+
+  /**
+   * Instantiates a new query plan.
+   *
+   * @param theAccessPath the access path that found the candidate movies
+   * @param theSteps the steps of the plan, in the order they ran
+   */
+  QueryPlan(final AccessPath theAccessPath, final List<Step> theSteps) {
+
+    super();
+    this.accessPath = theAccessPath;
+    this.steps = List.copyOf(theSteps);
+  }
+
+  /**
+   * Gets the access path that found the candidate movies.
+   *
+   * @return the access path
+   */
+  public AccessPath getAccessPath() {
+    return this.accessPath;
+  }
+
+  /**
+   * Gets the steps of the plan.
+   *
+   * @return the steps of the plan, in the order they ran
+   */
+  public List<Step> getSteps() {
+    return this.steps;
+  }
+
+  /**
+   * Renders the plan with one step per line.
+   *
+   * @return the plan as text
+   */
+  @Override
+  public String toString() {
+    return this.steps
+        .stream()
+        .map(Step::toString)
+        .collect(Collectors.joining(System.lineSeparator()));
+  }
+
+  /** A step of a query plan. */
+  public static final class Step {
+
+    /** What the step did. */
+    private final String operation;
+
+    /** The number of movies the step read. */
+    private final int rowsIn;
+
+    /** The number of movies the step produced. */
+    private final int rowsOut;
+
+    /**
+     * Instantiates a new step.
+     *
+     * @param theOperation what the step did
+     * @param theRowsIn the number of movies the step read
+     * @param theRowsOut the number of movies the step produced
+     */
+    Step(final String theOperation, final int theRowsIn, final int theRowsOut) {
+
+      super();
+      this.operation = theOperation;
+      this.rowsIn = theRowsIn;
+      this.rowsOut = theRowsOut;
+    }
+
+    /**
+     * Gets what the step did.
+     *
+     * @return the operation of the step
+     */
+    public String getOperation() {
+      return this.operation;
+    }
+
+    /**
+     * Gets the number of movies the step read.
+     *
+     * @return the number of movies read
+     */
+    public int getRowsIn() {
+      return this.rowsIn;
+    }
+
+    /**
+     * Gets the number of movies the step produced.
+     *
+     * @return the number of movies produced
+     */
+    public int getRowsOut() {
+      return this.rowsOut;
+    }
+
+    /**
+     * Renders the step and its row counts.
+     *
+     * @return the step as text
+     */
+    @Override
+    public String toString() {
+      return this.operation + " (rows in=" + this.rowsIn + ", rows out=" + this.rowsOut + ")";
+    }
+  }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Plans and runs queries against the indexes of a repository. Each conjunct of a query that an
+ * index can answer is costed by the number of movies it's estimated to match, and the cheapest
+ * becomes the access path. The remaining conjuncts are applied to the candidates as a residual
+ * filter. A query that no index can answer scans every movie. Large filters run in parallel, as
+ * decided by the planner's {@link ParallelScan} setting.
+ *
+ * @author jkaib
+ */
+final class QueryPlanner {
+
+  /** Gets the index of the movies by cast member. */
+  private final Supplier<CastIndex> castIndex;
+
+  /** Gets the index of the movies by genre. */
+  private final Supplier<GenreIndex> genreIndex;
+
+  /** Gets the movie of the repository with an ordinal. */
+  private final IntFunction<Movie> movies;
+
+  /** Decides when residual filters run in parallel, and on which pool. */
+  private final ParallelScan parallelScan;
+
+  /** The columns of the movies of the repository. */
+  private final MovieStore store;
+
+  /** Gets the index of the movies by the words of their titles. */
+  private final Supplier<TitleIndex> titleIndex;
+
+  /** Gets the index of the movies by the year in which they were released. */
+  private final Supplier<YearIndex> yearIndex;
+
+  /**
+   * Instantiates a new planner over the specified movies and their indexes. Each index is got only
+   * when a query has a conjunct it can answer, so an index that's built on first use isn't built
+   * for the planner's sake.
+   *
+   * @param theStore the columns of the movies of the repository
+   * @param theMovies gets the movie of the repository with an ordinal
+   * @param theYearIndex gets the index of the movies by year
+   * @param theGenreIndex gets the index of the movies by genre
+   * @param theCastIndex gets the index of the movies by cast member
+   * @param theTitleIndex gets the index of the movies by title
+   * @param theParallelScan decides when residual filters run in parallel, and on which pool
+   */
+  QueryPlanner(
+      final MovieStore theStore,
+      final IntFunction<Movie> theMovies,
+      final Supplier<YearIndex> theYearIndex,
+      final Supplier<GenreIndex> theGenreIndex,
+      final Supplier<CastIndex> theCastIndex,
+      final Supplier<TitleIndex> theTitleIndex,
+      final ParallelScan theParallelScan) {
+
+    super();
+    this.store = theStore;
+    this.movies = theMovies;
+    this.yearIndex = theYearIndex;
+    this.genreIndex = theGenreIndex;
+    this.castIndex = theCastIndex;
+    this.titleIndex = theTitleIndex;
+    this.parallelScan = theParallelScan;
+  }
+
+  /**
+   * Plans and runs the specified query.
+   *
+   * @param query the query to run
+   * @return the matching movies, in the order they were supplied, and the plan that found them
+   */
+  QueryResult execute(final MovieQuery query) {
+
+    final Execution execution = run(query, new BitSet());
+    final List<Movie> matches =
+        Arrays.stream(execution.ordinals)
+            .mapToObj(this.movies)
+            .collect(Collectors.toUnmodifiableList());
+
+    return new QueryResult(matches, execution.plan);
+  }
+
+  /**
+   * Plans and runs the specified query, skipping the specified movies. The excluded movies are
+   * removed from the candidates before any residual filter is applied to them.
+   *
+   * @param query the query to run
+   * @param excluded the ordinals of the movies that can't match; the bitmap isn't modified
+   * @return the ascending ordinals of the matching movies and the plan that found them
+   */
+  Execution run(final MovieQuery query, final BitSet excluded) {
+
+    final List<MovieQuery> conjuncts = query.conjuncts();
+    IndexScan accessScan = null;
+    MovieQuery accessConjunct = null;
+    for (final MovieQuery conjunct : conjuncts) {
+      final IndexScan scan = conjunct.indexScan(this);
+      if (scan != null && (accessScan == null || scan.estimatedRows < accessScan.estimatedRows)) {
+        accessScan = scan;
+        accessConjunct = conjunct;
+      }
+    }
+
+    final List<QueryPlan.Step> steps = new ArrayList<>(2);
+    final AccessPath accessPath;
+    final int[] candidates;
+    final int candidateCount;
+    if (accessScan == null) {
+      accessPath = AccessPath.FULL_SCAN;
+      candidates =
+          excluded.isEmpty()
+              ? null
+              : IntStream.range(0, this.store.size())
+                  .filter(ordinal -> !excluded.get(ordinal))
+                  .toArray();
+      candidateCount = candidates == null ? this.store.size() : candidates.length;
+      steps.add(new QueryPlan.Step(accessPath.toString(), this.store.size(), candidateCount));
+    } else {
+      final int[] scanned = accessScan.ordinals.get();
+      candidates =
+          excluded.isEmpty()
+              ? scanned
+              : Arrays.stream(scanned).filter(ordinal -> !excluded.get(ordinal)).toArray();
+      accessPath = accessScan.accessPath;
+      candidateCount = candidates.length;
+      steps.add(
+          new QueryPlan.Step(
+              accessPath + " " + accessScan.description, scanned.length, candidateCount));
+    }
+
+    final List<MovieQuery> residuals = new ArrayList<>(conjuncts);
+    residuals.remove(accessConjunct);
+    final int[] matchOrdinals;
+    if (residuals.isEmpty()) {
+      matchOrdinals = candidates;
+    } else {
+      final IntUnaryOperator candidateAt =
+          candidates == null ? IntUnaryOperator.identity() : position -> candidates[position];
+      final MovieQuery[] filters = residuals.toArray(new MovieQuery[0]);
+      matchOrdinals =
+          this.parallelScan.filter(
+              candidateCount, candidateAt, ordinal -> testAll(filters, ordinal));
+      final String prefix = this.parallelScan.isParallel(candidateCount) ? "PARALLEL " : "";
+      steps.add(
+          new QueryPlan.Step(
+              residuals
+                  .stream()
+                  .map(MovieQuery::toString)
+                  .collect(Collectors.joining(" AND ", prefix + "FILTER ", "")),
+              candidateCount,
+              matchOrdinals.length));
+    }
+
+    return new Execution(matchOrdinals, new QueryPlan(accessPath, steps));
+  }
+
+  /**
+   * Determines whether the movie with the specified ordinal matches every one of the specified
+   * filters.
+   *
+   * @param filters the filters
+   * @param ordinal the ordinal of the movie
+   * @return {@code true} if the movie matches every filter
+   */
+  private boolean testAll(final MovieQuery[] filters, final int ordinal) {
+
+    for (final MovieQuery filter : filters) {
+      if (!filter.test(this.store, ordinal)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Creates a scan of the year index.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @param description the predicate answered by the scan
+   * @return the scan
+   */
+  IndexScan yearScan(final int fromYear, final int toYear, final String description) {
+
+    final YearIndex index = this.yearIndex.get();
+
+    return new IndexScan(
+        AccessPath.YEAR_INDEX,
+        description,
+        index.count(fromYear, toYear),
+        () -> index.ordinalsBetween(fromYear, toYear));
+  }
+
+  /**
+   * Creates a scan of the genre index.
+   *
+   * @param genres the genres of interest
+   * @param match how the genres are combined
+   * @param description the predicate answered by the scan
+   * @return the scan
+   */
+  IndexScan genreScan(
+      final Collection<String> genres, final GenreMatch match, final String description) {
+
+    final GenreIndex index = this.genreIndex.get();
+
+    return new IndexScan(
+        AccessPath.GENRE_BITMAP,
+        description,
+        index.estimate(genres, match),
+        () -> index.match(genres, match).stream().toArray());
+  }
+
+  /**
+   * Creates a scan of the cast index.
+   *
+   * @param name the name of the cast member
+   * @param match how the name is compared
+   * @param description the predicate answered by the scan
+   * @return the scan
+   */
+  IndexScan castScan(final String name, final NameMatch match, final String description) {
+
+    final int[] ordinals = this.castIndex.get().find(name, match);
+
+    return new IndexScan(AccessPath.CAST_POSTINGS, description, ordinals.length, () -> ordinals);
+  }
+
+  /**
+   * Creates a scan of the title index.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @param description the predicate answered by the scan
+   * @return the scan
+   */
+  IndexScan titleScan(final String text, final TitleMatch match, final String description) {
+
+    final TitleIndex index = this.titleIndex.get();
+
+    return new IndexScan(
+        AccessPath.TITLE_POSTINGS,
+        description,
+        index.estimate(text, match),
+        () -> index.matches(text, match));
+  }
+
+  /**
+   * Creates a scan that unions the candidates of the specified scans.
+   *
+   * @param scans the scans to union
+   * @param description the predicate answered by the scan
+   * @return the scan
+   */
+  IndexScan unionScan(final List<IndexScan> scans, final String description) {
+
+    final long estimatedRows = scans.stream().mapToLong(scan -> scan.estimatedRows).sum();
+
+    return new IndexScan(
+        AccessPath.INDEX_UNION,
+        description,
+        (int) Math.min(estimatedRows, this.store.size()),
+        () -> {
+          final var union = new BitSet(this.store.size());
+          scans.forEach(scan -> Arrays.stream(scan.ordinals.get()).forEach(union::set));
+          return union.stream().toArray();
+        });
+  }
+
+  /** The movies matched by a query, by ordinal, together with the plan that found them. */
+  static final class Execution {
+
+    /** The ascending ordinals of the matching movies. */
+    final int[] ordinals;
+
+    /** The plan that found the movies. */
+    final QueryPlan plan;
+
+    /**
+     * Instantiates a new execution of a query.
+     *
+     * @param theOrdinals the ascending ordinals of the matching movies
+     * @param thePlan the plan that found the movies
+     */
+    Execution(final int[] theOrdinals, final QueryPlan thePlan) {
+
+      super();
+      this.ordinals = theOrdinals;
+      this.plan = thePlan;
+    }
+  }
+
+  /** A way of finding exactly the movies matched by a predicate through an index. */
+  static final class IndexScan {
+
+    /** The index read by the scan. */
+    private final AccessPath accessPath;
+
+    /** The predicate answered by the scan. */
+    private final String description;
+
+    /** The number of movies the scan is estimated to find, which is never too low. */
+    private final int estimatedRows;
+
+    /** Reads the ascending ordinals of the matching movies from the index. */
+    private final Supplier<int[]> ordinals;
+
+    /**
+     * Instantiates a new index scan.
+     *
+     * @param theAccessPath the index read by the scan
+     * @param theDescription the predicate answered by the scan
+     * @param theEstimatedRows the number of movies the scan is estimated to find
+     * @param theOrdinals reads the ascending ordinals of the matching movies from the index
+     */
+    IndexScan(
+        final AccessPath theAccessPath,
+        final String theDescription,
+        final int theEstimatedRows,
+        final Supplier<int[]> theOrdinals) {
+
+      super();
+      this.accessPath = theAccessPath;
+      this.description = theDescription;
+      this.estimatedRows = theEstimatedRows;
+      this.ordinals = theOrdinals;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+
+/**
+ * The movies matched by a query together with the plan that found them.
+ *
+ * @author jkaib
+ */
+public final class QueryResult {
+
+  /** The movies matched by the query, in the order they were supplied to the repository. */
+  private final List<Movie> movies;
+
+  /** The plan that found the movies. */
+  private final QueryPlan plan;
+
+  /**
+   * Instantiates a new query result.
+   *
+   * @param theMovies the movies matched by the query
+   * @param thePlan the plan that found the movies
+   */
+  QueryResult(final List<Movie> theMovies, final QueryPlan thePlan) {
+
+    super();
+    this.movies = theMovies;
+    this.plan = thePlan;
+  }
+
+  /**
+   * Gets the movies matched by the query.
+   *
+   * @return an unmodifiable list of the matching movies, in the order they were supplied to the
+   *     repository
+   */
+  public List<Movie> getMovies() {
+    return this.movies;
+  }
+
+  /**
+   * Explains how the query was answered.
+   *
+   * @return the plan that found the movies
+   */
+  public QueryPlan explain() {
+    return this.plan;
+  }
+}
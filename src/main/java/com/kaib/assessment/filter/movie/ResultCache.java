@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A size-bounded cache of lookup results that evicts the least recently used result. Each result is
+ * tagged with the version of the repository it was looked up in, and a result from an earlier
+ * version is treated as a miss, so writes to the repository invalidate the cache without notifying
+ * it.
+ *
+ * <p>The cache takes no lock of its own. Results are held in a concurrent map, and a hit records
+ * its access time in the entry with a single volatile write. A miss loads the result outside the
+ * map, so threads that miss on the same key at once may each load it; the results are identical,
+ * and the newest version is kept. When a load takes the cache past its maximum size, the entries
+ * are scanned for the least recently used one, which is cheap because the cache is small. Under
+ * concurrent loads the size may briefly exceed the maximum, and the eviction order is approximate.
+ *
+ * @param <K> the type of the lookup keys
+ * @param <V> the type of the results
+ * @author jkaib
+ */
+final class ResultCache<K, V> {
+
+  /** The cached results, keyed by lookup. */
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  /** The number of results evicted to keep the cache within its maximum size. */
+  private final LongAdder evictionCount = new LongAdder();
+
+  /** The number of lookups answered from the cache. */
+  private final LongAdder hitCount = new LongAdder();
+
+  /** The largest number of results the cache holds. */
+  private final int maximumSize;
+
+  /** The number of lookups that had to be loaded. */
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Instantiates a new, empty cache.
+   *
+   * @param theMaximumSize the largest number of results the cache holds
+   * @throws IllegalArgumentException if the maximum size isn't positive
+   */
+  ResultCache(final int theMaximumSize) {
+
+    super();
+    Validate.isTrue(
+        theMaximumSize > 0, "The maximum size of the cache must be positive", (Object[]) null);
+    this.maximumSize = theMaximumSize;
+  }
+
+  /**
+   * Gets the result of the specified lookup, loading it if it isn't cached for the specified
+   * version of the repository.
+   *
+   * @param key the lookup
+   * @param version the version of the repository the result must come from; the loader must read
+   *     this version or a later one
+   * @param loader looks up the result
+   * @return the result of the lookup
+   */
+  V get(final K key, final long version, final Supplier<V> loader) {
+
+    final Entry<V> cached = this.entries.get(key);
+    if (cached != null && cached.version >= version) {
+      cached.lastAccess = System.nanoTime();
+      this.hitCount.increment();
+      return cached.value;
+    }
+
+    this.missCount.increment();
+    final var loaded = new Entry<>(loader.get(), version);
+    this.entries.merge(
+        key,
+        loaded,
+        (current, candidate) -> current.version > candidate.version ? current : candidate);
+    if (this.entries.size() > this.maximumSize) {
+      evict();
+    }
+
+    return loaded.value;
+  }
+
+  /** Removes every result from the cache. */
+  void invalidateAll() {
+    this.entries.clear();
+  }
+
+  /**
+   * Gets the counters of the cache as of now.
+   *
+   * @return the counters
+   */
+  CacheStatistics statistics() {
+
+    return new CacheStatistics(
+        this.hitCount.sum(),
+        this.missCount.sum(),
+        this.evictionCount.sum(),
+        this.entries.size());
+  }
+
+  /** Evicts the least recently used results until the cache is within its maximum size. */
+  private void evict() {
+
+    while (this.entries.size() > this.maximumSize) {
+      Map.Entry<K, Entry<V>> eldest = null;
+      for (final Map.Entry<K, Entry<V>> candidate : this.entries.entrySet()) {
+        if (eldest == null || candidate.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+          eldest = candidate;
+        }
+      }
+      if (eldest == null) {
+        return;
+      }
+      if (this.entries.remove(eldest.getKey(), eldest.getValue())) {
+        this.evictionCount.increment();
+      }
+    }
+  }
+
+  /**
+   * A cached result.
+   *
+   * @param <V> the type of the result
+   */
+  private static final class Entry<V> {
+
+    /** The time the result was last returned, in nanoseconds from an arbitrary origin. */
+    private volatile long lastAccess = System.nanoTime();
+
+    /** The result. */
+    private final V value;
+
+    /** The version of the repository the result came from. */
+    private final long version;
+
+    /**
+     * Instantiates a new cached result.
+     *
+     * @param theValue the result
+     * @param theVersion the version of the repository the result came from
+     */
+    private Entry(final V theValue, final long theVersion) {
+
+      super();
+      this.value = theValue;
+      this.version = theVersion;
+    }
+  }
+}
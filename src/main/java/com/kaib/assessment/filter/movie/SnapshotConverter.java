@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Converts a movies catalog into a binary, columnar snapshot. The catalog is parsed once here so
+ * each later run of {@link DecadeMovieFilterDriver} can memory-map the snapshot instead.
+ *
+ * @author jkaib
+ */
+public final class SnapshotConverter {
+
+  /** The command-line option for the snapshot file. */
+  private static final Option DESTINATION_FILE_OPTION =
+      Option.builder("o")
+          .required(true)
+          .longOpt("output-file")
+          .hasArg()
+          .desc("The path to the snapshot file to write")
+          .build();
+
+  /** The logger for this class. */
+  private static final Logger LOG = LogManager.getLogger(SnapshotConverter.class);
+
+  /** The command-line option for the movies catalog file. */
+  private static final Option SOURCE_FILE_OPTION =
+      Option.builder("i")
+          .required(true)
+          .longOpt("input-file")
+          .hasArg()
+          .desc("The path to the file containing all movies supported by the application")
+          .build();
+
+  /** Private constructor prevents instantiation. */
+  private SnapshotConverter() {
+
+    super();
+  }
+
+  /**
+   * Builds the required command-line options.
+   *
+   * @return the required command-line options
+   */
+  private static Options buildClOptions() {
+
+    final var options = new Options();
+    options.addOption(DESTINATION_FILE_OPTION);
+    options.addOption(SOURCE_FILE_OPTION);
+
+    return options;
+  }
+
+  /**
+   * Converts every movie in the specified catalog, in any supported format, into a snapshot.
+   *
+   * @param sourceFilePath the file that contains the movies supported by the application
+   * @param destFilePath the snapshot file to write
+   * @return the number of movies written to the snapshot
+   * @throws IOException if the catalog can't be read or the snapshot can't be written
+   * @throws JsonSyntaxException if the catalog doesn't contain a valid movie structure
+   */
+  public static int convert(final Path sourceFilePath, final Path destFilePath)
+      throws IOException {
+
+    final MovieLoader loader =
+        MovieFormat.detect(sourceFilePath).createLoader(InputEngine.STREAM, new Gson());
+    final Set<Movie> movies = loader.load(sourceFilePath, year -> true);
+    new SnapshotMovieWriter().write(movies, destFilePath);
+
+    return movies.size();
+  }
+
+  /**
+   * The entry point into the converter.
+   *
+   * @param args the command-line arguments
+   */
+  public static void main(final String[] args) {
+
+    Path sourceFilePath = null;
+    Path destFilePath = null;
+    try {
+      final CommandLineParser clParser = new DefaultParser();
+      final var commandLine = clParser.parse(buildClOptions(), args);
+      sourceFilePath = Path.of(commandLine.getOptionValue(SOURCE_FILE_OPTION).trim());
+      destFilePath = Path.of(commandLine.getOptionValue(DESTINATION_FILE_OPTION).trim());
+    } catch (final ParseException e) {
+      LOG.error("Can't parse the command line arguments", e);
+      final var formatter = new HelpFormatter();
+      formatter.printHelp("SnapshotConverter", buildClOptions());
+      System.exit(-1);
+    }
+    try {
+      final var movieCount = convert(sourceFilePath, destFilePath);
+      LOG.info("Wrote {} movies to the snapshot {}", movieCount, destFilePath);
+    } catch (final IOException | JsonSyntaxException e) {
+      LOG.error("Can't convert the movies supported by the application into a snapshot", e);
+      System.exit(-1);
+    }
+  }
+}
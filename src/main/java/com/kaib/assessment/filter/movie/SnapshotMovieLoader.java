@@ -0,0 +1,429 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Loads the movies supported by the application by memory-mapping a binary, columnar snapshot laid
+ * out as described by {@link MovieSnapshot}. Nothing is parsed: the year filter is applied to the
+ * year column directly, and only the titles and names of accepted movies are decoded. Each distinct
+ * genre or cast member is decoded at most once per load.
+ *
+ * @author jkaib
+ */
+public final class SnapshotMovieLoader implements MovieLoader {
+
+  /** Instantiates a new snapshot movie loader. */
+  public SnapshotMovieLoader() {
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IOException if the file can't be read, isn't a snapshot, or is corrupt
+   */
+  @Override
+  public Set<Movie> load(final Path sourceFilePath, final IntPredicate yearFilter)
+      throws IOException {
+
+    Validate.notNull(yearFilter, "The year filter can't be null", (Object[]) null);
+    final ByteBuffer buffer = map(sourceFilePath);
+    try {
+      return read(new Layout(buffer, sourceFilePath), yearFilter);
+    } catch (final IndexOutOfBoundsException
+        | IllegalArgumentException
+        | BufferUnderflowException
+        | NegativeArraySizeException e) {
+      throw new IOException("The movie snapshot is corrupt: " + sourceFilePath, e);
+    }
+  }
+
+  /**
+   * Maps the specified snapshot straight into a columnar store. The year column and the genre and
+   * cast references are used where they lie in the mapping, and the titles are decoded from it on
+   * demand. Only the dictionaries of distinct names are decoded up front, and no {@link Movie} is
+   * created.
+   *
+   * @param sourceFilePath the snapshot containing the movies
+   * @return a store over the mapped snapshot
+   * @throws IOException if the file can't be read, isn't a snapshot, or is corrupt
+   */
+  static MovieStore mapStore(final Path sourceFilePath) throws IOException {
+
+    final ByteBuffer buffer = map(sourceFilePath);
+    try {
+      final var layout = new Layout(buffer, sourceFilePath);
+      final var titleNulls = new BitSet(layout.movieCount);
+      final var genreNulls = new BitSet(layout.movieCount);
+      final var castNulls = new BitSet(layout.movieCount);
+      for (var i = 0; i < layout.movieCount; i++) {
+        final var flags = buffer.get(layout.flagsPosition + i);
+        titleNulls.set(i, (flags & MovieSnapshot.TITLE_PRESENT) == 0);
+        genreNulls.set(i, (flags & MovieSnapshot.GENRES_PRESENT) == 0);
+        castNulls.set(i, (flags & MovieSnapshot.CAST_PRESENT) == 0);
+      }
+
+      return MovieStore.mapped(
+          layout.years,
+          layout.titleOffsets,
+          buffer.duplicate().position(layout.titleHeapPosition).slice(),
+          titleNulls,
+          DictionaryColumn.of(
+              layout.genreDictionary.decodeAll(),
+              layout.genreRefOffsets,
+              layout.genreRefs,
+              genreNulls),
+          DictionaryColumn.of(
+              layout.castDictionary.decodeAll(),
+              layout.castRefOffsets,
+              layout.castRefs,
+              castNulls));
+    } catch (final IndexOutOfBoundsException
+        | IllegalArgumentException
+        | BufferUnderflowException
+        | NegativeArraySizeException e) {
+      throw new IOException("The movie snapshot is corrupt: " + sourceFilePath, e);
+    }
+  }
+
+  /**
+   * Maps the specified file into memory in its entirety.
+   *
+   * @param filePath the file to map
+   * @return a read-only view of the file
+   * @throws IOException if the file can't be mapped or is larger than 2 GB
+   */
+  private static ByteBuffer map(final Path filePath) throws IOException {
+
+    try (var channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+      final long fileSize = channel.size();
+      if (fileSize > Integer.MAX_VALUE) {
+        throw new IOException("The movie snapshot can't exceed 2 GB: " + filePath);
+      }
+
+      return channel.map(MapMode.READ_ONLY, 0, fileSize);
+    }
+  }
+
+  /**
+   * Reads the accepted movies from the specified snapshot.
+   *
+   * @param layout the sections of the snapshot
+   * @param yearFilter accepts the release years of the movies to load
+   * @return the accepted movies, in the order they were written
+   */
+  private static Set<Movie> read(final Layout layout, final IntPredicate yearFilter) {
+
+    final ByteBuffer buffer = layout.buffer;
+    final var years = layout.years;
+    final var flagsPosition = layout.flagsPosition;
+    final var titleOffsets = layout.titleOffsets;
+    final var titleHeapPosition = layout.titleHeapPosition;
+    final var genreRefOffsets = layout.genreRefOffsets;
+    final var genreRefs = layout.genreRefs;
+    final var genreDictionary = layout.genreDictionary;
+    final var castRefOffsets = layout.castRefOffsets;
+    final var castRefs = layout.castRefs;
+    final var castDictionary = layout.castDictionary;
+
+    // Names are already shared through the dictionaries; the table shares the genre lists too.
+    final var symbols = new SymbolTable();
+    final Set<Movie> movies = new LinkedHashSet<>();
+    for (var i = 0; i < layout.movieCount; i++) {
+
+      final var year = years.get(i);
+      if (!yearFilter.test(year)) {
+        continue;
+      }
+      final var flags = buffer.get(flagsPosition + i);
+      String title = null;
+      String[] genres = null;
+      String[] cast = null;
+      if ((flags & MovieSnapshot.TITLE_PRESENT) != 0) {
+        final var titleOffset = titleOffsets.get(i);
+        title =
+            decode(buffer, titleHeapPosition + titleOffset, titleOffsets.get(i + 1) - titleOffset);
+      }
+      if ((flags & MovieSnapshot.GENRES_PRESENT) != 0) {
+        genres =
+            symbols.internArray(
+                genreDictionary.resolve(
+                    genreRefs, genreRefOffsets.get(i), genreRefOffsets.get(i + 1)));
+      }
+      if ((flags & MovieSnapshot.CAST_PRESENT) != 0) {
+        cast = castDictionary.resolve(castRefs, castRefOffsets.get(i), castRefOffsets.get(i + 1));
+      }
+      final var movie = new Movie(cast, genres, title, year);
+      movies.add(movie);
+    }
+
+    return movies;
+  }
+
+  /**
+   * Decodes the specified range of UTF-8 bytes in the specified buffer.
+   *
+   * @param buffer the buffer containing the bytes
+   * @param position the position of the first byte
+   * @param length the number of bytes
+   * @return the decoded string
+   */
+  private static String decode(final ByteBuffer buffer, final int position, final int length) {
+
+    final var bytes = new byte[length];
+    buffer.duplicate().position(position).get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Views the specified run of integers in the snapshot without copying them.
+   *
+   * @param buffer the snapshot
+   * @param position the position of the first integer
+   * @param count the number of integers
+   * @return a view whose index {@code i} is the {@code i}th integer in the run, and whose capacity
+   *     is the length of the run
+   * @throws IOException if the run doesn't fit within the snapshot
+   */
+  private static IntBuffer ints(final ByteBuffer buffer, final int position, final int count)
+      throws IOException {
+
+    skip(buffer, position, (long) Integer.BYTES * count);
+
+    return buffer
+        .duplicate()
+        .position(position)
+        .limit(position + Integer.BYTES * count)
+        .slice()
+        .asIntBuffer();
+  }
+
+  /**
+   * Gets the position in the snapshot that follows a section of the specified length.
+   *
+   * @param buffer the snapshot
+   * @param position the position of the section
+   * @param length the length of the section in bytes
+   * @return the position that follows the section
+   * @throws IOException if the section doesn't fit within the snapshot
+   */
+  private static int skip(final ByteBuffer buffer, final int position, final long length)
+      throws IOException {
+
+    if (length < 0 || position + length > buffer.limit()) {
+      throw new IOException("The movie snapshot is truncated");
+    }
+
+    return (int) (position + length);
+  }
+
+  /** The sections of a snapshot whose header has been verified, located within its mapping. */
+  private static final class Layout {
+
+    /** The snapshot. */
+    private final ByteBuffer buffer;
+
+    /** The cast dictionary. */
+    private final Dictionary castDictionary;
+
+    /** The position at which each movie's cast references begin, followed by the end. */
+    private final IntBuffer castRefOffsets;
+
+    /** The cast references of every movie, concatenated in ordinal order. */
+    private final IntBuffer castRefs;
+
+    /** The snapshot position of the flags of the first movie. */
+    private final int flagsPosition;
+
+    /** The genre dictionary. */
+    private final Dictionary genreDictionary;
+
+    /** The position at which each movie's genre references begin, followed by the end. */
+    private final IntBuffer genreRefOffsets;
+
+    /** The genre references of every movie, concatenated in ordinal order. */
+    private final IntBuffer genreRefs;
+
+    /** The number of movies in the snapshot. */
+    private final int movieCount;
+
+    /** The snapshot position of the title heap. */
+    private final int titleHeapPosition;
+
+    /** The position in the title heap at which each title begins, followed by the end. */
+    private final IntBuffer titleOffsets;
+
+    /** The release year of each movie. */
+    private final IntBuffer years;
+
+    /**
+     * Verifies the header of the specified snapshot and locates its sections.
+     *
+     * @param theBuffer the snapshot
+     * @param sourceFilePath the file the snapshot was mapped from
+     * @throws IOException if the file isn't a snapshot, or if the sections of the snapshot don't
+     *     fit within it
+     */
+    Layout(final ByteBuffer theBuffer, final Path sourceFilePath) throws IOException {
+
+      if (theBuffer.limit() < MovieSnapshot.HEADER_SIZE
+          || theBuffer.getInt(0) != MovieSnapshot.MAGIC) {
+        throw new IOException("The file isn't a movie snapshot: " + sourceFilePath);
+      }
+      final var version = theBuffer.getInt(Integer.BYTES);
+      if (version != MovieSnapshot.VERSION) {
+        throw new IOException("Unsupported movie snapshot version " + version);
+      }
+      this.buffer = theBuffer;
+      this.movieCount = theBuffer.getInt(2 * Integer.BYTES);
+      final var genreCount = theBuffer.getInt(3 * Integer.BYTES);
+      final var castCount = theBuffer.getInt(4 * Integer.BYTES);
+
+      var position = MovieSnapshot.HEADER_SIZE;
+      this.years = ints(theBuffer, position, this.movieCount);
+      position = skip(theBuffer, position, (long) Integer.BYTES * this.movieCount);
+      this.flagsPosition = position;
+      position = skip(theBuffer, position, this.movieCount);
+      this.titleOffsets = ints(theBuffer, position, this.movieCount + 1);
+      position = skip(theBuffer, position, (long) Integer.BYTES * (this.movieCount + 1));
+      this.genreRefOffsets = ints(theBuffer, position, this.movieCount + 1);
+      position = skip(theBuffer, position, (long) Integer.BYTES * (this.movieCount + 1));
+      final var genreRefCount = this.genreRefOffsets.get(this.movieCount);
+      this.genreRefs = ints(theBuffer, position, genreRefCount);
+      position = skip(theBuffer, position, (long) Integer.BYTES * genreRefCount);
+      this.castRefOffsets = ints(theBuffer, position, this.movieCount + 1);
+      position = skip(theBuffer, position, (long) Integer.BYTES * (this.movieCount + 1));
+      final var castRefCount = this.castRefOffsets.get(this.movieCount);
+      this.castRefs = ints(theBuffer, position, castRefCount);
+      position = skip(theBuffer, position, (long) Integer.BYTES * castRefCount);
+      this.genreDictionary = new Dictionary(theBuffer, position, genreCount);
+      this.castDictionary = new Dictionary(theBuffer, this.genreDictionary.end, castCount);
+      this.titleHeapPosition = this.castDictionary.end;
+      if (skip(theBuffer, this.titleHeapPosition, this.titleOffsets.get(this.movieCount))
+          != theBuffer.limit()) {
+        throw new IOException("The movie snapshot's sections don't match its size");
+      }
+    }
+  }
+
+  /**
+   * A dictionary of the distinct names of one kind stored in the snapshot. Names are decoded the
+   * first time they are referenced and shared by every movie that refers to them.
+   */
+  private static final class Dictionary {
+
+    /** The snapshot position that follows the dictionary. */
+    private final int end;
+
+    /** The position of the dictionary's string heap. */
+    private final int heapPosition;
+
+    /** The decoded names, indexed by identifier, or {@code null} where not yet decoded. */
+    private final String[] names;
+
+    /** The offset of each name within the heap, followed by the size of the heap. */
+    private final IntBuffer offsets;
+
+    /** The snapshot. */
+    private final ByteBuffer snapshot;
+
+    /**
+     * Instantiates a new dictionary located at the specified position in the snapshot.
+     *
+     * @param theSnapshot the snapshot
+     * @param thePosition the position of the dictionary's heap offsets
+     * @param theCount the number of names in the dictionary
+     * @throws IOException if the dictionary doesn't fit within the snapshot
+     */
+    Dictionary(final ByteBuffer theSnapshot, final int thePosition, final int theCount)
+        throws IOException {
+
+      this.snapshot = theSnapshot;
+      this.offsets = ints(theSnapshot, thePosition, theCount + 1);
+      this.heapPosition = skip(theSnapshot, thePosition, (long) Integer.BYTES * (theCount + 1));
+      this.end = skip(theSnapshot, this.heapPosition, this.offsets.get(theCount));
+      this.names = new String[theCount];
+    }
+
+    /**
+     * Resolves the specified run of references to the names they identify.
+     *
+     * @param references the references to this dictionary
+     * @param from the index of the first reference in the run, inclusive
+     * @param to the index of the last reference in the run, exclusive
+     * @return the names identified by the references
+     */
+    String[] resolve(final IntBuffer references, final int from, final int to) {
+
+      final var resolved = new String[to - from];
+      for (var i = from; i < to; i++) {
+        final var reference = references.get(i);
+        if (reference != MovieSnapshot.NULL_REFERENCE) {
+          if (this.names[reference] == null) {
+            final var offset = this.offsets.get(reference);
+            this.names[reference] =
+                decode(
+                    this.snapshot,
+                    this.heapPosition + offset,
+                    this.offsets.get(reference + 1) - offset);
+          }
+          resolved[i - from] = this.names[reference];
+        }
+      }
+
+      return resolved;
+    }
+
+    /**
+     * Decodes every name in the dictionary.
+     *
+     * @return the names, indexed by identifier
+     */
+    String[] decodeAll() {
+
+      for (var reference = 0; reference < this.names.length; reference++) {
+        if (this.names[reference] == null) {
+          final var offset = this.offsets.get(reference);
+          this.names[reference] =
+              decode(
+                  this.snapshot,
+                  this.heapPosition + offset,
+                  this.offsets.get(reference + 1) - offset);
+        }
+      }
+
+      return this.names.clone();
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes movies to a destination file as a binary, columnar snapshot laid out as described by
+ * {@link MovieSnapshot}. Genres and cast members are dictionary-encoded, so each distinct name is
+ * stored once no matter how many movies refer to it.
+ *
+ * @author jkaib
+ */
+public final class SnapshotMovieWriter implements MovieWriter {
+
+  /** The size of the buffer placed in front of the destination file. */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** Instantiates a new snapshot movie writer. */
+  public SnapshotMovieWriter() {
+    super();
+  }
+
+  @Override
+  public void write(final Collection<Movie> movies, final Path destFilePath) throws IOException {
+
+    final var movieCount = movies.size();
+    final var years = new int[movieCount];
+    final var flags = new byte[movieCount];
+    final var titles = new byte[movieCount][];
+    final var genreRefOffsets = new int[movieCount + 1];
+    final var castRefOffsets = new int[movieCount + 1];
+    var genreRefs = new int[16];
+    var castRefs = new int[16];
+    final Map<String, Integer> genreIds = new LinkedHashMap<>();
+    final Map<String, Integer> castIds = new LinkedHashMap<>();
+
+    var index = 0;
+    for (final Movie movie : movies) {
+      years[index] = movie.getYear();
+      if (movie.getTitle() != null) {
+        flags[index] |= MovieSnapshot.TITLE_PRESENT;
+        titles[index] = movie.getTitle().getBytes(StandardCharsets.UTF_8);
+      }
+      final String[] genres = movie.sharedGenres();
+      if (genres != null) {
+        flags[index] |= MovieSnapshot.GENRES_PRESENT;
+        genreRefs = addReferences(genres, genreIds, genreRefs, genreRefOffsets[index]);
+      }
+      final String[] cast = movie.sharedCast();
+      if (cast != null) {
+        flags[index] |= MovieSnapshot.CAST_PRESENT;
+        castRefs = addReferences(cast, castIds, castRefs, castRefOffsets[index]);
+      }
+      genreRefOffsets[index + 1] = genreRefOffsets[index] + (genres == null ? 0 : genres.length);
+      castRefOffsets[index + 1] = castRefOffsets[index] + (cast == null ? 0 : cast.length);
+      index++;
+    }
+    final List<byte[]> genreNames = encode(genreIds);
+    final List<byte[]> castNames = encode(castIds);
+
+    try (var output =
+        new DataOutputStream(
+            new BufferedOutputStream(
+                Files.newOutputStream(
+                    destFilePath,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING),
+                BUFFER_SIZE))) {
+
+      output.writeInt(MovieSnapshot.MAGIC);
+      output.writeInt(MovieSnapshot.VERSION);
+      output.writeInt(movieCount);
+      output.writeInt(genreNames.size());
+      output.writeInt(castNames.size());
+      for (final int year : years) {
+        output.writeInt(year);
+      }
+      output.write(flags);
+      writeHeapOffsets(output, titles);
+      writeInts(output, genreRefOffsets, genreRefOffsets.length);
+      writeInts(output, genreRefs, genreRefOffsets[movieCount]);
+      writeInts(output, castRefOffsets, castRefOffsets.length);
+      writeInts(output, castRefs, castRefOffsets[movieCount]);
+      writeDictionary(output, genreNames);
+      writeDictionary(output, castNames);
+      writeHeap(output, titles);
+    }
+  }
+
+  /**
+   * Appends a dictionary reference for each of the specified names, adding names not yet in the
+   * dictionary as they are encountered. The references are grown when they lack the capacity.
+   *
+   * @param names the names to reference, any of which may be {@code null}
+   * @param dictionary the identifiers of the names encountered so far
+   * @param references the references to which the names' identifiers are appended
+   * @param start the number of references already in use
+   * @return the references, which is a larger copy if they had to grow
+   */
+  private static int[] addReferences(
+      final String[] names,
+      final Map<String, Integer> dictionary,
+      final int[] references,
+      final int start) {
+
+    int[] grown = references;
+    if (start + names.length > grown.length) {
+      grown = Arrays.copyOf(grown, Math.max(start + names.length, grown.length * 2));
+    }
+    for (var i = 0; i < names.length; i++) {
+      grown[start + i] =
+          names[i] == null
+              ? MovieSnapshot.NULL_REFERENCE
+              : dictionary.computeIfAbsent(names[i], key -> dictionary.size());
+    }
+
+    return grown;
+  }
+
+  /**
+   * Encodes the names in the specified dictionary as UTF-8, in identifier order.
+   *
+   * @param dictionary the identifiers of the names to encode
+   * @return the encoded names, indexed by identifier
+   */
+  private static List<byte[]> encode(final Map<String, Integer> dictionary) {
+
+    final List<byte[]> encodedNames = new ArrayList<>(dictionary.size());
+    for (final String name : dictionary.keySet()) {
+      encodedNames.add(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    return encodedNames;
+  }
+
+  /**
+   * Writes the specified dictionary as its heap offsets followed by its heap.
+   *
+   * @param output the stream to which the dictionary is written
+   * @param encodedNames the encoded names, indexed by identifier
+   * @throws IOException if the dictionary can't be written
+   */
+  private static void writeDictionary(
+      final DataOutputStream output, final List<byte[]> encodedNames) throws IOException {
+
+    final byte[][] heap = encodedNames.toArray(new byte[0][]);
+    writeHeapOffsets(output, heap);
+    writeHeap(output, heap);
+  }
+
+  /**
+   * Writes the specified values one after another. Missing values occupy no space.
+   *
+   * @param output the stream to which the heap is written
+   * @param values the values in the heap, any of which may be {@code null}
+   * @throws IOException if the heap can't be written
+   */
+  private static void writeHeap(final DataOutputStream output, final byte[][] values)
+      throws IOException {
+
+    for (final byte[] value : values) {
+      if (value != null) {
+        output.write(value);
+      }
+    }
+  }
+
+  /**
+   * Writes the offset of each of the specified values within their heap, followed by the size of
+   * the heap.
+   *
+   * @param output the stream to which the offsets are written
+   * @param values the values in the heap, any of which may be {@code null}
+   * @throws IOException if the offsets can't be written or the heap would exceed 2 GB
+   */
+  private static void writeHeapOffsets(final DataOutputStream output, final byte[][] values)
+      throws IOException {
+
+    long offset = 0;
+    output.writeInt(0);
+    for (final byte[] value : values) {
+      offset += value == null ? 0 : value.length;
+      if (offset > Integer.MAX_VALUE) {
+        throw new IOException("The snapshot's string heap can't exceed 2 GB");
+      }
+      output.writeInt((int) offset);
+    }
+  }
+
+  /**
+   * Writes the leading integers of the specified array one after another.
+   *
+   * @param output the stream to which the integers are written
+   * @param values the integers to write, followed by unused capacity
+   * @param count the number of integers to write
+   * @throws IOException if the integers can't be written
+   */
+  private static void writeInts(final DataOutputStream output, final int[] values, final int count)
+      throws IOException {
+
+    for (var i = 0; i < count; i++) {
+      output.writeInt(values[i]);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes the genre and cast names bound while loading a movies catalog, so every movie that
+ * names the same genre or actor refers to the same {@link String} instance. A catalog has a few
+ * dozen distinct genres and a heavily repeated set of actors, so most of the strings it contains
+ * are duplicates that would otherwise be retained for as long as the movies are.
+ *
+ * <p>Genre lists repeat as well, so they are canonicalized as whole arrays; movies never expose
+ * their arrays, which makes sharing them safe. Cast lists are nearly all distinct and only their
+ * names are canonicalized.
+ *
+ * <p>A symbol table is meant to live for one load and may be shared by the threads of that load.
+ *
+ * @author jkaib
+ */
+final class SymbolTable {
+
+  /** The canonical arrays of names, keyed by their contents. */
+  private final Map<List<String>, String[]> arrays = new ConcurrentHashMap<>();
+
+  /** The canonical instance of each name. */
+  private final Map<String, String> names = new ConcurrentHashMap<>();
+
+  /** Instantiates a new, empty symbol table. */
+  SymbolTable() {
+    super();
+  }
+
+  /**
+   * Gets the canonical array with the same names as the specified array. The names of an array
+   * encountered for the first time are canonicalized in place.
+   *
+   * @param values the names to canonicalize, any of which may be {@code null}
+   * @return the canonical array with the same names, which may be the specified array
+   */
+  String[] internArray(final String[] values) {
+
+    final String[] canonical = this.arrays.get(Arrays.asList(values));
+    if (canonical != null) {
+      return canonical;
+    }
+    internNames(values);
+
+    return this.arrays.computeIfAbsent(Arrays.asList(values), key -> values);
+  }
+
+  /**
+   * Gets the canonical instance of the specified name.
+   *
+   * @param value the name to canonicalize
+   * @return the canonical instance of the name, or {@code null} if the name was {@code null}
+   */
+  String internName(final String value) {
+
+    if (value == null) {
+      return null;
+    }
+    final String canonical = this.names.putIfAbsent(value, value);
+
+    return canonical == null ? value : canonical;
+  }
+
+  /**
+   * Replaces each of the specified names with its canonical instance, in place.
+   *
+   * @param values the names to canonicalize, any of which may be {@code null}
+   * @return the specified array
+   */
+  String[] internNames(final String[] values) {
+
+    for (var i = 0; i < values.length; i++) {
+      values[i] = internName(values[i]);
+    }
+
+    return values;
+  }
+
+  /**
+   * Gets the number of distinct names in the symbol table.
+   *
+   * @return the number of distinct names
+   */
+  int size() {
+    return this.names.size();
+  }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.BaseStream;
+import java.util.stream.IntStream;
+
+/**
+ * Indexes movies by the words of their titles. Titles are normalized to lower case without
+ * accents and split into words, and the distinct words are kept in a sorted dictionary. Each word
+ * maps to the ascending ordinals of the movies whose titles contain it. A word is found by binary
+ * search, and the words that begin with a prefix occupy one contiguous run of the dictionary.
+ *
+ * @author jkaib
+ */
+final class TitleIndex {
+
+  /** The largest number of words recorded for a title when ranking results. */
+  private static final int MAX_RANKED_WORD_COUNT = Byte.MAX_VALUE;
+
+  /** The dictionary position of the first word of each movie's title, or -1 if it has none. */
+  private final int[] firstWordIds;
+
+  /** The ordinals of the movies containing each word, concatenated in dictionary order. */
+  private final int[] postings;
+
+  /** The position in {@link #postings} at which each word's ordinals begin. */
+  private final int[] postingOffsets;
+
+  /** The number of words in each movie's title, capped at {@link #MAX_RANKED_WORD_COUNT}. */
+  private final byte[] wordCounts;
+
+  /** The distinct words of every title, in ascending order. */
+  private final String[] words;
+
+  /**
+   * Instantiates a new index of the movies in the specified store. The titles are normalized and
+   * each title's words are looked up in the dictionary on the pool of the specified setting once
+   * there are enough of them, so building the index scales with the number of processors.
+   *
+   * @param theStore the store whose titles are indexed
+   * @param theParallelScan decides when the titles are tokenized in parallel, and on which pool
+   */
+  TitleIndex(final MovieStore theStore, final ParallelScan theParallelScan) {
+
+    super();
+    final int size = theStore.size();
+    final String[][] wordsByOrdinal =
+        theParallelScan.compute(
+            size,
+            parallel ->
+                inParallel(IntStream.range(0, size), parallel)
+                    .mapToObj(ordinal -> tokenize(theStore.getTitle(ordinal)))
+                    .toArray(String[][]::new));
+    this.words =
+        theParallelScan.compute(
+            size,
+            parallel -> {
+              final String[] distinctWords =
+                  inParallel(Arrays.stream(wordsByOrdinal), parallel)
+                      .flatMap(Arrays::stream)
+                      .unordered()
+                      .distinct()
+                      .toArray(String[]::new);
+              if (parallel) {
+                Arrays.parallelSort(distinctWords);
+              } else {
+                Arrays.sort(distinctWords);
+              }
+              return distinctWords;
+            });
+    final int[][] wordIdsByOrdinal =
+        theParallelScan.compute(
+            size,
+            parallel ->
+                inParallel(Arrays.stream(wordsByOrdinal), parallel)
+                    .map(titleWords -> Arrays.stream(titleWords).mapToInt(this::wordId).toArray())
+                    .toArray(int[][]::new));
+
+    this.firstWordIds = new int[size];
+    this.wordCounts = new byte[size];
+    this.postingOffsets = new int[this.words.length + 1];
+    for (var ordinal = 0; ordinal < size; ordinal++) {
+      final int[] wordIds = wordIdsByOrdinal[ordinal];
+      this.firstWordIds[ordinal] = wordIds.length == 0 ? -1 : wordIds[0];
+      this.wordCounts[ordinal] = (byte) Math.min(wordIds.length, MAX_RANKED_WORD_COUNT);
+      for (final int wordId : wordIds) {
+        this.postingOffsets[wordId + 1]++;
+      }
+    }
+    for (var wordId = 0; wordId < this.words.length; wordId++) {
+      this.postingOffsets[wordId + 1] += this.postingOffsets[wordId];
+    }
+
+    // Filling the postings in ordinal order leaves each word's ordinals in ascending order.
+    this.postings = new int[this.postingOffsets[this.words.length]];
+    final int[] nextPostings = Arrays.copyOf(this.postingOffsets, this.words.length);
+    for (var ordinal = 0; ordinal < size; ordinal++) {
+      for (final int wordId : wordIdsByOrdinal[ordinal]) {
+        this.postings[nextPostings[wordId]++] = ordinal;
+      }
+    }
+  }
+
+  /**
+   * Makes the specified stream parallel if requested.
+   *
+   * @param <S> the type of the stream
+   * @param stream the stream
+   * @param parallel whether the stream should be parallel
+   * @return the stream, parallel if requested
+   */
+  private static <S extends BaseStream<?, S>> S inParallel(final S stream, final boolean parallel) {
+    return parallel ? stream.parallel() : stream;
+  }
+
+  /**
+   * Splits the specified text into its distinct normalized words, in the order they first appear.
+   * Text is normalized by folding it to lower case and removing accents, and a word is a run of
+   * letters and digits.
+   *
+   * @param text the text to split, which may be {@code null}
+   * @return the distinct normalized words of the text
+   */
+  static String[] tokenize(final String text) {
+
+    if (text == null) {
+      return new String[0];
+    }
+
+    final String normalized =
+        Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+    final Set<String> textWords = new LinkedHashSet<>();
+    final var word = new StringBuilder();
+    for (var i = 0; i < normalized.length(); i++) {
+      final char c = normalized.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        word.append(c);
+      } else if (Character.getType(c) != Character.NON_SPACING_MARK && word.length() > 0) {
+        textWords.add(word.toString());
+        word.setLength(0);
+      }
+    }
+    if (word.length() > 0) {
+      textWords.add(word.toString());
+    }
+
+    return textWords.toArray(new String[0]);
+  }
+
+  /**
+   * Finds the dictionary position of the specified word.
+   *
+   * @param word the word to find, which must be in the dictionary
+   * @return the position of the word in the dictionary
+   */
+  private int wordId(final String word) {
+    return Arrays.binarySearch(this.words, word);
+  }
+
+  /**
+   * Finds the position of the first word in the dictionary that isn't less than the specified
+   * text.
+   *
+   * @param text the text to search for
+   * @return the position of the first word that isn't less than the text
+   */
+  private int lowerBound(final String text) {
+
+    final int position = Arrays.binarySearch(this.words, text);
+
+    return position < 0 ? -position - 1 : position;
+  }
+
+  /**
+   * Searches for the movies whose titles contain the words of the specified text, ranked from the
+   * best match. A title that begins with the first word of the search ranks ahead of one that
+   * doesn't, and shorter titles rank ahead of longer ones because more of the title was matched.
+   * Titles that rank equally are ordered by ordinal.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @param limit the largest number of ordinals to return
+   * @return the ordinals of the best matching movies, best first
+   */
+  int[] search(final String text, final TitleMatch match, final int limit) {
+    return Arrays.stream(rankedSearch(text, match, limit, ordinal -> true))
+        .mapToInt(key -> (int) key)
+        .toArray();
+  }
+
+  /**
+   * Searches for the movies whose titles contain the words of the specified text, as {@link
+   * #search(String, TitleMatch, int)} does, but returns each movie's rank key: its rank in the high
+   * bits and its ordinal in the low {@value Integer#SIZE} bits. The natural order of the keys is
+   * the rank order, so the keys of searches made in different indexes can be merged once their
+   * ordinals are replaced by a common ordering.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @param limit the largest number of keys to return
+   * @param included decides which ordinals may be returned
+   * @return the rank keys of the best matching movies, best first
+   */
+  long[] rankedSearch(
+      final String text, final TitleMatch match, final int limit, final IntPredicate included) {
+
+    final String[] searchWords = tokenize(text);
+    if (searchWords.length == 0) {
+      return new long[0];
+    }
+    final int[][] wordRanges = wordRanges(searchWords, match);
+    final int[] candidates = Arrays.stream(matches(wordRanges)).filter(included).toArray();
+
+    return rank(candidates, wordRanges[0][0], wordRanges[0][1], limit);
+  }
+
+  /**
+   * Finds every movie whose title contains the words of the specified text.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @return the ascending ordinals of the matching movies
+   */
+  int[] matches(final String text, final TitleMatch match) {
+
+    final String[] searchWords = tokenize(text);
+
+    return searchWords.length == 0 ? new int[0] : matches(wordRanges(searchWords, match));
+  }
+
+  /**
+   * Estimates the number of movies whose titles contain the words of the specified text. The
+   * estimate is the number of postings of the least common search word, so it's never less than
+   * the number of matches.
+   *
+   * @param text the text to search for
+   * @param match how the words of the search are compared with the words of each title
+   * @return the estimated number of matching movies
+   */
+  int estimate(final String text, final TitleMatch match) {
+
+    final String[] searchWords = tokenize(text);
+    if (searchWords.length == 0) {
+      return 0;
+    }
+
+    return Arrays.stream(wordRanges(searchWords, match))
+        .mapToInt(range -> this.postingOffsets[range[1]] - this.postingOffsets[range[0]])
+        .min()
+        .orElse(0);
+  }
+
+  /**
+   * Finds the run of the dictionary matched by each of the specified search words: a single word,
+   * or every word that begins with the last search word of a prefix search.
+   *
+   * @param searchWords the normalized words of the search
+   * @param match how the words of the search are compared with the words of each title
+   * @return the position of the first word of each run and the position just past its last word
+   */
+  private int[][] wordRanges(final String[] searchWords, final TitleMatch match) {
+
+    final var wordRanges = new int[searchWords.length][];
+    for (var i = 0; i < searchWords.length; i++) {
+      final String searchWord = searchWords[i];
+      final String limitWord =
+          match == TitleMatch.PREFIX && i == searchWords.length - 1
+              ? searchWord + Character.MAX_VALUE
+              : searchWord + Character.MIN_VALUE;
+      wordRanges[i] = new int[] {lowerBound(searchWord), lowerBound(limitWord)};
+    }
+
+    return wordRanges;
+  }
+
+  /**
+   * Finds the movies whose titles contain a word from every one of the specified runs of the
+   * dictionary. The shortest lists of ordinals are intersected first.
+   *
+   * @param wordRanges the position of the first word of each run and the position just past its
+   *     last word
+   * @return the ascending ordinals of the matching movies
+   */
+  private int[] matches(final int[][] wordRanges) {
+
+    final List<int[]> ordinalLists = new ArrayList<>(wordRanges.length);
+    for (final int[] wordRange : wordRanges) {
+      ordinalLists.add(ordinalsOf(wordRange[0], wordRange[1]));
+    }
+    ordinalLists.sort((left, right) -> Integer.compare(left.length, right.length));
+    int[] candidates = ordinalLists.get(0);
+    for (var i = 1; i < ordinalLists.size() && candidates.length > 0; i++) {
+      candidates = intersect(candidates, ordinalLists.get(i));
+    }
+
+    return candidates;
+  }
+
+  /**
+   * Gets the ordinals of the movies containing any word in the specified run of the dictionary.
+   *
+   * @param fromWordId the position of the first word of the run
+   * @param toWordId the position just past the last word of the run
+   * @return the ascending, distinct ordinals of the movies containing any of the words
+   */
+  private int[] ordinalsOf(final int fromWordId, final int toWordId) {
+
+    final int from = this.postingOffsets[fromWordId];
+    final int to = this.postingOffsets[toWordId];
+    final int[] ordinals = Arrays.copyOfRange(this.postings, from, to);
+    if (toWordId - fromWordId > 1) {
+      return Arrays.stream(ordinals).sorted().distinct().toArray();
+    }
+
+    return ordinals;
+  }
+
+  /**
+   * Intersects two ascending lists of ordinals.
+   *
+   * @param left the first ascending list
+   * @param right the second ascending list
+   * @return the ordinals in both lists, in ascending order
+   */
+  private static int[] intersect(final int[] left, final int[] right) {
+
+    final var intersection = new int[Math.min(left.length, right.length)];
+    var size = 0;
+    var i = 0;
+    var j = 0;
+    while (i < left.length && j < right.length) {
+      if (left[i] < right[j]) {
+        i++;
+      } else if (left[i] > right[j]) {
+        j++;
+      } else {
+        intersection[size++] = left[i];
+        i++;
+        j++;
+      }
+    }
+
+    return Arrays.copyOf(intersection, size);
+  }
+
+  /**
+   * Selects the best ranked of the specified candidates. Each candidate's rank is packed into a
+   * {@code long} whose natural order is the rank order, and only the best keys seen so far are
+   * kept, so a broad search doesn't sort every candidate.
+   *
+   * @param candidates the ordinals of the matching movies
+   * @param fromFirstWordId the position of the first dictionary word matched by the first search
+   *     word
+   * @param toFirstWordId the position just past the last dictionary word matched by the first
+   *     search word
+   * @param limit the largest number of keys to return
+   * @return the rank keys of the best ranked candidates, best first
+   */
+  private long[] rank(
+      final int[] candidates, final int fromFirstWordId, final int toFirstWordId, final int limit) {
+
+    final var best = new long[Math.min(limit, candidates.length)];
+    var size = 0;
+    for (final int ordinal : candidates) {
+      final int firstWordId = this.firstWordIds[ordinal];
+      final long leading = firstWordId >= fromFirstWordId && firstWordId < toFirstWordId ? 0 : 1;
+      final long key = (leading << 7 | this.wordCounts[ordinal]) << Integer.SIZE | ordinal;
+      if (size < best.length || key < best[size - 1]) {
+        int position = Arrays.binarySearch(best, 0, size, key);
+        position = position < 0 ? -position - 1 : position;
+        final int kept = Math.min(size, best.length - 1);
+        System.arraycopy(best, position, best, position + 1, kept - position);
+        best[position] = key;
+        size = kept + 1;
+      }
+    }
+
+    return Arrays.copyOf(best, size);
+  }
+}
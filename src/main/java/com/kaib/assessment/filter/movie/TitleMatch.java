@@ -0,0 +1,33 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * How the words of a title search are compared with the words of each movie's title.
+ *
+ * @author jkaib
+ */
+public enum TitleMatch {
+
+  /** Every word of the search must equal a word of the title. */
+  TOKEN,
+
+  /**
+   * Every word of the search but the last must equal a word of the title, and the last word may be
+   * the beginning of one, which suits searching as the user types.
+   */
+  PREFIX
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Indexes movies by release year. The years are held in a sorted {@code int} array alongside a
+ * parallel array of movie ordinals, so the movies released in any range of years occupy one
+ * contiguous slice that is found with two binary searches. Movies released in the same year keep
+ * the order of their ordinals.
+ *
+ * @author jkaib
+ */
+final class YearIndex {
+
+  /** The ordinals of the indexed movies, sorted by the year the movie was released. */
+  private final int[] ordinals;
+
+  /** The release year of each entry in {@link #ordinals}, in ascending order. */
+  private final int[] years;
+
+  /**
+   * Instantiates a new index of the movies in the specified store.
+   *
+   * @param theStore the store whose year column is indexed
+   */
+  YearIndex(final MovieStore theStore) {
+
+    super();
+
+    // Sorting the year and ordinal packed into one primitive keeps equal years in ordinal order
+    // without boxing.
+    final var keys = new long[theStore.size()];
+    for (var ordinal = 0; ordinal < keys.length; ordinal++) {
+      keys[ordinal] = (long) theStore.getYear(ordinal) << Integer.SIZE | ordinal;
+    }
+    Arrays.sort(keys);
+    this.years = new int[keys.length];
+    this.ordinals = new int[keys.length];
+    for (var i = 0; i < keys.length; i++) {
+      this.years[i] = (int) (keys[i] >> Integer.SIZE);
+      this.ordinals[i] = (int) keys[i];
+    }
+  }
+
+  /**
+   * Finds the position of the first entry released in or after the specified year.
+   *
+   * @param year the year to search for
+   * @return the position of the first entry whose year isn't before the specified year
+   */
+  int lowerBound(final int year) {
+
+    var low = 0;
+    var high = this.years.length;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (this.years[middle] < year) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Finds the position just past the last entry released in or before the specified year.
+   *
+   * @param year the year to search for
+   * @return the position of the first entry whose year is after the specified year
+   */
+  int upperBound(final int year) {
+    return year == Integer.MAX_VALUE ? this.years.length : lowerBound(year + 1);
+  }
+
+  /**
+   * Finds the position of the entry for the specified movie, or the position at which a movie
+   * released in that year with that ordinal would be inserted.
+   *
+   * @param year the year the movie was released
+   * @param ordinal the ordinal of the movie
+   * @return the position of the first entry that doesn't precede the movie
+   */
+  int positionOf(final int year, final int ordinal) {
+
+    var low = lowerBound(year);
+    var high = upperBound(year);
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (this.ordinals[middle] < ordinal) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Gets the ordinal of the movie at the specified position of the index.
+   *
+   * @param position the position of the entry
+   * @return the ordinal of the movie
+   */
+  int ordinalAt(final int position) {
+    return this.ordinals[position];
+  }
+
+  /**
+   * Performs the specified action on the ordinal of each movie released in the specified range of
+   * years, ordered by year and then by ordinal. Nothing is allocated.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @param action the action performed on each ordinal
+   */
+  void forEachBetween(final int fromYear, final int toYear, final IntConsumer action) {
+
+    final int to = upperBound(toYear);
+    for (int i = lowerBound(fromYear); i < to; i++) {
+      action.accept(this.ordinals[i]);
+    }
+  }
+
+  /**
+   * Counts the movies released in each year of the specified range. Each year's entries are skipped
+   * over by binary search, so the cost depends on the number of distinct years rather than on the
+   * number of movies.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in each year of the range in which any were released,
+   *     keyed by year
+   */
+  SortedMap<Integer, Integer> histogram(final int fromYear, final int toYear) {
+
+    final SortedMap<Integer, Integer> counts = new TreeMap<>();
+    final int to = upperBound(toYear);
+    int next;
+    for (int i = lowerBound(fromYear); i < to; i = next) {
+      final int year = this.years[i];
+      next = upperBound(year);
+      counts.put(year, next - i);
+    }
+
+    return counts;
+  }
+
+  /**
+   * Gets the ordinals of the movies released in the specified range of years as a bitmap.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return a new bitmap of the ordinals of the movies released in the range
+   */
+  BitSet ordinalSetBetween(final int fromYear, final int toYear) {
+
+    final var ordinalSet = new BitSet(this.ordinals.length);
+    final int to = upperBound(toYear);
+    for (int i = lowerBound(fromYear); i < to; i++) {
+      ordinalSet.set(this.ordinals[i]);
+    }
+
+    return ordinalSet;
+  }
+
+  /**
+   * Counts the movies released in the specified range of years.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in the range
+   */
+  int count(final int fromYear, final int toYear) {
+    return Math.max(0, upperBound(toYear) - lowerBound(fromYear));
+  }
+
+  /**
+   * Gets the ordinals of the movies released in the specified range of years, in ascending order.
+   *
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the ordinals of the movies released in the range, in ascending order
+   */
+  int[] ordinalsBetween(final int fromYear, final int toYear) {
+
+    final int from = lowerBound(fromYear);
+    final int to = upperBound(toYear);
+    final int[] slice = Arrays.copyOfRange(this.ordinals, from, Math.max(from, to));
+    Arrays.sort(slice);
+
+    return slice;
+  }
+
+  /**
+   * Gets the movies released in the specified range of years, ordered by year. The list is a view
+   * of the index, so it's found in logarithmic time and never copied; each element is looked up
+   * as it's read.
+   *
+   * @param <T> the type of the elements
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @param elements gets the element for a movie's ordinal
+   * @return an unmodifiable view of the elements for the movies released in the range
+   */
+  <T> List<T> range(final int fromYear, final int toYear, final IntFunction<T> elements) {
+
+    final int from = lowerBound(fromYear);
+    final int to = upperBound(toYear);
+
+    return new Slice<>(from, Math.max(from, to), elements);
+  }
+
+  /**
+   * An unmodifiable view of a contiguous slice of the index.
+   *
+   * @param <T> the type of the elements
+   */
+  private final class Slice<T> extends AbstractList<T> implements RandomAccess {
+
+    /** Gets the element for a movie's ordinal. */
+    private final IntFunction<T> elements;
+
+    /** The position of the first entry in the slice. */
+    private final int from;
+
+    /** The position just past the last entry in the slice. */
+    private final int to;
+
+    /**
+     * Instantiates a new view of the specified slice of the index.
+     *
+     * @param theFrom the position of the first entry in the slice
+     * @param theTo the position just past the last entry in the slice
+     * @param theElements gets the element for a movie's ordinal
+     */
+    Slice(final int theFrom, final int theTo, final IntFunction<T> theElements) {
+
+      super();
+      this.from = theFrom;
+      this.to = theTo;
+      this.elements = theElements;
+    }
+
+    @Override
+    public T get(final int index) {
+
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size());
+      }
+
+      return this.elements.apply(YearIndex.this.ordinals[this.from + index]);
+    }
+
+    @Override
+    public int size() {
+      return this.to - this.from;
+    }
+  }
+}
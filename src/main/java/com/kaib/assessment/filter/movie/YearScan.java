@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.IntBuffer;
+
+/**
+ * Scans a column of release years for the movies released in a range. This is the scalar scan,
+ * which runs on every supported Java version; {@link YearScans#best()} may substitute a vectorized
+ * subclass where the runtime supports one. Every scan returns exactly the same results.
+ *
+ * @author jkaib
+ */
+class YearScan {
+
+  /** Instantiates a new scalar year scan. */
+  YearScan() {
+    super();
+  }
+
+  /**
+   * Indicates whether the scan compares several years per instruction.
+   *
+   * @return {@code true} if the scan is vectorized, {@code false} otherwise
+   */
+  boolean isVectorized() {
+    return false;
+  }
+
+  /**
+   * Counts the movies released in the specified range of years.
+   *
+   * @param years the release year of each movie, indexed by ordinal
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the number of movies released in the range
+   */
+  int count(final IntBuffer years, final int fromYear, final int toYear) {
+
+    var count = 0;
+    for (int ordinal = 0, size = years.capacity(); ordinal < size; ordinal++) {
+      final int year = years.get(ordinal);
+      if (year >= fromYear && year <= toYear) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Finds the movies released in the specified range of years. The column is counted first so the
+   * result is the only allocation.
+   *
+   * @param years the release year of each movie, indexed by ordinal
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the ascending ordinals of the movies released in the range
+   */
+  int[] find(final IntBuffer years, final int fromYear, final int toYear) {
+
+    final var ordinals = new int[count(years, fromYear, toYear)];
+    var size = 0;
+    for (var ordinal = 0; size < ordinals.length; ordinal++) {
+      final int year = years.get(ordinal);
+      if (year >= fromYear && year <= toYear) {
+        ordinals[size++] = ordinal;
+      }
+    }
+
+    return ordinals;
+  }
+}
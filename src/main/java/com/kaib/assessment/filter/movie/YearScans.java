@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * Chooses the fastest year scan supported by the runtime. This is the Java 11 version, which
+ * always chooses the scalar scan. The multi-release build replaces it on Java 17 and later.
+ *
+ * @author jkaib
+ */
+final class YearScans {
+
+  /** Private constructor prevents instantiation. */
+  private YearScans() {
+    super();
+  }
+
+  /**
+   * Gets the fastest year scan supported by the runtime.
+   *
+   * @return the scalar year scan
+   */
+  static YearScan best() {
+    return new YearScan();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.IntBuffer;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scans a column of release years with the Vector API, comparing as many years per instruction as
+ * the processor's widest vectors hold. Only columns backed by an array are vectorized; direct
+ * buffers are scanned by the scalar scan.
+ *
+ * @author jkaib
+ */
+final class VectorYearScan extends YearScan {
+
+  /** The widest shape of year vectors the processor supports. */
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  /** Instantiates a new vectorized year scan. */
+  VectorYearScan() {
+    super();
+  }
+
+  @Override
+  boolean isVectorized() {
+    return true;
+  }
+
+  @Override
+  int count(final IntBuffer years, final int fromYear, final int toYear) {
+
+    if (!years.hasArray()) {
+      return super.count(years, fromYear, toYear);
+    }
+
+    final int[] array = years.array();
+    final int offset = years.arrayOffset();
+    final int size = years.capacity();
+    final int bound = SPECIES.loopBound(size);
+    final var ones = IntVector.broadcast(SPECIES, 1);
+    var counts = IntVector.zero(SPECIES);
+    var ordinal = 0;
+    for (; ordinal < bound; ordinal += SPECIES.length()) {
+      counts = counts.add(ones, inRange(array, offset + ordinal, fromYear, toYear));
+    }
+
+    var count = counts.reduceLanes(VectorOperators.ADD);
+    for (; ordinal < size; ordinal++) {
+      final int year = array[offset + ordinal];
+      if (year >= fromYear && year <= toYear) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  @Override
+  int[] find(final IntBuffer years, final int fromYear, final int toYear) {
+
+    if (!years.hasArray()) {
+      return super.find(years, fromYear, toYear);
+    }
+
+    final int[] array = years.array();
+    final int offset = years.arrayOffset();
+    final int size = years.capacity();
+    final int bound = SPECIES.loopBound(size);
+    final var ordinals = new int[count(years, fromYear, toYear)];
+    var found = 0;
+    var ordinal = 0;
+
+    // Java 17 can't compress a vector, so the lanes of each match are read from the mask's bits.
+    for (; ordinal < bound && found < ordinals.length; ordinal += SPECIES.length()) {
+      long lanes = inRange(array, offset + ordinal, fromYear, toYear).toLong();
+      while (lanes != 0) {
+        ordinals[found++] = ordinal + Long.numberOfTrailingZeros(lanes);
+        lanes &= lanes - 1;
+      }
+    }
+    for (; found < ordinals.length; ordinal++) {
+      final int year = array[offset + ordinal];
+      if (year >= fromYear && year <= toYear) {
+        ordinals[found++] = ordinal;
+      }
+    }
+
+    return ordinals;
+  }
+
+  /**
+   * Compares one vector of years with the specified range.
+   *
+   * @param array the array backing the year column
+   * @param index the index in the array of the first year to compare
+   * @param fromYear the first year of the range, inclusive
+   * @param toYear the last year of the range, inclusive
+   * @return the lanes whose years are in the range
+   */
+  private static VectorMask<Integer> inRange(
+      final int[] array, final int index, final int fromYear, final int toYear) {
+
+    final var years = IntVector.fromArray(SPECIES, array, index);
+
+    return years
+        .compare(VectorOperators.GE, fromYear)
+        .and(years.compare(VectorOperators.LE, toYear));
+  }
+}
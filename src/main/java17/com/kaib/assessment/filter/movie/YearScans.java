@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+/**
+ * Chooses the fastest year scan supported by the runtime. This is the Java 17 version, which
+ * chooses the vectorized scan when the incubating Vector API has been added to the boot layer with
+ * {@code --add-modules jdk.incubator.vector}, and the scalar scan otherwise.
+ *
+ * @author jkaib
+ */
+final class YearScans {
+
+  /** The name of the module containing the Vector API. */
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  /** Private constructor prevents instantiation. */
+  private YearScans() {
+    super();
+  }
+
+  /**
+   * Gets the fastest year scan supported by the runtime.
+   *
+   * @return the vectorized year scan if the Vector API is available, or the scalar year scan
+   */
+  static YearScan best() {
+
+    // The vectorized scan can't even be loaded without the module, so it's checked for first.
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      return new VectorYearScan();
+    }
+
+    return new YearScan();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code CastIndex} class.
+ *
+ * @author jkaib
+ */
+final class CastIndexTest {
+
+  /** The unit under test. */
+  private CastIndex uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final String[][] testCasts = {
+      {"Sigourney Weaver", "Tom Skerritt"},
+      {"Bill Murray", "Sigourney Weaver", "Sigourney Weaver"},
+      null,
+      {"sigourney weaver", null},
+      {"Tom Skerritt"}
+    };
+    final var testMovies = new Movie[testCasts.length];
+    for (var i = 0; i < testCasts.length; i++) {
+      testMovies[i] = new Movie();
+      testMovies[i].setCast(testCasts[i]);
+    }
+
+    this.uut = new CastIndex(MovieStore.of(Arrays.asList(testMovies)));
+  }
+
+  @Test
+  @DisplayName("Verifies an exact lookup only matches the name as it was spelled")
+  void testFind1() {
+
+    // Act.
+    final int[] actuals = this.uut.find("Sigourney Weaver", NameMatch.EXACT);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("A cast member listed twice for a movie should have been indexed once")
+        .containsExactly(0, 1);
+  }
+
+  @Test
+  @DisplayName("Verifies a case-insensitive lookup merges every spelling of the name")
+  void testFind2() {
+
+    // Act.
+    final int[] actuals = this.uut.find("SIGOURNEY WEAVER", NameMatch.IGNORE_CASE);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Every movie listing the name in any case should have been found in ordinal order")
+        .containsExactly(0, 1, 3);
+  }
+
+  @Test
+  @DisplayName("Verifies an unknown name matches no movies")
+  void testFind3() {
+
+    // Act.
+    final int[] actualsExact = this.uut.find("tom skerritt", NameMatch.EXACT);
+    final int[] actualsIgnoringCase = this.uut.find("John Hurt", NameMatch.IGNORE_CASE);
+
+    // Assert.
+    Assertions.assertThat(actualsExact).as("The name is spelled differently").isEmpty();
+    Assertions.assertThat(actualsIgnoringCase).as("The name isn't in the index").isEmpty();
+  }
+}
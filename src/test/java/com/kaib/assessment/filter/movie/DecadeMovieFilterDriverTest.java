@@ -22,6 +22,9 @@ import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.Permission;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -80,6 +83,9 @@ final class DecadeMovieFilterDriverTest {
   /** The decade short option name. */
   private static final String DECADE_SHORT_OPT_NAME = "-d ";
 
+  /** The input engine short option name. */
+  private static final String ENGINE_SHORT_OPT_NAME = "-e ";
+
   /** The input file long option name. */
   private static final String IN_FILE_LONG_OPT_NAME = "-input-file ";
 
@@ -388,6 +394,110 @@ final class DecadeMovieFilterDriverTest {
     Assertions.assertThat(actual).as("The movies weren't filtered correctly").isEqualTo(expected);
   }
 
+  @Test()
+  @DisplayName("Verifies the memory-mapped input engine filters the movies like the default engine")
+  void testMain9() throws Exception {
+
+    // Arrange.
+    final String testInputFilePath = Path.of("", "src/test/resources/SampleMovies.json").toString();
+    final Path streamOutputDir = Files.createDirectory(this.tempDir.toPath().resolve("stream"));
+    final Path mmapOutputDir = Files.createDirectory(this.tempDir.toPath().resolve("mmap"));
+    final String outputFileName = this.testDecade + "s-movies.json";
+    DecadeMovieFilterDriver.main(
+        new String[] {
+          DECADE_SHORT_OPT_NAME + this.testDecade,
+          IN_FILE_SHORT_OPT_NAME + testInputFilePath,
+          OUT_DIR_SHORT_OPT_NAME + streamOutputDir
+        });
+    final String expected = Files.readString(streamOutputDir.resolve(outputFileName));
+
+    // Act.
+    DecadeMovieFilterDriver.main(
+        new String[] {
+          DECADE_SHORT_OPT_NAME + this.testDecade,
+          IN_FILE_SHORT_OPT_NAME + testInputFilePath,
+          OUT_DIR_SHORT_OPT_NAME + mmapOutputDir,
+          ENGINE_SHORT_OPT_NAME + "mmap"
+        });
+    final String actual = Files.readString(mmapOutputDir.resolve(outputFileName));
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The memory-mapped engine didn't filter the movies like the default engine")
+        .contains("\"title\": \"Gremlins\"")
+        .isEqualTo(expected);
+  }
+
+  @Test()
+  @DisplayName("Verifies a repeated decade option writes each decade as a separate run would")
+  void testMain10() throws Exception {
+
+    // Arrange.
+    final String testInputFilePath = Path.of("", "src/test/resources/SampleMovies.json").toString();
+    final Path singleOutputDir = Files.createDirectory(this.tempDir.toPath().resolve("single"));
+    final Path fanOutOutputDir = Files.createDirectory(this.tempDir.toPath().resolve("fan-out"));
+    for (final String testDecade : List.of("1980", "2000")) {
+      DecadeMovieFilterDriver.main(
+          new String[] {
+            DECADE_SHORT_OPT_NAME + testDecade,
+            IN_FILE_SHORT_OPT_NAME + testInputFilePath,
+            OUT_DIR_SHORT_OPT_NAME + singleOutputDir
+          });
+    }
+
+    // Act.
+    DecadeMovieFilterDriver.main(
+        new String[] {
+          DECADE_SHORT_OPT_NAME + "2000",
+          DECADE_SHORT_OPT_NAME + "1980",
+          IN_FILE_SHORT_OPT_NAME + testInputFilePath,
+          OUT_DIR_SHORT_OPT_NAME + fanOutOutputDir
+        });
+
+    // Assert.
+    for (final String outputFileName : List.of("1980s-movies.json", "2000s-movies.json")) {
+      Assertions.assertThat(Files.readString(fanOutOutputDir.resolve(outputFileName)))
+          .as("The fanned-out " + outputFileName + " didn't match the separate run")
+          .isEqualTo(Files.readString(singleOutputDir.resolve(outputFileName)));
+    }
+  }
+
+  @Test()
+  @DisplayName("Verifies the all decade option writes a file for every decade since 1900")
+  void testMain11() throws Exception {
+
+    // Arrange.
+    final String testInputFilePath = Path.of("", "src/test/resources/SampleMovies.json").toString();
+    final Path testOutputDir = Files.createDirectory(this.tempDir.toPath().resolve("all"));
+    final List<String> expecteds =
+        DecadeUtils.getDecadesThrough(Year.now().getValue()).stream()
+            .map(decade -> decade + "s-movies.json")
+            .collect(Collectors.toList());
+
+    // Act.
+    DecadeMovieFilterDriver.main(
+        new String[] {
+          DECADE_SHORT_OPT_NAME + "all",
+          IN_FILE_SHORT_OPT_NAME + testInputFilePath,
+          OUT_DIR_SHORT_OPT_NAME + testOutputDir
+        });
+    final List<String> actuals;
+    try (Stream<Path> outputFiles = Files.list(testOutputDir)) {
+      actuals =
+          outputFiles
+              .map(outputFile -> outputFile.getFileName().toString())
+              .collect(Collectors.toList());
+    }
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("A file should have been written for every decade since 1900")
+        .containsExactlyInAnyOrderElementsOf(expecteds);
+    Assertions.assertThat(Files.readString(testOutputDir.resolve("1930s-movies.json")))
+        .as("A decade without movies should have been written as an empty array")
+        .isEqualTo("[]");
+  }
+
   /**
    * Simple {@link SecurityManager} implementation that allows tests to detect when {@code
    * System.exit} has been called by throwing a {@link SecurityException} the test can evaluate. It
@@ -17,6 +17,7 @@ package com.kaib.assessment.filter.movie;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -70,4 +71,50 @@ final class DecadeUtilsTest {
     // Assert
     Assertions.assertThat(actual).as(assertionMsg).isEqualTo(expected);
   }
+
+  @ParameterizedTest
+  @CsvSource({
+    "1979, 1980, false, Should have been false because 1979 precedes the 1980s",
+    "1980, 1980, true, Should have been true because 1980 is the first year of the 1980s",
+    "1989, 1980, true, Should have been true because 1989 is the last year of the 1980s",
+    "1990, 1980, false, Should have been false because 1990 follows the 1980s"
+  })
+  @DisplayName("Verifies whether a given year is correctly identified as falling within a decade")
+  void testIsInDecade1(
+      final int testYear, final int testDecade, final boolean expected, final String assertionMsg) {
+
+    // Act.
+    final boolean actual = DecadeUtils.isInDecade(testYear, testDecade);
+
+    // Assert
+    Assertions.assertThat(actual).as(assertionMsg).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1980, 1980", "1984, 1980", "1989, 1980", "1990, 1990", "-1, -10"})
+  @DisplayName("Verifies the decade in which a given year falls is correctly returned")
+  void testGetDecade1(final int testYear, final int expected) {
+
+    // Act.
+    final int actual = DecadeUtils.getDecade(testYear);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The decade was incorrect").isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies every decade since 1900 through a given year's decade is returned")
+  void testGetDecadesThrough1() {
+
+    // Act.
+    final var actuals = DecadeUtils.getDecadesThrough(1935);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The decades through the 1930s were incorrect")
+        .containsExactly(1900, 1910, 1920, 1930);
+    Assertions.assertThat(DecadeUtils.getDecadesThrough(1899))
+        .as("No decades precede the 20th century")
+        .isEmpty();
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code DictionaryColumn} class.
+ *
+ * @author jkaib
+ */
+final class DictionaryColumnTest {
+
+  /** The unit under test. */
+  private DictionaryColumn uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final var builder = new DictionaryColumn.Builder(4);
+    builder.add(new String[] {"Comedy", "Horror"});
+    builder.add(null);
+    builder.add(new String[] {"Horror", null});
+    builder.add(new String[0]);
+
+    this.uut = builder.build(false);
+  }
+
+  @Test
+  @DisplayName("Verifies each distinct string is assigned one id in order of appearance")
+  void testId1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.id("Comedy")).as("The first string gets the first id").isZero();
+    Assertions.assertThat(this.uut.id("Horror")).as("The second string gets the next id").isOne();
+    Assertions.assertThat(this.uut.id("Drama"))
+        .as("An unknown string has no id")
+        .isEqualTo(DictionaryColumn.NULL_ID);
+    Assertions.assertThat(this.uut.dictionarySize())
+        .as("Only the distinct strings should have been stored")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies each movie's array is decoded as it was added")
+  void testValues1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.values(0)).containsExactly("Comedy", "Horror");
+    Assertions.assertThat(this.uut.values(1)).as("A null array should be restored").isNull();
+    Assertions.assertThat(this.uut.values(2)).containsExactly("Horror", null);
+    Assertions.assertThat(this.uut.values(3)).as("An empty array should be restored").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies a movie's run of ids is searched in place")
+  void testContains1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.contains(0, this.uut.id("Comedy"))).isTrue();
+    Assertions.assertThat(this.uut.contains(2, this.uut.id("Comedy"))).isFalse();
+    Assertions.assertThat(this.uut.contains(1, this.uut.id("Horror")))
+        .as("A null array contains nothing")
+        .isFalse();
+    Assertions.assertThat(this.uut.contains(2, DictionaryColumn.NULL_ID))
+        .as("A null element never matches")
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies an encoded array equals only the movie arrays with the same elements")
+  void testEqualsAt1() {
+
+    // Act.
+    final int[] actual = this.uut.encode(new String[] {"Horror", null});
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("A null element should have been encoded as the null id")
+        .containsExactly(1, DictionaryColumn.NULL_ID);
+    Assertions.assertThat(this.uut.equalsAt(2, actual)).isTrue();
+    Assertions.assertThat(this.uut.equalsAt(0, actual)).isFalse();
+    Assertions.assertThat(this.uut.equalsAt(1, null))
+        .as("A null array should only equal a null array")
+        .isTrue();
+    Assertions.assertThat(this.uut.equalsAt(3, null)).isFalse();
+    Assertions.assertThat(this.uut.equalsAt(3, this.uut.encode(new String[0]))).isTrue();
+    Assertions.assertThat(this.uut.equalsAt(0, this.uut.encode(new String[] {"Comedy", "Drama"})))
+        .as("An unknown string should never match")
+        .isFalse();
+  }
+}
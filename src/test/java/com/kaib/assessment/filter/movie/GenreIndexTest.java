@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code GenreIndex} class.
+ *
+ * @author jkaib
+ */
+final class GenreIndexTest {
+
+  /** The unit under test. */
+  private GenreIndex uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final String[][] testGenres = {
+      {"Comedy", "Horror"}, {"Comedy"}, null, {"Horror", null}, {"Drama", "Comedy", "Horror"}
+    };
+    final var testMovies = new Movie[testGenres.length];
+    for (var i = 0; i < testGenres.length; i++) {
+      testMovies[i] = new Movie();
+      testMovies[i].setGenres(testGenres[i]);
+    }
+
+    this.uut = new GenreIndex(MovieStore.of(Arrays.asList(testMovies)));
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies classified under every genre match all the genres")
+  void testMatch1() {
+
+    // Act.
+    final BitSet actuals = this.uut.match(List.of("Comedy", "Horror"), GenreMatch.ALL);
+
+    // Assert.
+    Assertions.assertThat(actuals.stream())
+        .as("Only the first and last movies are both comedies and horror movies")
+        .containsExactly(0, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies the movies classified under any genre match any of the genres")
+  void testMatch2() {
+
+    // Act.
+    final BitSet actuals = this.uut.match(List.of("Drama", "Horror"), GenreMatch.ANY);
+
+    // Assert.
+    Assertions.assertThat(actuals.stream())
+        .as("Every movie that's either a drama or a horror movie should have matched")
+        .containsExactly(0, 3, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies an unknown genre matches no movies")
+  void testMatch3() {
+
+    // Act.
+    final BitSet actualsAll = this.uut.match(List.of("Comedy", "Western"), GenreMatch.ALL);
+    final BitSet actualsAny = this.uut.match(List.of("Western"), GenreMatch.ANY);
+
+    // Assert.
+    Assertions.assertThat(actualsAll.isEmpty())
+        .as("No movie is both a comedy and a western")
+        .isTrue();
+    Assertions.assertThat(actualsAny.isEmpty()).as("No movie is a western").isTrue();
+  }
+
+  @Test
+  @DisplayName("Verifies a match can be modified without changing the index")
+  void testMatch4() {
+
+    // Arrange.
+    this.uut.match(List.of("Comedy"), GenreMatch.ANY).clear();
+
+    // Act.
+    final BitSet actuals = this.uut.match(List.of("Comedy"), GenreMatch.ANY);
+
+    // Assert.
+    Assertions.assertThat(actuals.stream())
+        .as("Clearing an earlier match shouldn't have changed the index")
+        .containsExactly(0, 1, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies a single movie is checked against the genres")
+  void testMatches1() {
+
+    // Act.
+    final boolean actualAll = this.uut.matches(3, List.of("Horror", "Comedy"), GenreMatch.ALL);
+    final boolean actualAny = this.uut.matches(3, List.of("Horror", "Comedy"), GenreMatch.ANY);
+    final boolean actualNone = this.uut.matches(2, List.of("Horror"), GenreMatch.ANY);
+
+    // Assert.
+    Assertions.assertThat(actualAll).as("The fourth movie isn't a comedy").isFalse();
+    Assertions.assertThat(actualAny).as("The fourth movie is a horror movie").isTrue();
+    Assertions.assertThat(actualNone).as("The third movie has no genres").isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies the genres of the specified movies are counted once per movie")
+  void testCountAmong1() {
+
+    // Arrange.
+    final var testMovie = new Movie();
+    testMovie.setGenres(new String[] {"Comedy", "Comedy", "Drama"});
+    final var testIndex = new GenreIndex(MovieStore.of(List.of(testMovie)));
+
+    // Act.
+    final Map<String, Integer> actuals =
+        this.uut.countAmong(
+            action -> {
+              action.accept(0);
+              action.accept(3);
+              action.accept(4);
+            });
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Each genre of the first, fourth, and last movies should have been counted by name")
+        .containsExactly(Map.entry("Comedy", 2), Map.entry("Drama", 1), Map.entry("Horror", 3));
+    Assertions.assertThat(testIndex.countAmong(action -> action.accept(0)))
+        .as("A genre listed twice for a movie should have been counted once")
+        .containsExactly(Map.entry("Comedy", 1), Map.entry("Drama", 1));
+  }
+}
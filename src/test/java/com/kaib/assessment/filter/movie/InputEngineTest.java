@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code InputEngine} enumeration.
+ *
+ * @author jkaib
+ */
+final class InputEngineTest {
+
+  @ParameterizedTest
+  @EnumSource(InputEngine.class)
+  @DisplayName("Verifies each input engine is selected by its command-line name")
+  void testFromName1(final InputEngine expected) {
+
+    // Act.
+    final InputEngine actual = InputEngine.fromName(expected.getEngineName());
+
+    // Assert.
+    Assertions.assertThat(actual).as("The wrong input engine was selected").isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies an unknown command-line name is rejected")
+  void testFromName2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An IllegalArgumentException should have been thrown for an unknown engine name")
+        .isThrownBy(() -> InputEngine.fromName("unknown"))
+        .withMessage("Unknown input engine 'unknown', expected one of stream, mmap, parallel");
+  }
+
+  @ParameterizedTest
+  @EnumSource(InputEngine.class)
+  @DisplayName("Verifies each input engine creates a loader")
+  void testCreateLoader1(final InputEngine testEngine) {
+
+    // Act.
+    final MovieLoader actual = testEngine.createLoader(new Gson());
+
+    // Assert.
+    Assertions.assertThat(actual).as("The input engine didn't create a loader").isNotNull();
+  }
+}
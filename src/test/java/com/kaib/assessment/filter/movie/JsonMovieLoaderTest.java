@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Performs automated tests on the {@code JsonMovieLoader} class.
+ *
+ * @author jkaib
+ */
+final class JsonMovieLoaderTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The test file that doesn't contain a valid JSON structure. */
+  private static final Path INVALID_MOVIES_PATH =
+      Path.of("", "src/test/resources/InvalidMovies.json");
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  /** The JSON deserializer used by the unit under test. */
+  private Gson gson;
+
+  /** The unit under test. */
+  private JsonMovieLoader uut;
+
+  /** Sets the test fixture up prior to each test. */
+  @BeforeEach
+  void setUp() {
+    this.gson = new Gson();
+    this.uut = new JsonMovieLoader(this.gson);
+  }
+
+  @Test
+  @DisplayName("Verifies a JSON deserializer is required by the loader")
+  void testJsonMovieLoader1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the deserializer was null")
+        .isThrownBy(() -> new JsonMovieLoader(null))
+        .withMessage("The JSON deserializer can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies the streamed movies match the movies bound from the whole file")
+  void testLoad1() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds =
+        this.gson.fromJson(
+            Files.readString(SAMPLE_MOVIES_PATH), new TypeToken<Set<Movie>>() {}.getType());
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(SAMPLE_MOVIES_PATH);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The streamed movies didn't match the movies bound from the whole file")
+        .hasSize(13)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when the file isn't a JSON array")
+  void testLoad2() {
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when the file wasn't a JSON array")
+        .isThrownBy(() -> this.uut.load(INVALID_MOVIES_PATH));
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies accepted by the year filter are loaded")
+  void testLoad3() throws Exception {
+
+    // Arrange.
+    final int testDecade = 1980;
+    final Set<Movie> expecteds =
+        new MovieRepository(this.uut.load(SAMPLE_MOVIES_PATH)).findByDecade(testDecade);
+
+    // Act.
+    final Set<Movie> actuals =
+        this.uut.load(SAMPLE_MOVIES_PATH, year -> DecadeUtils.isInDecade(year, testDecade));
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movies released in the 1980s should have been loaded")
+        .hasSize(4)
+        .containsExactlyInAnyOrderElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies fields that follow a rejected year are skipped rather than bound")
+  void testLoad4() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("year-first.json");
+    Files.writeString(
+        testFilePath,
+        "[{\"year\": 1950, \"cast\": {\"not\": \"an array\"}},"
+            + " {\"year\": 1984, \"title\": \"Gremlins\", \"unknown\": [1, 2]}]");
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> year == 1984);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The rejected movie's malformed cast should have been skipped")
+        .extracting(Movie::getTitle)
+        .containsExactly("Gremlins");
+  }
+
+  @Test
+  @DisplayName("Verifies a year filter is required when filtering the loaded movies")
+  void testLoad5() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the year filter was null")
+        .isThrownBy(() -> this.uut.load(SAMPLE_MOVIES_PATH, null))
+        .withMessage("The year filter can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when a filtered file isn't a JSON array")
+  void testLoad6() {
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when the file wasn't a JSON array")
+        .isThrownBy(() -> this.uut.load(INVALID_MOVIES_PATH, year -> true));
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when content follows the movies array")
+  void testLoad7() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("trailing.json");
+    Files.writeString(testFilePath, "[{\"title\": \"Gremlins\", \"year\": 1984}] garbage {");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when content followed the array")
+        .isThrownBy(() -> this.uut.load(testFilePath));
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when content followed a filtered array")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Performs automated tests on the {@code JsonMovieWriter} class.
+ *
+ * @author jkaib
+ */
+final class JsonMovieWriterTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The directory to which the unit under test writes. */
+  @TempDir File tempDir;
+
+  /** The pretty-printing JSON serializer used by the unit under test. */
+  private Gson gson;
+
+  /** The test movies. */
+  private Set<Movie> testMovies;
+
+  /**
+   * Sets the test fixture up prior to each test.
+   *
+   * @throws Exception if the test movies can't be loaded
+   */
+  @BeforeEach
+  void setUp() throws Exception {
+
+    this.gson = new GsonBuilder().setPrettyPrinting().create();
+    this.testMovies = new JsonMovieLoader(this.gson).load(SAMPLE_MOVIES_PATH);
+  }
+
+  @Test
+  @DisplayName("Verifies a JSON serializer is required by the writer")
+  void testJsonMovieWriter1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the serializer was null")
+        .isThrownBy(() -> new JsonMovieWriter(null))
+        .withMessage("The JSON serializer can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a line separator is required by the writer")
+  void testJsonMovieWriter2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An IllegalArgumentException should have been thrown when the separator was empty")
+        .isThrownBy(() -> new JsonMovieWriter(this.gson, ""))
+        .withMessage("The line separator can't be empty");
+  }
+
+  @Test
+  @DisplayName("Verifies the streamed document matches the whole document with Windows line ends")
+  void testWrite1() throws Exception {
+
+    // Arrange.
+    final String expected = this.gson.toJson(this.testMovies).replace("\n", "\r\n");
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.json");
+
+    // Act.
+    new JsonMovieWriter(this.gson).write(this.testMovies, testFilePath);
+    final String actual = Files.readString(testFilePath, StandardCharsets.UTF_8);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The streamed document didn't match the whole document")
+        .isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies the document can be written with Unix line endings")
+  void testWrite2() throws Exception {
+
+    // Arrange.
+    final String expected = this.gson.toJson(this.testMovies);
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.json");
+
+    // Act.
+    new JsonMovieWriter(this.gson, "\n").write(this.testMovies, testFilePath);
+    final String actual = Files.readString(testFilePath, StandardCharsets.UTF_8);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The streamed document didn't have Unix line endings")
+        .isEqualTo(expected)
+        .doesNotContain("\r");
+  }
+
+  @Test
+  @DisplayName("Verifies existing contents of the destination file are replaced")
+  void testWrite3() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.json");
+    Files.writeString(testFilePath, "x".repeat(10_000));
+
+    // Act.
+    new JsonMovieWriter(this.gson).write(Set.of(), testFilePath);
+    final String actual = Files.readString(testFilePath, StandardCharsets.UTF_8);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The destination file should have held only an empty array")
+        .isEqualTo("[]");
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.StringWriter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code LineSeparatorWriter} class.
+ *
+ * @author jkaib
+ */
+final class LineSeparatorWriterTest {
+
+  @Test
+  @DisplayName("Verifies line feeds are translated whichever write method is used")
+  void testWrite1() throws Exception {
+
+    // Arrange.
+    final var target = new StringWriter();
+
+    // Act.
+    try (var uut = new LineSeparatorWriter(target, "\r\n")) {
+      uut.write('\n');
+      uut.write('a');
+      uut.write("xb\nc\n\nd".toCharArray(), 1, 6);
+      uut.write("yy\ne\n", 2, 3);
+    }
+
+    // Assert.
+    Assertions.assertThat(target.toString())
+        .as("The line feeds weren't translated")
+        .isEqualTo("\r\nab\r\nc\r\n\r\nd\r\ne\r\n");
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Performs automated tests on the {@code MappedFile} class.
+ *
+ * @author jkaib
+ */
+final class MappedFileTest {
+
+  /** The bytes of the test file, each equal to its offset. */
+  private byte[] testBytes;
+
+  /** A directory in which the test file is written. */
+  @TempDir Path tempDir;
+
+  /** The unit under test, mapped in 16 byte segments. */
+  private MappedFile uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.testBytes = new byte[100];
+    for (var i = 0; i < this.testBytes.length; i++) {
+      this.testBytes[i] = (byte) i;
+    }
+    final Path testPath = Files.write(this.tempDir.resolve("bytes.bin"), this.testBytes);
+    this.uut = MappedFile.map(testPath, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies a range of bytes is copied across the segments of the file")
+  void testGetBytes1() {
+
+    // Act.
+    final byte[] actuals = this.uut.getBytes(13, 40);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The bytes spanning four segments should have been copied in order")
+        .containsExactly(Arrays.copyOfRange(this.testBytes, 13, 53));
+    Assertions.assertThat(this.uut.getBytes(96, 4))
+        .as("The bytes of the last, partial segment should have been copied")
+        .containsExactly(96, 97, 98, 99);
+    Assertions.assertThat(this.uut.getBytes(32, 0))
+        .as("No bytes should have been copied")
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies a range of bytes past the end of the file is rejected")
+  void testGetBytes2() {
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(IndexOutOfBoundsException.class)
+        .as("A range that runs past the end of the file should have been rejected")
+        .isThrownBy(() -> this.uut.getBytes(90, 11));
+  }
+}
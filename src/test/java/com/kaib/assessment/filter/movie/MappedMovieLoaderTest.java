@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Performs automated tests on the {@code MappedMovieLoader} class and the scanner behind it.
+ *
+ * @author jkaib
+ */
+final class MappedMovieLoaderTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The test file that doesn't contain a valid JSON structure. */
+  private static final Path INVALID_MOVIES_PATH =
+      Path.of("", "src/test/resources/InvalidMovies.json");
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  /** The loader whose results the unit under test must match. */
+  private JsonMovieLoader referenceLoader;
+
+  /** The unit under test. */
+  private MappedMovieLoader uut;
+
+  /** Sets the test fixture up prior to each test. */
+  @BeforeEach
+  void setUp() {
+    this.referenceLoader = new JsonMovieLoader(new Gson());
+    this.uut = new MappedMovieLoader();
+  }
+
+  @Test
+  @DisplayName("Verifies the mapped movies match the streamed movies")
+  void testLoad1() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds = this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> true);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(SAMPLE_MOVIES_PATH, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The mapped movies didn't match the streamed movies")
+        .hasSize(13)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies accepted by the year filter are loaded")
+  void testLoad2() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds =
+        this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Act.
+    final Set<Movie> actuals =
+        this.uut.load(SAMPLE_MOVIES_PATH, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movies released in the 1980s should have been loaded")
+        .hasSize(4)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies escapes, unicode, nulls, and unknown fields are bound like Gson does")
+  void testLoad3() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("edge-cases.json");
+    Files.writeString(
+        testFilePath,
+        "[ {\"year\":\"1984\",\"title\":\"Tab\\there \\u00e9t\\u00E9 \\\"q\\\" \\\\ \\/\","
+            + "\"extra\":{\"nested\":[\"]\",\"}\"]},\"cast\":[\"Gérard\",null,7,true],"
+            + "\"genres\":null},\r\n null,\n"
+            + "{\"title\":\"No Year\",\"cast\":[],\"year\":1.984E3,\"title\":\"Last Wins\"},"
+            + "{}]",
+        StandardCharsets.UTF_8);
+    final Set<Movie> expecteds = this.referenceLoader.load(testFilePath, year -> year > 0);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> year > 0);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The edge cases weren't bound the same way Gson binds them")
+        .hasSize(2)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies the scanner reads movies that span the segments of the mapped file")
+  void testLoad4() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds = this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> true);
+    final MappedFile testMappedFile = MappedFile.map(SAMPLE_MOVIES_PATH, 4);
+    final Set<Movie> actuals = new LinkedHashSet<>();
+
+    // Act.
+    new MappedMovieScanner(testMappedFile, 0, testMappedFile.size(), new SymbolTable())
+        .scanArray(year -> true, actuals::add);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies read across 16 byte segments didn't match the streamed movies")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when the file isn't a JSON array")
+  void testLoad5() {
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when the file wasn't a JSON array")
+        .isThrownBy(() -> this.uut.load(INVALID_MOVIES_PATH, year -> true))
+        .withMessage("Expected '[' at byte offset 0");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when the file ends prematurely")
+  void testLoad6() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("truncated.json");
+    Files.writeString(testFilePath, "[{\"title\": \"Gremlins\", \"year\": 19");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when the file was truncated")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true))
+        .withMessageStartingWith("Unexpected end of input");
+  }
+
+  @Test
+  @DisplayName("Verifies a year filter is required")
+  void testLoad7() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the year filter was null")
+        .isThrownBy(() -> this.uut.load(SAMPLE_MOVIES_PATH, null))
+        .withMessage("The year filter can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when content follows the array")
+  void testLoad8() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("trailing.json");
+    Files.writeString(testFilePath, "[{\"title\": \"Gremlins\", \"year\": 1984}] \n garbage {");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when content followed the array")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true))
+        .withMessageStartingWith("Expected end of input");
+  }
+}
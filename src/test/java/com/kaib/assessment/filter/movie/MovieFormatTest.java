@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code MovieFormat} enumeration.
+ *
+ * @author jkaib
+ */
+final class MovieFormatTest {
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  @ParameterizedTest
+  @EnumSource(MovieFormat.class)
+  @DisplayName("Verifies each movie format is selected by its command-line name")
+  void testFromName1(final MovieFormat expected) {
+
+    // Act.
+    final MovieFormat actual = MovieFormat.fromName(expected.getFormatName());
+
+    // Assert.
+    Assertions.assertThat(actual).as("The wrong movie format was selected").isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies an unknown command-line name is rejected")
+  void testFromName2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An IllegalArgumentException should have been thrown for an unknown format name")
+        .isThrownBy(() -> MovieFormat.fromName("xml"))
+        .withMessage("Unknown movie format 'xml', expected one of json, ndjson, snapshot");
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "movies.json, JSON",
+    "movies, JSON",
+    "movies.ndjson, NDJSON",
+    "MOVIES.NDJSON, NDJSON",
+    "data/movies.jsonl, NDJSON",
+    "movies.mfs, SNAPSHOT"
+  })
+  @DisplayName("Verifies the movie format is implied by the file extension")
+  void testFromPath1(final String testFileName, final MovieFormat expected) {
+
+    // Act.
+    final MovieFormat actual = MovieFormat.fromPath(Path.of(testFileName));
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The wrong movie format was implied by " + testFileName)
+        .isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies a snapshot is detected by its contents rather than its extension")
+  void testDetect1() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.json");
+    new SnapshotMovieWriter().write(List.of(), testFilePath);
+
+    // Act.
+    final MovieFormat actual = MovieFormat.detect(testFilePath);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The snapshot should have been detected by its magic number")
+        .isEqualTo(MovieFormat.SNAPSHOT);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "src/test/resources/SampleMovies.json, JSON",
+    "src/test/resources/SampleMovies.ndjson, NDJSON",
+    "src/test/resources/missing.ndjson, NDJSON"
+  })
+  @DisplayName("Verifies the format of any other file is implied by its extension")
+  void testDetect2(final String testFileName, final MovieFormat expected) {
+
+    // Act.
+    final MovieFormat actual = MovieFormat.detect(Path.of("", testFileName));
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The wrong movie format was detected for " + testFileName)
+        .isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @EnumSource(MovieFormat.class)
+  @DisplayName("Verifies each movie format creates a loader and a writer")
+  void testCreateLoaderAndWriter1(final MovieFormat testFormat) {
+
+    // Act.
+    final MovieLoader actualLoader = testFormat.createLoader(InputEngine.STREAM, new Gson());
+    final MovieWriter actualWriter = testFormat.createWriter(new Gson());
+
+    // Assert.
+    Assertions.assertThat(actualLoader).as("The movie format didn't create a loader").isNotNull();
+    Assertions.assertThat(actualWriter).as("The movie format didn't create a writer").isNotNull();
+  }
+}
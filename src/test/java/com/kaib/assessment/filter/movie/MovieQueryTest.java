@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code MovieQuery} class.
+ *
+ * @author jkaib
+ */
+final class MovieQueryTest {
+
+  /** The store containing the test movie. */
+  private MovieStore testStore;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final var testMovie = new Movie();
+    testMovie.setTitle("Ghostbusters II");
+    testMovie.setYear(1989);
+    testMovie.setGenres(new String[] {"Comedy", "Fantasy"});
+    testMovie.setCast(new String[] {"Bill Murray", "Sigourney Weaver"});
+    this.testStore = MovieStore.of(List.of(testMovie));
+  }
+
+  @Test
+  @DisplayName("Verifies each predicate is checked against a movie")
+  void testTest1() {
+
+    // Act and assert.
+    Assertions.assertThat(MovieQuery.decade(1980).test(this.testStore, 0))
+        .as("The movie was released in the 1980s")
+        .isTrue();
+    Assertions.assertThat(MovieQuery.yearRange(1990, 1999).test(this.testStore, 0))
+        .as("The movie wasn't released in the 1990s")
+        .isFalse();
+    Assertions.assertThat(
+            MovieQuery.genres(GenreMatch.ALL, "Comedy", "Horror").test(this.testStore, 0))
+        .as("The movie isn't a horror movie")
+        .isFalse();
+    Assertions.assertThat(
+            MovieQuery.genres(GenreMatch.ANY, "Comedy", "Horror").test(this.testStore, 0))
+        .as("The movie is a comedy")
+        .isTrue();
+    Assertions.assertThat(
+            MovieQuery.castMember("BILL MURRAY", NameMatch.IGNORE_CASE).test(this.testStore, 0))
+        .as("Bill Murray appeared in the movie")
+        .isTrue();
+    Assertions.assertThat(
+            MovieQuery.castMember("bill murray", NameMatch.EXACT).test(this.testStore, 0))
+        .as("The name is spelled differently")
+        .isFalse();
+    Assertions.assertThat(MovieQuery.title("ghostb", TitleMatch.PREFIX).test(this.testStore, 0))
+        .as("A word of the title begins with the prefix")
+        .isTrue();
+    Assertions.assertThat(MovieQuery.title("ghostb", TitleMatch.TOKEN).test(this.testStore, 0))
+        .as("No word of the title is the prefix")
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies compound queries combine their operands")
+  void testTest2() {
+
+    // Arrange.
+    final MovieQuery comedy = MovieQuery.genres(GenreMatch.ANY, "Comedy");
+    final MovieQuery nineties = MovieQuery.decade(1990);
+
+    // Act and assert.
+    Assertions.assertThat(MovieQuery.and(comedy, nineties).test(this.testStore, 0))
+        .as("The comedy wasn't released in the 1990s")
+        .isFalse();
+    Assertions.assertThat(MovieQuery.or(comedy, nineties).test(this.testStore, 0))
+        .as("The movie is a comedy")
+        .isTrue();
+    Assertions.assertThat(MovieQuery.and(comedy, MovieQuery.not(nineties)).test(this.testStore, 0))
+        .as("The comedy wasn't released in the 1990s")
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("Verifies nested conjunctions are flattened")
+  void testConjuncts1() {
+
+    // Arrange.
+    final MovieQuery comedy = MovieQuery.genres(GenreMatch.ANY, "Comedy");
+    final MovieQuery eighties = MovieQuery.decade(1980);
+    final MovieQuery murray = MovieQuery.castMember("Bill Murray", NameMatch.EXACT);
+    final MovieQuery uut = MovieQuery.and(comedy, MovieQuery.and(eighties, murray));
+
+    // Act.
+    final var actuals = uut.conjuncts();
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Every operand of the nested conjunctions should have been a conjunct")
+        .containsExactly(comedy, eighties, murray);
+  }
+
+  @Test
+  @DisplayName("Verifies a query is rendered as text")
+  void testToString1() {
+
+    // Arrange.
+    final MovieQuery uut =
+        MovieQuery.and(
+            MovieQuery.decade(1980),
+            MovieQuery.or(
+                MovieQuery.genres(GenreMatch.ALL, "Comedy", "Horror"),
+                MovieQuery.not(MovieQuery.title("Ghost", TitleMatch.PREFIX))));
+
+    // Act.
+    final String actual = uut.toString();
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("Every predicate should have been rendered")
+        .isEqualTo(
+            "(year BETWEEN 1980 AND 1989 AND (genres ALL [Comedy, Horror] OR NOT title PREFIX"
+                + " 'Ghost'))");
+  }
+
+  @Test
+  @DisplayName("Verifies invalid predicates are rejected")
+  void testValidation1() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("A year that doesn't begin a decade should have been rejected")
+        .isThrownBy(() -> MovieQuery.decade(1985));
+    Assertions.assertThatIllegalArgumentException()
+        .as("A reversed range should have been rejected")
+        .isThrownBy(() -> MovieQuery.yearRange(1990, 1980));
+    Assertions.assertThatIllegalArgumentException()
+        .as("A genre query without genres should have been rejected")
+        .isThrownBy(() -> MovieQuery.genres(GenreMatch.ANY));
+    Assertions.assertThatIllegalArgumentException()
+        .as("A conjunction without operands should have been rejected")
+        .isThrownBy(() -> MovieQuery.and());
+  }
+}
@@ -16,9 +16,23 @@
 package com.kaib.assessment.filter.movie;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -189,4 +203,910 @@ final class MovieRepositoryTest {
         .as("No results should have been returned")
         .containsExactlyInAnyOrder(expecteds);
   }
+
+  @Test
+  @DisplayName("Verifies a result set can't be changed, so it can't affect later results")
+  void testFindByDecade5() {
+
+    // Arrange.
+    final int testDecade = 2000;
+    final Set<Movie> earlierActuals = this.uut.findByDecade(testDecade);
+
+    // Act.
+    final Throwable thrown = Assertions.catchThrowable(earlierActuals::clear);
+    final Set<Movie> actuals = this.uut.findByDecade(testDecade);
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("Clearing a result should have been rejected")
+        .isInstanceOf(UnsupportedOperationException.class);
+    Assertions.assertThat(actuals)
+        .as("Clearing an earlier result shouldn't have changed the repository")
+        .containsExactlyInAnyOrder(this.testMovie2, this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies each decade is looked up independently of its neighbors")
+  void testFindByDecade6() {
+
+    // Act.
+    final Set<Movie> actuals1990s = this.uut.findByDecade(1990);
+    final Set<Movie> actuals2010s = this.uut.findByDecade(2010);
+
+    // Assert.
+    Assertions.assertThat(actuals1990s)
+        .as("Only the movie released in 1999 should have been returned")
+        .containsExactly(this.testMovie1);
+    Assertions.assertThat(actuals2010s)
+        .as("Only the movie released in 2010 should have been returned")
+        .containsExactly(this.testMovie4);
+  }
+
+  @Test
+  @DisplayName("Verifies changing a supplied movie in place doesn't change the repository")
+  void testFindByDecade7() {
+
+    // Arrange.
+    this.testMovie1.setYear(2012);
+
+    // Act.
+    final Set<Movie> actuals1990s = this.uut.findByDecade(1990);
+    final Set<Movie> actuals2010s = this.uut.findByDecade(2010);
+
+    // Assert.
+    Assertions.assertThat(actuals1990s)
+        .as("The movie should have been returned as it was supplied")
+        .extracting(Movie::getYear)
+        .containsExactly(this.testMovie1ReleaseYear);
+    Assertions.assertThat(actuals2010s)
+        .as("The changed movie shouldn't have moved to another decade")
+        .containsExactly(this.testMovie4);
+    actuals1990s.iterator().next().setYear(2012);
+    Assertions.assertThat(this.uut.findByDecade(1990))
+        .as("Changing a returned movie shouldn't have changed the repository either")
+        .extracting(Movie::getYear)
+        .containsExactly(this.testMovie1ReleaseYear);
+  }
+
+  @Test
+  @DisplayName("Verifies the movies released in a range of years are returned ordered by year")
+  void testFindByYearRange1() {
+
+    // Act.
+    final List<Movie> actuals = this.uut.findByYearRange(1999, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies released from 1999 through 2009 should have been returned by year")
+        .containsExactly(this.testMovie1, this.testMovie2, this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies a range that contains no movies returns an empty result")
+  void testFindByYearRange2() {
+
+    // Act.
+    final List<Movie> actuals = this.uut.findByYearRange(2001, 2008);
+
+    // Assert.
+    Assertions.assertThat(actuals).as("No movies were released from 2001 through 2008").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies a range whose bounds are reversed is rejected")
+  void testFindByYearRange3() {
+
+    // Act.
+    final Throwable thrown = Assertions.catchThrowable(() -> this.uut.findByYearRange(2010, 2000));
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("A range whose first year follows its last year should have been rejected")
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The first year of the range can't follow the last year");
+  }
+
+  @Test
+  @DisplayName("Verifies the result of a range query can't be modified")
+  void testFindByYearRange4() {
+
+    // Arrange.
+    final List<Movie> actuals = this.uut.findByYearRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    // Act.
+    final Throwable thrown = Assertions.catchThrowable(actuals::clear);
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("The result should have been an unmodifiable view")
+        .isInstanceOf(UnsupportedOperationException.class);
+    Assertions.assertThat(actuals)
+        .as("The widest possible range should have contained every movie")
+        .containsExactly(this.testMovie1, this.testMovie2, this.testMovie3, this.testMovie4);
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies released in a single year are returned")
+  void testFindByYear1() {
+
+    // Act.
+    final List<Movie> actuals = this.uut.findByYear(2000);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movie released in 2000 should have been returned")
+        .containsExactly(this.testMovie2);
+  }
+
+  @Test
+  @DisplayName("Verifies the movies in a decade that match every genre are returned")
+  void testFindByGenresInDecade1() {
+
+    // Arrange.
+    this.testMovie1.setGenres(new String[] {"Comedy", "Horror"});
+    this.testMovie2.setGenres(new String[] {"Comedy", "Horror"});
+    this.testMovie3.setGenres(new String[] {"Comedy"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actuals =
+        this.uut.findByGenresInDecade(Set.of("Comedy", "Horror"), GenreMatch.ALL, 2000);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the comedy horror movie released in the 2000s should have been returned")
+        .containsExactly(this.testMovie2);
+  }
+
+  @Test
+  @DisplayName("Verifies the movies in a range of years that match any genre are returned")
+  void testFindByGenresInYearRange1() {
+
+    // Arrange.
+    this.testMovie1.setGenres(new String[] {"Horror"});
+    this.testMovie2.setGenres(new String[] {"Drama"});
+    this.testMovie3.setGenres(new String[] {"Comedy"});
+    this.testMovie4.setGenres(new String[] {"Comedy"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actuals =
+        this.uut.findByGenresInYearRange(Set.of("Comedy", "Horror"), GenreMatch.ANY, 1999, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The comedies and horror movies released from 1999 through 2009 should be returned")
+        .containsExactlyInAnyOrder(this.testMovie1, this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies at least one genre is required")
+  void testFindByGenresInYearRange2() {
+
+    // Act.
+    final Throwable thrown =
+        Assertions.catchThrowable(
+            () -> this.uut.findByGenresInYearRange(Set.of(), GenreMatch.ALL, 1999, 2009));
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("A query without genres should have been rejected")
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("At least one genre is required");
+  }
+
+  @Test
+  @DisplayName("Verifies every movie a cast member appeared in is returned")
+  void testFindByCastMember1() {
+
+    // Arrange.
+    this.testMovie1.setCast(new String[] {"Bill Murray"});
+    this.testMovie3.setCast(new String[] {"bill murray", "Dan Aykroyd"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actualsExact = this.uut.findByCastMember("Bill Murray", NameMatch.EXACT);
+    final List<Movie> actualsIgnoringCase =
+        this.uut.findByCastMember("Bill Murray", NameMatch.IGNORE_CASE);
+
+    // Assert.
+    Assertions.assertThat(actualsExact)
+        .as("Only the movie listing the exact name should have been returned")
+        .containsExactly(this.testMovie1);
+    Assertions.assertThat(actualsIgnoringCase)
+        .as("Both spellings of the name should have been matched")
+        .containsExactlyInAnyOrder(this.testMovie1, this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies a cast member's movies are restricted to a range of years")
+  void testFindByCastMemberInYearRange1() {
+
+    // Arrange.
+    this.testMovie2.setCast(new String[] {"Bill Murray"});
+    this.testMovie4.setCast(new String[] {"Bill Murray"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actuals =
+        this.uut.findByCastMemberInYearRange("Bill Murray", NameMatch.EXACT, 2000, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movie released in the 2000s should have been returned")
+        .containsExactly(this.testMovie2);
+  }
+
+  @Test
+  @DisplayName("Verifies a cast member's movies are restricted to genres and a range of years")
+  void testFindByCastMemberAndGenresInYearRange1() {
+
+    // Arrange.
+    this.testMovie1.setCast(new String[] {"Bill Murray"});
+    this.testMovie1.setGenres(new String[] {"Comedy"});
+    this.testMovie2.setCast(new String[] {"Bill Murray"});
+    this.testMovie2.setGenres(new String[] {"Drama"});
+    this.testMovie3.setCast(new String[] {"Bill Murray"});
+    this.testMovie3.setGenres(new String[] {"Comedy"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actuals =
+        this.uut.findByCastMemberAndGenresInYearRange(
+            "Bill Murray", NameMatch.EXACT, Set.of("Comedy"), GenreMatch.ANY, 2000, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the comedy released in the 2000s should have been returned")
+        .containsExactly(this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies movies are found by the beginning of a word in their titles")
+  void testFindByTitle1() {
+
+    // Arrange.
+    this.testMovie1.setTitle("The Matrix");
+    this.testMovie2.setTitle("The Matrix Reloaded");
+    this.testMovie3.setTitle("Mad Max");
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final List<Movie> actuals = this.uut.findByTitle("matr", TitleMatch.PREFIX, 10);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The shorter of the matching titles should have ranked first")
+        .containsExactly(this.testMovie1, this.testMovie2);
+  }
+
+  @Test
+  @DisplayName("Verifies the limit of a title search must be positive")
+  void testFindByTitle2() {
+
+    // Act.
+    final Throwable thrown =
+        Assertions.catchThrowable(() -> this.uut.findByTitle("matrix", TitleMatch.TOKEN, 0));
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("A search without room for results should have been rejected")
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The limit must be positive");
+  }
+
+  @Test
+  @DisplayName("Verifies a composite query is answered with its plan")
+  void testQuery1() {
+
+    // Arrange.
+    this.testMovie2.setGenres(new String[] {"Comedy"});
+    this.testMovie4.setGenres(new String[] {"Comedy"});
+    this.uut = new MovieRepository(this.testMovies);
+    final MovieQuery query =
+        MovieQuery.and(MovieQuery.decade(2000), MovieQuery.genres(GenreMatch.ANY, "Comedy"));
+
+    // Act.
+    final QueryResult actual = this.uut.query(query);
+
+    // Assert.
+    Assertions.assertThat(actual.getMovies())
+        .as("Only the comedy released in the 2000s should have been found")
+        .containsExactly(this.testMovie2);
+    Assertions.assertThat(actual.explain().getAccessPath())
+        .as("An index should have found the candidates")
+        .isNotEqualTo(AccessPath.FULL_SCAN);
+  }
+
+  @Test
+  @DisplayName("Verifies a repository runs directly on a columnar store")
+  void testFromStore1() {
+
+    // Arrange.
+    this.testMovie3.setGenres(new String[] {"Comedy"});
+    final MovieStore testStore = MovieStore.of(this.testMovies);
+    this.uut = MovieRepository.fromStore(testStore);
+
+    // Act.
+    final Set<Movie> actualsByDecade = this.uut.findByDecade(2000);
+    final List<Movie> actualsByGenre =
+        this.uut.findByGenresInYearRange(Set.of("Comedy"), GenreMatch.ANY, 2000, 2009);
+
+    // Assert.
+    Assertions.assertThat(actualsByDecade)
+        .as("Movies equal to the stored ones should have been materialized")
+        .containsExactlyInAnyOrder(this.testMovie2, this.testMovie3);
+    Assertions.assertThat(actualsByGenre)
+        .as("The genre index should have been built from the store")
+        .containsExactly(this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies a store-backed repository requires at least one movie")
+  void testFromStore2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An empty store should have been rejected")
+        .isThrownBy(() -> MovieRepository.fromStore(MovieStore.of(Set.of())))
+        .withMessage("The respository requires at least one movie");
+  }
+
+  @Test
+  @DisplayName("Verifies an off-heap repository finds flyweight views of a year range")
+  void testFindViewsByYearRange1() {
+
+    // Arrange.
+    this.uut = MovieRepository.fromStore(MovieStore.offHeap(this.testMovies));
+
+    // Act.
+    final List<MovieView> actuals = this.uut.findViewsByYearRange(2000, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies released in the range should have been viewed in order of year")
+        .extracting(MovieView::toMovie)
+        .containsExactly(this.testMovie2, this.testMovie3);
+    Assertions.assertThat(this.uut.findByYearRange(2000, 2009))
+        .as("The views should have matched the materialized movies")
+        .containsExactly(this.testMovie2, this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies a parallel scan setting is required by the repository")
+  void testMovieRepository1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A null setting should have been rejected")
+        .isThrownBy(() -> new MovieRepository(this.testMovies, null))
+        .withMessage("The parallel scan setting can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a decade is paged through in a stable order by its next offsets")
+  void testFindPageByDecade1() {
+
+    // Arrange.
+    final int testDecade = 2000;
+
+    // Act.
+    final MoviePage actualFirst = this.uut.findPageByDecade(testDecade, 0, 1);
+    final MoviePage actualSecond =
+        this.uut.findPageByDecade(testDecade, actualFirst.getNextOffset(), 1);
+
+    // Assert.
+    Assertions.assertThat(actualFirst.getMovies())
+        .as("The earlier movie of the decade should have been on the first page")
+        .containsExactly(this.testMovie2);
+    Assertions.assertThat(actualFirst.hasNextPage())
+        .as("The first page should have been followed by another")
+        .isTrue();
+    Assertions.assertThat(actualSecond.getMovies())
+        .as("The later movie of the decade should have been on the second page")
+        .containsExactly(this.testMovie3);
+    Assertions.assertThat(actualSecond.hasNextPage())
+        .as("The second page should have been the last")
+        .isFalse();
+    Assertions.assertThat(actualSecond.getTotalCount())
+        .as("Every page should have counted the whole decade")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies a page past the end of a decade is empty")
+  void testFindPageByDecade2() {
+
+    // Act.
+    final MoviePage actual = this.uut.findPageByDecade(2000, 5, Integer.MAX_VALUE);
+
+    // Assert.
+    Assertions.assertThat(actual.getMovies()).as("No movies should have been returned").isEmpty();
+    Assertions.assertThat(actual.getOffset())
+        .as("The offset should have been clamped to the end of the decade")
+        .isEqualTo(2);
+    Assertions.assertThat(actual.hasNextPage()).as("No page should have followed").isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies a page requires a non-negative offset and a positive limit")
+  void testFindPageByDecade3() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("A negative offset should have been rejected")
+        .isThrownBy(() -> this.uut.findPageByDecade(2000, -1, 10))
+        .withMessage("The offset can't be negative");
+    Assertions.assertThatIllegalArgumentException()
+        .as("A page without room for movies should have been rejected")
+        .isThrownBy(() -> this.uut.findPageByDecade(2000, 0, 0))
+        .withMessage("The limit must be positive");
+  }
+
+  @Test
+  @DisplayName("Verifies a following page is rejected once the movies have changed")
+  void testFindPageByDecade4() {
+
+    // Arrange.
+    final MoviePage testFirst = this.uut.findPageByDecade(2000, 0, 1);
+
+    // Act.
+    final MoviePage actual =
+        this.uut.findPageByDecade(2000, testFirst.getNextOffset(), 1, testFirst.getVersion());
+
+    // Assert.
+    Assertions.assertThat(testFirst.getVersion())
+        .as("The page should have recorded the version it was cut from")
+        .isEqualTo(this.uut.getVersion());
+    Assertions.assertThat(actual.getMovies())
+        .as("The following page of the same version should have been returned")
+        .containsExactly(this.testMovie3);
+    this.uut.compact();
+    Assertions.assertThat(
+            this.uut.findPageByDecade(2000, 0, 1, testFirst.getVersion()).getMovies())
+        .as("A compaction shouldn't have changed the version")
+        .containsExactly(this.testMovie2);
+    this.uut.insert(new Movie(null, null, "Prequel", 2000));
+    Assertions.assertThatIllegalStateException()
+        .as("A page of an earlier version should have been rejected")
+        .isThrownBy(
+            () ->
+                this.uut.findPageByDecade(
+                    2000, testFirst.getNextOffset(), 1, testFirst.getVersion()))
+        .withMessage("The movies have changed since the page was requested");
+  }
+
+  @Test
+  @DisplayName("Verifies the movies of a decade are counted from the year index")
+  void testCountByDecade1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.countByDecade(2000))
+        .as("The two movies released in the 2000s should have been counted")
+        .isEqualTo(2);
+    Assertions.assertThat(this.uut.countByDecade(1950))
+        .as("No movies should have been counted for an empty decade")
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("Verifies each year of a range is counted")
+  void testHistogramByYear1() {
+
+    // Act.
+    final Map<Integer, Integer> actuals = this.uut.histogramByYear(1999, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Each year in the range in which a movie was released should have been counted")
+        .containsExactly(Map.entry(1999, 1), Map.entry(2000, 1), Map.entry(2009, 1));
+  }
+
+  @Test
+  @DisplayName("Verifies the genres of a decade's movies are counted")
+  void testGenreCountsByDecade1() {
+
+    // Arrange.
+    this.testMovie1.setGenres(new String[] {"Comedy"});
+    this.testMovie2.setGenres(new String[] {"Comedy", "Drama"});
+    this.testMovie3.setGenres(new String[] {"Drama"});
+    this.uut = new MovieRepository(this.testMovies);
+
+    // Act.
+    final Map<String, Integer> actuals = this.uut.genreCountsByDecade(2000);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the genres of the movies released in the 2000s should have been counted")
+        .containsExactly(Map.entry("Comedy", 1), Map.entry("Drama", 2));
+  }
+
+  @Test
+  @DisplayName("Verifies an inserted movie is found without changing an earlier snapshot")
+  void testInsert1() {
+
+    // Arrange.
+    final var testMovie = new Movie(null, null, "Sequel", 2005);
+    final Set<Movie> earlierSnapshot = this.uut.snapshot();
+
+    // Act.
+    final boolean actual = this.uut.insert(testMovie);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The new movie should have been inserted").isTrue();
+    Assertions.assertThat(this.uut.findByDecade(2000))
+        .as("The inserted movie should have been indexed by year")
+        .containsExactlyInAnyOrder(this.testMovie2, testMovie, this.testMovie3);
+    Assertions.assertThat(this.uut.findByTitle("sequel", TitleMatch.TOKEN, 10))
+        .as("The inserted movie should have been indexed by title")
+        .containsExactly(testMovie);
+    Assertions.assertThat(earlierSnapshot)
+        .as("A snapshot taken before the insert shouldn't have changed")
+        .hasSize(4)
+        .doesNotContain(testMovie);
+  }
+
+  @Test
+  @DisplayName("Verifies a movie already in the repository isn't inserted again")
+  void testInsert2() {
+
+    // Act.
+    final boolean actual = this.uut.insert(this.testMovie2);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The movie was already present").isFalse();
+    Assertions.assertThat(this.uut.snapshot())
+        .as("The repository shouldn't have changed")
+        .containsExactlyInAnyOrderElementsOf(this.testMovies);
+  }
+
+  @Test
+  @DisplayName("Verifies a batch inserted into an off-heap repository is found")
+  void testInsertAll1() {
+
+    // Arrange.
+    this.uut = MovieRepository.fromStore(MovieStore.offHeap(this.testMovies));
+    final List<Movie> testBatch =
+        List.of(
+            new Movie(null, new String[] {"Drama"}, "First", 2001),
+            new Movie(null, new String[] {"Drama"}, "Second", 2002),
+            this.testMovie3);
+
+    // Act.
+    final int actual = this.uut.insertAll(testBatch);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("Only the movies that weren't present should have been inserted")
+        .isEqualTo(2);
+    Assertions.assertThat(this.uut.findViewsByYearRange(2001, 2002))
+        .as("The batch should have been stored in order")
+        .extracting(MovieView::getTitle)
+        .containsExactly("First", "Second");
+    Assertions.assertThat(this.uut.genreCountsByDecade(2000))
+        .as("The batch should have been indexed by genre")
+        .containsExactly(Map.entry("Drama", 2));
+  }
+
+  @Test
+  @DisplayName("Verifies lookups during writes see every effect of each write or none of them")
+  void testInsertAll2() throws Exception {
+
+    // Arrange.
+    final List<Movie> testBatch =
+        IntStream.range(0, 10)
+            .mapToObj(i -> new Movie(null, null, "Sequel " + i, 2005))
+            .collect(Collectors.toList());
+    final Set<Movie> before = Set.of(this.testMovie2, this.testMovie3);
+    final Set<Movie> after = new HashSet<>(testBatch);
+    after.addAll(before);
+    final var lookups = new AtomicInteger();
+    final var torn = new AtomicInteger();
+    final var writing = new AtomicBoolean(true);
+    final ExecutorService readers = Executors.newFixedThreadPool(4);
+
+    try {
+      final var results = new ArrayList<Future<?>>();
+      for (var i = 0; i < 4; i++) {
+        results.add(
+            readers.submit(
+                () -> {
+                  while (writing.get()) {
+                    final Set<Movie> actuals = new HashSet<>(this.uut.findByDecade(2000));
+                    final int totalCount = this.uut.findPageByDecade(2000, 0, 5).getTotalCount();
+                    if ((!actuals.equals(before) && !actuals.equals(after))
+                        || (totalCount != before.size() && totalCount != after.size())) {
+                      torn.incrementAndGet();
+                    }
+                    lookups.incrementAndGet();
+                  }
+                }));
+      }
+
+      // Act.
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (lookups.get() < 10_000 && System.nanoTime() < deadline) {
+        this.uut.insertAll(testBatch);
+        this.uut.deleteAll(testBatch);
+      }
+      writing.set(false);
+      for (final Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      readers.shutdownNow();
+    }
+
+    // Assert.
+    Assertions.assertThat(lookups.get()).as("The readers should have run").isPositive();
+    Assertions.assertThat(torn.get())
+        .as("No lookup should have seen part of a write")
+        .isZero();
+    Assertions.assertThat(this.uut.findByDecade(2000))
+        .as("Every inserted movie should have been deleted")
+        .containsExactlyInAnyOrderElementsOf(before);
+  }
+
+  @Test
+  @DisplayName("Verifies a movie is replaced by its revision")
+  void testUpdate1() {
+
+    // Arrange.
+    final var testRevision = new Movie(null, null, "Revised", 2005);
+
+    // Act.
+    final boolean actual = this.uut.update(this.testMovie2, testRevision);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The movie should have been replaced").isTrue();
+    Assertions.assertThat(this.uut.findByDecade(2000))
+        .as("The revision should have been indexed in place of the movie")
+        .containsExactlyInAnyOrder(testRevision, this.testMovie3);
+    Assertions.assertThat(this.uut.update(this.testMovie2, testRevision))
+        .as("A movie that isn't present can't be replaced")
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies a movie can't be replaced by another movie in the repository")
+  void testUpdate2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("The revision would have duplicated another movie")
+        .isThrownBy(() -> this.uut.update(this.testMovie2, this.testMovie3))
+        .withMessage("The revised movie is already in the repository");
+  }
+
+  @Test
+  @DisplayName("Verifies a deleted movie is no longer found")
+  void testDelete1() {
+
+    // Act.
+    final boolean actual = this.uut.delete(this.testMovie3);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The movie should have been deleted").isTrue();
+    Assertions.assertThat(this.uut.findByDecade(2000))
+        .as("The deleted movie should have been removed from the year index")
+        .containsExactly(this.testMovie2);
+    Assertions.assertThat(this.uut.delete(this.testMovie3))
+        .as("A movie that isn't present can't be deleted")
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies a batch that would delete every movie is rejected")
+  void testDeleteAll1() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("The repository would have been left without a movie")
+        .isThrownBy(() -> this.uut.deleteAll(this.testMovies))
+        .withMessage("The respository requires at least one movie");
+    Assertions.assertThat(this.uut.snapshot())
+        .as("Nothing should have been deleted")
+        .containsExactlyInAnyOrderElementsOf(this.testMovies);
+    Assertions.assertThat(this.uut.getVersion())
+        .as("The rejected batch shouldn't have counted as a write")
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("Verifies every movie but the last can be deleted")
+  void testDeleteAll2() {
+
+    // Arrange.
+    final var testBatch = new HashSet<>(this.testMovies);
+    testBatch.remove(this.testMovie1);
+
+    // Act.
+    final int actual = this.uut.deleteAll(testBatch);
+
+    // Assert.
+    Assertions.assertThat(actual).as("Every other movie should have been deleted").isEqualTo(3);
+    Assertions.assertThat(this.uut.snapshot())
+        .as("Only the last movie should have been left")
+        .containsExactly(this.testMovie1);
+    Assertions.assertThatIllegalArgumentException()
+        .as("The last movie shouldn't have been deleted")
+        .isThrownBy(() -> this.uut.delete(this.testMovie1))
+        .withMessage("The respository requires at least one movie");
+  }
+
+  @Test
+  @DisplayName("Verifies the version counts only the writes that changed the movies")
+  void testGetVersion1() {
+
+    // Act.
+    this.uut.insert(new Movie(null, null, "Sequel", 2005));
+    this.uut.insert(this.testMovie2);
+    this.uut.delete(this.testMovie1);
+
+    // Assert.
+    Assertions.assertThat(this.uut.getVersion())
+        .as("The insert of a movie already present shouldn't have counted")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies every lookup merges the pending writes as a rebuilt repository would")
+  void testCompact1() {
+
+    // Arrange.
+    final var random = new Random(11);
+    final String[] testGenres = {"Drama", "Comedy", "Horror"};
+    final String[] testCast = {"Ann", "Bob", "bob", "Cy"};
+    final List<Movie> testPool =
+        IntStream.range(0, 80)
+            .mapToObj(
+                i ->
+                    new Movie(
+                        new String[] {testCast[i % 4], testCast[i % 3]},
+                        new String[] {testGenres[i % 3]},
+                        (i % 5 == 0 ? "Return of " : "") + "Title " + i,
+                        1995 + random.nextInt(20)))
+            .collect(Collectors.toList());
+    final List<Movie> expecteds = new ArrayList<>(testPool.subList(0, 30));
+    this.uut = MovieRepository.fromStore(MovieStore.of(expecteds));
+    final MovieQuery testQuery =
+        MovieQuery.or(
+            MovieQuery.and(
+                MovieQuery.decade(2000),
+                MovieQuery.not(MovieQuery.genres(GenreMatch.ANY, "Drama"))),
+            MovieQuery.castMember("cy", NameMatch.IGNORE_CASE));
+
+    for (var step = 0; step < 200; step++) {
+      final Movie testMovie = testPool.get(random.nextInt(testPool.size()));
+      final int operation = random.nextInt(10);
+
+      // Act.
+      if (operation < 4) {
+        this.uut.insert(testMovie);
+        if (!expecteds.contains(testMovie)) {
+          expecteds.add(testMovie);
+        }
+      } else if (operation < 7 && expecteds.contains(testMovie)) {
+        final var testRevision =
+            new Movie(null, new String[] {"Drama"}, "Revision " + step, testMovie.getYear() + 1);
+        this.uut.update(testMovie, testRevision);
+        expecteds.set(expecteds.indexOf(testMovie), testRevision);
+      } else if (operation < 9 && expecteds.size() > 1) {
+        this.uut.delete(testMovie);
+        expecteds.remove(testMovie);
+      } else {
+        this.uut.compact();
+      }
+
+      // Assert.
+      final var expected = new MovieRepository(new LinkedHashSet<>(expecteds));
+      Assertions.assertThat(this.uut.snapshot())
+          .as("The movies should have been kept in order after step %d", step)
+          .containsExactlyElementsOf(expecteds);
+      Assertions.assertThat(this.uut.findByYearRange(1990, 2020))
+          .as("The year range should have been merged after step %d", step)
+          .containsExactlyElementsOf(expected.findByYearRange(1990, 2020));
+      Assertions.assertThat(this.uut.findPageByDecade(2000, 3, 4).getMovies())
+          .as("The page should have been cut from the merged decade after step %d", step)
+          .containsExactlyElementsOf(expected.findPageByDecade(2000, 3, 4).getMovies());
+      Assertions.assertThat(this.uut.findByDecade(2000))
+          .as("The decade should have been merged after step %d", step)
+          .containsExactlyElementsOf(expected.findByDecade(2000));
+      Assertions.assertThat(this.uut.countByDecade(2000))
+          .as("The decade should have been counted after step %d", step)
+          .isEqualTo(expected.countByDecade(2000));
+      Assertions.assertThat(this.uut.histogramByYear(1990, 2020))
+          .as("The years should have been counted after step %d", step)
+          .isEqualTo(expected.histogramByYear(1990, 2020));
+      Assertions.assertThat(this.uut.genreCountsByDecade(2000))
+          .as("The genres should have been counted after step %d", step)
+          .isEqualTo(expected.genreCountsByDecade(2000));
+      Assertions.assertThat(
+              this.uut.findByGenresInYearRange(
+                  List.of("Comedy", "Horror"), GenreMatch.ANY, 1995, 2009))
+          .as("The genres should have been matched after step %d", step)
+          .containsExactlyElementsOf(
+              expected.findByGenresInYearRange(
+                  List.of("Comedy", "Horror"), GenreMatch.ANY, 1995, 2009));
+      Assertions.assertThat(
+              this.uut.findByCastMemberAndGenresInYearRange(
+                  "bob", NameMatch.IGNORE_CASE, List.of("Drama"), GenreMatch.ALL, 1995, 2020))
+          .as("The cast member should have been found after step %d", step)
+          .containsExactlyElementsOf(
+              expected.findByCastMemberAndGenresInYearRange(
+                  "bob", NameMatch.IGNORE_CASE, List.of("Drama"), GenreMatch.ALL, 1995, 2020));
+      Assertions.assertThat(this.uut.findByTitle("return t", TitleMatch.PREFIX, 5))
+          .as("The titles should have been ranked together after step %d", step)
+          .containsExactlyElementsOf(expected.findByTitle("return t", TitleMatch.PREFIX, 5));
+      Assertions.assertThat(this.uut.query(testQuery).getMovies())
+          .as("The query should have been merged after step %d", step)
+          .containsExactlyElementsOf(expected.query(testQuery).getMovies());
+    }
+  }
+
+  @Test
+  @DisplayName("Verifies compaction leaves the movies and the version as they were")
+  void testCompact2() {
+
+    // Arrange.
+    final var testRevision = new Movie(null, null, "Revised", 2005);
+    final var testMovie = new Movie(null, null, "Sequel", 2001);
+    this.uut.update(this.testMovie2, testRevision);
+    this.uut.insert(testMovie);
+    this.uut.delete(this.testMovie4);
+    final Set<Movie> earlierSnapshot = this.uut.snapshot();
+    final List<Movie> expecteds = List.copyOf(earlierSnapshot);
+
+    // Act.
+    this.uut.compact();
+
+    // Assert.
+    Assertions.assertThat(this.uut.pendingChanges())
+        .as("Every pending change should have been compacted")
+        .isZero();
+    Assertions.assertThat(this.uut.snapshot())
+        .as("The movies should have kept their order")
+        .containsExactlyElementsOf(expecteds);
+    Assertions.assertThat(earlierSnapshot)
+        .as("The earlier snapshot shouldn't have changed")
+        .containsExactlyElementsOf(expecteds);
+    Assertions.assertThat(this.uut.findByDecade(2000))
+        .as("The revision and the insert should have been indexed in the new base")
+        .containsExactlyInAnyOrder(testMovie, testRevision, this.testMovie3);
+    Assertions.assertThat(this.uut.getVersion())
+        .as("Compaction shouldn't have counted as a write")
+        .isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Verifies the repository compacts itself once enough writes are pending")
+  void testCompact3() {
+
+    // Arrange.
+    final var testPool = new ForkJoinPool(1);
+    this.uut = new MovieRepository(this.testMovies, new ParallelScan(testPool, 1_000));
+    final List<Movie> testBatch =
+        IntStream.range(0, 70)
+            .mapToObj(i -> new Movie(null, null, "Sequel " + i, 2000 + i % 10))
+            .collect(Collectors.toList());
+
+    try {
+      // Act.
+      testBatch.forEach(this.uut::insert);
+      testPool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+      // Assert.
+      Assertions.assertThat(this.uut.pendingChanges())
+          .as("The inserts should have been compacted in the background")
+          .isLessThan(testBatch.size());
+      Assertions.assertThat(this.uut.findByYear(2003))
+          .as("The compacted inserts should have been found")
+          .extracting(Movie::getTitle)
+          .containsExactly(
+              "Sequel 3", "Sequel 13", "Sequel 23", "Sequel 33", "Sequel 43", "Sequel 53",
+              "Sequel 63");
+    } finally {
+      testPool.shutdownNow();
+    }
+  }
 }
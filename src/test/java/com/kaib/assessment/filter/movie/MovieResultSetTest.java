@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code MovieResultSet} class.
+ *
+ * @author jkaib
+ */
+final class MovieResultSetTest {
+
+  /** The test movies, indexed by ordinal. */
+  private Movie[] testMovies;
+
+  /** The number of movies looked up by ordinal. */
+  private int lookups;
+
+  /** The unit under test. */
+  private MovieResultSet uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final String[] testTitles = {"Alien", "Aliens", "Alien 3", "Prometheus"};
+    this.testMovies = new Movie[testTitles.length];
+    for (var i = 0; i < testTitles.length; i++) {
+      this.testMovies[i] = new Movie();
+      this.testMovies[i].setTitle(testTitles[i]);
+    }
+    this.uut =
+        new MovieResultSet(
+            new int[] {2, 0, 3},
+            ordinal -> {
+              this.lookups++;
+              return this.testMovies[ordinal];
+            });
+  }
+
+  @Test
+  @DisplayName("Verifies the set iterates in the order of its ordinals without hashing")
+  void testIterator1() {
+
+    // Act.
+    final List<Movie> actuals = List.copyOf(this.uut);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies should have been read in the order of their ordinals")
+        .containsExactly(this.testMovies[2], this.testMovies[0], this.testMovies[3]);
+    Assertions.assertThat(this.uut.stream().collect(Collectors.toList()))
+        .as("The movies should have been streamed in the order of their ordinals")
+        .isEqualTo(actuals);
+    Assertions.assertThat(this.uut).as("The size should have been the ordinal count").hasSize(3);
+  }
+
+  @Test
+  @DisplayName("Verifies membership tests hash the movies only once")
+  void testContains1() {
+
+    // Act.
+    final boolean actualContained = this.uut.contains(this.testMovies[3]);
+    final boolean actualMissing = this.uut.contains(this.testMovies[1]);
+
+    // Assert.
+    Assertions.assertThat(actualContained).as("A movie in the set should have been found").isTrue();
+    Assertions.assertThat(actualMissing)
+        .as("A movie outside the set shouldn't have been found")
+        .isFalse();
+    Assertions.assertThat(this.lookups)
+        .as("Each movie should have been looked up once for the lookup set")
+        .isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Verifies the set equals any set of the same movies and can't be changed")
+  void testEquals1() {
+
+    // Arrange.
+    final Set<Movie> expected = Set.of(this.testMovies[0], this.testMovies[2], this.testMovies[3]);
+
+    // Act and assert.
+    Assertions.assertThat(this.uut)
+        .as("The set should have equaled a hashed set of the same movies")
+        .isEqualTo(expected)
+        .hasSameHashCodeAs(expected);
+    Assertions.assertThatThrownBy(() -> this.uut.add(this.testMovies[1]))
+        .as("Adding a movie should have been rejected")
+        .isInstanceOf(UnsupportedOperationException.class);
+    Assertions.assertThatThrownBy(() -> this.uut.remove(this.testMovies[0]))
+        .as("Removing a movie should have been rejected")
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
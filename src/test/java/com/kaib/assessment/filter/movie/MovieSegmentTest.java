@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code MovieSegment} class.
+ *
+ * @author jkaib
+ */
+final class MovieSegmentTest {
+
+  /** The test movies, indexed by ordinal. */
+  private Movie[] testMovies;
+
+  /** The unit under test. */
+  private MovieSegment uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.testMovies =
+        new Movie[] {
+          new Movie(null, new String[] {"Drama"}, "Heat", 1995),
+          new Movie(null, new String[] {"Drama"}, "Casino", 1995),
+          new Movie(null, new String[] {"Comedy"}, "Fargo", 1996)
+        };
+    this.uut = MovieSegment.of(List.of(this.testMovies), false, ParallelScan.sequential());
+  }
+
+  @Test
+  @DisplayName("Verifies a movie is found by comparing only the movies released in its year")
+  void testOrdinalOf1() {
+
+    // Act.
+    final int actual =
+        this.uut.ordinalOf(new Movie(null, new String[] {"Drama"}, "Casino", 1995));
+
+    // Assert.
+    Assertions.assertThat(actual).as("The equal movie should have been found").isEqualTo(1);
+    Assertions.assertThat(this.uut.ordinalOf(new Movie(null, null, "Casino", 1995)))
+        .as("A movie that differs only by its genres shouldn't have been found")
+        .isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("Verifies a segment keeps copies of its movies in a store on or off the heap")
+  void testOf1() {
+
+    // Act.
+    final MovieSegment actual =
+        MovieSegment.of(List.of(this.testMovies[2]), true, ParallelScan.sequential());
+    this.testMovies[2].setYear(2001);
+
+    // Assert.
+    Assertions.assertThat(actual.store.isOffHeap())
+        .as("The store should have been moved off the heap")
+        .isTrue();
+    Assertions.assertThat(this.uut.store.isOffHeap())
+        .as("The store should have stayed on the heap")
+        .isFalse();
+    Assertions.assertThat(actual.moviesByOrdinal.apply(0))
+        .as("The movie should have been materialized from the store as it was supplied")
+        .isEqualTo(new Movie(null, new String[] {"Comedy"}, "Fargo", 1996))
+        .isNotSameAs(this.testMovies[2]);
+  }
+
+  @Test
+  @DisplayName("Verifies each index is built once, when it's first used")
+  void testYearIndex1() {
+
+    // Act.
+    final YearIndex actual = this.uut.yearIndex();
+
+    // Assert.
+    Assertions.assertThat(this.uut.yearIndex())
+        .as("The index built by the first use should have been kept")
+        .isSameAs(actual);
+    Assertions.assertThat(this.uut.titleIndex().search("fargo", TitleMatch.TOKEN, 5))
+        .as("The title index should have been built on its first use")
+        .containsExactly(2);
+  }
+
+  @Test
+  @DisplayName("Verifies an off-heap segment finds a movie by comparing its columns")
+  void testOrdinalOf2() {
+
+    // Arrange.
+    final MovieSegment storeSegment =
+        MovieSegment.of(List.of(this.testMovies), true, ParallelScan.sequential());
+
+    // Act.
+    final int actual =
+        storeSegment.ordinalOf(new Movie(null, new String[] {"Drama"}, "Casino", 1995));
+
+    // Assert.
+    Assertions.assertThat(actual).as("The equal movie should have been found").isEqualTo(1);
+    Assertions.assertThat(storeSegment.ordinalOf(new Movie(null, null, "Casino", 1995)))
+        .as("A movie that differs only by its genres shouldn't have been found")
+        .isEqualTo(-1);
+    Assertions.assertThat(storeSegment.ordinalOf(new Movie(null, null, "Casino", 1997)))
+        .as("A movie released in a year without movies shouldn't have been found")
+        .isEqualTo(-1);
+  }
+}
@@ -15,7 +15,12 @@
  */
 package com.kaib.assessment.filter.movie;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -100,4 +105,274 @@ final class MovieServiceTest {
                 + " represent the beginning of a decade")
         .isThrownBy(() -> this.uut.filter(testDecade));
   }
+
+  @Test
+  @DisplayName("Verifies the movie repository is invoked with the genres")
+  void testFilter4() {
+
+    // Arrange.
+    final int testDecade = 1980;
+    final Set<String> testGenres = Set.of("Comedy", "Horror");
+    final List<Movie> expecteds = List.of(this.testMovie);
+    new Expectations() {
+      {
+        mockMovieRepository.findByGenresInDecade(testGenres, GenreMatch.ALL, testDecade);
+        result = expecteds;
+      }
+    };
+
+    // Act.
+    final List<Movie> actuals = this.uut.filter(testDecade, testGenres, GenreMatch.ALL);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies found by the repository should have been returned")
+        .containsExactly(this.testMovie);
+  }
+
+  @Test
+  @DisplayName("Verifies the decade of a genre query must represent a decade")
+  void testFilter5() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An IllegalArgumentException should have been thrown for a year within a decade")
+        .isThrownBy(() -> this.uut.filter(1985, Set.of("Comedy"), GenreMatch.ANY));
+  }
+
+  @Test
+  @DisplayName("Verifies a query is run by the movie repository")
+  void testQuery1() {
+
+    // Arrange.
+    final MovieQuery testQuery = MovieQuery.decade(1980);
+    final QueryResult expected =
+        new QueryResult(List.of(this.testMovie), new QueryPlan(AccessPath.YEAR_INDEX, List.of()));
+    new Expectations() {
+      {
+        mockMovieRepository.query(testQuery);
+        result = expected;
+      }
+    };
+
+    // Act.
+    final QueryResult actual = this.uut.query(testQuery);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The result of the repository should have been returned")
+        .isSameAs(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies a page of a decade is found by the movie repository")
+  void testFilter6() {
+
+    // Arrange.
+    final int testDecade = 1980;
+    final MoviePage expected = new MoviePage(List.of(this.testMovie), 100, 101, 0);
+    new Expectations() {
+      {
+        mockMovieRepository.findPageByDecade(testDecade, 100, 100);
+        result = expected;
+      }
+    };
+
+    // Act.
+    final MoviePage actual = this.uut.filter(testDecade, 100, 100);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The page found by the repository should have been returned")
+        .isSameAs(expected);
+    Assertions.assertThat(actual.hasNextPage()).as("The page should have been the last").isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies a decade is streamed from the years of the decade")
+  void testStream1() {
+
+    // Arrange.
+    final int testDecade = 1980;
+    new Expectations() {
+      {
+        mockMovieRepository.findByYearRange(1980, 1989);
+        result = List.of(testMovie);
+      }
+    };
+
+    // Act.
+    final List<Movie> actuals = this.uut.stream(testDecade).collect(Collectors.toList());
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies of the decade should have been streamed")
+        .containsExactly(this.testMovie);
+  }
+
+  @Test
+  @DisplayName("Verifies the decade of a stream must represent a decade")
+  void testStream2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("An IllegalArgumentException should have been thrown for a year within a decade")
+        .isThrownBy(() -> this.uut.stream(1985));
+  }
+
+  @Test
+  @DisplayName("Verifies the aggregates are computed by the movie repository")
+  void testCountByDecade1() {
+
+    // Arrange.
+    final SortedMap<Integer, Integer> expectedYears = new TreeMap<>(Map.of(1984, 7));
+    final SortedMap<String, Integer> expectedGenres = new TreeMap<>(Map.of("Comedy", 3));
+    new Expectations() {
+      {
+        mockMovieRepository.countByDecade(1980);
+        result = 12;
+        mockMovieRepository.histogramByYear(1980, 1989);
+        result = expectedYears;
+        mockMovieRepository.genreCountsByDecade(1980);
+        result = expectedGenres;
+      }
+    };
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.countByDecade(1980))
+        .as("The count of the repository should have been returned")
+        .isEqualTo(12);
+    Assertions.assertThat(this.uut.histogramByYear(1980, 1989))
+        .as("The histogram of the repository should have been returned")
+        .isSameAs(expectedYears);
+    Assertions.assertThat(this.uut.genreCountsByDecade(1980))
+        .as("The genre counts of the repository should have been returned")
+        .isSameAs(expectedGenres);
+  }
+
+  @Test
+  @DisplayName("Verifies the decade of an aggregate must represent a decade")
+  void testCountByDecade2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("A year within a decade should have been rejected by the count")
+        .isThrownBy(() -> this.uut.countByDecade(1985));
+    Assertions.assertThatIllegalArgumentException()
+        .as("A year within a decade should have been rejected by the genre counts")
+        .isThrownBy(() -> this.uut.genreCountsByDecade(1985));
+  }
+
+  @Test
+  @DisplayName("Verifies a following page is found by the movie repository for its version")
+  void testFilter7() {
+
+    // Arrange.
+    final int testDecade = 1980;
+    final MoviePage expected = new MoviePage(List.of(this.testMovie), 100, 101, 3);
+    new Expectations() {
+      {
+        mockMovieRepository.findPageByDecade(testDecade, 100, 100, 3);
+        result = expected;
+      }
+    };
+
+    // Act.
+    final MoviePage actual = this.uut.filter(testDecade, 100, 100, 3);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The page found by the repository should have been returned")
+        .isSameAs(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies a decade filtered again is answered from the cache")
+  void testFilter8() {
+
+    // Arrange.
+    final Set<Movie> expected = Set.of(this.testMovie);
+    new Expectations() {
+      {
+        mockMovieRepository.getVersion();
+        result = 3L;
+        mockMovieRepository.findByDecade(1980);
+        result = expected;
+        times = 1;
+      }
+    };
+
+    // Act.
+    this.uut.filter(1980);
+    final Set<Movie> actuals = this.uut.filter(1980);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The cached movies should have been returned")
+        .isSameAs(expected);
+    Assertions.assertThat(this.uut.getCacheStatistics())
+        .as("One miss and one hit should have been counted")
+        .extracting(CacheStatistics::getMissCount, CacheStatistics::getHitCount)
+        .containsExactly(1L, 1L);
+  }
+
+  @Test
+  @DisplayName("Verifies a cached decade is looked up again after the repository is written to")
+  void testFilter9() {
+
+    // Arrange.
+    final Set<Movie> expected = Set.of(this.testMovie);
+    new Expectations() {
+      {
+        mockMovieRepository.getVersion();
+        returns(0L, 1L);
+        mockMovieRepository.findByDecade(1980);
+        returns(Set.of(), expected);
+      }
+    };
+
+    // Act.
+    this.uut.filter(1980);
+    final Set<Movie> actuals = this.uut.filter(1980);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies of the newer version should have been returned")
+        .isSameAs(expected);
+  }
+
+  @Test
+  @DisplayName("Verifies a decade is looked up again after the cache is invalidated")
+  void testInvalidateCache1() {
+
+    // Arrange.
+    new Expectations() {
+      {
+        mockMovieRepository.findByDecade(1980);
+        result = Set.of();
+        times = 2;
+      }
+    };
+
+    // Act.
+    this.uut.filter(1980);
+    this.uut.invalidateCache();
+    this.uut.filter(1980);
+
+    // Assert.
+    Assertions.assertThat(this.uut.getCacheStatistics().getMissCount())
+        .as("Both lookups should have been counted as misses")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies the cache must be able to hold a decade")
+  void testMovieService2() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("A cache size of zero should have been rejected")
+        .isThrownBy(() -> new MovieService(this.mockMovieRepository, 0))
+        .withMessage("The maximum size of the cache must be positive");
+  }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code MovieStore} class.
+ *
+ * @author jkaib
+ */
+final class MovieStoreTest {
+
+  /** The first test movie, which has every field. */
+  private Movie testMovie1;
+
+  /** The second test movie, which has only a year. */
+  private Movie testMovie2;
+
+  /** The third test movie, which has empty arrays and a null cast member. */
+  private Movie testMovie3;
+
+  /** The unit under test. */
+  private MovieStore uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.testMovie1 = new Movie();
+    this.testMovie1.setTitle("Aliens");
+    this.testMovie1.setYear(1986);
+    this.testMovie1.setGenres(new String[] {"Action", "Horror"});
+    this.testMovie1.setCast(new String[] {"Sigourney Weaver", "Michael Biehn"});
+
+    this.testMovie2 = new Movie();
+    this.testMovie2.setYear(1979);
+
+    this.testMovie3 = new Movie();
+    this.testMovie3.setTitle("");
+    this.testMovie3.setYear(1992);
+    this.testMovie3.setGenres(new String[0]);
+    this.testMovie3.setCast(new String[] {null, "Sigourney Weaver"});
+
+    this.uut = MovieStore.of(List.of(this.testMovie1, this.testMovie2, this.testMovie3));
+  }
+
+  @Test
+  @DisplayName("Verifies every movie is materialized exactly as it was stored")
+  void testGetMovie1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.size()).as("Every movie should have been stored").isEqualTo(3);
+    Assertions.assertThat(this.uut.getMovie(0))
+        .as("The movie with every field should have been restored")
+        .isEqualTo(this.testMovie1);
+    Assertions.assertThat(this.uut.getMovie(1))
+        .as("The missing fields should have been restored as nulls")
+        .isEqualTo(this.testMovie2);
+    Assertions.assertThat(this.uut.getMovie(2))
+        .as("The empty arrays and null elements should have been restored")
+        .isEqualTo(this.testMovie3);
+  }
+
+  @Test
+  @DisplayName("Verifies each materialized array is independent of the store")
+  void testGetGenres1() {
+
+    // Arrange.
+    this.uut.getGenres(0)[0] = "Comedy";
+
+    // Act.
+    final String[] actuals = this.uut.getGenres(0);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Changing an earlier array shouldn't have changed the store")
+        .containsExactly("Action", "Horror");
+  }
+
+  @Test
+  @DisplayName("Verifies a scan of the year column finds the movies in a range")
+  void testFindByYearRange1() {
+
+    // Act.
+    final int[] actuals = this.uut.findByYearRange(1980, 1999);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies released from 1980 through 1999 should have been found in order")
+        .containsExactly(0, 2);
+    Assertions.assertThat(this.uut.countByYearRange(1980, 1999))
+        .as("The count should have matched the scan")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies the genres and cast share one dictionary entry per distinct string")
+  void testColumns1() {
+
+    // Act.
+    final DictionaryColumn castColumn = this.uut.castColumn();
+
+    // Assert.
+    Assertions.assertThat(castColumn.dictionarySize())
+        .as("The repeated cast member should have been stored once")
+        .isEqualTo(2);
+    Assertions.assertThat(this.uut.genreColumn().dictionarySize())
+        .as("Each genre should have been stored once")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies an off-heap store materializes the same movies as an on-heap store")
+  void testOffHeap1() {
+
+    // Act.
+    final MovieStore actual =
+        MovieStore.offHeap(List.of(this.testMovie1, this.testMovie2, this.testMovie3));
+
+    // Assert.
+    Assertions.assertThat(actual.isOffHeap())
+        .as("The store should have been allocated off the heap")
+        .isTrue();
+    Assertions.assertThat(this.uut.isOffHeap())
+        .as("The default store should have been allocated on the heap")
+        .isFalse();
+    for (var ordinal = 0; ordinal < this.uut.size(); ordinal++) {
+      Assertions.assertThat(actual.getMovie(ordinal))
+          .as("Movie %d should have been restored from the off-heap columns", ordinal)
+          .isEqualTo(this.uut.getMovie(ordinal));
+    }
+    Assertions.assertThat(actual.findByYearRange(1980, 1999))
+        .as("The off-heap year column should have been scanned like the on-heap one")
+        .containsExactly(0, 2);
+  }
+
+  @Test
+  @DisplayName("Verifies a year-range visit moves one flyweight over the matching movies")
+  void testForEachInYearRange1() {
+
+    // Arrange.
+    final List<Integer> actualOrdinals = new ArrayList<>();
+    final List<MovieView> actualViews = new ArrayList<>();
+
+    // Act.
+    this.uut.forEachInYearRange(
+        1980,
+        1999,
+        view -> {
+          actualOrdinals.add(view.getOrdinal());
+          actualViews.add(view);
+        });
+
+    // Assert.
+    Assertions.assertThat(actualOrdinals)
+        .as("The movies released from 1980 through 1999 should have been visited in order")
+        .containsExactly(0, 2);
+    Assertions.assertThat(actualViews.get(0))
+        .as("The same view should have been reused for every movie")
+        .isSameAs(actualViews.get(1));
+  }
+
+  @Test
+  @DisplayName("Verifies a view can't be created for an ordinal outside the store")
+  void testView1() {
+
+    // Act and assert.
+    Assertions.assertThatThrownBy(() -> this.uut.view(3))
+        .as("An ordinal past the end of the store should have been rejected")
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    Assertions.assertThatThrownBy(() -> this.uut.view(-1))
+        .as("A negative ordinal should have been rejected")
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  @DisplayName("Verifies a stored movie is compared with a movie without being materialized")
+  void testEqualTo1() {
+
+    // Arrange.
+    final MovieStore testOffHeap =
+        MovieStore.offHeap(List.of(this.testMovie1, this.testMovie2, this.testMovie3));
+    final var testDiffering = new Movie();
+    testDiffering.setTitle("Aliens");
+    testDiffering.setYear(1986);
+    testDiffering.setGenres(new String[] {"Action", "Horror"});
+    testDiffering.setCast(new String[] {"Sigourney Weaver"});
+
+    for (final MovieStore store : List.of(this.uut, testOffHeap)) {
+      for (var ordinal = 0; ordinal < store.size(); ordinal++) {
+        final Movie testMovie = store.getMovie(ordinal);
+
+        // Act.
+        final IntPredicate actual = store.equalTo(testMovie);
+
+        // Assert.
+        for (var other = 0; other < store.size(); other++) {
+          Assertions.assertThat(actual.test(other))
+              .as("Movie %d should only have equalled itself, not movie %d", ordinal, other)
+              .isEqualTo(ordinal == other);
+        }
+      }
+      Assertions.assertThat(store.equalTo(testDiffering).test(0))
+          .as("A movie with fewer cast members shouldn't have been equal")
+          .isFalse();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Performs automated tests on the {@code MovieTypeAdapter} class by comparing it to Gson's
+ * reflective binding of movies.
+ *
+ * @author jkaib
+ */
+final class MovieTypeAdapterTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The type of a list of movies. */
+  private static final TypeToken<List<Movie>> MOVIE_LIST_TYPE = new TypeToken<>() {};
+
+  /** The movies in the sample file, plus movies with missing fields and null names. */
+  private List<Movie> testMovies;
+
+  /**
+   * Creates a Gson instance that binds movies reflectively or with the unit under test.
+   *
+   * @param useAdapter whether to register the unit under test
+   * @param prettyPrint whether to pretty print
+   * @param serializeNulls whether to serialize {@code null} fields
+   * @return the Gson instance
+   */
+  private static Gson createGson(
+      final boolean useAdapter, final boolean prettyPrint, final boolean serializeNulls) {
+
+    final var builder = new GsonBuilder();
+    if (useAdapter) {
+      builder.registerTypeAdapter(Movie.class, new MovieTypeAdapter());
+    }
+    if (prettyPrint) {
+      builder.setPrettyPrinting();
+    }
+    if (serializeNulls) {
+      builder.serializeNulls();
+    }
+
+    return builder.create();
+  }
+
+  /**
+   * Sets the test fixture up prior to each test.
+   *
+   * @throws Exception if the sample movies can't be read
+   */
+  @BeforeEach
+  void setUp() throws Exception {
+
+    this.testMovies =
+        new ArrayList<>(
+            new Gson().fromJson(Files.readString(SAMPLE_MOVIES_PATH), MOVIE_LIST_TYPE.getType()));
+    final var sparseMovie = new Movie();
+    sparseMovie.setYear(1984);
+    this.testMovies.add(sparseMovie);
+    final var nullNameMovie = new Movie();
+    nullNameMovie.setCast(new String[] {null, "Zach Galligan"});
+    nullNameMovie.setGenres(new String[0]);
+    nullNameMovie.setTitle("<Gremlins> & \"Mogwai\"");
+    nullNameMovie.setYear(1984);
+    this.testMovies.add(nullNameMovie);
+    this.testMovies.add(null);
+  }
+
+  @Test
+  @DisplayName("Verifies movies are read exactly as Gson reads them reflectively")
+  void testRead1() {
+
+    // Arrange.
+    final String json = createGson(false, false, true).toJson(this.testMovies);
+    final List<Movie> expecteds =
+        createGson(false, false, false).fromJson(json, MOVIE_LIST_TYPE.getType());
+
+    // Act.
+    final List<Movie> actuals =
+        createGson(true, false, false).fromJson(json, MOVIE_LIST_TYPE.getType());
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies weren't read the same way Gson reads them reflectively")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies unknown fields are ignored and scalar names are read as strings")
+  void testRead2() {
+
+    // Arrange.
+    final String json =
+        "{\"unknown\": {\"a\": [1]}, \"title\": 1984, \"cast\": [true, 2.5], \"year\": \"1984\"}";
+
+    // Act.
+    final Movie actual = createGson(true, false, false).fromJson(json, Movie.class);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The movie wasn't read the same way Gson reads it reflectively")
+        .isEqualTo(createGson(false, false, false).fromJson(json, Movie.class));
+  }
+
+  @Test
+  @DisplayName("Verifies the year filter rejects movies during binding")
+  void testReadMovie1() throws Exception {
+
+    // Arrange.
+    final var jsonReader =
+        new Gson().newJsonReader(new StringReader("{\"year\": 1950, \"cast\": 7}"));
+
+    // Act.
+    final Movie actual =
+        MovieTypeAdapter.readMovie(jsonReader, year -> year == 1984, new SymbolTable());
+
+    // Assert.
+    Assertions.assertThat(actual).as("The rejected movie should have been null").isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  @DisplayName("Verifies movies are written exactly as Gson writes them reflectively")
+  void testWrite1(final boolean serializeNulls) {
+
+    // Arrange.
+    final String expected = createGson(false, true, serializeNulls).toJson(this.testMovies);
+
+    // Act.
+    final String actual = createGson(true, true, serializeNulls).toJson(this.testMovies);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The movies weren't written the same way Gson writes them reflectively")
+        .isEqualTo(expected);
+  }
+}
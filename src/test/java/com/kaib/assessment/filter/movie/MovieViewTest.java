@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code MovieView} class.
+ *
+ * @author jkaib
+ */
+final class MovieViewTest {
+
+  /** The first test movie. */
+  private Movie testMovie1;
+
+  /** The second test movie. */
+  private Movie testMovie2;
+
+  /** The unit under test. */
+  private MovieView uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.testMovie1 = new Movie();
+    this.testMovie1.setTitle("Aliens");
+    this.testMovie1.setYear(1986);
+    this.testMovie1.setGenres(new String[] {"Action", "Horror"});
+    this.testMovie1.setCast(new String[] {"Sigourney Weaver", "Michael Biehn"});
+
+    this.testMovie2 = new Movie();
+    this.testMovie2.setTitle("Alien");
+    this.testMovie2.setYear(1979);
+    this.testMovie2.setGenres(new String[] {"Horror"});
+    this.testMovie2.setCast(new String[] {"Sigourney Weaver"});
+
+    this.uut = MovieStore.offHeap(List.of(this.testMovie1, this.testMovie2)).view(0);
+  }
+
+  @Test
+  @DisplayName("Verifies a view reads each field of its movie from the store")
+  void testGetters1() {
+
+    // Act and assert.
+    Assertions.assertThat(this.uut.getOrdinal())
+        .as("The view should have been positioned on the first movie")
+        .isZero();
+    Assertions.assertThat(this.uut.getYear()).as("The year should have been read").isEqualTo(1986);
+    Assertions.assertThat(this.uut.getTitle())
+        .as("The title should have been read")
+        .isEqualTo("Aliens");
+    Assertions.assertThat(this.uut.getGenres())
+        .as("The genres should have been read")
+        .containsExactly("Action", "Horror");
+    Assertions.assertThat(this.uut.getCast())
+        .as("The cast should have been read")
+        .containsExactly("Sigourney Weaver", "Michael Biehn");
+    Assertions.assertThat(this.uut.toMovie())
+        .as("The materialized movie should have equaled the stored movie")
+        .isEqualTo(this.testMovie1);
+  }
+
+  @Test
+  @DisplayName("Verifies moving a view repositions it on another movie")
+  void testMoveTo1() {
+
+    // Act.
+    final MovieView actual = this.uut.moveTo(1);
+
+    // Assert.
+    Assertions.assertThat(actual).as("The same view should have been returned").isSameAs(this.uut);
+    Assertions.assertThat(actual.getOrdinal())
+        .as("The view should have been positioned on the second movie")
+        .isEqualTo(1);
+    Assertions.assertThat(actual.toMovie())
+        .as("The view should have read the second movie")
+        .isEqualTo(this.testMovie2);
+    Assertions.assertThat(actual.toString())
+        .as("The view should have described the movie it's positioned on")
+        .contains("title=Alien,year=1979");
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Performs automated tests on the {@code NdjsonMovieLoader} class.
+ *
+ * @author jkaib
+ */
+final class NdjsonMovieLoaderTest {
+
+  /** The test file containing movies from several decades as a JSON array. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The test file containing the same movies as newline-delimited JSON. */
+  private static final Path SAMPLE_NDJSON_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.ndjson");
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  /** The loader whose results the unit under test must match. */
+  private JsonMovieLoader referenceLoader;
+
+  /** The unit under test. */
+  private NdjsonMovieLoader uut;
+
+  /** Sets the test fixture up prior to each test. */
+  @BeforeEach
+  void setUp() {
+    this.referenceLoader = new JsonMovieLoader(new Gson());
+    this.uut = new NdjsonMovieLoader(new Gson());
+  }
+
+  @Test
+  @DisplayName("Verifies a JSON deserializer is required by the loader")
+  void testNdjsonMovieLoader1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the deserializer was null")
+        .isThrownBy(() -> new NdjsonMovieLoader(null))
+        .withMessage("The JSON deserializer can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies the NDJSON movies match the JSON array movies, in file order")
+  void testLoad1() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds = this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> true);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(SAMPLE_NDJSON_MOVIES_PATH, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The NDJSON movies didn't match the JSON array movies")
+        .hasSize(13)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies accepted by the year filter are loaded")
+  void testLoad2() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds =
+        this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Act.
+    final Set<Movie> actuals =
+        this.uut.load(SAMPLE_NDJSON_MOVIES_PATH, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movies released in the 1980s should have been loaded")
+        .hasSize(4)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies blank lines are ignored")
+  void testLoad3() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("blank-lines.ndjson");
+    Files.writeString(testFilePath, "\n{\"title\":\"Gremlins\",\"year\":1984}\r\n  \n");
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Blank lines should have been ignored")
+        .extracting(Movie::getTitle)
+        .containsExactly("Gremlins");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when a line holds more than one movie")
+  void testLoad4() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("two-per-line.ndjson");
+    Files.writeString(testFilePath, "{\"year\":1984} {\"year\":1985}\n");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when a line held two movies")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true))
+        .withMessageStartingWith("Expected one movie per line");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when a line isn't a movie object")
+  void testLoad5() {
+
+    // Arrange.
+    final Path testFilePath = Path.of("", "src/test/resources/InvalidMovies.json");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when a line wasn't a movie object")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true));
+  }
+
+  @Test
+  @DisplayName("Verifies a year filter is required")
+  void testLoad6() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the year filter was null")
+        .isThrownBy(() -> this.uut.load(SAMPLE_NDJSON_MOVIES_PATH, null))
+        .withMessage("The year filter can't be null");
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code NdjsonMovieWriter} class.
+ *
+ * @author jkaib
+ */
+final class NdjsonMovieWriterTest {
+
+  /** The test file containing movies from several decades as newline-delimited JSON. */
+  private static final Path SAMPLE_NDJSON_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.ndjson");
+
+  /** The directory to which the unit under test writes. */
+  @TempDir File tempDir;
+
+  /** The test movies. */
+  private Set<Movie> testMovies;
+
+  /** The unit under test. */
+  private NdjsonMovieWriter uut;
+
+  /**
+   * Sets the test fixture up prior to each test.
+   *
+   * @throws Exception if the test movies can't be loaded
+   */
+  @BeforeEach
+  void setUp() throws Exception {
+    this.testMovies = new NdjsonMovieLoader(new Gson()).load(SAMPLE_NDJSON_MOVIES_PATH, y -> true);
+    this.uut = new NdjsonMovieWriter(new Gson());
+  }
+
+  @Test
+  @DisplayName("Verifies a JSON serializer is required by the writer")
+  void testNdjsonMovieWriter1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the serializer was null")
+        .isThrownBy(() -> new NdjsonMovieWriter(null))
+        .withMessage("The JSON serializer can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies one compact movie is written per line")
+  void testWrite1() throws Exception {
+
+    // Arrange.
+    final List<String> expecteds = Files.readAllLines(SAMPLE_NDJSON_MOVIES_PATH);
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.ndjson");
+
+    // Act.
+    this.uut.write(this.testMovies, testFilePath);
+    final List<String> actuals = Files.readAllLines(testFilePath);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies weren't written one per line")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies existing contents of the destination file are replaced")
+  void testWrite2() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.ndjson");
+    Files.writeString(testFilePath, "x".repeat(10_000));
+
+    // Act.
+    this.uut.write(Set.of(), testFilePath);
+
+    // Assert.
+    Assertions.assertThat(testFilePath)
+        .as("The destination file should have been empty")
+        .isEmptyFile();
+  }
+}
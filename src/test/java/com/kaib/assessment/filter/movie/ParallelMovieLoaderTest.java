@@ -0,0 +1,281 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Performs automated tests on the {@code ParallelMovieLoader} class.
+ *
+ * @author jkaib
+ */
+final class ParallelMovieLoaderTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The number of movies in the generated test catalog, enough to span several chunks. */
+  private static final int GENERATED_MOVIE_COUNT = 20_000;
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  /** The pool on which the unit under test parses. */
+  private ForkJoinPool testPool;
+
+  /** The loader whose results the unit under test must match. */
+  private MappedMovieLoader referenceLoader;
+
+  /** The unit under test. */
+  private ParallelMovieLoader uut;
+
+  /** Sets the test fixture up prior to each test. */
+  @BeforeEach
+  void setUp() {
+    this.testPool = new ForkJoinPool(4);
+    this.referenceLoader = new MappedMovieLoader();
+    this.uut = new ParallelMovieLoader(this.testPool);
+  }
+
+  /** Tears the test fixture down after each test. */
+  @AfterEach
+  void tearDown() {
+    this.testPool.shutdownNow();
+  }
+
+  /**
+   * Writes a catalog large enough to be split into several chunks.
+   *
+   * @return the path of the generated catalog
+   * @throws Exception if the catalog can't be written
+   */
+  private Path writeGeneratedCatalog() throws Exception {
+
+    final List<Movie> movies =
+        IntStream.range(0, GENERATED_MOVIE_COUNT)
+            .mapToObj(
+                i -> {
+                  final var movie = new Movie();
+                  movie.setCast(new String[] {"Actor " + i % 97, "Actor, \"Jr.\" " + i % 89});
+                  movie.setGenres(new String[] {"Genre [" + i % 7 + "]"});
+                  movie.setTitle("Title {" + i + "}");
+                  movie.setYear(1900 + i % 123);
+                  return movie;
+                })
+            .collect(Collectors.toList());
+    final Path catalogPath = this.tempDir.toPath().resolve("generated.json");
+    Files.writeString(catalogPath, new Gson().toJson(movies));
+
+    return catalogPath;
+  }
+
+  @Test
+  @DisplayName("Verifies a fork-join pool is required by the loader")
+  void testParallelMovieLoader1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the pool was null")
+        .isThrownBy(() -> new ParallelMovieLoader(null))
+        .withMessage("The fork-join pool can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies the parallel result is identical to the sequential one, order included")
+  void testLoad1() throws Exception {
+
+    // Arrange.
+    final Path testCatalogPath = writeGeneratedCatalog();
+    final Set<Movie> expecteds = this.referenceLoader.load(testCatalogPath, year -> true);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testCatalogPath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The parallel result didn't match the sequential one")
+        .hasSize(GENERATED_MOVIE_COUNT)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies accepted by the year filter are loaded")
+  void testLoad2() throws Exception {
+
+    // Arrange.
+    final Path testCatalogPath = writeGeneratedCatalog();
+    final Set<Movie> expecteds =
+        this.referenceLoader.load(testCatalogPath, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Act.
+    final Set<Movie> actuals =
+        this.uut.load(testCatalogPath, year -> DecadeUtils.isInDecade(year, 1980));
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The filtered parallel result didn't match the sequential one")
+        .isNotEmpty()
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies a small file is loaded without splitting")
+  void testLoad3() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds = this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> true);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(SAMPLE_MOVIES_PATH, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The small file wasn't loaded correctly")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies chunks parsed from their separators meet on element boundaries")
+  void testScanChunk1() throws Exception {
+
+    // Arrange.
+    final MappedFile testMappedFile = MappedFile.map(SAMPLE_MOVIES_PATH);
+    final Set<Movie> expecteds = this.referenceLoader.load(SAMPLE_MOVIES_PATH, year -> true);
+    final long testSplitOffset = testMappedFile.size() / 2;
+
+    // Act.
+    final List<Movie> actuals = new ArrayList<>();
+    final long firstEnd =
+        new MappedMovieScanner(testMappedFile, 0, testMappedFile.size(), new SymbolTable())
+            .scanChunk(year -> true, actuals::add, testSplitOffset);
+    final long secondStart =
+        MappedMovieScanner.findSeparator(testMappedFile, testSplitOffset, testMappedFile.size());
+    new MappedMovieScanner(testMappedFile, secondStart, testMappedFile.size(), new SymbolTable())
+        .scanChunk(year -> true, actuals::add, testMappedFile.size());
+
+    // Assert.
+    Assertions.assertThat(secondStart)
+        .as("The second chunk should have started where the first one ended")
+        .isEqualTo(firstEnd);
+    Assertions.assertThat(actuals)
+        .as("The chunks didn't contain the array elements in order")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies chunks that start inside a string are parsed again from the right place")
+  void testLoad8() throws Exception {
+
+    // Arrange.
+    final List<Movie> testMovies =
+        IntStream.range(0, GENERATED_MOVIE_COUNT)
+            .mapToObj(
+                i -> {
+                  final var movie = new Movie();
+                  movie.setTitle("Part " + i + "}, {\"year\": 1}, {" + i);
+                  movie.setYear(1900 + i % 123);
+                  return movie;
+                })
+            .collect(Collectors.toList());
+    final Path testCatalogPath = this.tempDir.toPath().resolve("misleading.json");
+    Files.writeString(testCatalogPath, new Gson().toJson(testMovies));
+    final Set<Movie> expecteds = this.referenceLoader.load(testCatalogPath, year -> true);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testCatalogPath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Separators inside titles shouldn't have changed the movies loaded")
+        .hasSize(GENERATED_MOVIE_COUNT)
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies an empty array loads no movies")
+  void testLoad4() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("empty.json");
+    Files.writeString(testFilePath, " [ ] ");
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals).as("No movies should have been loaded").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when the array isn't terminated")
+  void testLoad5() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("unterminated.json");
+    Files.writeString(testFilePath, "[{\"year\": 1984}, {\"year\": 1985}");
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when the array wasn't terminated")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true));
+  }
+
+  @Test
+  @DisplayName("Verifies a year filter is required")
+  void testLoad6() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the year filter was null")
+        .isThrownBy(() -> this.uut.load(SAMPLE_MOVIES_PATH, null))
+        .withMessage("The year filter can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a JsonSyntaxException is thrown when content follows a split array")
+  void testLoad7() throws Exception {
+
+    // Arrange.
+    final Path testCatalogPath = writeGeneratedCatalog();
+    Files.writeString(testCatalogPath, " garbage {", StandardOpenOption.APPEND);
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(JsonSyntaxException.class)
+        .as("A JsonSyntaxException should have been thrown when content followed the array")
+        .isThrownBy(() -> this.uut.load(testCatalogPath, year -> true))
+        .withMessageStartingWith("Expected end of input");
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code ParallelScan} class.
+ *
+ * @author jkaib
+ */
+final class ParallelScanTest {
+
+  /** The pool on which the unit under test filters. */
+  private ForkJoinPool testPool;
+
+  /** The unit under test. */
+  private ParallelScan uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.testPool = new ForkJoinPool(4);
+    this.uut = new ParallelScan(this.testPool, 1_000);
+  }
+
+  @AfterEach
+  protected void tearDown() throws Exception {
+    this.testPool.shutdown();
+  }
+
+  @Test
+  @DisplayName("Verifies a parallel filter matches a sequential filter in order")
+  void testFilter1() {
+
+    // Arrange.
+    final int testCount = 100_000;
+    final int[] expecteds = IntStream.range(0, testCount).filter(i -> i % 7 == 3).toArray();
+
+    // Act.
+    final int[] actuals = this.uut.filter(testCount, i -> i, i -> i % 7 == 3);
+
+    // Assert.
+    Assertions.assertThat(this.uut.isParallel(testCount))
+        .as("The scan should have been above the threshold")
+        .isTrue();
+    Assertions.assertThat(actuals)
+        .as("The chunks should have been concatenated in order")
+        .containsExactly(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies a filter below the threshold reads the candidates through the operator")
+  void testFilter2() {
+
+    // Arrange.
+    final int[] testCandidates = {9, 4, 7, 2};
+
+    // Act.
+    final int[] actuals =
+        this.uut.filter(testCandidates.length, i -> testCandidates[i], ordinal -> ordinal > 3);
+
+    // Assert.
+    Assertions.assertThat(this.uut.isParallel(testCandidates.length))
+        .as("The scan should have been below the threshold")
+        .isFalse();
+    Assertions.assertThat(actuals)
+        .as("The matching candidates should have been kept in their order")
+        .containsExactly(9, 4, 7);
+  }
+
+  @Test
+  @DisplayName("Verifies the setting rejects a null pool and a negative threshold")
+  void testParallelScan1() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A null pool should have been rejected")
+        .isThrownBy(() -> new ParallelScan(null, 0))
+        .withMessage("The fork-join pool can't be null");
+    Assertions.assertThatIllegalArgumentException()
+        .as("A negative threshold should have been rejected")
+        .isThrownBy(() -> new ParallelScan(this.testPool, -1))
+        .withMessage("The parallel threshold can't be negative");
+    Assertions.assertThat(ParallelScan.sequential().isParallel(Integer.MAX_VALUE - 1))
+        .as("The sequential setting should never have run in parallel")
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Verifies a parallel computation runs on the setting's pool")
+  void testCompute1() {
+
+    // Act.
+    final ForkJoinPool actual =
+        this.uut.compute(
+            1_000, parallel -> parallel ? ForkJoinTask.getPool() : ForkJoinPool.commonPool());
+    final Boolean actualSequential = this.uut.compute(999, parallel -> parallel);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The computation should have run in parallel on the setting's pool")
+        .isSameAs(this.testPool);
+    Assertions.assertThat(actualSequential)
+        .as("A computation below the threshold should have run sequentially")
+        .isFalse();
+  }
+}
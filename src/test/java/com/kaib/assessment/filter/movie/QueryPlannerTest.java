@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code QueryPlanner} class.
+ *
+ * @author jkaib
+ */
+final class QueryPlannerTest {
+
+  /** The test movies, indexed by ordinal. */
+  private Movie[] testMovies;
+
+  /** The columns of the test movies. */
+  private MovieStore testStore;
+
+  /** The unit under test. */
+  private QueryPlanner uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final Object[][] testRows = {
+      {"Ghostbusters", 1984, new String[] {"Comedy", "Fantasy"}, "Bill Murray"},
+      {"Gremlins", 1984, new String[] {"Comedy", "Horror"}, "Zach Galligan"},
+      {"The Shining", 1980, new String[] {"Horror"}, "Jack Nicholson"},
+      {"Groundhog Day", 1993, new String[] {"Comedy"}, "Bill Murray"},
+      {"Scrooged", 1988, new String[] {"Comedy"}, "Bill Murray"},
+      {"Tootsie", 1982, new String[] {"Comedy"}, "Dustin Hoffman"}
+    };
+    this.testMovies = new Movie[testRows.length];
+    for (var i = 0; i < testRows.length; i++) {
+      this.testMovies[i] = new Movie();
+      this.testMovies[i].setTitle((String) testRows[i][0]);
+      this.testMovies[i].setYear((Integer) testRows[i][1]);
+      this.testMovies[i].setGenres((String[]) testRows[i][2]);
+      this.testMovies[i].setCast(new String[] {(String) testRows[i][3]});
+    }
+
+    this.testStore = MovieStore.of(Arrays.asList(this.testMovies));
+    this.uut = createPlanner(ParallelScan.sequential());
+  }
+
+  /**
+   * Creates a planner over the test movies.
+   *
+   * @param parallelScan decides when residual filters run in parallel
+   * @return the planner
+   */
+  private QueryPlanner createPlanner(final ParallelScan parallelScan) {
+
+    final var yearIndex = new YearIndex(this.testStore);
+    final var genreIndex = new GenreIndex(this.testStore);
+    final var castIndex = new CastIndex(this.testStore);
+    final var titleIndex = new TitleIndex(this.testStore, parallelScan);
+
+    return new QueryPlanner(
+        this.testStore,
+        ordinal -> this.testMovies[ordinal],
+        () -> yearIndex,
+        () -> genreIndex,
+        () -> castIndex,
+        () -> titleIndex,
+        parallelScan);
+  }
+
+  @Test
+  @DisplayName("Verifies the most selective index is the access path")
+  void testExecute1() {
+
+    // Arrange.
+    final MovieQuery query =
+        MovieQuery.and(
+            MovieQuery.decade(1980),
+            MovieQuery.genres(GenreMatch.ANY, "Comedy"),
+            MovieQuery.castMember("Bill Murray", NameMatch.EXACT));
+
+    // Act.
+    final QueryResult actual = this.uut.execute(query);
+
+    // Assert.
+    Assertions.assertThat(actual.getMovies())
+        .as("Only Bill Murray's comedies from the 1980s should have been found")
+        .containsExactly(this.testMovies[0], this.testMovies[4]);
+    Assertions.assertThat(actual.explain().getAccessPath())
+        .as("The cast member's three movies are the fewest candidates")
+        .isEqualTo(AccessPath.CAST_POSTINGS);
+    Assertions.assertThat(actual.explain().getSteps())
+        .as("The candidates should have been filtered by the other predicates")
+        .extracting(QueryPlan.Step::getRowsIn, QueryPlan.Step::getRowsOut)
+        .containsExactly(Assertions.tuple(3, 3), Assertions.tuple(3, 2));
+  }
+
+  @Test
+  @DisplayName("Verifies a query that no index can answer scans every movie")
+  void testExecute2() {
+
+    // Arrange.
+    final MovieQuery query = MovieQuery.not(MovieQuery.genres(GenreMatch.ANY, "Comedy"));
+
+    // Act.
+    final QueryResult actual = this.uut.execute(query);
+
+    // Assert.
+    Assertions.assertThat(actual.getMovies())
+        .as("Only the movie that isn't a comedy should have been found")
+        .containsExactly(this.testMovies[2]);
+    Assertions.assertThat(actual.explain().getAccessPath())
+        .as("A negation can't be answered by an index")
+        .isEqualTo(AccessPath.FULL_SCAN);
+    Assertions.assertThat(actual.explain().getSteps())
+        .as("Every movie should have been read")
+        .extracting(QueryPlan.Step::getRowsIn, QueryPlan.Step::getRowsOut)
+        .containsExactly(Assertions.tuple(6, 6), Assertions.tuple(6, 1));
+  }
+
+  @Test
+  @DisplayName("Verifies a disjunction of indexed predicates unions the index scans")
+  void testExecute3() {
+
+    // Arrange.
+    final MovieQuery query =
+        MovieQuery.or(
+            MovieQuery.title("groundhog", TitleMatch.TOKEN),
+            MovieQuery.genres(GenreMatch.ANY, "Horror"));
+
+    // Act.
+    final QueryResult actual = this.uut.execute(query);
+
+    // Assert.
+    Assertions.assertThat(actual.getMovies())
+        .as("The movies matched by either predicate should have been found in order")
+        .containsExactly(this.testMovies[1], this.testMovies[2], this.testMovies[3]);
+    Assertions.assertThat(actual.explain().getAccessPath())
+        .as("Both predicates can be answered by an index")
+        .isEqualTo(AccessPath.INDEX_UNION);
+    Assertions.assertThat(actual.explain().getSteps())
+        .as("No filter is needed when the access path answers the whole query")
+        .hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Verifies the plan is explained one step per line")
+  void testExecute4() {
+
+    // Arrange.
+    final MovieQuery query =
+        MovieQuery.and(MovieQuery.yearRange(1980, 1983), MovieQuery.title("the", TitleMatch.TOKEN));
+
+    // Act.
+    final String actual = this.uut.execute(query).explain().toString();
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The title index is more selective than the year index")
+        .isEqualTo(
+            "TITLE_POSTINGS title TOKEN 'the' (rows in=1, rows out=1)"
+                + System.lineSeparator()
+                + "FILTER year BETWEEN 1980 AND 1983 (rows in=1, rows out=1)");
+  }
+
+  @Test
+  @DisplayName("Verifies a filter above the parallel threshold runs on the pool")
+  void testExecute5() {
+
+    // Arrange.
+    final var testPool = new ForkJoinPool(2);
+    this.uut = createPlanner(new ParallelScan(testPool, 0));
+    final MovieQuery query = MovieQuery.not(MovieQuery.genres(GenreMatch.ANY, "Horror"));
+
+    try {
+      // Act.
+      final QueryResult actual = this.uut.execute(query);
+
+      // Assert.
+      Assertions.assertThat(actual.getMovies())
+          .as("The movies that aren't horror should have been found in order")
+          .containsExactly(
+              this.testMovies[0], this.testMovies[3], this.testMovies[4], this.testMovies[5]);
+      Assertions.assertThat(actual.explain().getSteps())
+          .as("The filter should have been explained as parallel")
+          .extracting(QueryPlan.Step::getOperation)
+          .containsExactly("FULL_SCAN", "PARALLEL FILTER NOT genres ANY [Horror]");
+    } finally {
+      testPool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Verifies excluded movies are removed from the candidates before filtering")
+  void testRun1() {
+
+    // Arrange.
+    final var excluded = new BitSet();
+    excluded.set(0);
+    excluded.set(2);
+
+    // Act.
+    final QueryPlanner.Execution actual =
+        this.uut.run(
+            MovieQuery.and(
+                MovieQuery.castMember("Bill Murray", NameMatch.EXACT),
+                MovieQuery.decade(1980)),
+            excluded);
+    final QueryPlanner.Execution actualScan =
+        this.uut.run(MovieQuery.not(MovieQuery.genres(GenreMatch.ANY, "Comedy")), excluded);
+
+    // Assert.
+    Assertions.assertThat(actual.ordinals)
+        .as("The excluded movie shouldn't have matched")
+        .containsExactly(4);
+    Assertions.assertThat(actual.plan.getSteps())
+        .as("The excluded movie should have been removed by the index scan")
+        .extracting(QueryPlan.Step::getRowsIn, QueryPlan.Step::getRowsOut)
+        .containsExactly(Assertions.tuple(3, 2), Assertions.tuple(2, 1));
+    Assertions.assertThat(actualScan.ordinals)
+        .as("The only movie that isn't a comedy was excluded")
+        .isEmpty();
+    Assertions.assertThat(actualScan.plan.getSteps())
+        .as("The full scan should have skipped the excluded movies")
+        .extracting(QueryPlan.Step::getRowsIn, QueryPlan.Step::getRowsOut)
+        .containsExactly(Assertions.tuple(6, 4), Assertions.tuple(4, 0));
+  }
+}
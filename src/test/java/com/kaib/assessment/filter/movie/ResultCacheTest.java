@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code ResultCache} class.
+ *
+ * @author jkaib
+ */
+final class ResultCacheTest {
+
+  /** The number of times a result has been loaded. */
+  private AtomicInteger loadCount;
+
+  /** The unit under test. */
+  private ResultCache<Integer, String> uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    this.loadCount = new AtomicInteger();
+    this.uut = new ResultCache<>(2);
+  }
+
+  /**
+   * Gets the result of the specified lookup, counting each load.
+   *
+   * @param key the lookup
+   * @param version the version of the repository
+   * @return the result of the lookup
+   */
+  private String get(final int key, final long version) {
+
+    return this.uut.get(
+        key,
+        version,
+        () -> {
+          this.loadCount.incrementAndGet();
+          return "result " + key;
+        });
+  }
+
+  @Test
+  @DisplayName("Verifies a result is loaded once and then answered from the cache")
+  void testGet1() {
+
+    // Act.
+    final String first = get(1980, 0);
+    final String second = get(1980, 0);
+
+    // Assert.
+    Assertions.assertThat(second).as("The cached result should have been returned").isSameAs(first);
+    Assertions.assertThat(this.loadCount.get()).as("The result should have loaded once").isOne();
+    Assertions.assertThat(this.uut.statistics())
+        .as("One miss and one hit should have been counted")
+        .extracting(CacheStatistics::getHitCount, CacheStatistics::getMissCount)
+        .containsExactly(1L, 1L);
+  }
+
+  @Test
+  @DisplayName("Verifies the least recently used result is evicted when the cache is full")
+  void testGet2() {
+
+    // Arrange.
+    get(1980, 0);
+    get(1990, 0);
+    get(1980, 0);
+
+    // Act.
+    get(2000, 0);
+    get(1980, 0);
+    get(1990, 0);
+
+    // Assert.
+    Assertions.assertThat(this.loadCount.get())
+        .as("Only the evicted 1990s should have been loaded again")
+        .isEqualTo(4);
+    Assertions.assertThat(this.uut.statistics())
+        .as("The cache should have stayed within its maximum size")
+        .extracting(CacheStatistics::getEvictionCount, CacheStatistics::getSize)
+        .containsExactly(2L, 2);
+  }
+
+  @Test
+  @DisplayName("Verifies a result from an earlier version of the repository is loaded again")
+  void testGet3() {
+
+    // Arrange.
+    get(1980, 0);
+
+    // Act.
+    get(1980, 1);
+    get(1980, 0);
+
+    // Assert.
+    Assertions.assertThat(this.loadCount.get())
+        .as("Only the lookup of the newer version should have loaded again")
+        .isEqualTo(2);
+    Assertions.assertThat(this.uut.statistics().getMissCount())
+        .as("The stale result should have been counted as a miss")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies concurrent lookups are answered correctly and counted exactly")
+  void testGet4() throws Exception {
+
+    // Arrange.
+    final ExecutorService threads = Executors.newFixedThreadPool(8);
+    final var wrong = new AtomicInteger();
+
+    try {
+      final var results = new ArrayList<Future<?>>();
+      for (var i = 0; i < 8; i++) {
+        final int thread = i;
+        results.add(
+            threads.submit(
+                () -> {
+                  for (var lookup = 0; lookup < 10_000; lookup++) {
+                    final int key = (thread + lookup) % 5;
+                    if (!get(key, 0).equals("result " + key)) {
+                      wrong.incrementAndGet();
+                    }
+                  }
+                }));
+      }
+
+      // Act.
+      for (final Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      threads.shutdownNow();
+    }
+
+    // Assert.
+    final CacheStatistics actual = this.uut.statistics();
+    Assertions.assertThat(wrong.get()).as("Every lookup should have had its own result").isZero();
+    Assertions.assertThat(actual.getHitCount() + actual.getMissCount())
+        .as("Every lookup should have been counted as a hit or a miss")
+        .isEqualTo(80_000);
+    Assertions.assertThat(actual.getSize())
+        .as("The cache should have settled within its maximum size")
+        .isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies every result is loaded again after the cache is invalidated")
+  void testInvalidateAll1() {
+
+    // Arrange.
+    get(1980, 0);
+
+    // Act.
+    this.uut.invalidateAll();
+    get(1980, 0);
+
+    // Assert.
+    Assertions.assertThat(this.loadCount.get())
+        .as("The result should have loaded again")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies the maximum size must be positive")
+  void testResultCache1() {
+
+    // Act and assert.
+    Assertions.assertThatIllegalArgumentException()
+        .as("A cache that can't hold a result should have been rejected")
+        .isThrownBy(() -> new ResultCache<>(0))
+        .withMessage("The maximum size of the cache must be positive");
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code SnapshotConverter} class.
+ *
+ * @author jkaib
+ */
+final class SnapshotConverterTest {
+
+  /** The test file containing movies from several decades as a JSON array. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The test file containing the same movies as newline-delimited JSON. */
+  private static final Path SAMPLE_NDJSON_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.ndjson");
+
+  /** The directory to which the unit under test writes. */
+  @TempDir File tempDir;
+
+  @Test
+  @DisplayName("Verifies every movie in a JSON catalog is converted into the snapshot")
+  void testConvert1() throws Exception {
+
+    // Arrange.
+    final Set<Movie> expecteds = new JsonMovieLoader(new Gson()).load(SAMPLE_MOVIES_PATH);
+    final Path testFilePath = this.tempDir.toPath().resolve("catalog.mfs");
+
+    // Act.
+    final int actualCount = SnapshotConverter.convert(SAMPLE_MOVIES_PATH, testFilePath);
+    final Set<Movie> actuals = new SnapshotMovieLoader().load(testFilePath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actualCount).as("The wrong number of movies was converted").isEqualTo(13);
+    Assertions.assertThat(actuals)
+        .as("The snapshot didn't contain every movie in the catalog")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies the catalog's format is detected before it's converted")
+  void testConvert2() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("catalog.mfs");
+
+    // Act.
+    SnapshotConverter.convert(SAMPLE_NDJSON_MOVIES_PATH, testFilePath);
+    final MovieRepository actual = MovieRepository.fromSnapshot(testFilePath);
+
+    // Assert.
+    Assertions.assertThat(actual.findByDecade(1980))
+        .as("The snapshot converted from NDJSON didn't contain the 1980s movies")
+        .hasSize(4);
+  }
+}
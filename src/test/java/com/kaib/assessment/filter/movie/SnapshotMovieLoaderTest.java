@@ -0,0 +1,219 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code SnapshotMovieLoader} class, using snapshots written by the
+ * {@code SnapshotMovieWriter} class.
+ *
+ * @author jkaib
+ */
+final class SnapshotMovieLoaderTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The directory containing test files created on the fly. */
+  @TempDir File tempDir;
+
+  /** The movies in the sample file. */
+  private Set<Movie> sampleMovies;
+
+  /** The snapshot of the sample movies. */
+  private Path snapshotPath;
+
+  /** The unit under test. */
+  private SnapshotMovieLoader uut;
+
+  /**
+   * Sets the test fixture up prior to each test.
+   *
+   * @throws Exception if the sample snapshot can't be written
+   */
+  @BeforeEach
+  void setUp() throws Exception {
+
+    this.sampleMovies = new JsonMovieLoader(new Gson()).load(SAMPLE_MOVIES_PATH);
+    this.snapshotPath = this.tempDir.toPath().resolve("SampleMovies.mfs");
+    new SnapshotMovieWriter().write(this.sampleMovies, this.snapshotPath);
+    this.uut = new SnapshotMovieLoader();
+  }
+
+  @Test
+  @DisplayName("Verifies the snapshot movies match the movies they were written from, in order")
+  void testLoad1() throws Exception {
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(this.snapshotPath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The snapshot movies didn't match the movies they were written from")
+        .hasSize(13)
+        .containsExactlyElementsOf(this.sampleMovies);
+  }
+
+  @Test
+  @DisplayName("Verifies only the movies accepted by the year filter are loaded")
+  void testLoad2() throws Exception {
+
+    // Arrange.
+    final int testDecade = 1980;
+    final Set<Movie> expecteds = new MovieRepository(this.sampleMovies).findByDecade(testDecade);
+
+    // Act.
+    final Set<Movie> actuals =
+        this.uut.load(this.snapshotPath, year -> DecadeUtils.isInDecade(year, testDecade));
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the movies released in the 1980s should have been loaded")
+        .hasSize(4)
+        .containsExactlyInAnyOrderElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies missing fields and null names survive the snapshot")
+  void testLoad3() throws Exception {
+
+    // Arrange.
+    final var sparseMovie = new Movie();
+    sparseMovie.setYear(1984);
+    final var nullNameMovie = new Movie();
+    nullNameMovie.setCast(new String[] {null, "Zach Galligan", ""});
+    nullNameMovie.setGenres(new String[0]);
+    nullNameMovie.setTitle("");
+    nullNameMovie.setYear(1984);
+    final List<Movie> expecteds = Arrays.asList(sparseMovie, nullNameMovie);
+    final Path testFilePath = this.tempDir.toPath().resolve("sparse.mfs");
+    new SnapshotMovieWriter().write(expecteds, testFilePath);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Missing fields and null names should have been preserved")
+        .containsExactlyElementsOf(expecteds);
+  }
+
+  @Test
+  @DisplayName("Verifies an empty snapshot loads no movies")
+  void testLoad4() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("empty.mfs");
+    new SnapshotMovieWriter().write(Set.of(), testFilePath);
+
+    // Act.
+    final Set<Movie> actuals = this.uut.load(testFilePath, year -> true);
+
+    // Assert.
+    Assertions.assertThat(actuals).as("An empty snapshot should have loaded no movies").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies an IOException is thrown when the file isn't a snapshot")
+  void testLoad5() {
+
+    // Act and assert.
+    Assertions.assertThatIOException()
+        .as("An IOException should have been thrown when the file wasn't a snapshot")
+        .isThrownBy(() -> this.uut.load(SAMPLE_MOVIES_PATH, year -> true))
+        .withMessageStartingWith("The file isn't a movie snapshot");
+  }
+
+  @Test
+  @DisplayName("Verifies an IOException is thrown when the snapshot is truncated")
+  void testLoad6() throws Exception {
+
+    // Arrange.
+    final byte[] snapshot = Files.readAllBytes(this.snapshotPath);
+    final Path testFilePath = this.tempDir.toPath().resolve("truncated.mfs");
+    Files.write(testFilePath, Arrays.copyOf(snapshot, snapshot.length - 1));
+
+    // Act and assert.
+    Assertions.assertThatExceptionOfType(IOException.class)
+        .as("An IOException should have been thrown when the snapshot was truncated")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true));
+  }
+
+  @Test
+  @DisplayName("Verifies an IOException is thrown when the snapshot's version isn't supported")
+  void testLoad7() throws Exception {
+
+    // Arrange.
+    final byte[] snapshot = Files.readAllBytes(this.snapshotPath);
+    snapshot[Integer.BYTES + 3] = 99;
+    final Path testFilePath = this.tempDir.toPath().resolve("future.mfs");
+    Files.write(testFilePath, snapshot);
+
+    // Act and assert.
+    Assertions.assertThatIOException()
+        .as("An IOException should have been thrown when the snapshot's version wasn't supported")
+        .isThrownBy(() -> this.uut.load(testFilePath, year -> true))
+        .withMessage("Unsupported movie snapshot version 99");
+  }
+
+  @Test
+  @DisplayName("Verifies a year filter is required")
+  void testLoad8() {
+
+    // Act and assert.
+    Assertions.assertThatNullPointerException()
+        .as("A NullPointerException should have been thrown when the year filter was null")
+        .isThrownBy(() -> this.uut.load(this.snapshotPath, null))
+        .withMessage("The year filter can't be null");
+  }
+
+  @Test
+  @DisplayName("Verifies a store mapped from the snapshot matches the movies it was written from")
+  void testMapStore1() throws Exception {
+
+    // Act.
+    final MovieStore actual = SnapshotMovieLoader.mapStore(this.snapshotPath);
+
+    // Assert.
+    Assertions.assertThat(actual.isOffHeap()).as("The store should have been mapped").isTrue();
+    Assertions.assertThat(IntStream.range(0, actual.size()).mapToObj(actual::getMovie))
+        .as("The mapped store's movies didn't match the movies they were written from")
+        .containsExactlyElementsOf(this.sampleMovies);
+    Assertions.assertThat(actual.equalTo(actual.getMovie(0)).test(0))
+        .as("The mapped store should have compared a movie with its UTF-8 title in place")
+        .isTrue();
+    Assertions.assertThat(MovieRepository.fromStore(actual).findByDecade(1980))
+        .as("A repository over the mapped store should have found the 1980s movies")
+        .hasSize(4);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Performs automated tests on the {@code SnapshotMovieWriter} class.
+ *
+ * @author jkaib
+ */
+final class SnapshotMovieWriterTest {
+
+  /** The directory to which the unit under test writes. */
+  @TempDir File tempDir;
+
+  /**
+   * Creates a movie with the specified cast and genres.
+   *
+   * @param cast the actors in the movie
+   * @param genres the movie categories
+   * @return the new movie
+   */
+  private static Movie createMovie(final String[] cast, final String[] genres) {
+
+    final var movie = new Movie();
+    movie.setCast(cast);
+    movie.setGenres(genres);
+    movie.setTitle("Title");
+    movie.setYear(1984);
+
+    return movie;
+  }
+
+  @Test
+  @DisplayName("Verifies each distinct genre and cast member is stored in the dictionaries once")
+  void testWrite1() throws Exception {
+
+    // Arrange.
+    final List<Movie> testMovies =
+        List.of(
+            createMovie(new String[] {"Bill Murray", "Harold Ramis"}, new String[] {"Comedy"}),
+            createMovie(new String[] {"Bill Murray"}, new String[] {"Comedy", "Drama"}),
+            createMovie(new String[] {"Harold Ramis", null}, new String[] {"Drama"}));
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.mfs");
+    final var uut = new SnapshotMovieWriter();
+
+    // Act.
+    uut.write(testMovies, testFilePath);
+    final ByteBuffer actual = ByteBuffer.wrap(Files.readAllBytes(testFilePath));
+
+    // Assert.
+    Assertions.assertThat(actual.getInt(0))
+        .as("The snapshot didn't begin with the magic number")
+        .isEqualTo(MovieSnapshot.MAGIC);
+    Assertions.assertThat(actual.getInt(2 * Integer.BYTES))
+        .as("The wrong number of movies was recorded")
+        .isEqualTo(3);
+    Assertions.assertThat(actual.getInt(3 * Integer.BYTES))
+        .as("Each distinct genre should have been stored once")
+        .isEqualTo(2);
+    Assertions.assertThat(actual.getInt(4 * Integer.BYTES))
+        .as("Each distinct cast member should have been stored once")
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Verifies existing contents of the destination file are replaced")
+  void testWrite2() throws Exception {
+
+    // Arrange.
+    final Path testFilePath = this.tempDir.toPath().resolve("movies.mfs");
+    Files.writeString(testFilePath, "x".repeat(10_000));
+
+    // Act.
+    new SnapshotMovieWriter().write(List.of(), testFilePath);
+
+    // Assert.
+    Assertions.assertThat(Files.size(testFilePath))
+        .as("The destination file should have held only an empty snapshot")
+        .isLessThan(100L);
+  }
+}
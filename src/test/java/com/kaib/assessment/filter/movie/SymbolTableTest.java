@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.google.gson.Gson;
+
+/**
+ * Performs automated tests on the {@code SymbolTable} class.
+ *
+ * @author jkaib
+ */
+final class SymbolTableTest {
+
+  /** The test file containing movies from several decades. */
+  private static final Path SAMPLE_MOVIES_PATH =
+      Path.of("", "src/test/resources/SampleMovies.json");
+
+  /** The unit under test. */
+  private SymbolTable uut;
+
+  /** Sets the test fixture up prior to each test. */
+  @BeforeEach
+  void setUp() {
+    this.uut = new SymbolTable();
+  }
+
+  @Test
+  @DisplayName("Verifies equal names are canonicalized to the first instance encountered")
+  void testInternName1() {
+
+    // Arrange.
+    final var first = new String("Drama");
+    final var second = new String("Drama");
+
+    // Act.
+    this.uut.internName(first);
+    final String actual = this.uut.internName(second);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The first instance should have been canonical")
+        .isSameAs(first);
+    Assertions.assertThat(this.uut.size()).as("Only one name should have been held").isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Verifies null names are left alone")
+  void testInternName2() {
+
+    // Act.
+    final String actual = this.uut.internName(null);
+
+    // Assert.
+    Assertions.assertThat(actual).as("A null name should have stayed null").isNull();
+    Assertions.assertThat(this.uut.size()).as("No name should have been held").isZero();
+  }
+
+  @Test
+  @DisplayName("Verifies names are canonicalized in place")
+  void testInternNames1() {
+
+    // Arrange.
+    final var canonical = new String("Bill Murray");
+    this.uut.internName(canonical);
+    final String[] testNames = {new String("Bill Murray"), null, "Harold Ramis"};
+
+    // Act.
+    final String[] actuals = this.uut.internNames(testNames);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The names should have been canonicalized in place")
+        .isSameAs(testNames);
+    Assertions.assertThat(actuals[0]).as("The name wasn't canonicalized").isSameAs(canonical);
+    Assertions.assertThat(actuals[1]).as("A null name should have stayed null").isNull();
+  }
+
+  @Test
+  @DisplayName("Verifies arrays with equal names are canonicalized to one shared array")
+  void testInternArray1() {
+
+    // Arrange.
+    final String[] first = {new String("Comedy"), new String("Drama")};
+    final String[] second = {new String("Comedy"), new String("Drama")};
+
+    // Act.
+    final String[] expected = this.uut.internArray(first);
+    final String[] actual = this.uut.internArray(second);
+
+    // Assert.
+    Assertions.assertThat(expected)
+        .as("The first array should have been canonical")
+        .isSameAs(first);
+    Assertions.assertThat(actual).as("The second array should have been shared").isSameAs(first);
+    Assertions.assertThat(this.uut.internArray(new String[] {"Drama", "Comedy"}))
+        .as("An array with the names in another order should have been distinct")
+        .isNotSameAs(first);
+  }
+
+  @ParameterizedTest
+  @EnumSource(InputEngine.class)
+  @DisplayName("Verifies every engine shares the genre and cast names of the movies it loads")
+  void testLoad1(final InputEngine testEngine) throws Exception {
+
+    // Act.
+    final Set<Movie> actuals =
+        testEngine.createLoader(new Gson()).load(SAMPLE_MOVIES_PATH, year -> true);
+    final List<String> dramas =
+        actuals.stream()
+            .flatMap(movie -> List.of(movie.getGenres()).stream())
+            .filter("Drama"::equals)
+            .collect(Collectors.toList());
+
+    // Assert.
+    Assertions.assertThat(dramas)
+        .as("The sample movies should have included several dramas")
+        .hasSizeGreaterThan(1);
+    Assertions.assertThat(dramas)
+        .as("Every movie should have shared one instance of the same genre")
+        .allSatisfy(genre -> Assertions.assertThat(genre).isSameAs(dramas.get(0)));
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code TitleIndex} class.
+ *
+ * @author jkaib
+ */
+final class TitleIndexTest {
+
+  /** The store whose titles are indexed. */
+  private MovieStore testStore;
+
+  /** The unit under test. */
+  private TitleIndex uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final String[] testTitles = {
+      "The Empire Strikes Back",
+      "Star Wars",
+      null,
+      "Star Trek: The Motion Picture",
+      "Lone Star",
+      "Amélie",
+      "Starman"
+    };
+    final var testMovies = new Movie[testTitles.length];
+    for (var i = 0; i < testTitles.length; i++) {
+      testMovies[i] = new Movie();
+      testMovies[i].setTitle(testTitles[i]);
+    }
+
+    this.testStore = MovieStore.of(Arrays.asList(testMovies));
+    this.uut = new TitleIndex(this.testStore, ParallelScan.sequential());
+  }
+
+  @Test
+  @DisplayName("Verifies titles are split into distinct normalized words")
+  void testTokenize1() {
+
+    // Act.
+    final String[] actuals = TitleIndex.tokenize("Amélie & the AMÉLIE-2: Part 2");
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Case, accents, punctuation, and repeated words should have been removed")
+        .containsExactly("amelie", "the", "2", "part");
+  }
+
+  @Test
+  @DisplayName("Verifies a missing title has no words")
+  void testTokenize2() {
+
+    // Act.
+    final String[] actuals = TitleIndex.tokenize(null);
+
+    // Assert.
+    Assertions.assertThat(actuals).as("A null title should have had no words").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies a word search only matches whole words")
+  void testSearch1() {
+
+    // Act.
+    final int[] actuals = this.uut.search("star", TitleMatch.TOKEN, 10);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Titles beginning with the word and shorter titles should have ranked first")
+        .containsExactly(1, 3, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies a prefix search matches words beginning with the last search word")
+  void testSearch2() {
+
+    // Act.
+    final int[] actuals = this.uut.search("STAR", TitleMatch.PREFIX, 10);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Every title with a word beginning with the prefix should have been ranked")
+        .containsExactly(6, 1, 3, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies every word of a search must match")
+  void testSearch3() {
+
+    // Act.
+    final int[] actualsMatched = this.uut.search("the star", TitleMatch.TOKEN, 10);
+    final int[] actualsUnmatched = this.uut.search("star empire", TitleMatch.TOKEN, 10);
+
+    // Assert.
+    Assertions.assertThat(actualsMatched)
+        .as("Only the title containing both words should have matched")
+        .containsExactly(3);
+    Assertions.assertThat(actualsUnmatched).as("No title contains both words").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies the number of results is limited to the best ranked")
+  void testSearch4() {
+
+    // Act.
+    final int[] actuals = this.uut.search("st", TitleMatch.PREFIX, 2);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the two best ranked titles should have been returned")
+        .containsExactly(6, 1);
+  }
+
+  @Test
+  @DisplayName("Verifies accents are ignored when searching")
+  void testSearch5() {
+
+    // Act.
+    final int[] actuals = this.uut.search("amelie", TitleMatch.TOKEN, 10);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The accented title should have matched the unaccented search")
+        .containsExactly(5);
+  }
+
+  @Test
+  @DisplayName("Verifies a ranked search skips the excluded movies and returns keys in rank order")
+  void testRankedSearch1() {
+
+    // Act.
+    final long[] actuals =
+        this.uut.rankedSearch("st", TitleMatch.PREFIX, 10, ordinal -> ordinal != 6);
+
+    // Assert.
+    Assertions.assertThat(actuals).as("The rank keys should have been in rank order").isSorted();
+    Assertions.assertThat(Arrays.stream(actuals).mapToInt(key -> (int) key).toArray())
+        .as("The leading matches should have ranked first, without the excluded movie")
+        .containsExactly(1, 3, 4, 0);
+  }
+
+  @Test
+  @DisplayName("Verifies an index built in parallel on a configured pool matches one built in turn")
+  void testTitleIndex1() {
+
+    // Arrange.
+    final var testPool = new ForkJoinPool(2);
+
+    try {
+      // Act.
+      final var actual = new TitleIndex(this.testStore, new ParallelScan(testPool, 0));
+
+      // Assert.
+      for (final TitleMatch testMatch : TitleMatch.values()) {
+        Assertions.assertThat(actual.search("star", testMatch, 10))
+            .as("The indexes should have agreed on a %s search", testMatch)
+            .containsExactly(this.uut.search("star", testMatch, 10));
+      }
+    } finally {
+      testPool.shutdown();
+    }
+  }
+}
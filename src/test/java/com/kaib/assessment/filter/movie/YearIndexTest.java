@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code YearIndex} class.
+ *
+ * @author jkaib
+ */
+final class YearIndexTest {
+
+  /** The test movies, indexed by ordinal. */
+  private Movie[] testMovies;
+
+  /** The unit under test. */
+  private YearIndex uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    final int[] testYears = {1985, 1972, 1985, 2001, 1972};
+    this.testMovies = new Movie[testYears.length];
+    for (var i = 0; i < testYears.length; i++) {
+      this.testMovies[i] = new Movie();
+      this.testMovies[i].setTitle("Movie " + i);
+      this.testMovies[i].setYear(testYears[i]);
+    }
+
+    this.uut = new YearIndex(MovieStore.of(Arrays.asList(this.testMovies)));
+  }
+
+  @Test
+  @DisplayName("Verifies a range is ordered by year and then by ordinal")
+  void testRange1() {
+
+    // Act.
+    final List<Movie> actuals = this.uut.range(1970, 1989, ordinal -> this.testMovies[ordinal]);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Movies released in the same year should have kept their ordinal order")
+        .containsExactly(
+            this.testMovies[1], this.testMovies[4], this.testMovies[0], this.testMovies[2]);
+  }
+
+  @Test
+  @DisplayName("Verifies a range outside the indexed years is empty")
+  void testRange2() {
+
+    // Act.
+    final List<Movie> actualsBefore =
+        this.uut.range(Integer.MIN_VALUE, 1971, ordinal -> this.testMovies[ordinal]);
+    final List<Movie> actualsAfter =
+        this.uut.range(2002, Integer.MAX_VALUE, ordinal -> this.testMovies[ordinal]);
+
+    // Assert.
+    Assertions.assertThat(actualsBefore).as("No movie was released before 1972").isEmpty();
+    Assertions.assertThat(actualsAfter).as("No movie was released after 2001").isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies an index outside a range is rejected")
+  void testRange3() {
+
+    // Arrange.
+    final List<Movie> actuals = this.uut.range(1985, 1985, ordinal -> this.testMovies[ordinal]);
+
+    // Act.
+    final Throwable thrown = Assertions.catchThrowable(() -> actuals.get(2));
+
+    // Assert.
+    Assertions.assertThat(thrown)
+        .as("The range only contains two movies")
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  @DisplayName("Verifies the ordinals in a range are returned in ascending order")
+  void testOrdinalsBetween1() {
+
+    // Act.
+    final int[] actuals = this.uut.ordinalsBetween(1972, 1985);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The ordinals should have been sorted rather than ordered by year")
+        .containsExactly(0, 1, 2, 4);
+  }
+
+  @Test
+  @DisplayName("Verifies the ordinals in a range are returned as a bitmap")
+  void testOrdinalSetBetween1() {
+
+    // Act.
+    final BitSet actuals = this.uut.ordinalSetBetween(1980, 2009);
+
+    // Assert.
+    Assertions.assertThat(actuals.stream())
+        .as("The movies released from 1980 through 2009 should have been set")
+        .containsExactly(0, 2, 3);
+  }
+
+  @Test
+  @DisplayName("Verifies each year of a range is counted without reading a movie")
+  void testHistogram1() {
+
+    // Act.
+    final Map<Integer, Integer> actuals = this.uut.histogram(1970, 1999);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("Only the years in the range in which movies were released should have been counted")
+        .containsExactly(Map.entry(1972, 2), Map.entry(1985, 2));
+    Assertions.assertThat(this.uut.histogram(Integer.MIN_VALUE, Integer.MAX_VALUE))
+        .as("An unbounded range should have counted every year")
+        .containsExactly(Map.entry(1972, 2), Map.entry(1985, 2), Map.entry(2001, 1));
+  }
+
+  @Test
+  @DisplayName("Verifies the ordinals of a range are visited by year and then by ordinal")
+  void testForEachBetween1() {
+
+    // Arrange.
+    final List<Integer> actuals = new ArrayList<>();
+
+    // Act.
+    this.uut.forEachBetween(1970, 1989, actuals::add);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies from the 1970s should have been visited before those from the 1980s")
+        .containsExactly(1, 4, 0, 2);
+  }
+
+  @Test
+  @DisplayName("Verifies a movie's position is found by its year and then its ordinal")
+  void testPositionOf1() {
+
+    // Act.
+    final int actual = this.uut.positionOf(1985, 2);
+
+    // Assert.
+    Assertions.assertThat(actual)
+        .as("The second movie from 1985 should have followed both movies from 1972")
+        .isEqualTo(3);
+    Assertions.assertThat(this.uut.ordinalAt(actual))
+        .as("The movie should have been found at its position")
+        .isEqualTo(2);
+    Assertions.assertThat(this.uut.positionOf(1985, 1))
+        .as("A missing ordinal should have been placed between the ordinals around it")
+        .isEqualTo(3);
+    Assertions.assertThat(this.uut.positionOf(2010, 0))
+        .as("A year after the last release should have been placed at the end")
+        .isEqualTo(5);
+  }
+}
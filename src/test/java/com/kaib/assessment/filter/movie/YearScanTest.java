@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 James P. Kaib Jr.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kaib.assessment.filter.movie;
+
+import java.nio.IntBuffer;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performs automated tests on the {@code YearScan} class and the scan chosen by {@code YearScans}.
+ *
+ * @author jkaib
+ */
+final class YearScanTest {
+
+  /** The release years of the test movies, indexed by ordinal. */
+  private IntBuffer testYears;
+
+  /** The unit under test. */
+  private YearScan uut;
+
+  @BeforeEach
+  protected void setUp() throws Exception {
+
+    // Slicing the column gives its backing array an offset, like a shared buffer.
+    this.testYears = IntBuffer.wrap(new int[] {1979, 1980, 1989, 1990, 1985, 2001}, 1, 5).slice();
+    this.uut = new YearScan();
+  }
+
+  @Test
+  @DisplayName("Verifies a scan finds the movies released in an inclusive range of years")
+  void testFind1() {
+
+    // Act.
+    final int[] actuals = this.uut.find(this.testYears, 1980, 1989);
+
+    // Assert.
+    Assertions.assertThat(actuals)
+        .as("The movies released in the 1980s should have been found in ordinal order")
+        .containsExactly(0, 1, 3);
+    Assertions.assertThat(this.uut.count(this.testYears, 1980, 1989))
+        .as("The count should have matched the scan")
+        .isEqualTo(3);
+    Assertions.assertThat(this.uut.find(this.testYears, 2002, 2010))
+        .as("No movies should have been found after the last release")
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Verifies the best scan for the runtime matches the scalar scan")
+  void testBest1() {
+
+    // Arrange.
+    final var random = new Random(7);
+    final YearScan scan = YearScans.best();
+
+    for (final int testSize : new int[] {0, 1, 7, 15, 17, 33, 1_003}) {
+      final int[] years = random.ints(testSize, 1890, 2030).toArray();
+      final IntBuffer testColumn = IntBuffer.wrap(years);
+
+      // Act.
+      final int[] actuals = scan.find(testColumn, 1980, 1989);
+
+      // Assert.
+      Assertions.assertThat(actuals)
+          .as("The scans should have agreed over %d movies", testSize)
+          .containsExactly(this.uut.find(testColumn, 1980, 1989));
+      Assertions.assertThat(scan.count(testColumn, 1890, 2030))
+          .as("Every movie should have been counted over %d movies", testSize)
+          .isEqualTo(testSize);
+    }
+  }
+
+  @Test
+  @DisplayName("Verifies the vectorized scan is chosen when the build adds the Vector API")
+  void testBest2() {
+
+    // Arrange.
+    Assumptions.assumeTrue(
+        Boolean.getBoolean("yearScan.vectorized"),
+        "Only the Java 17 test run adds the Vector API");
+
+    // Act.
+    final YearScan actual = YearScans.best();
+
+    // Assert.
+    Assertions.assertThat(actual.isVectorized())
+        .as("The vectorized scan should have been chosen")
+        .isTrue();
+  }
+}